@@ -0,0 +1,75 @@
+package com.mani.payment_transfer_system.analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Count, sum and optionally the individual amounts of transactions per group key, built by one
+ * scan task and merged with the results of the others.
+ */
+final class Aggregation {
+
+    final Map<Long, Group> groups = new HashMap<>();
+
+    void add(long key, long amount, boolean collectAmount) {
+        groups.computeIfAbsent(key, k -> new Group()).add(amount, collectAmount);
+    }
+
+    Aggregation merge(Aggregation other) {
+        Aggregation larger = groups.size() >= other.groups.size() ? this : other;
+        Aggregation smaller = larger == this ? other : this;
+        smaller.groups.forEach((key, group) -> larger.groups.merge(key, group, Group::merge));
+        return larger;
+    }
+
+    /**
+     * Aggregates of one group; amounts are in units of 10^-5.
+     */
+    static final class Group {
+
+        private long count;
+        private long sum;
+        private long[] amounts = new long[0];
+        private int collected;
+
+        void add(long amount, boolean collectAmount) {
+            count++;
+            sum = Math.addExact(sum, amount);
+            if (collectAmount) {
+                if (collected == amounts.length) {
+                    amounts = Arrays.copyOf(amounts, Math.max(8, collected * 2));
+                }
+                amounts[collected++] = amount;
+            }
+        }
+
+        Group merge(Group other) {
+            count += other.count;
+            sum = Math.addExact(sum, other.sum);
+            if (other.collected > 0) {
+                amounts = Arrays.copyOf(amounts, collected + other.collected);
+                System.arraycopy(other.amounts, 0, amounts, collected, other.collected);
+                collected += other.collected;
+            }
+            return this;
+        }
+
+        long count() {
+            return count;
+        }
+
+        long sum() {
+            return sum;
+        }
+
+        /**
+         * Returns the collected amounts in ascending order.
+         */
+        long[] sortedAmounts() {
+            long[] sorted = Arrays.copyOf(amounts, collected);
+            Arrays.parallelSort(sorted);
+            return sorted;
+        }
+    }
+}
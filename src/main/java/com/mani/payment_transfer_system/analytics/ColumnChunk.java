@@ -0,0 +1,71 @@
+package com.mani.payment_transfer_system.analytics;
+
+/**
+ * A fixed-capacity block of transactions stored as one primitive array per column.
+ * One thread appends; any number of threads read the rows below {@link #size()} without locking,
+ * as every row is written before the size that publishes it.
+ */
+final class ColumnChunk {
+
+    final long[] ids;
+    final long[] timestamps;
+    final long[] sources;
+    final long[] destinations;
+    final long[] amounts;
+    // Written before size, so a reader that has seen a size sees bounds covering those rows
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+    private volatile int size;
+
+    ColumnChunk(int capacity) {
+        ids = new long[capacity];
+        timestamps = new long[capacity];
+        sources = new long[capacity];
+        destinations = new long[capacity];
+        amounts = new long[capacity];
+    }
+
+    /**
+     * Appends a row. Must only be called by the appending thread.
+     *
+     * @return false if the chunk is full
+     */
+    boolean append(long id, long timestamp, long source, long destination, long amount) {
+        int row = size;
+        if (row == ids.length) {
+            return false;
+        }
+        ids[row] = id;
+        timestamps[row] = timestamp;
+        sources[row] = source;
+        destinations[row] = destination;
+        amounts[row] = amount;
+        minTimestamp = Math.min(minTimestamp, timestamp);
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+        size = row + 1;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == ids.length;
+    }
+
+    /**
+     * Returns whether some row may have a timestamp in {@code [from, to)}. Call after {@link #size()}.
+     */
+    boolean overlaps(long from, long to) {
+        return minTimestamp < to && maxTimestamp >= from;
+    }
+
+    long maxTimestamp() {
+        return maxTimestamp;
+    }
+
+    long sizeBytes() {
+        return 5L * Long.BYTES * ids.length;
+    }
+}
@@ -0,0 +1,430 @@
+package com.mani.payment_transfer_system.analytics;
+
+import com.mani.payment_transfer_system.config.AnalyticsProperties;
+import com.mani.payment_transfer_system.dto.AccountAggregate;
+import com.mani.payment_transfer_system.dto.TimeBucketAggregate;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory column store of recent transactions, answering aggregate queries without the database.
+ * <ul>
+ *   <li>Transactions are kept in {@link ColumnChunk}s of {@code chunk-size} rows, one primitive
+ *       array per column: ID, timestamp (epoch milliseconds), source and destination account, and
+ *       amount in units of 10^-5.</li>
+ *   <li>At startup, the transactions of the last {@code lookback} are loaded from every shard.
+ *       After that, each transfer is appended once its database transaction has committed.</li>
+ *   <li>Queries scan the chunks overlapping their time range in parallel on a fork-join pool of
+ *       {@code parallelism} threads and merge the partial aggregates. Appends never block queries.</li>
+ *   <li>Chunks whose transactions are all older than {@code lookback} are released every {@code eviction-interval}.</li>
+ * </ul>
+ * Percentiles are exact (nearest rank). For account queries they are computed in a second scan,
+ * for the returned accounts only. When disabled, nothing is stored.
+ */
+@Component
+public class TransactionAnalyticsStore {
+
+    static final int AMOUNT_SCALE = 5;
+    static final int MAX_PERCENTILES = 10;
+    static final int MAX_ACCOUNTS = 1000;
+    static final String LOAD_TRANSACTIONS =
+            "SELECT id, source_account_id, destination_account_id, amount, timestamp FROM transactions "
+                    + "WHERE timestamp >= ? ORDER BY id";
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionAnalyticsStore.class);
+    private static final long NO_KEY = Long.MIN_VALUE;
+    private static final int SLICE_ROWS = 16_384;
+    private final AnalyticsProperties properties;
+    private final ShardRouter shardRouter;
+    private final MetricsService metricsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final LongSupplier clock;
+    private final ForkJoinPool pool;
+    // Replaced, never modified, under the lock of this store
+    private volatile ColumnChunk[] chunks = new ColumnChunk[0];
+    private long droppedTransactions;
+
+    /**
+     * Constructs a new TransactionAnalyticsStore.
+     *
+     * @param properties the analytics properties
+     * @param shardRouter the router listing the shards and running work on them
+     * @param metricsService the metrics service for recording queries and the store size
+     * @param dataSource the application data source, read once at startup
+     */
+    @Autowired
+    public TransactionAnalyticsStore(AnalyticsProperties properties, ShardRouter shardRouter,
+                                     MetricsService metricsService, DataSource dataSource) {
+        this(properties, shardRouter, metricsService, dataSource, System::currentTimeMillis);
+    }
+
+    TransactionAnalyticsStore(AnalyticsProperties properties, ShardRouter shardRouter, MetricsService metricsService,
+                              DataSource dataSource, LongSupplier clock) {
+        if (properties.getChunkSize() < 1 || properties.getParallelism() < 1 || properties.getMaxBuckets() < 1) {
+            throw new IllegalArgumentException("payment.analytics requires chunk-size, parallelism and max-buckets >= 1");
+        }
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.metricsService = metricsService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.clock = clock;
+        this.pool = new ForkJoinPool(properties.getParallelism());
+        if (properties.isEnabled()) {
+            metricsService.bindAnalytics(this, TransactionAnalyticsStore::transactionCount,
+                    TransactionAnalyticsStore::memoryBytes);
+        }
+    }
+
+    /**
+     * Loads the transactions of the last {@code lookback} from every shard. Runs before any transfer
+     * is accepted, as the services recording transfers depend on this store.
+     */
+    @PostConstruct
+    void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long began = System.nanoTime();
+        LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(cutoff()), ZoneOffset.UTC);
+        for (String shard : shardRouter.shardNames()) {
+            shardRouter.inShardSnapshot(shard, () -> {
+                jdbcTemplate.query(LOAD_TRANSACTIONS, rs -> {
+                    append(rs.getLong("id"), rs.getLong("source_account_id"), rs.getLong("destination_account_id"),
+                            rs.getBigDecimal("amount"),
+                            rs.getObject("timestamp", LocalDateTime.class).toInstant(ZoneOffset.UTC).toEpochMilli());
+                }, since);
+                return null;
+            });
+        }
+        logger.info("Loaded {} transactions since {} into the analytics store in {} ms",
+                transactionCount(), since, Duration.ofNanos(System.nanoTime() - began).toMillis());
+    }
+
+    /**
+     * Records a committed transfer, timestamped now. Does nothing when disabled.
+     *
+     * @param transactionId the transaction ID
+     * @param sourceAccountId the debited account
+     * @param destinationAccountId the credited account
+     * @param amount the amount transferred
+     */
+    public void record(long transactionId, long sourceAccountId, long destinationAccountId, BigDecimal amount) {
+        if (properties.isEnabled()) {
+            append(transactionId, sourceAccountId, destinationAccountId, amount, clock.getAsLong());
+        }
+    }
+
+    /**
+     * Releases the chunks whose transactions are all older than {@code lookback}.
+     */
+    @Scheduled(initialDelayString = "${payment.analytics.eviction-interval:PT1H}",
+            fixedDelayString = "${payment.analytics.eviction-interval:PT1H}")
+    public synchronized void evict() {
+        long cutoff = cutoff();
+        ColumnChunk[] current = chunks;
+        int expired = 0;
+        while (expired < current.length && current[expired].isFull() && current[expired].maxTimestamp() < cutoff) {
+            expired++;
+        }
+        if (expired > 0) {
+            chunks = Arrays.copyOfRange(current, expired, current.length);
+            logger.debug("Released {} analytics chunks older than {}", expired, Instant.ofEpochMilli(cutoff));
+        }
+    }
+
+    /**
+     * Aggregates the transactions of a time range per time bucket.
+     *
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, exclusive
+     * @param bucket the bucket width; buckets are aligned to the epoch
+     * @param accountId only transactions from or to this account; null for all
+     * @param percentiles the amount percentiles to compute, each in (0, 1]
+     * @return the non-empty buckets in time order
+     * @throws IllegalArgumentException if the range is empty, the bucket is not positive or the range
+     *         spans more than {@code max-buckets} buckets, or a percentile is out of range
+     */
+    public List<TimeBucketAggregate> aggregateByTime(Instant from, Instant to, Duration bucket, Long accountId,
+                                                     List<Double> percentiles) {
+        validateRange(from, to);
+        validatePercentiles(percentiles);
+        long width = bucket.toMillis();
+        if (width < 1) {
+            throw new IllegalArgumentException("Bucket must be at least 1 ms");
+        }
+        long first = Math.floorDiv(from.toEpochMilli(), width);
+        long last = Math.floorDiv(to.toEpochMilli() - 1, width);
+        if (last - first + 1 > properties.getMaxBuckets()) {
+            throw new IllegalArgumentException("Query spans more than " + properties.getMaxBuckets() + " buckets");
+        }
+        long began = System.nanoTime();
+        long account = accountId != null ? accountId : NO_KEY;
+        RowKey key = accountId == null
+                ? (chunk, row) -> Math.floorDiv(chunk.timestamps[row], width) * width
+                : (chunk, row) -> chunk.sources[row] == account || chunk.destinations[row] == account
+                        ? Math.floorDiv(chunk.timestamps[row], width) * width : NO_KEY;
+        boolean collectAmounts = !percentiles.isEmpty();
+        Aggregation aggregation = scan(from.toEpochMilli(), to.toEpochMilli(), key, bucketStart -> collectAmounts);
+        List<TimeBucketAggregate> buckets = aggregation.groups.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new TimeBucketAggregate(Instant.ofEpochMilli(entry.getKey()), entry.getValue().count(),
+                        toAmount(entry.getValue().sum()), percentiles(entry.getValue(), percentiles)))
+                .toList();
+        metricsService.recordAnalyticsQuery("time", Duration.ofNanos(System.nanoTime() - began));
+        return buckets;
+    }
+
+    /**
+     * Aggregates the transactions of a time range per account, largest sum first.
+     * Grouped by destination, the accounts are the payees: with an account ID, those it paid.
+     * Grouped by source, the accounts are the payers: with an account ID, those that paid it.
+     *
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, exclusive
+     * @param groupBy the account column to group by
+     * @param accountId only transactions whose other account is this account; null for all
+     * @param limit the maximum number of accounts returned, at most {@value #MAX_ACCOUNTS}
+     * @param percentiles the amount percentiles to compute, each in (0, 1]
+     * @return the accounts with the largest sums, ties broken by account ID
+     * @throws IllegalArgumentException if the range is empty, the limit is out of range or a percentile is out of range
+     */
+    public List<AccountAggregate> aggregateByAccount(Instant from, Instant to, GroupBy groupBy, Long accountId,
+                                                     int limit, List<Double> percentiles) {
+        validateRange(from, to);
+        validatePercentiles(percentiles);
+        if (limit < 1 || limit > MAX_ACCOUNTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_ACCOUNTS);
+        }
+        long began = System.nanoTime();
+        boolean bySource = groupBy == GroupBy.SOURCE;
+        long account = accountId != null ? accountId : NO_KEY;
+        RowKey key;
+        if (accountId == null) {
+            key = bySource ? (chunk, row) -> chunk.sources[row] : (chunk, row) -> chunk.destinations[row];
+        } else if (bySource) {
+            key = (chunk, row) -> chunk.destinations[row] == account ? chunk.sources[row] : NO_KEY;
+        } else {
+            key = (chunk, row) -> chunk.sources[row] == account ? chunk.destinations[row] : NO_KEY;
+        }
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        List<Map.Entry<Long, Aggregation.Group>> top = scan(fromMillis, toMillis, key, group -> false)
+                .groups.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<Long, Aggregation.Group> entry) -> entry.getValue().sum())
+                        .reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .toList();
+        Map<Long, Aggregation.Group> amounts = Map.of();
+        if (!percentiles.isEmpty() && !top.isEmpty()) {
+            Set<Long> accounts = new HashSet<>();
+            top.forEach(entry -> accounts.add(entry.getKey()));
+            amounts = scan(fromMillis, toMillis, key, accounts::contains).groups;
+        }
+        List<AccountAggregate> result = new ArrayList<>(top.size());
+        for (Map.Entry<Long, Aggregation.Group> entry : top) {
+            Aggregation.Group collected = amounts.get(entry.getKey());
+            result.add(new AccountAggregate(entry.getKey(), entry.getValue().count(), toAmount(entry.getValue().sum()),
+                    collected != null ? percentiles(collected, percentiles) : Map.of()));
+        }
+        metricsService.recordAnalyticsQuery("account", Duration.ofNanos(System.nanoTime() - began));
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    long transactionCount() {
+        long count = 0;
+        for (ColumnChunk chunk : chunks) {
+            count += chunk.size();
+        }
+        return count;
+    }
+
+    long memoryBytes() {
+        long bytes = 0;
+        for (ColumnChunk chunk : chunks) {
+            bytes += chunk.sizeBytes();
+        }
+        return bytes;
+    }
+
+    private synchronized void append(long id, long source, long destination, BigDecimal amount, long timestamp) {
+        long minorUnits;
+        try {
+            minorUnits = amount.setScale(AMOUNT_SCALE).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            droppedTransactions++;
+            logger.warn("Transaction {} not added to the analytics store, amount {} out of range ({} dropped so far)",
+                    id, amount, droppedTransactions);
+            return;
+        }
+        ColumnChunk[] current = chunks;
+        if (current.length == 0 || !current[current.length - 1].append(id, timestamp, source, destination, minorUnits)) {
+            ColumnChunk chunk = new ColumnChunk(properties.getChunkSize());
+            chunk.append(id, timestamp, source, destination, minorUnits);
+            ColumnChunk[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = chunk;
+            chunks = grown;
+        }
+    }
+
+    private Aggregation scan(long from, long to, RowKey key, LongPredicate collectAmounts) {
+        List<Slice> slices = new ArrayList<>();
+        for (ColumnChunk chunk : chunks) {
+            int size = chunk.size();
+            if (!chunk.overlaps(from, to)) {
+                continue;
+            }
+            for (int start = 0; start < size; start += SLICE_ROWS) {
+                slices.add(new Slice(chunk, start, Math.min(size, start + SLICE_ROWS)));
+            }
+        }
+        if (slices.isEmpty()) {
+            return new Aggregation();
+        }
+        return pool.invoke(new ScanTask(slices, 0, slices.size(), from, to, key, collectAmounts));
+    }
+
+    private long cutoff() {
+        return clock.getAsLong() - properties.getLookback().toMillis();
+    }
+
+    private static void validateRange(Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+    }
+
+    private static void validatePercentiles(List<Double> percentiles) {
+        if (percentiles.size() > MAX_PERCENTILES) {
+            throw new IllegalArgumentException("At most " + MAX_PERCENTILES + " percentiles may be requested");
+        }
+        for (double percentile : percentiles) {
+            if (!(percentile > 0 && percentile <= 1)) {
+                throw new IllegalArgumentException("Percentiles must be in (0, 1], got " + percentile);
+            }
+        }
+    }
+
+    private static Map<String, BigDecimal> percentiles(Aggregation.Group group, List<Double> percentiles) {
+        Map<String, BigDecimal> values = new LinkedHashMap<>();
+        if (percentiles.isEmpty()) {
+            return values;
+        }
+        long[] sorted = group.sortedAmounts();
+        for (double percentile : percentiles) {
+            int rank = (int) Math.ceil(percentile * sorted.length);
+            String name = "p" + BigDecimal.valueOf(percentile).movePointRight(2).stripTrailingZeros().toPlainString();
+            values.put(name, toAmount(sorted[Math.max(rank, 1) - 1]));
+        }
+        return values;
+    }
+
+    private static BigDecimal toAmount(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, AMOUNT_SCALE);
+    }
+
+    /**
+     * Account column to group account aggregates by.
+     */
+    public enum GroupBy {
+        /** The debited account, i.e. the payer. */
+        SOURCE,
+        /** The credited account, i.e. the payee. */
+        DESTINATION
+    }
+
+    /**
+     * Maps a row to its group key, or {@link #NO_KEY} to skip it.
+     */
+    @FunctionalInterface
+    private interface RowKey {
+        long key(ColumnChunk chunk, int row);
+    }
+
+    private record Slice(ColumnChunk chunk, int start, int end) {
+    }
+
+    /**
+     * Aggregates a range of slices, splitting it in halves down to single slices.
+     */
+    private static final class ScanTask extends RecursiveTask<Aggregation> {
+
+        private final List<Slice> slices;
+        private final int start;
+        private final int end;
+        private final long from;
+        private final long to;
+        private final RowKey key;
+        private final LongPredicate collectAmounts;
+
+        ScanTask(List<Slice> slices, int start, int end, long from, long to, RowKey key, LongPredicate collectAmounts) {
+            this.slices = slices;
+            this.start = start;
+            this.end = end;
+            this.from = from;
+            this.to = to;
+            this.key = key;
+            this.collectAmounts = collectAmounts;
+        }
+
+        @Override
+        protected Aggregation compute() {
+            if (end - start > 1) {
+                int middle = (start + end) >>> 1;
+                ScanTask left = new ScanTask(slices, start, middle, from, to, key, collectAmounts);
+                left.fork();
+                Aggregation right = new ScanTask(slices, middle, end, from, to, key, collectAmounts).compute();
+                return left.join().merge(right);
+            }
+            Slice slice = slices.get(start);
+            ColumnChunk chunk = slice.chunk();
+            long[] timestamps = chunk.timestamps;
+            long[] amounts = chunk.amounts;
+            Aggregation aggregation = new Aggregation();
+            for (int row = slice.start(); row < slice.end(); row++) {
+                long timestamp = timestamps[row];
+                if (timestamp < from || timestamp >= to) {
+                    continue;
+                }
+                long group = key.key(chunk, row);
+                if (group != NO_KEY) {
+                    aggregation.add(group, amounts[row], collectAmounts.test(group));
+                }
+            }
+            return aggregation;
+        }
+    }
+}
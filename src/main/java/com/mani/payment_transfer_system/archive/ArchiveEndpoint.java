@@ -0,0 +1,49 @@
+package com.mani.payment_transfer_system.archive;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint {@code /actuator/archive} for inspecting and triggering archive runs.
+ * Only registered when the archive is enabled; it must additionally be exposed through
+ * {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Endpoint(id = "archive")
+@ConditionalOnProperty(prefix = "payment.archive", name = "enabled", havingValue = "true")
+public class ArchiveEndpoint {
+
+    private final TransactionArchiver archiver;
+
+    /**
+     * Constructs a new ArchiveEndpoint.
+     *
+     * @param archiver the transaction archiver
+     */
+    public ArchiveEndpoint(TransactionArchiver archiver) {
+        this.archiver = archiver;
+    }
+
+    /**
+     * Returns the report of the most recent run.
+     *
+     * @return the report, or null (404) if no run has completed yet
+     */
+    @ReadOperation
+    public ArchiveRunReport lastReport() {
+        return archiver.getLastReport();
+    }
+
+    /**
+     * Archives the transactions older than the minimum age now and waits for the run to finish.
+     *
+     * @return the report of the run
+     */
+    @WriteOperation
+    public ArchiveRunReport archive() {
+        return archiver.archive();
+    }
+}
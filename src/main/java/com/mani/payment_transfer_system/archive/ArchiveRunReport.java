@@ -0,0 +1,39 @@
+package com.mani.payment_transfer_system.archive;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of one archive run.
+ */
+@Getter
+public class ArchiveRunReport {
+
+    private final Instant startedAt;
+    private final long durationMillis;
+    private final LocalDateTime cutoff;
+    private final int segmentsWritten;
+    private final long transactionsArchived;
+    private final long bytesWritten;
+
+    ArchiveRunReport(Instant startedAt, long durationMillis, LocalDateTime cutoff, int segmentsWritten,
+                     long transactionsArchived, long bytesWritten) {
+        this.startedAt = startedAt;
+        this.durationMillis = durationMillis;
+        this.cutoff = cutoff;
+        this.segmentsWritten = segmentsWritten;
+        this.transactionsArchived = transactionsArchived;
+        this.bytesWritten = bytesWritten;
+    }
+
+    /**
+     * Returns the average size of an archived transaction in the segments written by this run.
+     *
+     * @return the size in bytes, or 0 if nothing was archived
+     */
+    public double getBytesPerTransaction() {
+        return transactionsArchived > 0 ? (double) bytesWritten / transactionsArchived : 0;
+    }
+}
@@ -0,0 +1,191 @@
+package com.mani.payment_transfer_system.archive;
+
+import com.mani.payment_transfer_system.dto.TransactionResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Encodes transactions into a segment file in the layout described by {@link TransactionSegment}.
+ * The file is written under a temporary name, forced to disk and then renamed atomically, so a
+ * segment file is either complete or absent.
+ */
+final class SegmentWriter {
+
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private SegmentWriter() {
+    }
+
+    /**
+     * Writes a segment file.
+     *
+     * @param path the segment file to create
+     * @param transactions the transactions, in ascending ID order
+     * @return the size of the file in bytes
+     * @throws IllegalArgumentException if there are no transactions, they are not in ascending ID
+     *         order, or an amount does not fit the fixed-point encoding
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    static long write(Path path, List<TransactionResponse> transactions) {
+        if (transactions.isEmpty()) {
+            throw new IllegalArgumentException("A segment needs at least one transaction");
+        }
+        long[] dictionary = dictionary(transactions);
+        int rowCount = transactions.size();
+        int blockCount = (rowCount + TransactionSegment.BLOCK_SIZE - 1) / TransactionSegment.BLOCK_SIZE;
+        Column ids = new Column(rowCount);
+        Column timestamps = new Column(rowCount * 3);
+        Column sources = new Column(rowCount * 2);
+        Column destinations = new Column(rowCount * 2);
+        Column amounts = new Column(rowCount * 4);
+        Column[] columns = {ids, timestamps, sources, destinations, amounts};
+        int[][] blockPositions = new int[blockCount][columns.length];
+        long[] firstIds = new long[blockCount];
+        long[] firstTimestamps = new long[blockCount];
+
+        long minTimestamp = Long.MAX_VALUE;
+        long maxTimestamp = Long.MIN_VALUE;
+        long previousId = 0;
+        long previousTimestamp = 0;
+        for (int row = 0; row < rowCount; row++) {
+            TransactionResponse transaction = transactions.get(row);
+            long id = transaction.getId();
+            long timestamp = TransactionSegment.toMicros(transaction.getTimestamp());
+            if (row > 0 && id <= previousId) {
+                throw new IllegalArgumentException("Transactions are not in ascending ID order at ID " + id);
+            }
+            int block = row / TransactionSegment.BLOCK_SIZE;
+            if (row % TransactionSegment.BLOCK_SIZE == 0) {
+                for (int column = 0; column < columns.length; column++) {
+                    blockPositions[block][column] = columns[column].size;
+                }
+                firstIds[block] = id;
+                firstTimestamps[block] = timestamp;
+            } else {
+                ids.putVarLong(id - previousId);
+                timestamps.putVarLong(zigzagEncode(timestamp - previousTimestamp));
+            }
+            sources.putVarLong(Arrays.binarySearch(dictionary, transaction.getSourceAccountId()));
+            destinations.putVarLong(Arrays.binarySearch(dictionary, transaction.getDestinationAccountId()));
+            amounts.putVarLong(zigzagEncode(unscaledAmount(transaction)));
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+            previousId = id;
+            previousTimestamp = timestamp;
+        }
+
+        int dictionaryOffset = TransactionSegment.HEADER_SIZE;
+        int blockIndexOffset = dictionaryOffset + dictionary.length * Long.BYTES;
+        int[] columnOffsets = new int[columns.length];
+        int size = blockIndexOffset + blockCount * TransactionSegment.BLOCK_ENTRY_SIZE;
+        for (int column = 0; column < columns.length; column++) {
+            columnOffsets[column] = size;
+            size = Math.addExact(size, columns[column].size);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(TransactionSegment.MAGIC)
+                .putShort(TransactionSegment.VERSION)
+                .putShort((short) TransactionSegment.AMOUNT_SCALE)
+                .putInt(rowCount)
+                .putInt(blockCount)
+                .putLong(firstIds[0])
+                .putLong(previousId)
+                .putLong(minTimestamp)
+                .putLong(maxTimestamp)
+                .putInt(dictionaryOffset)
+                .putInt(dictionary.length)
+                .putInt(blockIndexOffset);
+        buffer.position(dictionaryOffset);
+        for (long accountId : dictionary) {
+            buffer.putLong(accountId);
+        }
+        for (int block = 0; block < blockCount; block++) {
+            buffer.putLong(firstIds[block]).putLong(firstTimestamps[block]);
+            for (int column = 0; column < columns.length; column++) {
+                buffer.putInt(columnOffsets[column] + blockPositions[block][column]);
+            }
+        }
+        for (Column column : columns) {
+            buffer.put(column.bytes, 0, column.size);
+        }
+        buffer.flip();
+        writeAtomically(path, buffer);
+        return size;
+    }
+
+    private static long[] dictionary(List<TransactionResponse> transactions) {
+        long[] accounts = new long[transactions.size() * 2];
+        for (int row = 0; row < transactions.size(); row++) {
+            accounts[2 * row] = transactions.get(row).getSourceAccountId();
+            accounts[2 * row + 1] = transactions.get(row).getDestinationAccountId();
+        }
+        return Arrays.stream(accounts).sorted().distinct().toArray();
+    }
+
+    private static long unscaledAmount(TransactionResponse transaction) {
+        try {
+            return transaction.getAmount().setScale(TransactionSegment.AMOUNT_SCALE).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount of transaction " + transaction.getId()
+                    + " does not fit the archive's fixed-point encoding: " + transaction.getAmount(), e);
+        }
+    }
+
+    private static void writeAtomically(Path path, ByteBuffer buffer) {
+        Path temporary = path.resolveSibling(path.getFileName() + TEMPORARY_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write transaction segment " + path, e);
+        }
+    }
+
+    static boolean isTemporary(Path path) {
+        return path.getFileName().toString().endsWith(TEMPORARY_SUFFIX);
+    }
+
+    private static long zigzagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Growable byte array of varints.
+     */
+    private static final class Column {
+
+        private byte[] bytes;
+        private int size;
+
+        Column(int initialCapacity) {
+            bytes = new byte[Math.max(16, initialCapacity)];
+        }
+
+        void putVarLong(long value) {
+            if (bytes.length - size < 10) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + 10));
+            }
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.mani.payment_transfer_system.archive;
+
+import com.mani.payment_transfer_system.config.ArchiveProperties;
+import com.mani.payment_transfer_system.dto.TransactionResponse;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * The segment files of archived transactions, memory-mapped and searchable by transaction ID.
+ * Segments are kept per shard, in the order they were written. A lookup only decodes segments
+ * whose ID range contains the ID, so a miss usually costs a few header comparisons.
+ * When the archive is disabled, no segments are loaded and every lookup misses.
+ */
+@Component
+public class TransactionArchive {
+
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchive.class);
+    private final ArchiveProperties properties;
+    private final ShardRouter shardRouter;
+    private final Map<String, List<TransactionSegment>> segments = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new TransactionArchive.
+     *
+     * @param properties the archive properties
+     * @param shardRouter the router listing the shards
+     * @param metricsService the metrics service for exposing the archive size
+     */
+    public TransactionArchive(ArchiveProperties properties, ShardRouter shardRouter, MetricsService metricsService) {
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        for (String shard : shardRouter.shardNames()) {
+            segments.put(shard, new CopyOnWriteArrayList<>());
+        }
+        if (properties.isEnabled()) {
+            metricsService.bindArchive(this, TransactionArchive::segmentCount, TransactionArchive::transactionCount);
+        }
+    }
+
+    /**
+     * Maps the segment files of every shard, removing files left behind by an interrupted write.
+     *
+     * @throws UncheckedIOException if the archive directory cannot be read
+     */
+    @PostConstruct
+    void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (String shard : shardRouter.shardNames()) {
+            Path directory = shardDirectory(shard);
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.sorted().toList()) {
+                    if (SegmentWriter.isTemporary(file)) {
+                        Files.delete(file);
+                    } else if (file.getFileName().toString().endsWith(SEGMENT_SUFFIX)) {
+                        segments.get(shard).add(TransactionSegment.open(file));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load the transaction archive in " + directory, e);
+            }
+        }
+        logger.info("Loaded {} archive segments holding {} transactions", segmentCount(), transactionCount());
+    }
+
+    /**
+     * Looks up an archived transaction. Shards are searched in order, like the live transactions.
+     *
+     * @param transactionId the transaction ID
+     * @return the transaction, or null if it is not archived
+     */
+    public TransactionResponse find(long transactionId) {
+        for (String shard : shardRouter.shardNames()) {
+            for (TransactionSegment segment : segments.get(shard)) {
+                if (segment.mayContain(transactionId)) {
+                    TransactionResponse transaction = segment.find(transactionId);
+                    if (transaction != null) {
+                        return transaction;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Decodes every archived transaction, shard by shard in the order the segments were written.
+     *
+     * @return a new list of the archived transactions
+     */
+    public List<TransactionResponse> findAll() {
+        List<TransactionResponse> transactions = new ArrayList<>();
+        for (String shard : shardRouter.shardNames()) {
+            for (TransactionSegment segment : segments.get(shard)) {
+                segment.forEach(transactions::add);
+            }
+        }
+        return transactions;
+    }
+
+    /**
+     * Returns the segments of a shard in the order they were written.
+     *
+     * @param shard the shard name
+     * @return an unmodifiable snapshot of the segments
+     */
+    List<TransactionSegment> segments(String shard) {
+        return List.copyOf(segments.get(shard));
+    }
+
+    /**
+     * Makes a newly written segment visible to lookups.
+     *
+     * @param shard the shard whose transactions the segment holds
+     * @param segment the segment
+     */
+    void add(String shard, TransactionSegment segment) {
+        segments.get(shard).add(segment);
+    }
+
+    /**
+     * Returns the path of the next segment file of a shard.
+     *
+     * @param shard the shard name
+     * @return the file path, named after the segment's sequence number
+     */
+    Path nextSegmentPath(String shard) {
+        return shardDirectory(shard).resolve(String.format("%s%010d%s", SEGMENT_PREFIX,
+                segments.get(shard).size() + 1, SEGMENT_SUFFIX));
+    }
+
+    Path shardDirectory(String shard) {
+        return Path.of(properties.getDirectory()).resolve(shard);
+    }
+
+    int segmentCount() {
+        return segments.values().stream().mapToInt(List::size).sum();
+    }
+
+    long transactionCount() {
+        return segments.values().stream()
+                .flatMap(List::stream)
+                .mapToLong(TransactionSegment::getRowCount)
+                .sum();
+    }
+}
@@ -0,0 +1,204 @@
+package com.mani.payment_transfer_system.archive;
+
+import com.mani.payment_transfer_system.config.ArchiveProperties;
+import com.mani.payment_transfer_system.config.ReconciliationProperties;
+import com.mani.payment_transfer_system.dto.TransactionResponse;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Moves transactions older than {@code min-age} from the {@code transactions} table to segment files.
+ * On every shard, each run repeatedly:
+ * <ol>
+ *   <li>reads the oldest {@code segment-size} archivable transactions by ID,</li>
+ *   <li>writes them to a new segment file, forced to disk before it becomes visible,</li>
+ *   <li>adds the segment to the {@link TransactionArchive}, so lookups find the transactions there, and</li>
+ *   <li>deletes the transactions from the table in one statement.</li>
+ * </ol>
+ * A run interrupted between the last two steps leaves the transactions in both places; the next run
+ * deletes them from the table before it writes anything. When reconciliation is enabled, only
+ * transactions already folded into the ledger totals are archived, so the reconciliation never has
+ * to read them again.
+ */
+@Component
+@ConditionalOnProperty(prefix = "payment.archive", name = "enabled", havingValue = "true")
+public class TransactionArchiver {
+
+    static final String RECONCILED_TRANSACTION_ID =
+            "SELECT last_transaction_id FROM reconciliation_watermarks WHERE ledger = 'transactions'";
+    static final String ARCHIVABLE_TRANSACTIONS =
+            "SELECT id, source_account_id, destination_account_id, amount, timestamp FROM transactions "
+                    + "WHERE timestamp < ? AND id <= ? ORDER BY id LIMIT ?";
+    // Every transaction in a segment's ID range that is not in the segment was newer than the
+    // cutoff, hence newer than the segment's latest timestamp
+    static final String DELETE_ARCHIVED =
+            "DELETE FROM transactions WHERE id BETWEEN ? AND ? AND timestamp <= ?";
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchiver.class);
+    private static final RowMapper<TransactionResponse> TRANSACTION = (rs, rowNum) -> new TransactionResponse(
+            rs.getLong("id"),
+            rs.getLong("source_account_id"),
+            rs.getLong("destination_account_id"),
+            rs.getBigDecimal("amount"),
+            rs.getObject("timestamp", LocalDateTime.class));
+    private final ArchiveProperties properties;
+    private final boolean reconciliationEnabled;
+    private final TransactionArchive archive;
+    private final ShardRouter shardRouter;
+    private final MetricsService metricsService;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile ArchiveRunReport lastReport;
+
+    /**
+     * Constructs a new TransactionArchiver.
+     *
+     * @param properties the archive properties
+     * @param reconciliationProperties the reconciliation properties, to archive only reconciled transactions
+     * @param archive the archive the segments are added to
+     * @param shardRouter the router listing the shards and running work on them
+     * @param metricsService the metrics service for recording runs
+     * @param dataSource the application data source
+     */
+    public TransactionArchiver(ArchiveProperties properties, ReconciliationProperties reconciliationProperties,
+                               TransactionArchive archive, ShardRouter shardRouter, MetricsService metricsService,
+                               DataSource dataSource) {
+        if (properties.getSegmentSize() < 1 || properties.getMaxSegmentsPerRun() < 1) {
+            throw new IllegalArgumentException("payment.archive requires segment-size >= 1 and max-segments-per-run >= 1");
+        }
+        this.properties = properties;
+        this.reconciliationEnabled = reconciliationProperties.isEnabled();
+        this.archive = archive;
+        this.shardRouter = shardRouter;
+        this.metricsService = metricsService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+    }
+
+    /**
+     * Runs the archiver every {@code payment.archive.interval}.
+     */
+    @Scheduled(initialDelayString = "${payment.archive.interval:PT1H}",
+            fixedDelayString = "${payment.archive.interval:PT1H}")
+    public void scheduledArchive() {
+        archive();
+    }
+
+    /**
+     * Archives the transactions older than {@code min-age}, up to {@code max-segments-per-run}
+     * segments per shard. Runs are serialized; a caller arriving during a run waits for it and then runs again.
+     *
+     * @return the report of this run
+     * @throws UncheckedIOException if a segment cannot be written; the segments written before it are kept
+     */
+    public synchronized ArchiveRunReport archive() {
+        Instant startedAt = Instant.now();
+        long began = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minus(properties.getMinAge());
+
+        int segmentsWritten = 0;
+        long transactions = 0;
+        long bytes = 0;
+        for (String shard : shardRouter.shardNames()) {
+            deleteLeftovers(shard);
+            long upTo = shardRouter.callInShard(shard, this::archivableUpTo);
+            for (int written = 0; written < properties.getMaxSegmentsPerRun(); written++) {
+                List<TransactionResponse> batch = shardRouter.inShardSnapshot(shard, () -> jdbcTemplate.query(
+                        ARCHIVABLE_TRANSACTIONS, TRANSACTION, cutoff, upTo, properties.getSegmentSize()));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                Path path = archive.nextSegmentPath(shard);
+                bytes += SegmentWriter.write(createDirectories(path), batch);
+                TransactionSegment segment = TransactionSegment.open(path);
+                archive.add(shard, segment);
+                int deleted = deleteFromTable(shard, segment);
+                if (deleted != batch.size()) {
+                    logger.warn("Archived {} transactions to {} but deleted {} from the table",
+                            batch.size(), path, deleted);
+                }
+                segmentsWritten++;
+                transactions += batch.size();
+                if (batch.size() < properties.getSegmentSize()) {
+                    break;
+                }
+            }
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - began);
+        ArchiveRunReport report = new ArchiveRunReport(startedAt, duration.toMillis(), cutoff, segmentsWritten,
+                transactions, bytes);
+        lastReport = report;
+        metricsService.recordArchiveRun(duration, transactions, bytes);
+        logger.info("Archived {} transactions older than {} into {} segments ({} bytes) in {} ms",
+                transactions, cutoff, segmentsWritten, bytes, duration.toMillis());
+        return report;
+    }
+
+    /**
+     * Returns the report of the most recent run.
+     *
+     * @return the report, or null if no run has completed yet
+     */
+    public ArchiveRunReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Returns the highest ID that may be archived on the current shard.
+     */
+    private long archivableUpTo() {
+        if (!reconciliationEnabled) {
+            return Long.MAX_VALUE;
+        }
+        List<Long> watermark = jdbcTemplate.queryForList(RECONCILED_TRANSACTION_ID, Long.class);
+        return watermark.isEmpty() ? 0 : watermark.get(0);
+    }
+
+    /**
+     * Deletes transactions of the shard's latest segment that an interrupted run left in the table.
+     */
+    private void deleteLeftovers(String shard) {
+        List<TransactionSegment> segments = archive.segments(shard);
+        if (segments.isEmpty()) {
+            return;
+        }
+        TransactionSegment latest = segments.get(segments.size() - 1);
+        int deleted = deleteFromTable(shard, latest);
+        if (deleted > 0) {
+            logger.warn("Deleted {} transactions of {} left in the table by an interrupted run",
+                    deleted, latest.getPath());
+        }
+    }
+
+    private int deleteFromTable(String shard, TransactionSegment segment) {
+        return shardRouter.inShardTransaction(shard, () -> jdbcTemplate.update(DELETE_ARCHIVED,
+                segment.getMinId(), segment.getMaxId(), segment.getMaxTimestamp()));
+    }
+
+    private static Path createDirectories(Path path) {
+        try {
+            Files.createDirectories(path.getParent());
+            return path;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create the archive directory " + path.getParent(), e);
+        }
+    }
+}
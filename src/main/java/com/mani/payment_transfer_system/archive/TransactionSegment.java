@@ -0,0 +1,243 @@
+package com.mani.payment_transfer_system.archive;
+
+import com.mani.payment_transfer_system.dto.TransactionResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+
+/**
+ * Read-only view of one immutable segment file of archived transactions, memory-mapped on open.
+ * The file is written by {@link SegmentWriter} and laid out as:
+ * <ol>
+ *   <li>A header with the row and block counts and the minimum and maximum transaction ID and timestamp.</li>
+ *   <li>The dictionary: the distinct account IDs of the segment in ascending order, 8 bytes each.</li>
+ *   <li>The block index: for every block of {@link #BLOCK_SIZE} rows, the ID and timestamp of its
+ *       first row and the position of the block in each column.</li>
+ *   <li>The columns, each the concatenation of its blocks: IDs and timestamps (microseconds since
+ *       the epoch, UTC) as varint deltas from the previous row, source and destination accounts as
+ *       varint dictionary indexes, and amounts as zigzag varints of the amount in units of 10^-5.</li>
+ * </ol>
+ * A lookup by ID binary-searches the block index and decodes at most one block, without copying
+ * the segment to the heap. Instances are safe for concurrent use.
+ */
+class TransactionSegment {
+
+    static final int MAGIC = 0x50545341;
+    static final short VERSION = 1;
+    static final int AMOUNT_SCALE = 5;
+    static final int BLOCK_SIZE = 128;
+    static final int HEADER_SIZE = 64;
+    static final int BLOCK_ENTRY_SIZE = 36;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int rowCount;
+    private final int blockCount;
+    private final long minId;
+    private final long maxId;
+    private final long minTimestamp;
+    private final long maxTimestamp;
+    private final int dictionaryOffset;
+    private final int blockIndexOffset;
+
+    private TransactionSegment(Path path, MappedByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION
+                || buffer.getShort(6) != AMOUNT_SCALE) {
+            throw new IllegalStateException("Not a version " + VERSION + " transaction segment: " + path);
+        }
+        this.path = path;
+        this.buffer = buffer;
+        this.rowCount = buffer.getInt(8);
+        this.blockCount = buffer.getInt(12);
+        this.minId = buffer.getLong(16);
+        this.maxId = buffer.getLong(24);
+        this.minTimestamp = buffer.getLong(32);
+        this.maxTimestamp = buffer.getLong(40);
+        this.dictionaryOffset = buffer.getInt(48);
+        this.blockIndexOffset = buffer.getInt(56);
+    }
+
+    /**
+     * Maps a segment file into memory and reads its header.
+     *
+     * @param path the segment file
+     * @return the segment
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalStateException if the file is not a segment of this version
+     */
+    static TransactionSegment open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new TransactionSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open transaction segment " + path, e);
+        }
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    long getMinId() {
+        return minId;
+    }
+
+    long getMaxId() {
+        return maxId;
+    }
+
+    LocalDateTime getMinTimestamp() {
+        return toTimestamp(minTimestamp);
+    }
+
+    LocalDateTime getMaxTimestamp() {
+        return toTimestamp(maxTimestamp);
+    }
+
+    long getSizeBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Returns whether the ID lies within the segment's ID range, read from the header.
+     *
+     * @param id the transaction ID
+     * @return false if the segment cannot contain the transaction
+     */
+    boolean mayContain(long id) {
+        return id >= minId && id <= maxId;
+    }
+
+    /**
+     * Looks up a transaction by ID.
+     *
+     * @param id the transaction ID
+     * @return the transaction, or null if the segment does not contain it
+     */
+    TransactionResponse find(long id) {
+        if (!mayContain(id)) {
+            return null;
+        }
+        int low = 0;
+        int high = blockCount - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (buffer.getLong(blockEntry(middle)) <= id) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        Block block = new Block(low);
+        for (int row = 0; row < block.rows; row++) {
+            block.next();
+            if (block.id == id) {
+                return block.toResponse();
+            }
+            if (block.id > id) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Decodes every transaction of the segment in ID order.
+     *
+     * @param consumer receives each transaction
+     */
+    void forEach(Consumer<TransactionResponse> consumer) {
+        for (int index = 0; index < blockCount; index++) {
+            Block block = new Block(index);
+            for (int row = 0; row < block.rows; row++) {
+                block.next();
+                consumer.accept(block.toResponse());
+            }
+        }
+    }
+
+    static long toMicros(LocalDateTime timestamp) {
+        return Math.addExact(Math.multiplyExact(timestamp.toEpochSecond(ZoneOffset.UTC), 1_000_000L),
+                timestamp.getNano() / 1000);
+    }
+
+    static LocalDateTime toTimestamp(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+
+    private int blockEntry(int index) {
+        return blockIndexOffset + index * BLOCK_ENTRY_SIZE;
+    }
+
+    /**
+     * Sequential decoder of the rows of one block.
+     */
+    private final class Block {
+
+        private final int rows;
+        private final int[] positions = new int[5];
+        private int decoded;
+        private long id;
+        private long timestamp;
+        private long source;
+        private long destination;
+        private long amount;
+
+        Block(int index) {
+            int entry = blockEntry(index);
+            rows = index < blockCount - 1 ? BLOCK_SIZE : rowCount - index * BLOCK_SIZE;
+            id = buffer.getLong(entry);
+            timestamp = buffer.getLong(entry + 8);
+            for (int column = 0; column < positions.length; column++) {
+                positions[column] = buffer.getInt(entry + 16 + column * 4);
+            }
+        }
+
+        void next() {
+            if (decoded > 0) {
+                id += readVarLong(0);
+                timestamp += zigzagDecode(readVarLong(1));
+            }
+            source = buffer.getLong(dictionaryOffset + (int) readVarLong(2) * Long.BYTES);
+            destination = buffer.getLong(dictionaryOffset + (int) readVarLong(3) * Long.BYTES);
+            amount = zigzagDecode(readVarLong(4));
+            decoded++;
+        }
+
+        TransactionResponse toResponse() {
+            return new TransactionResponse(id, source, destination, BigDecimal.valueOf(amount, AMOUNT_SCALE),
+                    toTimestamp(timestamp));
+        }
+
+        private long readVarLong(int column) {
+            int position = positions[column];
+            long value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = buffer.get(position++);
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while (current < 0);
+            positions[column] = position;
+            return value;
+        }
+    }
+
+    private static long zigzagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,53 @@
+package com.mani.payment_transfer_system.cache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+/**
+ * An encoded JSON response body with its strong entity tag.
+ * The body is either a heap array or a direct buffer; it is never modified after creation.
+ */
+public final class CachedJson {
+
+    private final ByteBuffer body;
+    private final String etag;
+
+    CachedJson(ByteBuffer body, String etag) {
+        this.body = body;
+        this.etag = etag;
+    }
+
+    /**
+     * Returns the strong entity tag, including the surrounding quotes.
+     *
+     * @return the entity tag
+     */
+    public String etag() {
+        return etag;
+    }
+
+    /**
+     * Returns the body length.
+     *
+     * @return the number of bytes in the body
+     */
+    public int length() {
+        return body.remaining();
+    }
+
+    /**
+     * Writes the body to the stream without decoding it.
+     *
+     * @param out the stream
+     * @throws IOException if writing fails
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        if (body.hasArray()) {
+            out.write(body.array(), body.arrayOffset() + body.position(), body.remaining());
+        } else {
+            Channels.newChannel(out).write(body.duplicate());
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.mani.payment_transfer_system.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.config.TransactionCacheProperties;
+import com.mani.payment_transfer_system.dto.TransactionResponse;
+import com.mani.payment_transfer_system.service.MetricsService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+
+/**
+ * Size-bounded cache of transaction responses, stored as the JSON bytes sent to clients.
+ * Transactions never change once written, so entries are never invalidated, only evicted.
+ * <ul>
+ *   <li>Eviction uses the CLOCK algorithm: entries are queued in insertion order and an entry
+ *       read since it was last inspected gets a second chance instead of being evicted.</li>
+ *   <li>Bodies are heap arrays, or direct buffers with {@code payment.transaction-cache.off-heap=true}.</li>
+ *   <li>New transactions can be loaded in the background right after they are written, through a
+ *       single thread with a bounded queue; work beyond the queue is dropped.</li>
+ * </ul>
+ * When disabled, responses are still encoded by {@link #put(Long, TransactionResponse)} but not stored.
+ */
+@Component
+public class TransactionResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionResponseCache.class);
+    private static final int POPULATE_QUEUE_CAPACITY = 1024;
+    private final ObjectMapper objectMapper;
+    private final MetricsService metricsService;
+    private final boolean enabled;
+    private final boolean offHeap;
+    private final boolean populateOnWrite;
+    private final long maxBytes;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Long> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final ThreadPoolExecutor populator;
+
+    /**
+     * Constructs a new TransactionResponseCache.
+     *
+     * @param properties the cache properties
+     * @param objectMapper the object mapper also used for HTTP responses, so cached bytes match them
+     * @param metricsService the metrics service for recording cache metrics
+     */
+    public TransactionResponseCache(TransactionCacheProperties properties, ObjectMapper objectMapper,
+                                    MetricsService metricsService) {
+        this.objectMapper = objectMapper;
+        this.metricsService = metricsService;
+        this.enabled = properties.isEnabled();
+        this.offHeap = properties.isOffHeap();
+        this.populateOnWrite = properties.isPopulateOnWrite();
+        this.maxBytes = properties.getMaxSize().toBytes();
+        this.populator = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(POPULATE_QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "transaction-cache-populator");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+        if (enabled) {
+            metricsService.bindTransactionCache(this, cache -> cache.usedBytes.get(), cache -> cache.entries.size());
+        }
+    }
+
+    /**
+     * Looks up a cached response.
+     *
+     * @param transactionId the transaction ID
+     * @return the cached response, or null if it is not cached
+     */
+    public CachedJson get(Long transactionId) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(transactionId);
+        if (entry == null) {
+            metricsService.recordTransactionCacheMiss();
+            return null;
+        }
+        entry.referenced = true;
+        metricsService.recordTransactionCacheHit();
+        return entry.json;
+    }
+
+    /**
+     * Encodes a response and caches it.
+     *
+     * @param transactionId the transaction ID
+     * @param response the response to encode
+     * @return the encoded response
+     */
+    public CachedJson put(Long transactionId, TransactionResponse response) {
+        CachedJson json = encode(response);
+        if (enabled && json.length() <= maxBytes) {
+            Entry entry = new Entry(json);
+            Entry existing = entries.putIfAbsent(transactionId, entry);
+            if (existing != null) {
+                return existing.json;
+            }
+            clock.offer(transactionId);
+            usedBytes.addAndGet(json.length());
+            evictToCapacity();
+        }
+        return json;
+    }
+
+    /**
+     * Loads and caches newly written transactions in the background.
+     * Does nothing unless the cache is enabled with {@code populate-on-write}.
+     *
+     * @param transactionIds the IDs of committed transactions
+     * @param loader loads a transaction, returning null if it is not found
+     */
+    public void populate(List<Long> transactionIds, Function<Long, TransactionResponse> loader) {
+        if (!enabled || !populateOnWrite) {
+            return;
+        }
+        populator.execute(() -> {
+            for (Long transactionId : transactionIds) {
+                try {
+                    TransactionResponse response = loader.apply(transactionId);
+                    if (response != null) {
+                        put(transactionId, response);
+                    }
+                } catch (RuntimeException e) {
+                    logger.debug("Could not populate transaction cache for ID {}", transactionId, e);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        populator.shutdownNow();
+    }
+
+    private CachedJson encode(TransactionResponse response) {
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize transaction " + response.getId(), e);
+        }
+        CRC32C checksum = new CRC32C();
+        checksum.update(bytes);
+        String etag = "\"" + response.getId() + "-" + Long.toHexString(checksum.getValue()) + "\"";
+
+        ByteBuffer body;
+        if (enabled && offHeap) {
+            body = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        } else {
+            body = ByteBuffer.wrap(bytes);
+        }
+        return new CachedJson(body, etag);
+    }
+
+    private void evictToCapacity() {
+        while (usedBytes.get() > maxBytes) {
+            Long candidate = clock.poll();
+            if (candidate == null) {
+                return;
+            }
+            Entry entry = entries.get(candidate);
+            if (entry == null) {
+                continue;
+            }
+            if (entry.referenced) {
+                entry.referenced = false;
+                clock.offer(candidate);
+            } else if (entries.remove(candidate, entry)) {
+                usedBytes.addAndGet(-entry.json.length());
+                metricsService.recordTransactionCacheEviction();
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final CachedJson json;
+        private volatile boolean referenced;
+
+        private Entry(CachedJson json) {
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.mani.payment_transfer_system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-memory filter of existing account IDs,
+ * bound from {@code payment.account-filter.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.account-filter")
+public class AccountFilterProperties {
+
+    /**
+     * Whether lookups and transfers for unknown account IDs are rejected without a database query.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Minimum number of accounts the filter is sized for.
+     */
+    private long expectedAccounts = 1_000_000;
+
+    /**
+     * Capacity reserved for growth, as a multiple of the accounts found when the filter is built.
+     */
+    private double growthFactor = 2.0;
+
+    /**
+     * Target false-positive rate at full capacity.
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Interval between rebuilds, which resize the filter and pick up accounts created by other instances.
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,51 @@
+package com.mani.payment_transfer_system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-memory transaction analytics store, bound from {@code payment.analytics.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.analytics")
+public class AnalyticsProperties {
+
+    /**
+     * Whether committed transactions are kept in memory and the {@code /analytics} API is registered.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How far back transactions are kept; at startup, the transactions of this window are loaded from the database.
+     */
+    private Duration lookback = Duration.ofDays(90);
+
+    /**
+     * Number of transactions per column chunk; memory is allocated and released one chunk at a time.
+     */
+    private int chunkSize = 65_536;
+
+    /**
+     * Number of threads scanning chunks for one query.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of rows fetched per round trip while loading transactions at startup.
+     */
+    private int fetchSize = 10_000;
+
+    /**
+     * Maximum number of time buckets a query may span.
+     */
+    private int maxBuckets = 10_000;
+
+    /**
+     * Delay between releases of the chunks older than {@code lookback}.
+     */
+    private Duration evictionInterval = Duration.ofHours(1);
+}
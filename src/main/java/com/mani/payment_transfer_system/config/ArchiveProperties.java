@@ -0,0 +1,51 @@
+package com.mani.payment_transfer_system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the cold-transaction archive, bound from {@code payment.archive.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.archive")
+public class ArchiveProperties {
+
+    /**
+     * Whether old transactions are moved to segment files, and lookups fall back to them.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory the segment files are written to, one subdirectory per shard.
+     */
+    private String directory = "archive";
+
+    /**
+     * Age after which a transaction is moved to the archive.
+     */
+    private Duration minAge = Duration.ofDays(90);
+
+    /**
+     * Maximum number of transactions per segment file.
+     */
+    private int segmentSize = 100_000;
+
+    /**
+     * Maximum number of segments written per shard in one run; the rest is archived by the next run.
+     */
+    private int maxSegmentsPerRun = 10;
+
+    /**
+     * Number of rows fetched per round trip while reading the transactions of a segment.
+     */
+    private int fetchSize = 1000;
+
+    /**
+     * Delay between the end of one archive run and the start of the next.
+     */
+    private Duration interval = Duration.ofHours(1);
+}
@@ -0,0 +1,57 @@
+package com.mani.payment_transfer_system.config;
+
+import com.mani.payment_transfer_system.limit.AdaptiveConcurrencyLimiter;
+import com.mani.payment_transfer_system.limit.ConcurrencyLimitInterceptor;
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Puts the account, transaction and hold endpoints behind adaptive concurrency limits
+ * when {@code payment.concurrency-limit.enabled=true}.
+ * Actuator endpoints are not limited, so the service stays observable while it sheds load.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "payment.concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitConfig.class);
+    private final ConcurrencyLimitInterceptor interceptor;
+
+    /**
+     * Constructs a new ConcurrencyLimitConfig.
+     *
+     * @param properties the concurrency limit properties
+     * @param metricsService the metrics service for limits and rejections
+     */
+    public ConcurrencyLimitConfig(ConcurrencyLimitProperties properties, MetricsService metricsService) {
+        AdaptiveConcurrencyLimiter readLimiter = limiter("read", properties.getRead(), properties, metricsService);
+        AdaptiveConcurrencyLimiter writeLimiter = limiter("write", properties.getWrite(), properties, metricsService);
+        this.interceptor = new ConcurrencyLimitInterceptor(readLimiter, writeLimiter, metricsService,
+                properties.getRetryAfter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/accounts/**", "/transactions/**", "/holds/**");
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(String name, ConcurrencyLimitProperties.Bulkhead bulkhead,
+                                                      ConcurrencyLimitProperties properties,
+                                                      MetricsService metricsService) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(name, bulkhead.getInitialLimit(),
+                bulkhead.getMinLimit(), bulkhead.getMaxLimit(), properties.getRttTolerance(),
+                properties.getSmoothing(), properties.getBackoffRatio(),
+                (bulkheadName, oldLimit, newLimit) -> {
+                    metricsService.recordConcurrencyLimitChange(bulkheadName, newLimit > oldLimit ? "increase" : "decrease");
+                    logger.debug("Concurrency limit of {} bulkhead changed from {} to {}", bulkheadName, oldLimit, newLimit);
+                });
+        metricsService.bindConcurrencyLimit(name, limiter, AdaptiveConcurrencyLimiter::getLimit,
+                AdaptiveConcurrencyLimiter::getInFlight);
+        return limiter;
+    }
+}
@@ -0,0 +1,85 @@
+package com.mani.payment_transfer_system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for adaptive admission control of API requests,
+ * bound from {@code payment.concurrency-limit.*}.
+ * Reads and writes are admitted by separate bulkheads, each with its own adaptive limit.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Whether requests beyond the concurrency limit are rejected with 503 Service Unavailable.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Value of the Retry-After header sent with rejected requests.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Factor by which latency may exceed its long-term average before a limit is reduced.
+     */
+    private double rttTolerance = 1.5;
+
+    /**
+     * Weight of a new limit estimate; lower values react more slowly but are more stable.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Factor applied to a limit when a request fails with a server error.
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * Bulkhead for requests that change state (transfers, split payments, account creation).
+     */
+    private Bulkhead write = new Bulkhead(10, 2, 40);
+
+    /**
+     * Bulkhead for read-only requests.
+     */
+    private Bulkhead read = new Bulkhead(20, 4, 100);
+
+    /**
+     * Limits of one bulkhead.
+     */
+    @Getter
+    @Setter
+    public static class Bulkhead {
+
+        /**
+         * Concurrency limit before any latency has been observed.
+         */
+        private int initialLimit;
+
+        /**
+         * Lower bound for the concurrency limit.
+         */
+        private int minLimit;
+
+        /**
+         * Upper bound for the concurrency limit.
+         */
+        private int maxLimit;
+
+        public Bulkhead() {
+        }
+
+        public Bulkhead(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
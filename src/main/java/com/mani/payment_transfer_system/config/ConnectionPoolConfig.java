@@ -0,0 +1,37 @@
+package com.mani.payment_transfer_system.config;
+
+import com.mani.payment_transfer_system.pool.PoolMetricsTrackerFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Instruments the application's Hikari connection pools.
+ */
+@Configuration
+public class ConnectionPoolConfig {
+
+    /**
+     * Installs the {@link PoolMetricsTrackerFactory} on every Hikari data source bean before its pool starts.
+     * Declared static and resolving the factory lazily, so registering the post-processor does
+     * not initialize the metrics beans early.
+     *
+     * @param trackerFactory provider of the tracker factory
+     * @return the post-processor
+     */
+    @Bean
+    public static BeanPostProcessor poolMetricsTrackerInstaller(ObjectProvider<PoolMetricsTrackerFactory> trackerFactory) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari
+                        && hikari.getMetricsTrackerFactory() == null && hikari.getMetricRegistry() == null) {
+                    hikari.setMetricsTrackerFactory(trackerFactory.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.mani.payment_transfer_system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for connection pool management, bound from {@code payment.pool.*}.
+ * Static pool settings stay under {@code spring.datasource.hikari.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.pool")
+public class ConnectionPoolProperties {
+
+    /**
+     * Settings for adjusting the maximum pool size at runtime.
+     */
+    private AutoSize autoSize = new AutoSize();
+
+    /**
+     * Settings for the adaptive pool size controller.
+     */
+    @Getter
+    @Setter
+    public static class AutoSize {
+
+        /**
+         * Whether the maximum pool size is adjusted to the observed load.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Lower bound for the maximum pool size.
+         */
+        private int minSize = 5;
+
+        /**
+         * Upper bound for the maximum pool size; keep the sum over all instances below Postgres' max_connections.
+         */
+        private int maxSize = 30;
+
+        /**
+         * Number of connections added when the pool is saturated.
+         */
+        private int step = 2;
+
+        /**
+         * How often the pool size is re-evaluated.
+         */
+        private Duration interval = Duration.ofSeconds(5);
+
+        /**
+         * Mean connection acquire time above which the pool grows.
+         */
+        private Duration targetAcquireTime = Duration.ofMillis(5);
+
+        /**
+         * Factor by which the mean connection usage time may exceed its baseline before the pool
+         * shrinks instead of growing; rising usage time means the database itself is the bottleneck.
+         */
+        private double dbTimeGuardFactor = 2.0;
+
+        /**
+         * Consecutive idle intervals after which one connection is removed.
+         */
+        private int shrinkAfterIdleIntervals = 3;
+    }
+}
@@ -0,0 +1,41 @@
+package com.mani.payment_transfer_system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for authorization holds, bound from {@code payment.holds.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.holds")
+public class HoldProperties {
+
+    /**
+     * Whether holds can be placed, captured and voided, and expired holds are released.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Time to live of a hold placed without one.
+     */
+    private Duration defaultTtl = Duration.ofMinutes(15);
+
+    /**
+     * Longest time to live a hold can be placed with.
+     */
+    private Duration maxTtl = Duration.ofDays(7);
+
+    /**
+     * Delay between the end of one sweep for expired holds and the start of the next.
+     */
+    private Duration sweepInterval = Duration.ofSeconds(30);
+
+    /**
+     * Number of expired holds released per database transaction by the sweeper.
+     */
+    private int sweepBatchSize = 500;
+}
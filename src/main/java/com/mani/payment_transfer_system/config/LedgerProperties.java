@@ -0,0 +1,34 @@
+package com.mani.payment_transfer_system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the append-only postings ledger, bound from {@code payment.ledger.*}.
+ * Only used when {@code payment.transfer.execution-mode=POSTINGS}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.ledger")
+public class LedgerProperties {
+
+    /**
+     * Delay between checkpoints, which fold the postings of every account into its stored balance.
+     * Shorter intervals keep balance reads cheap; longer ones update each account row less often.
+     */
+    private Duration checkpointInterval = Duration.ofMinutes(1);
+
+    /**
+     * Number of accounts checkpointed in one database transaction.
+     */
+    private int checkpointBatchSize = 1000;
+
+    /**
+     * Maximum number of current balances kept in memory; 0 disables the cache.
+     * Entries are only refreshed by this instance's transfers, so disable it when several instances write.
+     */
+    private int balanceCacheSize = 100_000;
+}
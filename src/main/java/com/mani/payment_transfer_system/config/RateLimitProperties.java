@@ -0,0 +1,69 @@
+package com.mani.payment_transfer_system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for per-account and per-client rate limits on transfers,
+ * bound from {@code payment.rate-limit.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Whether transfers beyond the rate limits are rejected with 429 Too Many Requests.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Limit on transfers debiting the same source account.
+     */
+    private Rate account = new Rate(10, 20);
+
+    /**
+     * Limit on transfers submitted by the same client, identified by the {@code X-Client-Id}
+     * header or, without it, by the remote address.
+     */
+    private Rate client = new Rate(50, 100);
+
+    /**
+     * Upper bound for the number of accounts and of clients tracked at the same time.
+     */
+    private int maxTrackedKeys = 100_000;
+
+    /**
+     * Time after which the state of an account or client with a full bucket is discarded.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(5);
+
+    /**
+     * Sustained rate and burst size of one kind of limit.
+     */
+    @Getter
+    @Setter
+    public static class Rate {
+
+        /**
+         * Requests allowed per second on average.
+         */
+        private double permitsPerSecond;
+
+        /**
+         * Requests allowed back to back after a quiet period.
+         */
+        private int burst;
+
+        public Rate() {
+        }
+
+        public Rate(double permitsPerSecond, int burst) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.mani.payment_transfer_system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the ledger reconciliation, bound from {@code payment.reconciliation.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.reconciliation")
+public class ReconciliationProperties {
+
+    /**
+     * Whether the ledger is reconciled periodically and the actuator endpoint is registered.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Delay between the end of one scheduled run and the start of the next.
+     */
+    private Duration interval = Duration.ofMinutes(15);
+
+    /**
+     * Number of accounts per shard in one range of the account ID space.
+     */
+    private int rangeSize = 10_000;
+
+    /**
+     * Number of ranges verified concurrently; each holds one database connection.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Age after which a transaction is folded into the stored totals. Must exceed the longest time
+     * between a transaction's timestamp and its commit, or a late commit below the watermark is missed.
+     */
+    private Duration settleTime = Duration.ofMinutes(1);
+
+    /**
+     * Number of rows fetched per round trip when streaming accounts.
+     */
+    private int fetchSize = 1_000;
+
+    /**
+     * Maximum number of mismatches listed in a report; all of them are counted.
+     */
+    private int maxReportedMismatches = 100;
+}
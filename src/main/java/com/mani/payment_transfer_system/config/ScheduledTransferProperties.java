@@ -0,0 +1,58 @@
+package com.mani.payment_transfer_system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for scheduled transfers, bound from {@code payment.scheduled-transfers.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.scheduled-transfers")
+public class ScheduledTransferProperties {
+
+    /**
+     * Whether transfers can be scheduled and due transfers are executed.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Resolution of the timing wheel; a transfer runs at most one tick after its execution time,
+     * plus any wait for a free worker.
+     */
+    private Duration tick = Duration.ofMillis(100);
+
+    /**
+     * Number of slots per timing wheel level.
+     */
+    private int wheelSize = 64;
+
+    /**
+     * Number of timing wheel levels; the wheel covers {@code tick * wheel-size ^ (levels - 1) * (wheel-size - 1)}.
+     */
+    private int levels = 3;
+
+    /**
+     * How far ahead pending transfers are loaded into the timing wheel. Must be covered by the wheel
+     * and exceed {@code load-interval}.
+     */
+    private Duration loadAhead = Duration.ofMinutes(10);
+
+    /**
+     * Delay between loads of upcoming transfers from the database.
+     */
+    private Duration loadInterval = Duration.ofMinutes(1);
+
+    /**
+     * Number of transfers read per query when loading.
+     */
+    private int loadBatchSize = 1000;
+
+    /**
+     * Number of due transfers executed concurrently; further due transfers wait in the backlog.
+     */
+    private int parallelism = 4;
+}
@@ -0,0 +1,68 @@
+package com.mani.payment_transfer_system.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.monitoring.CostTimingJacksonConverter;
+import com.mani.payment_transfer_system.monitoring.CostTrackingDataSource;
+import com.mani.payment_transfer_system.monitoring.ServerTimingFilter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Enables per-request cost accounting in {@code Server-Timing} headers
+ * when {@code payment.server-timing.enabled=true}: statement and lock time are measured by wrapping the
+ * data source, connection acquisition by the pool metrics tracker and serialization by the JSON converter.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "payment.server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    /**
+     * Wraps every data source bean in a {@link CostTrackingDataSource}. Declared static, so registering
+     * the post-processor does not initialize other beans early.
+     *
+     * @return the post-processor
+     */
+    @Bean
+    public static BeanPostProcessor costTrackingDataSourceWrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof CostTrackingDataSource)) {
+                    return new CostTrackingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Registers the filter ahead of the other filters, so their time is part of the total.
+     *
+     * @param properties the server timing properties
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(ServerTimingProperties properties) {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(
+                new ServerTimingFilter(properties.isLogSlowRequests() ? properties.getSlowRequestThreshold() : null));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Replaces the default JSON converter with one that reports serialization time.
+     *
+     * @param objectMapper the application's object mapper
+     * @return the converter
+     */
+    @Bean
+    public CostTimingJacksonConverter costTimingJacksonConverter(ObjectMapper objectMapper) {
+        return new CostTimingJacksonConverter(objectMapper);
+    }
+}
@@ -0,0 +1,32 @@
+package com.mani.payment_transfer_system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for per-request cost accounting in {@code Server-Timing} headers,
+ * bound from {@code payment.server-timing.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.server-timing")
+public class ServerTimingProperties {
+
+    /**
+     * Whether request costs are tracked and returned in a {@code Server-Timing} header.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Whether requests slower than {@code slow-request-threshold} are logged with their cost breakdown.
+     */
+    private boolean logSlowRequests = true;
+
+    /**
+     * Total request time above which a request is logged as slow.
+     */
+    private Duration slowRequestThreshold = Duration.ofSeconds(1);
+}
@@ -0,0 +1,74 @@
+package com.mani.payment_transfer_system.config;
+
+import com.mani.payment_transfer_system.pool.PoolMetricsTrackerFactory;
+import com.mani.payment_transfer_system.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the single application data source with one connection pool per shard
+ * when {@code payment.sharding.enabled=true}.
+ * The first configured shard is the default target, used for schema management at startup.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "payment.sharding", name = "enabled", havingValue = "true")
+public class ShardingDataSourceConfig {
+
+    /**
+     * Creates the routing data source.
+     * It is wrapped in a lazy proxy so the shard can still be selected after a transaction has
+     * begun but before its first statement runs.
+     *
+     * @param properties the sharding properties
+     * @param connectionInitSql the SQL run on every new connection, shared with the single-pool setup
+     * @param trackerFactory the metrics tracker installed on every shard pool
+     * @return the application data source
+     */
+    @Bean
+    public DataSource dataSource(ShardingProperties properties,
+                                 @Value("${spring.datasource.hikari.connection-init-sql:}") String connectionInitSql,
+                                 PoolMetricsTrackerFactory trackerFactory) {
+        List<ShardingProperties.Shard> shards = properties.getShards();
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("payment.sharding.shards must list at least one shard");
+        }
+        Map<Object, Object> pools = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : shards) {
+            if (pools.put(shard.getName(), createPool(shard, connectionInitSql, trackerFactory)) != null) {
+                throw new IllegalStateException("Duplicate shard name: " + shard.getName());
+            }
+        }
+
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(pools);
+        routingDataSource.setDefaultTargetDataSource(pools.get(shards.get(0).getName()));
+        routingDataSource.setLenientFallback(false);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static HikariDataSource createPool(ShardingProperties.Shard shard, String connectionInitSql,
+                                               PoolMetricsTrackerFactory trackerFactory) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("shard-" + shard.getName());
+        pool.setJdbcUrl(shard.getUrl());
+        pool.setUsername(shard.getUsername());
+        pool.setPassword(shard.getPassword());
+        pool.setMaximumPoolSize(shard.getMaximumPoolSize());
+        pool.setMetricsTrackerFactory(trackerFactory);
+        if (StringUtils.hasText(connectionInitSql)) {
+            pool.setConnectionInitSql(connectionInitSql);
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,73 @@
+package com.mani.payment_transfer_system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for account sharding, bound from {@code payment.sharding.*}.
+ * When sharding is disabled the application uses the single {@code spring.datasource}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.sharding")
+public class ShardingProperties {
+
+    /**
+     * Whether accounts are distributed across the configured shards.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of points each shard owns on the consistent-hash ring.
+     * More points give a more even distribution of accounts.
+     */
+    private int virtualNodes = 128;
+
+    /**
+     * Age after which a pending cross-shard reservation is resolved by the recovery task.
+     */
+    private Duration recoveryAfter = Duration.ofSeconds(30);
+
+    /**
+     * The shards, each backed by its own connection pool.
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Connection settings for one shard.
+     */
+    @Getter
+    @Setter
+    public static class Shard {
+
+        /**
+         * Unique shard name; also the key hashed onto the ring, so renaming a shard moves its accounts.
+         */
+        private String name;
+
+        /**
+         * JDBC URL of the shard database.
+         */
+        private String url;
+
+        /**
+         * Database username.
+         */
+        private String username;
+
+        /**
+         * Database password.
+         */
+        private String password;
+
+        /**
+         * Maximum size of the shard's connection pool.
+         */
+        private int maximumPoolSize = 10;
+    }
+}
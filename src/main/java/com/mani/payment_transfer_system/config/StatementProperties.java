@@ -0,0 +1,69 @@
+package com.mani.payment_transfer_system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the account statement batch job, bound from {@code payment.statements.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.statements")
+public class StatementProperties {
+
+    /**
+     * Whether monthly statements are generated and the actuator endpoint is registered.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory the statements are written to, one subdirectory per month.
+     */
+    private String outputDirectory = "statements";
+
+    /**
+     * File format of the statements; every file is gzip-compressed.
+     */
+    private Format format = Format.CSV;
+
+    /**
+     * Number of accounts per shard in one partition; partitions are generated and checkpointed independently.
+     */
+    private int partitionSize = 10_000;
+
+    /**
+     * Number of partitions generated concurrently; each holds one database connection.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Number of rows fetched per round trip while streaming a partition's transactions.
+     */
+    private int fetchSize = 1000;
+
+    /**
+     * Size in bytes of each worker's compressed output buffer; a statement that fits is written with one call.
+     */
+    private int bufferSize = 256 * 1024;
+
+    /**
+     * Deflate compression level, from 1 (fastest) to 9 (smallest).
+     */
+    private int compressionLevel = 6;
+
+    /**
+     * Cron expression of the monthly run, which generates the statements of the previous month (UTC).
+     */
+    private String cron = "0 0 2 1 * *";
+
+    /**
+     * Statement file format.
+     */
+    public enum Format {
+        /** One line per transaction with a header line. */
+        CSV,
+        /** One JSON document with the transactions and the period's totals. */
+        JSON
+    }
+}
@@ -0,0 +1,37 @@
+package com.mani.payment_transfer_system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties for the cache of serialized transaction responses,
+ * bound from {@code payment.transaction-cache.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.transaction-cache")
+public class TransactionCacheProperties {
+
+    /**
+     * Whether serialized transaction responses are cached.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Upper bound for the total size of the cached JSON bodies.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Whether cached bodies are stored in direct buffers outside the Java heap.
+     */
+    private boolean offHeap = false;
+
+    /**
+     * Whether new transactions are cached in the background right after they are written.
+     * Each one is read back with an extra query, competing with transfers for connections.
+     */
+    private boolean populateOnWrite = false;
+}
@@ -0,0 +1,120 @@
+package com.mani.payment_transfer_system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the transfer path, bound from {@code payment.transfer.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.transfer")
+public class TransferProperties {
+
+    /**
+     * Strategy used to keep concurrent balance updates consistent.
+     */
+    private ConcurrencyStrategy concurrencyStrategy = ConcurrencyStrategy.PESSIMISTIC;
+
+    /**
+     * How a single transfer is executed against the database.
+     */
+    private ExecutionMode executionMode = ExecutionMode.JPA;
+
+    /**
+     * How long a statement waits for a row lock before PostgreSQL aborts it with SQLState 55P03;
+     * applied to every connection as {@code lock_timeout}. Must stay below {@code retry.deadline},
+     * so a timed-out attempt can still be retried; zero waits indefinitely.
+     */
+    private Duration lockTimeout = Duration.ofMillis(500);
+
+    /**
+     * Settings for the optimistic strategy.
+     */
+    private Optimistic optimistic = new Optimistic();
+
+    /**
+     * Settings for retrying transfers aborted by transient database errors.
+     */
+    private Retry retry = new Retry();
+
+    /**
+     * Available concurrency strategies for balance updates.
+     */
+    public enum ConcurrencyStrategy {
+        /** SELECT ... FOR UPDATE on both accounts in ascending ID order. */
+        PESSIMISTIC,
+        /** Unlocked reads followed by version-checked updates, retried on conflict. */
+        OPTIMISTIC,
+        /** Single guarded UPDATE per account, checking the affected row count. */
+        CONDITIONAL_UPDATE
+    }
+
+    /**
+     * Available execution paths for single transfers.
+     */
+    public enum ExecutionMode {
+        /** JPA entities updated through the configured concurrency strategy. */
+        JPA,
+        /** Plain JDBC statements without entities or a persistence context; ignores the concurrency strategy. */
+        JDBC,
+        /** One call to the {@code transfer_funds} PL/pgSQL function; ignores the concurrency strategy. */
+        STORED_FUNCTION,
+        /** Two immutable rows appended to {@code postings}; balances are never updated per transfer. */
+        POSTINGS
+    }
+
+    /**
+     * Retry settings for optimistic version conflicts.
+     */
+    @Getter
+    @Setter
+    public static class Optimistic {
+
+        /**
+         * Maximum attempts per account update, including the first one.
+         */
+        private int maxAttempts = 5;
+
+        /**
+         * Backoff ceiling for the first retry; doubled on every further retry.
+         */
+        private Duration initialBackoff = Duration.ofMillis(2);
+
+        /**
+         * Upper bound for a single backoff.
+         */
+        private Duration maxBackoff = Duration.ofMillis(50);
+    }
+
+    /**
+     * Retry settings for transfers aborted by deadlocks, serialization failures or lock timeouts.
+     */
+    @Getter
+    @Setter
+    public static class Retry {
+
+        /**
+         * Maximum attempts per transfer, including the first one.
+         */
+        private int maxAttempts = 4;
+
+        /**
+         * Backoff ceiling for the first retry; doubled on every further retry.
+         */
+        private Duration initialBackoff = Duration.ofMillis(10);
+
+        /**
+         * Upper bound for a single backoff.
+         */
+        private Duration maxBackoff = Duration.ofMillis(200);
+
+        /**
+         * Total time budget across all attempts; no retry starts once it would be exceeded.
+         */
+        private Duration deadline = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,82 @@
+package com.mani.payment_transfer_system.config;
+
+import com.mani.payment_transfer_system.ledger.PostingLedger;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.repository.TransactionRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.service.concurrency.ConditionalUpdateStrategy;
+import com.mani.payment_transfer_system.service.concurrency.OptimisticLockingStrategy;
+import com.mani.payment_transfer_system.service.concurrency.PessimisticLockingStrategy;
+import com.mani.payment_transfer_system.service.concurrency.TransferConcurrencyStrategy;
+import com.mani.payment_transfer_system.service.execution.JdbcTransferExecutor;
+import com.mani.payment_transfer_system.service.execution.JpaTransferExecutor;
+import com.mani.payment_transfer_system.service.execution.StoredFunctionTransferExecutor;
+import com.mani.payment_transfer_system.service.execution.TransferExecutor;
+import com.mani.payment_transfer_system.service.execution.TransferFunctionInstaller;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Selects the transfer execution path configured by {@code payment.transfer.execution-mode}
+ * and the concurrency strategy configured by {@code payment.transfer.concurrency-strategy}.
+ */
+@Configuration
+public class TransferStrategyConfig {
+
+    /**
+     * Creates the configured concurrency strategy.
+     *
+     * @param properties the transfer properties
+     * @param accountRepository the account repository
+     * @param metricsService the metrics service
+     * @return the strategy used by the transaction service
+     */
+    @Bean
+    public TransferConcurrencyStrategy transferConcurrencyStrategy(TransferProperties properties,
+                                                                   AccountRepository accountRepository,
+                                                                   MetricsService metricsService) {
+        return switch (properties.getConcurrencyStrategy()) {
+            case PESSIMISTIC -> new PessimisticLockingStrategy(accountRepository, metricsService);
+            case OPTIMISTIC -> new OptimisticLockingStrategy(accountRepository, metricsService,
+                    properties.getOptimistic());
+            case CONDITIONAL_UPDATE -> new ConditionalUpdateStrategy(accountRepository, metricsService);
+        };
+    }
+
+    /**
+     * Creates the configured transfer executor.
+     * For {@code STORED_FUNCTION}, the {@code transfer_funds} function is installed on every shard first.
+     * For {@code POSTINGS}, transfers are appended to the posting ledger.
+     *
+     * @param properties the transfer properties
+     * @param concurrencyStrategy the strategy used by the JPA path
+     * @param transactionRepository the transaction repository
+     * @param jdbcTemplate the JDBC template
+     * @param metricsService the metrics service
+     * @param shardRouter the shard router
+     * @param postingLedger the append-only posting ledger
+     * @return the executor used by the transaction service
+     */
+    @Bean
+    public TransferExecutor transferExecutor(TransferProperties properties,
+                                             TransferConcurrencyStrategy concurrencyStrategy,
+                                             TransactionRepository transactionRepository,
+                                             JdbcTemplate jdbcTemplate,
+                                             MetricsService metricsService,
+                                             ShardRouter shardRouter,
+                                             PostingLedger postingLedger) {
+        return switch (properties.getExecutionMode()) {
+            case JPA -> new JpaTransferExecutor(concurrencyStrategy, transactionRepository);
+            case JDBC -> new JdbcTransferExecutor(jdbcTemplate, metricsService);
+            case STORED_FUNCTION -> {
+                new TransferFunctionInstaller(jdbcTemplate, shardRouter,
+                        new ClassPathResource("db/functions/transfer_funds.sql")).install();
+                yield new StoredFunctionTransferExecutor(jdbcTemplate, metricsService);
+            }
+            case POSTINGS -> postingLedger::transfer;
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.mani.payment_transfer_system.controller;
+
+import com.mani.payment_transfer_system.analytics.TransactionAnalyticsStore;
+import com.mani.payment_transfer_system.dto.AccountAggregate;
+import com.mani.payment_transfer_system.dto.TimeBucketAggregate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * REST controller for aggregate transaction queries, answered from the in-memory analytics store.
+ */
+@RestController
+@RequestMapping("/analytics")
+@ConditionalOnProperty(prefix = "payment.analytics", name = "enabled", havingValue = "true")
+public class AnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+    private final TransactionAnalyticsStore analyticsStore;
+
+    public AnalyticsController(TransactionAnalyticsStore analyticsStore) {
+        this.analyticsStore = analyticsStore;
+    }
+
+    /**
+     * Returns the count, sum and amount percentiles of transactions per time bucket.
+     *
+     * @param from the start of the range (ISO-8601 instant), inclusive
+     * @param to the end of the range (ISO-8601 instant), exclusive
+     * @param bucket the bucket width as an ISO-8601 duration; one hour if omitted
+     * @param accountId only transactions from or to this account, if given
+     * @param percentiles the amount percentiles to compute, each in (0, 1]
+     * @return ResponseEntity containing the non-empty buckets in time order
+     * @throws IllegalArgumentException if the range, bucket or percentiles are invalid
+     */
+    @GetMapping("/volume")
+    public ResponseEntity<List<TimeBucketAggregate>> volume(
+            @RequestParam Instant from,
+            @RequestParam Instant to,
+            @RequestParam(defaultValue = "PT1H") Duration bucket,
+            @RequestParam(name = "account_id", required = false) Long accountId,
+            @RequestParam(defaultValue = "0.5,0.9,0.99") List<Double> percentiles) {
+        logger.debug("Aggregating transactions from {} to {} per {}", from, to, bucket);
+        return ResponseEntity.ok(analyticsStore.aggregateByTime(from, to, bucket, accountId, percentiles));
+    }
+
+    /**
+     * Returns the accounts with the largest transferred sums, with count and amount percentiles.
+     *
+     * @param from the start of the range (ISO-8601 instant), inclusive
+     * @param to the end of the range (ISO-8601 instant), exclusive
+     * @param groupBy {@code SOURCE} for payers or {@code DESTINATION} for payees
+     * @param accountId only transactions whose other account is this account, e.g. the payees it paid
+     * @param limit the maximum number of accounts returned
+     * @param percentiles the amount percentiles to compute, each in (0, 1]
+     * @return ResponseEntity containing the accounts, largest sum first
+     * @throws IllegalArgumentException if the range, limit or percentiles are invalid
+     */
+    @GetMapping("/accounts")
+    public ResponseEntity<List<AccountAggregate>> accounts(
+            @RequestParam Instant from,
+            @RequestParam Instant to,
+            @RequestParam(name = "group_by", defaultValue = "DESTINATION") TransactionAnalyticsStore.GroupBy groupBy,
+            @RequestParam(name = "account_id", required = false) Long accountId,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "0.5,0.9,0.99") List<Double> percentiles) {
+        logger.debug("Aggregating transactions from {} to {} per {} account", from, to, groupBy);
+        return ResponseEntity.ok(analyticsStore.aggregateByAccount(from, to, groupBy, accountId, limit, percentiles));
+    }
+}
@@ -0,0 +1,103 @@
+package com.mani.payment_transfer_system.controller;
+
+import com.mani.payment_transfer_system.dto.CaptureHoldRequest;
+import com.mani.payment_transfer_system.dto.HoldRequest;
+import com.mani.payment_transfer_system.dto.HoldResponse;
+import com.mani.payment_transfer_system.limit.TransferRateLimiter;
+import com.mani.payment_transfer_system.service.HoldService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for two-phase transfers: authorization holds that are later captured or voided.
+ */
+@RestController
+@RequestMapping("/holds")
+@ConditionalOnProperty(prefix = "payment.holds", name = "enabled", havingValue = "true")
+public class HoldController {
+
+    private static final Logger logger = LoggerFactory.getLogger(HoldController.class);
+    private final HoldService holdService;
+    private final TransferRateLimiter rateLimiter;
+
+    public HoldController(HoldService holdService, TransferRateLimiter rateLimiter) {
+        this.holdService = holdService;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Places a hold on the source account's available balance for a later transfer to the destination account.
+     *
+     * @param request the hold request containing the accounts, the amount and an optional time to live
+     * @param httpRequest the HTTP request, identifying the client for rate limiting
+     * @return ResponseEntity with the active hold (201 Created)
+     * @throws AccountNotFoundException if source or destination account is not found
+     * @throws InsufficientBalanceException if the source account's available balance does not cover the amount
+     * @throws InvalidAmountException if the amount or time to live is invalid or the accounts are on different shards
+     * @throws RateLimitExceededException if the client or the source account exceeded its rate limit
+     */
+    @PostMapping
+    public ResponseEntity<HoldResponse> placeHold(@Valid @RequestBody HoldRequest request,
+                                                  HttpServletRequest httpRequest) {
+        logger.info("Placing hold on account {} for account {} with amount {}",
+                request.getSourceAccountId(), request.getDestinationAccountId(), request.getAmount());
+        rateLimiter.checkTransfer(List.of(request.getSourceAccountId()),
+                TransactionController.clientId(httpRequest));
+        HoldResponse response = holdService.placeHold(request);
+        logger.info("Hold placed successfully with ID: {}", response.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Captures a hold, transferring the held amount or a smaller amount to the destination account.
+     *
+     * @param id the hold ID
+     * @param request the optional capture request with the amount to transfer
+     * @return ResponseEntity containing the captured hold with the resulting transaction ID
+     * @throws HoldNotFoundException if the hold is not found
+     * @throws HoldNotActiveException if the hold was already captured, voided or has expired
+     * @throws InvalidAmountException if the amount exceeds the held amount
+     */
+    @PostMapping("/{id}/capture")
+    public ResponseEntity<HoldResponse> captureHold(@PathVariable UUID id,
+                                                    @Valid @RequestBody(required = false) CaptureHoldRequest request) {
+        logger.info("Capturing hold with ID: {}", id);
+        return ResponseEntity.ok(holdService.capture(id, request != null ? request.getAmount() : null));
+    }
+
+    /**
+     * Voids a hold, releasing the held amount without a transfer.
+     *
+     * @param id the hold ID
+     * @return ResponseEntity containing the voided hold
+     * @throws HoldNotFoundException if the hold is not found
+     * @throws HoldNotActiveException if the hold was already captured, voided or has expired
+     */
+    @PostMapping("/{id}/void")
+    public ResponseEntity<HoldResponse> voidHold(@PathVariable UUID id) {
+        logger.info("Voiding hold with ID: {}", id);
+        return ResponseEntity.ok(holdService.voidHold(id));
+    }
+
+    /**
+     * Retrieves a hold with its current state.
+     *
+     * @param id the hold ID
+     * @return ResponseEntity containing the hold
+     * @throws HoldNotFoundException if the hold is not found
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<HoldResponse> getHold(@PathVariable UUID id) {
+        logger.info("Retrieving hold with ID: {}", id);
+        return ResponseEntity.ok(holdService.getHold(id));
+    }
+}
@@ -0,0 +1,72 @@
+package com.mani.payment_transfer_system.controller;
+
+import com.mani.payment_transfer_system.dto.ScheduledTransferRequest;
+import com.mani.payment_transfer_system.dto.ScheduledTransferResponse;
+import com.mani.payment_transfer_system.limit.TransferRateLimiter;
+import com.mani.payment_transfer_system.service.ScheduledTransferService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for transfers scheduled for a later time.
+ */
+@RestController
+@RequestMapping("/transactions/scheduled")
+@ConditionalOnProperty(prefix = "payment.scheduled-transfers", name = "enabled", havingValue = "true")
+public class ScheduledTransferController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledTransferController.class);
+    private final ScheduledTransferService scheduledTransferService;
+    private final TransferRateLimiter rateLimiter;
+
+    public ScheduledTransferController(ScheduledTransferService scheduledTransferService,
+                                       TransferRateLimiter rateLimiter) {
+        this.scheduledTransferService = scheduledTransferService;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Schedules a transfer between two accounts at the given time.
+     *
+     * @param request the scheduled transfer request containing the accounts, the amount and the execution time
+     * @param httpRequest the HTTP request, identifying the client for rate limiting
+     * @return ResponseEntity with the pending scheduled transfer (201 Created)
+     * @throws AccountNotFoundException if source or destination account is not found
+     * @throws InvalidAmountException if the amount is invalid or the accounts are on different shards
+     * @throws RateLimitExceededException if the client or the source account exceeded its rate limit
+     */
+    @PostMapping
+    public ResponseEntity<ScheduledTransferResponse> scheduleTransfer(
+            @Valid @RequestBody ScheduledTransferRequest request, HttpServletRequest httpRequest) {
+        logger.info("Scheduling transfer from account {} to account {} with amount {} at {}",
+                request.getSourceAccountId(), request.getDestinationAccountId(), request.getAmount(),
+                request.getExecuteAt());
+        rateLimiter.checkTransfer(List.of(request.getSourceAccountId()),
+                TransactionController.clientId(httpRequest));
+        ScheduledTransferResponse response = scheduledTransferService.schedule(request);
+        logger.info("Transfer scheduled successfully with ID: {}", response.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Retrieves a scheduled transfer with its current state.
+     *
+     * @param id the scheduled transfer ID
+     * @return ResponseEntity containing the scheduled transfer
+     * @throws ScheduledTransferNotFoundException if the scheduled transfer is not found
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ScheduledTransferResponse> getScheduledTransfer(@PathVariable UUID id) {
+        logger.info("Retrieving scheduled transfer with ID: {}", id);
+        return ResponseEntity.ok(scheduledTransferService.getScheduledTransfer(id));
+    }
+}
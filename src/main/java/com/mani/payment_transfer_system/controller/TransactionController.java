@@ -1,17 +1,28 @@
 package com.mani.payment_transfer_system.controller;
 
+import com.mani.payment_transfer_system.cache.CachedJson;
+import com.mani.payment_transfer_system.dto.SplitTransactionCreatedResponse;
+import com.mani.payment_transfer_system.dto.SplitTransactionRequest;
 import com.mani.payment_transfer_system.dto.TransactionCreatedResponse;
 import com.mani.payment_transfer_system.dto.TransactionRequest;
 import com.mani.payment_transfer_system.dto.TransactionResponse;
+import com.mani.payment_transfer_system.limit.TransferRateLimiter;
 import com.mani.payment_transfer_system.service.TransactionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * REST controller for transaction-related operations.
@@ -20,11 +31,18 @@ import java.util.List;
 @RequestMapping("/transactions")
 public class TransactionController {
 
+    /**
+     * Header identifying the client for rate limiting; set it at the gateway, after authentication.
+     */
+    static final String CLIENT_ID_HEADER = "X-Client-Id";
+
     private static final Logger logger = LoggerFactory.getLogger(TransactionController.class);
     private final TransactionService transactionService;
+    private final TransferRateLimiter rateLimiter;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, TransferRateLimiter rateLimiter) {
         this.transactionService = transactionService;
+        this.rateLimiter = rateLimiter;
     }
 
     /**
@@ -32,15 +50,19 @@ public class TransactionController {
      * Transfers the specified amount from source account to destination account.
      *
      * @param request the transaction request containing source account ID, destination account ID, and amount
+     * @param httpRequest the HTTP request, identifying the client for rate limiting
      * @return ResponseEntity with transaction ID, success message, and timestamp
      * @throws AccountNotFoundException if source or destination account is not found
      * @throws InsufficientBalanceException if source account has insufficient balance
      * @throws InvalidAmountException if the transaction amount is invalid
+     * @throws RateLimitExceededException if the client or the source account exceeded its rate limit
      */
     @PostMapping
-    public ResponseEntity<TransactionCreatedResponse> submitTransaction(@Valid @RequestBody TransactionRequest request) {
+    public ResponseEntity<TransactionCreatedResponse> submitTransaction(@Valid @RequestBody TransactionRequest request,
+                                                                        HttpServletRequest httpRequest) {
         logger.info("Processing transaction from account {} to account {} with amount {}",
                 request.getSourceAccountId(), request.getDestinationAccountId(), request.getAmount());
+        rateLimiter.checkTransfer(List.of(request.getSourceAccountId()), clientId(httpRequest));
         Long transactionId = transactionService.processTransaction(request);
         logger.info("Transaction processed successfully with ID: {} from account {} to account {} with amount {}",
                 transactionId, request.getSourceAccountId(), request.getDestinationAccountId(), request.getAmount());
@@ -51,20 +73,58 @@ public class TransactionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Processes a multi-leg (split) payment atomically.
+     * Every leg transfers an amount from its source account to its destination account;
+     * either all legs are applied or none.
+     *
+     * @param request the split transaction request containing the legs
+     * @param httpRequest the HTTP request, identifying the client for rate limiting
+     * @return ResponseEntity with the parent payment ID, leg transaction IDs, success message, and timestamp
+     * @throws AccountNotFoundException if any involved account is not found
+     * @throws InsufficientBalanceException if any account cannot cover its net outflow
+     * @throws InvalidAmountException if any leg is invalid
+     * @throws RateLimitExceededException if the client or a source account exceeded its rate limit
+     */
+    @PostMapping("/split")
+    public ResponseEntity<SplitTransactionCreatedResponse> submitSplitTransaction(
+            @Valid @RequestBody SplitTransactionRequest request, HttpServletRequest httpRequest) {
+        logger.info("Processing split transaction with {} legs", request.getLegs().size());
+        // Malformed legs are left to the service's validation
+        rateLimiter.checkTransfer(request.getLegs().stream()
+                .filter(Objects::nonNull)
+                .map(TransactionRequest::getSourceAccountId)
+                .collect(Collectors.toSet()), clientId(httpRequest));
+        SplitTransactionCreatedResponse response = transactionService.processSplitTransaction(request);
+        logger.info("Split transaction processed successfully with payment ID: {} and {} legs",
+                response.getPaymentId(), response.getTransactionIds().size());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     /**
      * Retrieves a transaction by its unique identifier.
+     * The JSON body is written as pre-encoded bytes with a strong ETag; a request whose
+     * {@code If-None-Match} header matches it receives {@code 304 Not Modified} without a body.
      *
      * @param transactionId the unique transaction identifier
-     * @return ResponseEntity containing transaction details including ID, source account,
-     *         destination account, amount, and timestamp
+     * @param webRequest the current request, used to evaluate conditional headers
+     * @param response the servlet response the body is written to
      * @throws TransactionNotFoundException if the transaction is not found
+     * @throws IOException if writing the response fails
      */
     @GetMapping("/{transactionId}")
-    public ResponseEntity<TransactionResponse> getTransactionById(@PathVariable Long transactionId) {
+    public void getTransactionById(@PathVariable Long transactionId, ServletWebRequest webRequest,
+                                   HttpServletResponse response) throws IOException {
         logger.info("Retrieving transaction with ID: {}", transactionId);
-        TransactionResponse transaction = transactionService.getTransactionById(transactionId);
+        CachedJson transaction = transactionService.getTransactionJson(transactionId);
+        if (webRequest.checkNotModified(transaction.etag())) {
+            logger.info("Transaction with ID: {} not modified", transactionId);
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(transaction.length());
+        transaction.writeTo(response.getOutputStream());
         logger.info("Transaction retrieved successfully with ID: {}", transactionId);
-        return ResponseEntity.ok(transaction);
     }
 
     /**
@@ -79,5 +139,9 @@ public class TransactionController {
         logger.info("Retrieved {} transactions", transactions.size());
         return ResponseEntity.ok(transactions);
     }
-}
 
+    static String clientId(HttpServletRequest httpRequest) {
+        String clientId = httpRequest.getHeader(CLIENT_ID_HEADER);
+        return clientId != null && !clientId.isBlank() ? clientId : httpRequest.getRemoteAddr();
+    }
+}
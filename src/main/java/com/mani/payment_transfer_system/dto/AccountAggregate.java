@@ -0,0 +1,29 @@
+package com.mani.payment_transfer_system.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for the transactions sent or received by one account.
+ * Percentiles of the amount are keyed like {@code p50} or {@code p99.9}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class AccountAggregate {
+
+    @JsonProperty("account_id")
+    private Long accountId;
+    private long count;
+    private BigDecimal sum;
+    private Map<String, BigDecimal> percentiles;
+}
@@ -12,19 +12,32 @@ import java.math.BigDecimal;
 
 /**
  * Data Transfer Object for account query response.
- * Contains the account ID and current balance information.
+ * Contains the account ID, the current balance and the part of it not reserved by authorization holds.
  */
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @ToString
-@JsonPropertyOrder({"account_id", "balance"})
+@JsonPropertyOrder({"account_id", "balance", "available_balance"})
 public class AccountResponse {
 
     @JsonProperty("account_id")
     private Long accountId;
     
     private BigDecimal balance;
+
+    @JsonProperty("available_balance")
+    private BigDecimal availableBalance;
+
+    /**
+     * Constructs an AccountResponse for an account without holds, whose whole balance is available.
+     *
+     * @param accountId the account ID
+     * @param balance the balance
+     */
+    public AccountResponse(Long accountId, BigDecimal balance) {
+        this(accountId, balance, balance);
+    }
 }
 
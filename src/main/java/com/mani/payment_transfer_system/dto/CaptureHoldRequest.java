@@ -0,0 +1,25 @@
+package com.mani.payment_transfer_system.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for capturing an authorization hold.
+ * The amount is optional and defaults to the held amount; a smaller amount releases the remainder.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class CaptureHoldRequest {
+
+    @DecimalMin(value = "0.00001", inclusive = false, message = "Amount must be positive")
+    private BigDecimal amount;
+}
@@ -0,0 +1,42 @@
+package com.mani.payment_transfer_system.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Data Transfer Object for placing an authorization hold.
+ * Contains source account ID, destination account ID, the amount to hold and an optional time to live.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class HoldRequest {
+
+    @NotNull(message = "Source account ID is required")
+    @JsonProperty("source_account_id")
+    private Long sourceAccountId;
+
+    @NotNull(message = "Destination account ID is required")
+    @JsonProperty("destination_account_id")
+    private Long destinationAccountId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.00001", inclusive = false, message = "Amount must be positive")
+    private BigDecimal amount;
+
+    /**
+     * Time to live in ISO-8601 format, e.g. {@code PT30M}; {@code payment.holds.default-ttl} if omitted.
+     */
+    private Duration ttl;
+}
@@ -0,0 +1,51 @@
+package com.mani.payment_transfer_system.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mani.payment_transfer_system.entity.AuthorizationHold;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for authorization hold response.
+ * Contains the hold with its state, and the captured amount and resulting transaction ID once it is captured.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class HoldResponse {
+
+    private UUID id;
+    @JsonProperty("source_account_id")
+    private Long sourceAccountId;
+    @JsonProperty("destination_account_id")
+    private Long destinationAccountId;
+    private BigDecimal amount;
+    @JsonProperty("expires_at")
+    private Instant expiresAt;
+    private AuthorizationHold.Status status;
+    @JsonProperty("captured_amount")
+    private BigDecimal capturedAmount;
+    @JsonProperty("transaction_id")
+    private Long transactionId;
+
+    /**
+     * Creates the response for a hold.
+     *
+     * @param hold the hold
+     * @return the response
+     */
+    public static HoldResponse from(AuthorizationHold hold) {
+        return new HoldResponse(hold.getId(), hold.getSourceAccountId(), hold.getDestinationAccountId(),
+                hold.getAmount(), hold.getExpiresAt(), hold.getStatus(), hold.getCapturedAmount(),
+                hold.getTransactionId());
+    }
+}
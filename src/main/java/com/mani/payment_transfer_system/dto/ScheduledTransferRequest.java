@@ -0,0 +1,44 @@
+package com.mani.payment_transfer_system.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for scheduling a transfer.
+ * Contains source account ID, destination account ID, the amount to transfer and the time to execute it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ScheduledTransferRequest {
+
+    @NotNull(message = "Source account ID is required")
+    @JsonProperty("source_account_id")
+    private Long sourceAccountId;
+
+    @NotNull(message = "Destination account ID is required")
+    @JsonProperty("destination_account_id")
+    private Long destinationAccountId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.00001", inclusive = false, message = "Amount must be positive")
+    private BigDecimal amount;
+
+    /**
+     * Execution time in ISO-8601 format with an offset, e.g. {@code 2025-01-15T10:30:00Z}.
+     */
+    @NotNull(message = "Execution time is required")
+    @JsonProperty("execute_at")
+    private Instant executeAt;
+}
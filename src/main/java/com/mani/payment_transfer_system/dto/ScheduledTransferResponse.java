@@ -0,0 +1,51 @@
+package com.mani.payment_transfer_system.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mani.payment_transfer_system.entity.ScheduledTransfer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for scheduled transfer response.
+ * Contains the scheduled transfer with its state, and the resulting transaction ID once it is completed.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ScheduledTransferResponse {
+
+    private UUID id;
+    @JsonProperty("source_account_id")
+    private Long sourceAccountId;
+    @JsonProperty("destination_account_id")
+    private Long destinationAccountId;
+    private BigDecimal amount;
+    @JsonProperty("execute_at")
+    private Instant executeAt;
+    private ScheduledTransfer.Status status;
+    @JsonProperty("transaction_id")
+    private Long transactionId;
+    @JsonProperty("failure_reason")
+    private String failureReason;
+
+    /**
+     * Creates the response for a scheduled transfer.
+     *
+     * @param transfer the scheduled transfer
+     * @return the response
+     */
+    public static ScheduledTransferResponse from(ScheduledTransfer transfer) {
+        return new ScheduledTransferResponse(transfer.getId(), transfer.getSourceAccountId(),
+                transfer.getDestinationAccountId(), transfer.getAmount(), transfer.getExecuteAt(),
+                transfer.getStatus(), transfer.getTransactionId(), transfer.getFailureReason());
+    }
+}
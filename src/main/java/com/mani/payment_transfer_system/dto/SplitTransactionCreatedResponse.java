@@ -0,0 +1,39 @@
+package com.mani.payment_transfer_system.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Transfer Object for split transaction creation response.
+ * Contains the parent payment ID, the transaction ID of every leg in request order,
+ * a success message, and timestamp.
+ * Timestamp is in UTC timezone (ISO-8601 format) for global compatibility.
+ */
+@Getter
+@ToString
+public class SplitTransactionCreatedResponse {
+
+    private final UUID paymentId;
+    private final List<Long> transactionIds;
+    private final String message;
+    private final String timestamp;
+
+    /**
+     * Constructs a new SplitTransactionCreatedResponse.
+     * The timestamp is automatically set to the current UTC time in ISO-8601 format.
+     *
+     * @param paymentId the parent payment identifier shared by all legs
+     * @param transactionIds the transaction identifiers of the legs, in request order
+     * @param message the success message
+     */
+    public SplitTransactionCreatedResponse(UUID paymentId, List<Long> transactionIds, String message) {
+        this.paymentId = paymentId;
+        this.transactionIds = transactionIds;
+        this.message = message;
+        this.timestamp = Instant.now().toString(); // Automatically uses UTC
+    }
+}
@@ -0,0 +1,29 @@
+package com.mani.payment_transfer_system.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a multi-leg (split) payment request.
+ * Each leg moves an amount from one source account to one destination account;
+ * all legs are applied atomically or not at all.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class SplitTransactionRequest {
+
+    @NotEmpty(message = "At least one leg is required")
+    @Size(max = 100, message = "A split transaction supports at most 100 legs")
+    private List<@Valid TransactionRequest> legs;
+}
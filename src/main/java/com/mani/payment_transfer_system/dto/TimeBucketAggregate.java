@@ -0,0 +1,30 @@
+package com.mani.payment_transfer_system.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for the transactions of one time bucket.
+ * Percentiles of the amount are keyed like {@code p50} or {@code p99.9}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TimeBucketAggregate {
+
+    @JsonProperty("bucket_start")
+    private Instant bucketStart;
+    private long count;
+    private BigDecimal sum;
+    private Map<String, BigDecimal> percentiles;
+}
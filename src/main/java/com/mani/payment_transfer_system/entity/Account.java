@@ -2,12 +2,14 @@ package com.mani.payment_transfer_system.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 
 /**
  * Account entity representing a financial account with a balance.
- * Uses pessimistic locking for concurrent transaction safety.
+ * Supports pessimistic locking, optimistic versioning and conditional updates
+ * for concurrent transaction safety.
  */
 @Entity
 @Table(name = "accounts", uniqueConstraints = {
@@ -30,10 +32,76 @@ public class Account {
     private Long accountId;
 
     /**
-     * The current balance of the account.
+     * The current balance of the account; in the {@code POSTINGS} execution mode, the balance as of its last checkpoint.
      * Precision: 19 digits, Scale: 5 decimal places.
      */
     @Column(name = "balance", nullable = false, precision = 19, scale = 5)
     private BigDecimal balance;
-}
 
+    /**
+     * The part of the balance reserved by active authorization holds. It stays in the balance until a hold is
+     * captured, but cannot be spent by transfers or further holds.
+     * Precision: 19 digits, Scale: 5 decimal places.
+     */
+    @ColumnDefault("0")
+    @Column(name = "held_balance", nullable = false, precision = 19, scale = 5)
+    private BigDecimal heldBalance = BigDecimal.ZERO;
+
+    /**
+     * The balance the account was opened with; the ledger reconciliation checks that the
+     * balance equals it plus all credits minus all debits.
+     * Null for accounts created before it was recorded, which cannot be reconciled.
+     */
+    @Column(name = "opening_balance", precision = 19, scale = 5)
+    private BigDecimal openingBalance;
+
+    /**
+     * The highest posting already included in {@link #balance}, when transfers append postings
+     * instead of updating balances. The account's balance is then this balance plus the amounts
+     * of its postings above this ID. Null if no posting has been checkpointed yet.
+     */
+    @Column(name = "checkpoint_posting_id")
+    private Long checkpointPostingId;
+
+    /**
+     * Optimistic locking version, incremented on every balance change.
+     * Null for accounts that have not been persisted yet.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Constructs a new, not yet persisted Account with the specified ID and balance.
+     *
+     * @param accountId the unique account identifier
+     * @param balance the initial balance
+     */
+    public Account(Long accountId, BigDecimal balance) {
+        this.accountId = accountId;
+        this.balance = balance;
+        this.openingBalance = balance;
+    }
+
+    /**
+     * Returns the balance that transfers and new holds may spend: the balance minus the held balance.
+     *
+     * @return the available balance
+     */
+    public BigDecimal getAvailableBalance() {
+        return balance.subtract(heldBalance);
+    }
+
+    /**
+     * Constructs an Account with the specified ID, balance and version, e.g. a detached copy of a stored row.
+     *
+     * @param accountId the unique account identifier
+     * @param balance the balance
+     * @param version the optimistic locking version
+     */
+    public Account(Long accountId, BigDecimal balance, Long version) {
+        this(accountId, balance);
+        this.version = version;
+    }
+}
@@ -0,0 +1,38 @@
+package com.mani.payment_transfer_system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Net amount transferred to an account (credits minus debits) by the transactions of one shard
+ * up to its reconciliation watermark.
+ * Stored on the shard holding those transactions and advanced in the same database transaction
+ * as the watermark, so it never counts a transaction twice.
+ */
+@Entity
+@Table(name = "account_ledger_totals")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+public class AccountLedgerTotal {
+
+    /**
+     * The account identifier.
+     */
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "account_id")
+    private Long accountId;
+
+    /**
+     * Credits minus debits up to the watermark.
+     * Precision: 19 digits, Scale: 5 decimal places.
+     */
+    @Column(name = "net_flow", nullable = false, precision = 19, scale = 5)
+    private BigDecimal netFlow;
+}
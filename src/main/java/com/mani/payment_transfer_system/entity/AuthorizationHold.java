@@ -0,0 +1,122 @@
+package com.mani.payment_transfer_system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A reservation of part of an account's balance for a later transfer.
+ * Stored on the source account's shard. While it is {@code ACTIVE}, its amount is counted in the source
+ * account's held balance and cannot be spent by other transfers. It leaves {@code ACTIVE} exactly once:
+ * when it is captured, voided, or released by the expiry sweeper.
+ */
+@Entity
+@Table(name = "authorization_holds", indexes = {
+    @Index(name = "idx_authorization_holds_status_expires_at", columnList = "status, expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+public class AuthorizationHold {
+
+    /**
+     * The hold identifier, generated by the application.
+     */
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "id")
+    private UUID id;
+
+    /**
+     * The account ID whose balance is held.
+     */
+    @Column(name = "source_account_id", nullable = false)
+    private Long sourceAccountId;
+
+    /**
+     * The account ID credited on capture.
+     */
+    @Column(name = "destination_account_id", nullable = false)
+    private Long destinationAccountId;
+
+    /**
+     * The amount held.
+     * Precision: 19 digits, Scale: 5 decimal places.
+     */
+    @Column(name = "amount", nullable = false, precision = 19, scale = 5)
+    private BigDecimal amount;
+
+    /**
+     * The time after which the hold can no longer be captured and is released.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * The state of the hold.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private Status status;
+
+    /**
+     * The amount transferred on capture, at most the held amount; set once it is captured.
+     */
+    @Column(name = "captured_amount", precision = 19, scale = 5)
+    private BigDecimal capturedAmount;
+
+    /**
+     * The transaction that transferred the captured amount; set once it is captured.
+     */
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    /**
+     * The time the hold was placed.
+     */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * The time the hold was captured, voided or released.
+     */
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    /**
+     * Constructs a new active hold with a generated ID.
+     *
+     * @param sourceAccountId the account ID whose balance is held
+     * @param destinationAccountId the account ID credited on capture
+     * @param amount the amount to hold
+     * @param expiresAt the time after which the hold is released
+     */
+    public AuthorizationHold(Long sourceAccountId, Long destinationAccountId, BigDecimal amount, Instant expiresAt) {
+        this.id = UUID.randomUUID();
+        this.sourceAccountId = sourceAccountId;
+        this.destinationAccountId = destinationAccountId;
+        this.amount = amount;
+        this.expiresAt = expiresAt;
+        this.status = Status.ACTIVE;
+        this.createdAt = Instant.now();
+    }
+
+    /**
+     * Lifecycle of a hold.
+     */
+    public enum Status {
+        /** Reserving its amount of the source account's balance. */
+        ACTIVE,
+        /** Transferred; {@link #transactionId} identifies the transaction. */
+        CAPTURED,
+        /** Released on request without a transfer. */
+        VOIDED,
+        /** Released by the expiry sweeper without a transfer. */
+        EXPIRED
+    }
+}
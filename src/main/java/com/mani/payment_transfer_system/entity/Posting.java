@@ -0,0 +1,62 @@
+package com.mani.payment_transfer_system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One side of a transfer in the append-only double-entry ledger.
+ * Every transfer appends a debit posting (negative amount) for the source account and a credit
+ * posting (positive amount) for the destination account; postings are never updated.
+ * An account's balance is its checkpointed balance plus the amounts of its postings above
+ * {@link Account#getCheckpointPostingId()}.
+ */
+@Entity
+@Table(name = "postings", indexes = {
+    @Index(name = "idx_postings_account_id_id", columnList = "account_id, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+public class Posting {
+
+    /**
+     * The unique posting identifier.
+     * Auto-generated by the database; increases with every posting of the same account.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * The transaction this posting belongs to.
+     */
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    /**
+     * The account debited or credited.
+     */
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    /**
+     * The signed amount: negative for a debit, positive for a credit.
+     * Precision: 19 digits, Scale: 5 decimal places.
+     */
+    @Column(name = "amount", nullable = false, precision = 19, scale = 5)
+    private BigDecimal amount;
+
+    /**
+     * The time the posting was appended, in UTC.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,41 @@
+package com.mani.payment_transfer_system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Highest transaction ID of a shard whose amount has been folded into {@link AccountLedgerTotal}.
+ * Transactions above it are summed on every reconciliation run until the next fold.
+ */
+@Entity
+@Table(name = "reconciliation_watermarks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+public class ReconciliationWatermark {
+
+    /**
+     * The ledger the watermark belongs to; every shard holds one row for its transactions table.
+     */
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "ledger", length = 32)
+    private String ledger;
+
+    /**
+     * The highest folded transaction ID.
+     */
+    @Column(name = "last_transaction_id", nullable = false)
+    private Long lastTransactionId;
+
+    /**
+     * The timestamp when the watermark last advanced.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
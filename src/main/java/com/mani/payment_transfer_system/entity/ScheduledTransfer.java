@@ -0,0 +1,120 @@
+package com.mani.payment_transfer_system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A transfer requested for a future time.
+ * Stored on the source account's shard. It leaves {@code PENDING} exactly once: it is marked
+ * {@code COMPLETED} in the same database transaction that applies the transfer, so a transfer
+ * that is picked up twice, e.g. after a restart, cannot be applied twice.
+ */
+@Entity
+@Table(name = "scheduled_transfers", indexes = {
+    @Index(name = "idx_scheduled_transfers_status_execute_at", columnList = "status, execute_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+public class ScheduledTransfer {
+
+    /**
+     * The scheduled transfer identifier, generated by the application.
+     */
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "id")
+    private UUID id;
+
+    /**
+     * The account ID to debit.
+     */
+    @Column(name = "source_account_id", nullable = false)
+    private Long sourceAccountId;
+
+    /**
+     * The account ID to credit.
+     */
+    @Column(name = "destination_account_id", nullable = false)
+    private Long destinationAccountId;
+
+    /**
+     * The amount to transfer.
+     * Precision: 19 digits, Scale: 5 decimal places.
+     */
+    @Column(name = "amount", nullable = false, precision = 19, scale = 5)
+    private BigDecimal amount;
+
+    /**
+     * The earliest time the transfer is executed.
+     */
+    @Column(name = "execute_at", nullable = false)
+    private Instant executeAt;
+
+    /**
+     * The state of the scheduled transfer.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private Status status;
+
+    /**
+     * The transaction that applied the transfer; set once it is completed.
+     */
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    /**
+     * Why the transfer was rejected; set once it has failed.
+     */
+    @Column(name = "failure_reason")
+    private String failureReason;
+
+    /**
+     * The time the transfer was scheduled.
+     */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * The time the transfer was completed or failed.
+     */
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    /**
+     * Constructs a new pending scheduled transfer with a generated ID.
+     *
+     * @param sourceAccountId the account ID to debit
+     * @param destinationAccountId the account ID to credit
+     * @param amount the amount to transfer
+     * @param executeAt the earliest time the transfer is executed
+     */
+    public ScheduledTransfer(Long sourceAccountId, Long destinationAccountId, BigDecimal amount, Instant executeAt) {
+        this.id = UUID.randomUUID();
+        this.sourceAccountId = sourceAccountId;
+        this.destinationAccountId = destinationAccountId;
+        this.amount = amount;
+        this.executeAt = executeAt;
+        this.status = Status.PENDING;
+        this.createdAt = Instant.now();
+    }
+
+    /**
+     * Lifecycle of a scheduled transfer.
+     */
+    public enum Status {
+        /** Waiting for its execution time, or for a retry after a transient failure. */
+        PENDING,
+        /** Applied; {@link #transactionId} identifies the transaction. */
+        COMPLETED,
+        /** Rejected, e.g. for insufficient balance; {@link #failureReason} says why. */
+        FAILED
+    }
+}
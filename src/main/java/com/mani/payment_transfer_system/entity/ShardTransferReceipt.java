@@ -0,0 +1,65 @@
+package com.mani.payment_transfer_system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outcome of a cross-shard reservation, stored on the destination account's shard.
+ * The primary key makes the outcome final: a receipt with a transaction ID records that the
+ * destination was credited, a receipt without one records that the reservation was aborted
+ * and may never be applied.
+ */
+@Entity
+@Table(name = "shard_transfer_receipts")
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+public class ShardTransferReceipt {
+
+    /**
+     * The identifier of the reservation on the source shard.
+     */
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "reservation_id")
+    private UUID reservationId;
+
+    /**
+     * The transaction logged for the credit, or null if the reservation was aborted.
+     */
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    /**
+     * The timestamp when the outcome was recorded.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Constructs a new receipt.
+     * The creation timestamp is automatically set to the current time.
+     *
+     * @param reservationId the identifier of the reservation on the source shard
+     * @param transactionId the transaction logged for the credit, or null for an aborted reservation
+     */
+    public ShardTransferReceipt(UUID reservationId, Long transactionId) {
+        this.reservationId = reservationId;
+        this.transactionId = transactionId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Returns whether the destination account was credited.
+     *
+     * @return true if the reservation was applied, false if it was aborted
+     */
+    public boolean isApplied() {
+        return transactionId != null;
+    }
+}
@@ -5,13 +5,17 @@ import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * Transaction entity representing a transfer between two accounts.
  * Stores transaction history for audit and tracking purposes.
  */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_source_account_timestamp", columnList = "source_account_id, timestamp"),
+    @Index(name = "idx_transactions_destination_account_timestamp", columnList = "destination_account_id, timestamp")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -55,6 +59,13 @@ public class Transaction {
     @Column(name = "timestamp", nullable = false)
     private LocalDateTime timestamp;
 
+    /**
+     * The parent payment this transaction is a leg of.
+     * Null for single transfers.
+     */
+    @Column(name = "payment_id")
+    private UUID paymentId;
+
     /**
      * Constructs a new Transaction with the specified accounts and amount.
      * The timestamp is automatically set to the current time.
@@ -70,6 +81,20 @@ public class Transaction {
         this.timestamp = LocalDateTime.now();
     }
 
+    /**
+     * Constructs a new Transaction as one leg of a multi-leg payment.
+     * The timestamp is automatically set to the current time.
+     *
+     * @param sourceAccountId the account ID from which the amount is transferred
+     * @param destinationAccountId the account ID to which the amount is transferred
+     * @param amount the amount to transfer
+     * @param paymentId the parent payment identifier shared by all legs
+     */
+    public Transaction(Long sourceAccountId, Long destinationAccountId, BigDecimal amount, UUID paymentId) {
+        this(sourceAccountId, destinationAccountId, amount);
+        this.paymentId = paymentId;
+    }
+
     /**
      * JPA lifecycle callback method.
      * Sets the timestamp to current time if not already set before persisting.
@@ -0,0 +1,101 @@
+package com.mani.payment_transfer_system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Funds debited from a source account for a transfer to an account on another shard.
+ * Stored on the source account's shard in the same transaction as the debit, so an in-flight
+ * cross-shard transfer survives a crash and is either confirmed or refunded later.
+ */
+@Entity
+@Table(name = "transfer_reservations", indexes = {
+    @Index(name = "idx_transfer_reservations_status_created", columnList = "status, created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+public class TransferReservation {
+
+    /**
+     * The reservation identifier, generated by the application.
+     */
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "id")
+    private UUID id;
+
+    /**
+     * The account ID the reserved funds were debited from.
+     */
+    @Column(name = "source_account_id", nullable = false)
+    private Long sourceAccountId;
+
+    /**
+     * The account ID on the other shard that receives the funds.
+     */
+    @Column(name = "destination_account_id", nullable = false)
+    private Long destinationAccountId;
+
+    /**
+     * The reserved amount.
+     * Precision: 19 digits, Scale: 5 decimal places.
+     */
+    @Column(name = "amount", nullable = false, precision = 19, scale = 5)
+    private BigDecimal amount;
+
+    /**
+     * The state of the reservation.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private Status status;
+
+    /**
+     * The transaction logged on the destination shard; set once the reservation is committed.
+     */
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    /**
+     * The timestamp when the funds were reserved.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Constructs a new pending reservation.
+     * The creation timestamp is automatically set to the current time.
+     *
+     * @param id the reservation identifier
+     * @param sourceAccountId the account ID the funds are debited from
+     * @param destinationAccountId the account ID that receives the funds
+     * @param amount the reserved amount
+     */
+    public TransferReservation(UUID id, Long sourceAccountId, Long destinationAccountId, BigDecimal amount) {
+        this.id = id;
+        this.sourceAccountId = sourceAccountId;
+        this.destinationAccountId = destinationAccountId;
+        this.amount = amount;
+        this.status = Status.PENDING;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Lifecycle of a reservation.
+     */
+    public enum Status {
+        /** Funds are debited; the destination shard may or may not have been credited yet. */
+        PENDING,
+        /** The destination shard has been credited. */
+        COMMITTED,
+        /** The transfer was abandoned and the funds returned to the source account. */
+        RELEASED
+    }
+}
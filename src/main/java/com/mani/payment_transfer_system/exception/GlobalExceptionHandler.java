@@ -5,12 +5,15 @@ import com.mani.payment_transfer_system.service.MetricsService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.time.Duration;
+
 /**
  * Global exception handler for centralized error handling across all controllers.
  * Provides consistent error response format for all exceptions thrown in the application.
@@ -56,6 +59,54 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    /**
+     * Handles ScheduledTransferNotFoundException.
+     * Returns HTTP 404 Not Found status.
+     *
+     * @param ex the ScheduledTransferNotFoundException that was thrown
+     * @param request the HTTP request
+     * @return ResponseEntity with error message and HTTP 404 status
+     */
+    @ExceptionHandler(ScheduledTransferNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleScheduledTransferNotFoundException(
+            ScheduledTransferNotFoundException ex, HttpServletRequest request) {
+        // Metrics already recorded in service layer
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    /**
+     * Handles HoldNotFoundException.
+     * Returns HTTP 404 Not Found status.
+     *
+     * @param ex the HoldNotFoundException that was thrown
+     * @param request the HTTP request
+     * @return ResponseEntity with error message and HTTP 404 status
+     */
+    @ExceptionHandler(HoldNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleHoldNotFoundException(HoldNotFoundException ex,
+                                                                     HttpServletRequest request) {
+        // Metrics already recorded in service layer
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    /**
+     * Handles HoldNotActiveException.
+     * Returns HTTP 409 Conflict status.
+     *
+     * @param ex the HoldNotActiveException that was thrown
+     * @param request the HTTP request
+     * @return ResponseEntity with error message and HTTP 409 status
+     */
+    @ExceptionHandler(HoldNotActiveException.class)
+    public ResponseEntity<ErrorResponse> handleHoldNotActiveException(HoldNotActiveException ex,
+                                                                      HttpServletRequest request) {
+        // Metrics already recorded in service layer
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
     /**
      * Handles InsufficientBalanceException.
      * Returns HTTP 400 Bad Request status.
@@ -101,6 +152,89 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    /**
+     * Handles TransactionRetryExhaustedException.
+     * Returns HTTP 503 Service Unavailable status with a Retry-After header, so clients back off
+     * instead of immediately resubmitting into the same contention.
+     *
+     * @param ex the TransactionRetryExhaustedException that was thrown
+     * @param request the HTTP request
+     * @return ResponseEntity with error message and HTTP 503 status
+     */
+    @ExceptionHandler(TransactionRetryExhaustedException.class)
+    public ResponseEntity<ErrorResponse> handleTransactionRetryExhaustedException(
+            TransactionRetryExhaustedException ex, HttpServletRequest request) {
+        // Metrics already recorded in service layer
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles TransferAbortedException.
+     * Returns HTTP 503 Service Unavailable status with a Retry-After header; the aborted transfer
+     * was refunded, so clients can resubmit it.
+     *
+     * @param ex the TransferAbortedException that was thrown
+     * @param request the HTTP request
+     * @return ResponseEntity with error message and HTTP 503 status
+     */
+    @ExceptionHandler(TransferAbortedException.class)
+    public ResponseEntity<ErrorResponse> handleTransferAbortedException(
+            TransferAbortedException ex, HttpServletRequest request) {
+        // Metrics already recorded by the cross-shard coordinator
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles ServiceOverloadedException.
+     * Returns HTTP 503 Service Unavailable status with a Retry-After header, so clients back off
+     * while the service works through the requests it has already admitted.
+     *
+     * @param ex the ServiceOverloadedException that was thrown
+     * @param request the HTTP request
+     * @return ResponseEntity with error message and HTTP 503 status
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(
+            ServiceOverloadedException ex, HttpServletRequest request) {
+        // Metrics already recorded by the concurrency limit interceptor
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles RateLimitExceededException.
+     * Returns HTTP 429 Too Many Requests status with a Retry-After header telling the client
+     * when its next transfer would be allowed.
+     *
+     * @param ex the RateLimitExceededException that was thrown
+     * @param request the HTTP request
+     * @return ResponseEntity with error message and HTTP 429 status
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceededException(
+            RateLimitExceededException ex, HttpServletRequest request) {
+        // Metrics already recorded by the rate limiter
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Rounds a delay up to the whole seconds of a Retry-After header, at least one.
+     */
+    private static String retryAfterSeconds(Duration retryAfter) {
+        return String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
     /**
      * Handles validation exceptions from request body validation.
      * Returns HTTP 400 Bad Request status with field-level error details.
@@ -0,0 +1,20 @@
+package com.mani.payment_transfer_system.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when capturing or voiding an authorization hold that was already
+ * captured, voided or has expired.
+ */
+public class HoldNotActiveException extends RuntimeException {
+
+    /**
+     * Constructs a new HoldNotActiveException for the specified hold.
+     *
+     * @param holdId the hold ID
+     * @param status the current status of the hold
+     */
+    public HoldNotActiveException(UUID holdId, String status) {
+        super("Hold with ID " + holdId + " is no longer active (" + status + ")");
+    }
+}
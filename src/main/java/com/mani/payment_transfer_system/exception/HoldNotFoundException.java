@@ -0,0 +1,18 @@
+package com.mani.payment_transfer_system.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when an authorization hold is not found.
+ */
+public class HoldNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new HoldNotFoundException for the specified hold ID.
+     *
+     * @param holdId the hold ID that was not found
+     */
+    public HoldNotFoundException(UUID holdId) {
+        super("Hold with ID " + holdId + " not found");
+    }
+}
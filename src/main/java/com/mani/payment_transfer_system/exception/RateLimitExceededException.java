@@ -0,0 +1,28 @@
+package com.mani.payment_transfer_system.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a transfer is rejected because its client or one of its source accounts
+ * exceeded its rate limit. Nothing was executed; the transfer can be resubmitted after
+ * {@link #getRetryAfter()}.
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new RateLimitExceededException.
+     *
+     * @param scope the limit that was exceeded, "account" or "client"
+     * @param key the account ID or client identifier
+     * @param retryAfter the time until the next transfer would be allowed
+     */
+    public RateLimitExceededException(String scope, Object key, Duration retryAfter) {
+        super("Rate limit exceeded for " + scope + " " + key + ". Please retry later.");
+        this.retryAfter = retryAfter;
+    }
+}
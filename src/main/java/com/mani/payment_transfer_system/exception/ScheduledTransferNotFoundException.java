@@ -0,0 +1,18 @@
+package com.mani.payment_transfer_system.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a scheduled transfer is not found.
+ */
+public class ScheduledTransferNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new ScheduledTransferNotFoundException for the specified scheduled transfer ID.
+     *
+     * @param scheduledTransferId the scheduled transfer ID that was not found
+     */
+    public ScheduledTransferNotFoundException(UUID scheduledTransferId) {
+        super("Scheduled transfer with ID " + scheduledTransferId + " not found");
+    }
+}
@@ -0,0 +1,27 @@
+package com.mani.payment_transfer_system.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a request is rejected because its bulkhead already has as many
+ * requests in flight as its concurrency limit allows. Nothing was executed; the request
+ * can safely be resubmitted after {@link #getRetryAfter()}.
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new ServiceOverloadedException.
+     *
+     * @param bulkhead the bulkhead that rejected the request
+     * @param retryAfter how long clients should wait before retrying
+     */
+    public ServiceOverloadedException(String bulkhead, Duration retryAfter) {
+        super("Too many concurrent " + bulkhead + " requests. Please retry later.");
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,20 @@
+package com.mani.payment_transfer_system.exception;
+
+/**
+ * Exception thrown when a transaction kept failing with transient database errors
+ * (deadlocks, serialization failures or lock timeouts) until its retry budget ran out.
+ * The transaction was rolled back and can safely be resubmitted later.
+ */
+public class TransactionRetryExhaustedException extends RuntimeException {
+
+    /**
+     * Constructs a new TransactionRetryExhaustedException.
+     *
+     * @param attempts the number of attempts made
+     * @param cause the transient failure of the last attempt
+     */
+    public TransactionRetryExhaustedException(int attempts, Throwable cause) {
+        super("Transaction could not be completed due to concurrent activity after " + attempts
+                + " attempt(s). Please retry later.", cause);
+    }
+}
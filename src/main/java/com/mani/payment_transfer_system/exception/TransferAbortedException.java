@@ -0,0 +1,19 @@
+package com.mani.payment_transfer_system.exception;
+
+/**
+ * Exception thrown when recovery aborted a cross-shard transfer's reservation before the destination
+ * shard applied it, e.g. because the transfer stalled past {@code payment.sharding.recovery-after}.
+ * The source account was refunded, so the transfer did not happen and can safely be resubmitted.
+ */
+public class TransferAbortedException extends RuntimeException {
+
+    /**
+     * Constructs a new TransferAbortedException.
+     *
+     * @param cause the failure reported by the destination step
+     */
+    public TransferAbortedException(Throwable cause) {
+        super("Transfer was aborted before it could be completed and has not been applied. Please retry later.",
+                cause);
+    }
+}
@@ -0,0 +1,48 @@
+package com.mani.payment_transfer_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the {@code SELECT ... FOR UPDATE} of one account, i.e. the time spent waiting for its row lock.
+ */
+@Name("payment.AccountLock")
+@Label("Account Lock")
+@Category({"Payment", "Transfers"})
+@Description("Row lock acquired on an account before a transfer")
+@Enabled(false)
+@StackTrace(false)
+public class AccountLockEvent extends Event {
+
+    @Label("Account")
+    long accountId;
+
+    @Label("Role")
+    @Description("'source' or 'destination'")
+    String role;
+
+    @Label("Found")
+    boolean found;
+
+    /**
+     * Ends the event and commits it if the recording wants it.
+     *
+     * @param accountId the locked account ID
+     * @param role "source" or "destination"
+     * @param found whether the account exists
+     */
+    public void complete(Long accountId, String role, boolean found) {
+        end();
+        if (shouldCommit()) {
+            this.accountId = accountId;
+            this.role = role;
+            this.found = found;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.mani.payment_transfer_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one {@code AccountService.getAccount} call.
+ */
+@Name("payment.AccountQuery")
+@Label("Account Query")
+@Category({"Payment", "Accounts"})
+@Description("Balance lookup of a single account")
+@Enabled(false)
+@StackTrace(false)
+public class AccountQueryEvent extends Event {
+
+    /** The account was found. */
+    public static final String FOUND = "found";
+    /** The account filter rejected the ID without a query. */
+    public static final String FILTERED = "filtered";
+    /** The query found no account. */
+    public static final String NOT_FOUND = "not_found";
+
+    @Label("Account")
+    long accountId;
+
+    @Label("Outcome")
+    @Description("'found', 'filtered' or 'not_found'")
+    String outcome;
+
+    /**
+     * Ends the event and commits it if the recording wants it.
+     *
+     * @param accountId the queried account ID
+     * @param outcome {@link #FOUND}, {@link #FILTERED} or {@link #NOT_FOUND}
+     */
+    public void complete(Long accountId, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.accountId = accountId != null ? accountId : 0;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.mani.payment_transfer_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.math.BigDecimal;
+
+/**
+ * JFR event spanning the write of both new balances of a transfer.
+ */
+@Name("payment.BalanceUpdate")
+@Label("Balance Update")
+@Category({"Payment", "Transfers"})
+@Description("Source and destination balances written after the accounts were locked")
+@Enabled(false)
+@StackTrace(false)
+public class BalanceUpdateEvent extends Event {
+
+    @Label("Source Account")
+    long sourceAccountId;
+
+    @Label("Destination Account")
+    long destinationAccountId;
+
+    @Label("Amount")
+    double amount;
+
+    /**
+     * Ends the event and commits it if the recording wants it.
+     *
+     * @param sourceAccountId the source account ID
+     * @param destinationAccountId the destination account ID
+     * @param amount the transfer amount
+     */
+    public void complete(Long sourceAccountId, Long destinationAccountId, BigDecimal amount) {
+        end();
+        if (shouldCommit()) {
+            this.sourceAccountId = sourceAccountId;
+            this.destinationAccountId = destinationAccountId;
+            this.amount = amount.doubleValue();
+            commit();
+        }
+    }
+}
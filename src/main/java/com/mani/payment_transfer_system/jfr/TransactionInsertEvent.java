@@ -0,0 +1,54 @@
+package com.mani.payment_transfer_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.math.BigDecimal;
+
+/**
+ * JFR event spanning the insert of the transaction row that logs a transfer.
+ */
+@Name("payment.TransactionInsert")
+@Label("Transaction Insert")
+@Category({"Payment", "Transfers"})
+@Description("Transaction row inserted for a transfer")
+@Enabled(false)
+@StackTrace(false)
+public class TransactionInsertEvent extends Event {
+
+    @Label("Source Account")
+    long sourceAccountId;
+
+    @Label("Destination Account")
+    long destinationAccountId;
+
+    @Label("Amount")
+    double amount;
+
+    @Label("Transaction ID")
+    long transactionId;
+
+    /**
+     * Ends the event and commits it if the recording wants it.
+     *
+     * @param sourceAccountId the source account ID
+     * @param destinationAccountId the destination account ID
+     * @param amount the transfer amount
+     * @param transactionId the generated transaction ID
+     */
+    public void complete(Long sourceAccountId, Long destinationAccountId, BigDecimal amount, Long transactionId) {
+        end();
+        if (shouldCommit()) {
+            this.sourceAccountId = sourceAccountId;
+            this.destinationAccountId = destinationAccountId;
+            this.amount = amount.doubleValue();
+            this.transactionId = transactionId != null ? transactionId : 0;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.mani.payment_transfer_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.math.BigDecimal;
+
+/**
+ * JFR event spanning one {@code TransactionService.processTransaction} call, from validation to commit.
+ *
+ * <p>Usage: {@link #start()} on entry, {@link #executionStarted(boolean)} before the database work and
+ * {@link #complete} in a {@code finally} block. While the event is not enabled in the running recording,
+ * every call returns after a single check and the JIT removes the allocation.
+ */
+@Name("payment.Transfer")
+@Label("Transfer")
+@Category({"Payment", "Transfers"})
+@Description("A single transfer between two accounts")
+@Enabled(false)
+@StackTrace(false)
+public class TransferEvent extends Event {
+
+    /** Outcome of a transfer that committed. */
+    public static final String COMPLETED = "completed";
+
+    @Label("Source Account")
+    long sourceAccountId;
+
+    @Label("Destination Account")
+    long destinationAccountId;
+
+    @Label("Amount")
+    double amount;
+
+    @Label("Transaction ID")
+    long transactionId;
+
+    @Label("Outcome")
+    @Description("'completed', or the simple name of the exception that rejected the transfer")
+    String outcome;
+
+    @Label("Cross Shard")
+    boolean crossShard;
+
+    @Label("Validation Time")
+    @Description("Time spent validating the request before any database work")
+    @Timespan(Timespan.NANOSECONDS)
+    long validationTime;
+
+    @Label("Execution Time")
+    @Description("Time spent moving the balances and logging the transaction, retries included")
+    @Timespan(Timespan.NANOSECONDS)
+    long executionTime;
+
+    private transient long startNanos;
+    private transient long executionStartNanos;
+
+    /**
+     * Starts timing the transfer.
+     */
+    public void start() {
+        begin();
+        if (isEnabled()) {
+            startNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marks the end of validation and the start of the database work.
+     *
+     * @param crossShard whether the accounts are on different shards
+     */
+    public void executionStarted(boolean crossShard) {
+        if (isEnabled()) {
+            executionStartNanos = System.nanoTime();
+            this.crossShard = crossShard;
+        }
+    }
+
+    /**
+     * Ends the event and commits it if the recording wants it.
+     *
+     * @param sourceAccountId the source account ID
+     * @param destinationAccountId the destination account ID
+     * @param amount the transfer amount
+     * @param transactionId the logged transaction ID, or null if the transfer failed
+     * @param outcome {@link #COMPLETED} or the name of the failure
+     */
+    public void complete(Long sourceAccountId, Long destinationAccountId, BigDecimal amount, Long transactionId,
+                         String outcome) {
+        end();
+        if (shouldCommit()) {
+            long now = System.nanoTime();
+            this.sourceAccountId = sourceAccountId != null ? sourceAccountId : 0;
+            this.destinationAccountId = destinationAccountId != null ? destinationAccountId : 0;
+            this.amount = amount != null ? amount.doubleValue() : 0;
+            this.transactionId = transactionId != null ? transactionId : 0;
+            this.outcome = outcome;
+            if (executionStartNanos != 0) {
+                this.validationTime = executionStartNanos - startNanos;
+                this.executionTime = now - executionStartNanos;
+            } else {
+                this.validationTime = now - startNanos;
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.mani.payment_transfer_system.ledger;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current account balances, each stamped with the ID of the last posting it includes.
+ * An update only replaces an entry that includes fewer postings, so a balance read before
+ * a transfer committed can never overwrite the balance that transfer produced.
+ * Once {@code maxEntries} accounts are cached, further accounts are not added.
+ */
+class BalanceCache {
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new BalanceCache.
+     *
+     * @param maxEntries the maximum number of cached accounts; 0 disables the cache
+     */
+    BalanceCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the cached balance of an account.
+     *
+     * @param accountId the account ID
+     * @return the balance, or null if the account is not cached
+     */
+    BigDecimal get(Long accountId) {
+        Entry entry = entries.get(accountId);
+        return entry == null ? null : entry.balance();
+    }
+
+    /**
+     * Caches a balance unless the cached one already includes later postings.
+     *
+     * @param accountId the account ID
+     * @param balance the balance including every posting up to {@code lastPostingId}
+     * @param lastPostingId the ID of the last posting of the account included in the balance, 0 if none
+     */
+    void update(Long accountId, BigDecimal balance, long lastPostingId) {
+        if (entries.size() >= maxEntries && !entries.containsKey(accountId)) {
+            return;
+        }
+        entries.merge(accountId, new Entry(balance, lastPostingId),
+                (cached, updated) -> updated.lastPostingId() > cached.lastPostingId() ? updated : cached);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private record Entry(BigDecimal balance, long lastPostingId) {
+    }
+}
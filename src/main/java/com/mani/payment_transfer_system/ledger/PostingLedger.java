@@ -0,0 +1,375 @@
+package com.mani.payment_transfer_system.ledger;
+
+import com.mani.payment_transfer_system.config.LedgerProperties;
+import com.mani.payment_transfer_system.config.TransferProperties;
+import com.mani.payment_transfer_system.dto.TransactionRequest;
+import com.mani.payment_transfer_system.entity.Transaction;
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.repository.TransactionRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Append-only double-entry ledger used by the {@code POSTINGS} execution mode.
+ * A transfer never updates an account row: it appends a debit and a credit posting next to the
+ * transaction it logs, so the write path is insert-only and the hottest table produces no dead tuples.
+ * <ul>
+ *   <li>An account's balance is {@code accounts.balance}, its checkpoint, plus the amounts of its
+ *       postings above {@code accounts.checkpoint_posting_id}.</li>
+ *   <li>Transfers serialize per account on transaction-scoped advisory locks, taken in ascending
+ *       account ID order, instead of row locks. Holding them until commit also means postings of
+ *       one account commit in ID order, which is what makes the checkpoint ID a safe boundary.</li>
+ *   <li>A scheduled checkpoint folds the postings of every account into its stored balance under
+ *       the same locks, so each account row is updated once per interval instead of once per transfer.</li>
+ *   <li>Current balances are cached in memory; transfers refresh them when they commit.</li>
+ * </ul>
+ * Cross-shard transfers reserve and credit balances in place, so the mode cannot be combined with sharding.
+ */
+@Component
+public class PostingLedger {
+
+    static final String LOCK_ACCOUNTS =
+            "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(account_id) FROM "
+                    + "(SELECT unnest(?::bigint[]) AS account_id ORDER BY 1) ordered) locked";
+    static final String READ_BALANCES =
+            "SELECT a.account_id, a.balance + COALESCE(SUM(p.amount), 0) AS balance, "
+                    + "COALESCE(MAX(p.id), a.checkpoint_posting_id, 0) AS last_posting_id "
+                    + "FROM accounts a LEFT JOIN postings p "
+                    + "ON p.account_id = a.account_id AND p.id > COALESCE(a.checkpoint_posting_id, 0) "
+                    + "WHERE a.account_id = ANY(?::bigint[]) GROUP BY a.account_id";
+    static final String APPEND_TRANSFER =
+            "WITH logged AS (INSERT INTO transactions (source_account_id, destination_account_id, amount, timestamp) "
+                    + "VALUES (?, ?, ?, ?) RETURNING id) "
+                    + "INSERT INTO postings (transaction_id, account_id, amount, created_at) "
+                    + "SELECT id, ?, ?, ? FROM logged UNION ALL SELECT id, ?, ?, ? FROM logged "
+                    + "RETURNING transaction_id, account_id, id";
+    static final String APPEND_POSTINGS =
+            "INSERT INTO postings (transaction_id, account_id, amount, created_at) "
+                    + "SELECT transaction_id, account_id, amount, ? "
+                    + "FROM unnest(?::bigint[], ?::bigint[], ?::numeric[]) AS p(transaction_id, account_id, amount) "
+                    + "RETURNING transaction_id, account_id, id";
+    static final String PENDING_ACCOUNTS =
+            "SELECT a.account_id FROM accounts a WHERE a.account_id > ? AND EXISTS ("
+                    + "SELECT 1 FROM postings p WHERE p.account_id = a.account_id "
+                    + "AND p.id > COALESCE(a.checkpoint_posting_id, 0)) "
+                    + "ORDER BY a.account_id LIMIT ?";
+    static final String CHECKPOINT =
+            "UPDATE accounts a SET balance = a.balance + d.delta, checkpoint_posting_id = d.last_posting_id, "
+                    + "version = a.version + 1 "
+                    + "FROM (SELECT p.account_id, SUM(p.amount) AS delta, MAX(p.id) AS last_posting_id "
+                    + "FROM postings p JOIN accounts c ON c.account_id = p.account_id "
+                    + "WHERE p.account_id = ANY(?::bigint[]) AND p.id > COALESCE(c.checkpoint_posting_id, 0) "
+                    + "GROUP BY p.account_id) d "
+                    + "WHERE a.account_id = d.account_id";
+
+    private static final RowMapper<AppendedPosting> APPENDED_POSTING = (rs, rowNum) ->
+            new AppendedPosting(rs.getLong("transaction_id"), rs.getLong("account_id"), rs.getLong("id"));
+
+    private static final Logger logger = LoggerFactory.getLogger(PostingLedger.class);
+    private final boolean enabled;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate checkpointTransaction;
+    private final MetricsService metricsService;
+    private final int checkpointBatchSize;
+    private final BalanceCache balanceCache;
+
+    /**
+     * Constructs a new PostingLedger.
+     *
+     * @param jdbcTemplate the JDBC template; participates in the caller's transaction
+     * @param transactionRepository the transaction repository, used to log the legs of split payments
+     * @param transactionManager the transaction manager used to run checkpoint batches
+     * @param transferProperties the transfer properties selecting the execution mode
+     * @param properties the ledger properties
+     * @param shardRouter the shard router, used to reject sharded deployments
+     * @param metricsService the metrics service for recording errors, postings and checkpoints
+     * @throws IllegalStateException if the {@code POSTINGS} mode is selected together with sharding
+     */
+    public PostingLedger(JdbcTemplate jdbcTemplate, TransactionRepository transactionRepository,
+                         PlatformTransactionManager transactionManager, TransferProperties transferProperties,
+                         LedgerProperties properties, ShardRouter shardRouter, MetricsService metricsService) {
+        if (properties.getCheckpointBatchSize() < 1 || properties.getBalanceCacheSize() < 0) {
+            throw new IllegalArgumentException(
+                    "payment.ledger requires checkpoint-batch-size >= 1 and balance-cache-size >= 0");
+        }
+        this.enabled = transferProperties.getExecutionMode() == TransferProperties.ExecutionMode.POSTINGS;
+        if (enabled && shardRouter.isSharded()) {
+            throw new IllegalStateException("payment.transfer.execution-mode=POSTINGS cannot be combined with "
+                    + "sharding: cross-shard transfers update balances in place");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionRepository = transactionRepository;
+        this.checkpointTransaction = new TransactionTemplate(transactionManager);
+        this.checkpointTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.metricsService = metricsService;
+        this.checkpointBatchSize = properties.getCheckpointBatchSize();
+        this.balanceCache = new BalanceCache(properties.getBalanceCacheSize());
+        if (enabled) {
+            metricsService.bindLedgerBalanceCache(balanceCache, BalanceCache::size);
+        }
+    }
+
+    /**
+     * Returns whether transfers are recorded as postings.
+     *
+     * @return true in the {@code POSTINGS} execution mode
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Debits the source account and credits the destination account by appending two postings,
+     * and logs the transaction. Must run inside the caller's database transaction.
+     *
+     * @param sourceAccountId the account to debit
+     * @param destinationAccountId the account to credit
+     * @param amount the positive amount to move
+     * @return the unique transaction identifier generated by the database
+     * @throws AccountNotFoundException if either account does not exist
+     * @throws InsufficientBalanceException if the source account cannot cover the amount
+     */
+    public Long transfer(Long sourceAccountId, Long destinationAccountId, BigDecimal amount) {
+        Map<Long, LedgerBalance> balances = lockBalances(List.of(sourceAccountId, destinationAccountId));
+        LedgerBalance source = balances.get(sourceAccountId);
+        if (source == null) {
+            throw accountNotFound(sourceAccountId, "Source");
+        }
+        if (!balances.containsKey(destinationAccountId)) {
+            throw accountNotFound(destinationAccountId, "Destination");
+        }
+        validateSufficientBalance(sourceAccountId, source.balance(), amount);
+
+        // Stored in UTC, like the timestamps Hibernate writes (hibernate.jdbc.time_zone=UTC)
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        List<AppendedPosting> postings = jdbcTemplate.query(APPEND_TRANSFER, APPENDED_POSTING,
+                sourceAccountId, destinationAccountId, amount, now,
+                sourceAccountId, amount.negate(), now,
+                destinationAccountId, amount, now);
+        cacheAfterCommit(balances, Map.of(sourceAccountId, amount.negate(), destinationAccountId, amount), postings);
+        metricsService.recordPostings(postings.size());
+
+        Long transactionId = postings.get(0).transactionId();
+        logger.debug("Transaction {} posted", transactionId);
+        return transactionId;
+    }
+
+    /**
+     * Applies the legs of a split payment by appending a debit and a credit posting per leg,
+     * and logs every leg with one batched insert. Each account must cover its net outflow across
+     * all legs. Must run inside the caller's database transaction.
+     *
+     * @param paymentId the parent payment identifier
+     * @param legs the validated legs
+     * @return the generated transaction identifiers in request order
+     * @throws AccountNotFoundException if any involved account does not exist
+     * @throws InsufficientBalanceException if any account cannot cover its net outflow
+     */
+    public List<Long> transferSplit(UUID paymentId, List<TransactionRequest> legs) {
+        Map<Long, BigDecimal> netChanges = new TreeMap<>();
+        for (TransactionRequest leg : legs) {
+            netChanges.merge(leg.getSourceAccountId(), leg.getAmount().negate(), BigDecimal::add);
+            netChanges.merge(leg.getDestinationAccountId(), leg.getAmount(), BigDecimal::add);
+        }
+
+        Map<Long, LedgerBalance> balances = lockBalances(netChanges.keySet());
+        for (Map.Entry<Long, BigDecimal> netChange : netChanges.entrySet()) {
+            LedgerBalance balance = balances.get(netChange.getKey());
+            if (balance == null) {
+                throw accountNotFound(netChange.getKey(), "Split transaction");
+            }
+            if (netChange.getValue().signum() < 0) {
+                validateSufficientBalance(netChange.getKey(), balance.balance(), netChange.getValue().negate());
+            }
+        }
+
+        List<Long> transactionIds = transactionRepository.insertAll(legs.stream()
+                .map(leg -> new Transaction(leg.getSourceAccountId(), leg.getDestinationAccountId(),
+                        leg.getAmount(), paymentId))
+                .toList());
+        Long[] postingTransactionIds = new Long[legs.size() * 2];
+        Long[] accountIds = new Long[legs.size() * 2];
+        String[] amounts = new String[legs.size() * 2];
+        for (int i = 0; i < legs.size(); i++) {
+            TransactionRequest leg = legs.get(i);
+            postingTransactionIds[2 * i] = transactionIds.get(i);
+            accountIds[2 * i] = leg.getSourceAccountId();
+            amounts[2 * i] = leg.getAmount().negate().toPlainString();
+            postingTransactionIds[2 * i + 1] = transactionIds.get(i);
+            accountIds[2 * i + 1] = leg.getDestinationAccountId();
+            amounts[2 * i + 1] = leg.getAmount().toPlainString();
+        }
+        List<AppendedPosting> postings = jdbcTemplate.query(APPEND_POSTINGS, APPENDED_POSTING,
+                LocalDateTime.now(ZoneOffset.UTC), postingTransactionIds, accountIds, amounts);
+        cacheAfterCommit(balances, netChanges, postings);
+        metricsService.recordPostings(postings.size());
+
+        logger.debug("Split transaction {} posted with {} legs", paymentId, transactionIds.size());
+        return transactionIds;
+    }
+
+    /**
+     * Returns the current balance of an account, from memory if it is cached.
+     * Balances read inside a database transaction are not cached, as they may include uncommitted postings.
+     *
+     * @param accountId the account ID
+     * @return the balance, or empty if the account does not exist
+     */
+    public Optional<BigDecimal> balance(Long accountId) {
+        BigDecimal cached = balanceCache.get(accountId);
+        if (cached != null) {
+            metricsService.recordLedgerBalanceRead(true);
+            return Optional.of(cached);
+        }
+        metricsService.recordLedgerBalanceRead(false);
+        LedgerBalance balance = readBalances(List.of(accountId)).get(accountId);
+        if (balance == null) {
+            return Optional.empty();
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            balanceCache.update(accountId, balance.balance(), balance.lastPostingId());
+        }
+        return Optional.of(balance.balance());
+    }
+
+    /**
+     * Checkpoints all accounts every {@code payment.ledger.checkpoint-interval} in the {@code POSTINGS} mode.
+     */
+    @Scheduled(initialDelayString = "${payment.ledger.checkpoint-interval:PT1M}",
+            fixedDelayString = "${payment.ledger.checkpoint-interval:PT1M}")
+    public void scheduledCheckpoint() {
+        if (enabled) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Folds the postings of every account above its checkpoint into its stored balance.
+     * Accounts are processed in ascending ID order, {@code checkpoint-batch-size} per database
+     * transaction, each batch holding the same advisory locks as transfers. Balances do not change.
+     *
+     * @return the number of accounts checkpointed
+     */
+    public synchronized int checkpoint() {
+        long began = System.nanoTime();
+        int checkpointed = 0;
+        long afterAccountId = Long.MIN_VALUE;
+        List<Long> accountIds;
+        do {
+            accountIds = jdbcTemplate.queryForList(PENDING_ACCOUNTS, Long.class, afterAccountId, checkpointBatchSize);
+            if (accountIds.isEmpty()) {
+                break;
+            }
+            Long[] batch = accountIds.toArray(new Long[0]);
+            Integer updated = checkpointTransaction.execute(status -> {
+                jdbcTemplate.queryForObject(LOCK_ACCOUNTS, Long.class, (Object) batch);
+                return jdbcTemplate.update(CHECKPOINT, (Object) batch);
+            });
+            checkpointed += updated == null ? 0 : updated;
+            afterAccountId = accountIds.get(accountIds.size() - 1);
+        } while (accountIds.size() == checkpointBatchSize);
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - began);
+        metricsService.recordLedgerCheckpoint(duration, checkpointed);
+        logger.debug("Checkpointed {} accounts in {} ms", checkpointed, duration.toMillis());
+        return checkpointed;
+    }
+
+    /**
+     * Takes the advisory locks of the accounts in ascending ID order and reads their balances.
+     */
+    private Map<Long, LedgerBalance> lockBalances(Collection<Long> accountIds) {
+        Long[] sorted = new TreeSet<>(accountIds).toArray(new Long[0]);
+        jdbcTemplate.queryForObject(LOCK_ACCOUNTS, Long.class, (Object) sorted);
+        return readBalances(List.of(sorted));
+    }
+
+    private Map<Long, LedgerBalance> readBalances(Collection<Long> accountIds) {
+        Map<Long, LedgerBalance> balances = new HashMap<>();
+        jdbcTemplate.query(READ_BALANCES, rs -> {
+            balances.put(rs.getLong("account_id"),
+                    new LedgerBalance(rs.getBigDecimal("balance"), rs.getLong("last_posting_id")));
+        }, (Object) accountIds.toArray(new Long[0]));
+        return balances;
+    }
+
+    private void validateSufficientBalance(Long accountId, BigDecimal balance, BigDecimal amount) {
+        if (balance.compareTo(amount) < 0) {
+            logger.warn("Insufficient balance in account {}: current={}, requested={}", accountId, balance, amount);
+            metricsService.recordInsufficientBalanceError();
+            throw new InsufficientBalanceException(accountId, balance, amount);
+        }
+    }
+
+    /**
+     * Caches the balances produced by the appended postings once the surrounding transaction commits.
+     */
+    private void cacheAfterCommit(Map<Long, LedgerBalance> before, Map<Long, BigDecimal> netChanges,
+                                  List<AppendedPosting> postings) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Map<Long, Long> lastPostingIds = new HashMap<>();
+        for (AppendedPosting posting : postings) {
+            lastPostingIds.merge(posting.accountId(), posting.id(), Math::max);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                netChanges.forEach((accountId, change) -> balanceCache.update(accountId,
+                        before.get(accountId).balance().add(change), lastPostingIds.get(accountId)));
+            }
+        });
+    }
+
+    private AccountNotFoundException accountNotFound(Long accountId, String role) {
+        logger.warn("{} account not found: {}", role, accountId);
+        metricsService.recordAccountNotFoundError();
+        return new AccountNotFoundException(accountId);
+    }
+
+    /**
+     * The balance of an account and the last posting it includes.
+     *
+     * @param balance the checkpointed balance plus all later postings
+     * @param lastPostingId the ID of the last posting included, 0 if none
+     */
+    record LedgerBalance(BigDecimal balance, long lastPostingId) {
+    }
+
+    /**
+     * A posting returned by an insert.
+     *
+     * @param transactionId the transaction the posting belongs to
+     * @param accountId the account debited or credited
+     * @param id the posting ID
+     */
+    record AppendedPosting(long transactionId, long accountId, long id) {
+    }
+}
@@ -0,0 +1,191 @@
+package com.mani.payment_transfer_system.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Admits at most {@link #getLimit()} concurrent requests and adapts that limit to observed latency.
+ * <ul>
+ *   <li>The gradient between the long-term average latency and the recent latency scales the
+ *       limit down as soon as requests slow down, i.e. as soon as they start queueing for
+ *       connections, row locks or CPU somewhere downstream.</li>
+ *   <li>While latency stays within {@code rttTolerance} of its long-term average, the limit grows
+ *       by roughly its square root per sample, so capacity is probed continuously.</li>
+ *   <li>A failed request multiplies the limit by {@code backoffRatio}.</li>
+ * </ul>
+ * Admission is a single compare-and-set on the in-flight counter; the limit is recalculated
+ * when a request completes. Limits always stay within {@code [minLimit, maxLimit]}.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_WINDOW_WEIGHT = 2.0 / (10 + 1);
+    private static final double LONG_WINDOW_WEIGHT = 2.0 / (600 + 1);
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final LimitListener listener;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    // Guarded by this
+    private double estimatedLimit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    /**
+     * Constructs a new AdaptiveConcurrencyLimiter.
+     *
+     * @param name the bulkhead name, used in metrics and logs
+     * @param initialLimit the limit before any latency has been observed
+     * @param minLimit the lower bound for the limit
+     * @param maxLimit the upper bound for the limit
+     * @param rttTolerance the factor by which latency may exceed its long-term average before the limit is reduced
+     * @param smoothing the weight of a new limit estimate, in (0, 1]
+     * @param backoffRatio the factor applied to the limit when a request fails, in (0, 1)
+     * @param listener notified whenever the limit changes
+     */
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      double rttTolerance, double smoothing, double backoffRatio,
+                                      LimitListener listener) {
+        this(name, initialLimit, minLimit, maxLimit, rttTolerance, smoothing, backoffRatio, listener, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                               double rttTolerance, double smoothing, double backoffRatio,
+                               LimitListener listener, LongSupplier nanoClock) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Bulkhead " + name + " requires 1 <= min-limit <= initial-limit <= max-limit");
+        }
+        if (rttTolerance < 1.0 || smoothing <= 0 || smoothing > 1 || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Bulkhead " + name
+                    + " requires rtt-tolerance >= 1, 0 < smoothing <= 1 and 0 < backoff-ratio < 1");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.listener = listener;
+        this.nanoClock = nanoClock;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Admits a request if fewer than {@link #getLimit()} requests are in flight.
+     *
+     * @return the permit to release when the request completes, or null if the request must be rejected
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(nanoClock.getAsLong(), current + 1);
+            }
+        }
+    }
+
+    /**
+     * Updates the limit from one completed request.
+     *
+     * @param rttNanos the time the request held its permit
+     * @param inFlightAtStart the number of requests in flight when it was admitted, itself included
+     * @param failed whether the request failed with a server error
+     */
+    synchronized void onSample(long rttNanos, int inFlightAtStart, boolean failed) {
+        double newLimit;
+        if (failed) {
+            newLimit = estimatedLimit * backoffRatio;
+        } else {
+            // Keeps the gradient defined for requests faster than the clock's resolution
+            long rtt = Math.max(1, rttNanos);
+            if (longRttNanos == 0) {
+                shortRttNanos = rtt;
+                longRttNanos = rtt;
+            } else {
+                shortRttNanos += (rtt - shortRttNanos) * SHORT_WINDOW_WEIGHT;
+                longRttNanos += (rtt - longRttNanos) * LONG_WINDOW_WEIGHT;
+            }
+            if (longRttNanos > shortRttNanos * 2) {
+                // Latency dropped for good, e.g. after an incident; let the baseline catch up quickly
+                longRttNanos *= 0.95;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+            if (gradient == 1.0 && inFlightAtStart < estimatedLimit / 2) {
+                // The limit was not what held this request back, so it says nothing about more capacity
+                return;
+            }
+            double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            newLimit = estimatedLimit * (1 - smoothing) + target * smoothing;
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+
+        int oldLimit = limit;
+        int updated = (int) estimatedLimit;
+        if (updated != oldLimit) {
+            limit = updated;
+            listener.onLimitChange(name, oldLimit, updated);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Admission of one request; must be released exactly once.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Frees the permit and feeds the request's latency into the limit.
+         *
+         * @param failed whether the request failed with a server error
+         */
+        public void release(boolean failed) {
+            inFlight.decrementAndGet();
+            onSample(nanoClock.getAsLong() - startNanos, inFlightAtStart, failed);
+        }
+    }
+
+    /**
+     * Receives limit changes.
+     */
+    @FunctionalInterface
+    public interface LimitListener {
+
+        /**
+         * Called after the limit of a bulkhead changed.
+         *
+         * @param name the bulkhead name
+         * @param oldLimit the previous limit
+         * @param newLimit the new limit
+         */
+        void onLimitChange(String name, int oldLimit, int newLimit);
+    }
+}
@@ -0,0 +1,74 @@
+package com.mani.payment_transfer_system.limit;
+
+import com.mani.payment_transfer_system.exception.ServiceOverloadedException;
+import com.mani.payment_transfer_system.service.MetricsService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Admits API requests through one of two bulkheads: reads (GET and HEAD) and writes (everything else).
+ * Each bulkhead has its own adaptive limit, so a burst of slow transfers cannot take the threads
+ * and connections that balance lookups need, and vice versa. A request over its bulkhead's limit
+ * is rejected before the controller runs with {@link ServiceOverloadedException}, which is
+ * answered with 503 Service Unavailable and a Retry-After header.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitInterceptor.class);
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final MetricsService metricsService;
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new ConcurrencyLimitInterceptor.
+     *
+     * @param readLimiter the limiter for read-only requests
+     * @param writeLimiter the limiter for requests that change state
+     * @param metricsService the metrics service for recording rejections
+     * @param retryAfter how long rejected clients should wait before retrying
+     */
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter readLimiter, AdaptiveConcurrencyLimiter writeLimiter,
+                                       MetricsService metricsService, Duration retryAfter) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.metricsService = metricsService;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        AdaptiveConcurrencyLimiter limiter = isRead(request) ? readLimiter : writeLimiter;
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        if (permit == null) {
+            logger.warn("Rejected {} {}: {} bulkhead at its limit of {}", request.getMethod(),
+                    request.getRequestURI(), limiter.getName(), limiter.getLimit());
+            metricsService.recordConcurrencyLimitRejection(limiter.getName());
+            throw new ServiceOverloadedException(limiter.getName(), retryAfter);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof AdaptiveConcurrencyLimiter.Permit admitted) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            // Client errors are answered as quickly as successes; only server errors signal overload
+            admitted.release(ex != null || response.getStatus() >= 500);
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+}
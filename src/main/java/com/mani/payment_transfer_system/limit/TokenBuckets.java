@@ -0,0 +1,102 @@
+package com.mani.payment_transfer_system.limit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets for a set of keys sharing one rate and burst size.
+ * Each bucket is a single {@link AtomicLong} holding its theoretical arrival time: the instant at
+ * which the bucket would be full again if no further requests arrived. Taking a token moves that
+ * instant forward by one emission interval, and the request is allowed as long as it stays within
+ * {@code burst} intervals of now. A check is one map lookup and one compare-and-set, without locks
+ * or a refill thread.
+ *
+ * @param <K> the key type
+ */
+class TokenBuckets<K> {
+
+    private final String scope;
+    private final long emissionIntervalNanos;
+    private final long capacityNanos;
+    private final int maxKeys;
+    private final ConcurrentHashMap<K, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs new TokenBuckets.
+     *
+     * @param scope the name of the limit, used in metrics and errors
+     * @param permitsPerSecond the sustained rate per key
+     * @param burst the number of requests allowed back to back per key
+     * @param maxKeys the maximum number of keys tracked at the same time
+     */
+    TokenBuckets(String scope, double permitsPerSecond, int burst, int maxKeys) {
+        if (permitsPerSecond <= 0 || burst < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("Rate limit " + scope
+                    + " requires permits-per-second > 0, burst >= 1 and max-tracked-keys >= 1");
+        }
+        this.scope = scope;
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.capacityNanos = emissionIntervalNanos * burst;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes a token from the key's bucket.
+     *
+     * @param key the key
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    long tryAcquire(K key, long nowNanos) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                // Every tracked key is active; leave the newcomer unlimited rather than forget an active key
+                return 0;
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, nowNanos) + emissionIntervalNanos;
+            long waitNanos = next - nowNanos - capacityNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Discards the buckets that have been full for at least the idle timeout.
+     * A full bucket carries no state, so a discarded key starts exactly where it left off.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @param idleTimeoutNanos how long a bucket must have been full
+     * @return the number of discarded buckets
+     */
+    int evictIdle(long nowNanos, long idleTimeoutNanos) {
+        int evicted = 0;
+        for (var entry : buckets.entrySet()) {
+            long arrival = entry.getValue().get();
+            if (nowNanos - arrival >= idleTimeoutNanos && buckets.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    String scope() {
+        return scope;
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    boolean isFull() {
+        return buckets.size() >= maxKeys;
+    }
+}
@@ -0,0 +1,107 @@
+package com.mani.payment_transfer_system.limit;
+
+import com.mani.payment_transfer_system.config.RateLimitProperties;
+import com.mani.payment_transfer_system.exception.RateLimitExceededException;
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rate limits transfers per source account and per client with lock-free token buckets,
+ * so that one client cannot monopolize an account's row lock or the service.
+ * Checked before a transfer opens a transaction; a throttled transfer never touches the database.
+ * <p>
+ * At most {@code max-tracked-keys} accounts and clients are tracked. Buckets that have been full
+ * for {@code idle-timeout} are discarded periodically, and also right away when a new key finds
+ * the map full. A new key that still finds no room is not limited until room frees up.
+ */
+@Component
+public class TransferRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferRateLimiter.class);
+    private final RateLimitProperties properties;
+    private final MetricsService metricsService;
+    private final TokenBuckets<Long> accountBuckets;
+    private final TokenBuckets<String> clientBuckets;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    /**
+     * Constructs a new TransferRateLimiter.
+     *
+     * @param properties the rate limit properties
+     * @param metricsService the metrics service for recording throttled transfers
+     */
+    public TransferRateLimiter(RateLimitProperties properties, MetricsService metricsService) {
+        this.properties = properties;
+        this.metricsService = metricsService;
+        this.accountBuckets = new TokenBuckets<>("account", properties.getAccount().getPermitsPerSecond(),
+                properties.getAccount().getBurst(), properties.getMaxTrackedKeys());
+        this.clientBuckets = new TokenBuckets<>("client", properties.getClient().getPermitsPerSecond(),
+                properties.getClient().getBurst(), properties.getMaxTrackedKeys());
+        if (properties.isEnabled()) {
+            metricsService.bindRateLimitKeys("account", accountBuckets, TokenBuckets::size);
+            metricsService.bindRateLimitKeys("client", clientBuckets, TokenBuckets::size);
+        }
+    }
+
+    /**
+     * Takes one token for the client and one for every source account of a transfer.
+     *
+     * @param sourceAccountIds the distinct accounts debited by the transfer
+     * @param clientId the client submitting the transfer
+     * @throws RateLimitExceededException if the client or one of the accounts is over its limit
+     */
+    public void checkTransfer(Collection<Long> sourceAccountIds, String clientId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        acquire(clientBuckets, clientId, now);
+        for (Long accountId : sourceAccountIds) {
+            acquire(accountBuckets, accountId, now);
+        }
+    }
+
+    /**
+     * Discards idle buckets.
+     */
+    @Scheduled(fixedDelayString = "${payment.rate-limit.idle-timeout:PT5M}")
+    public void evictIdleBuckets() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        evictIdle(System.nanoTime());
+    }
+
+    private <K> void acquire(TokenBuckets<K> buckets, K key, long now) {
+        if (buckets.isFull()) {
+            evictIdle(now);
+        }
+        long waitNanos = buckets.tryAcquire(key, now);
+        if (waitNanos > 0) {
+            logger.warn("Throttled transfer: {} {} is over its rate limit", buckets.scope(), key);
+            metricsService.recordRateLimited(buckets.scope());
+            throw new RateLimitExceededException(buckets.scope(), key, Duration.ofNanos(waitNanos));
+        }
+    }
+
+    private void evictIdle(long now) {
+        // One thread evicts; the others go ahead instead of waiting for it
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long idleNanos = properties.getIdleTimeout().toNanos();
+            int evicted = accountBuckets.evictIdle(now, idleNanos) + clientBuckets.evictIdle(now, idleNanos);
+            logger.debug("Evicted {} idle rate limit buckets", evicted);
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
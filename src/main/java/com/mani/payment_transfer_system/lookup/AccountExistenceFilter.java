@@ -0,0 +1,185 @@
+package com.mani.payment_transfer_system.lookup;
+
+import com.mani.payment_transfer_system.config.AccountFilterProperties;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Bloom filter of existing account IDs, used to reject unknown accounts before a transaction
+ * is opened or a connection is taken from the pool.
+ * <ul>
+ *   <li>Built at startup by scanning the account IDs of every shard page by page.</li>
+ *   <li>Updated when this instance creates an account.</li>
+ *   <li>Rebuilt every {@code payment.account-filter.rebuild-interval}, which resizes it for the
+ *       current number of accounts and picks up accounts created by other instances.</li>
+ * </ul>
+ * Until the first build completes, and when disabled, every account is reported as possibly existing.
+ */
+@Component
+public class AccountExistenceFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountExistenceFilter.class);
+    private static final int PAGE_SIZE = 10_000;
+    private final AccountFilterProperties properties;
+    private final AccountRepository accountRepository;
+    private final ShardRouter shardRouter;
+    private final MetricsService metricsService;
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+
+    /**
+     * Constructs a new AccountExistenceFilter.
+     *
+     * @param properties the filter properties
+     * @param accountRepository the account repository scanned when building the filter
+     * @param shardRouter the router listing the shards to scan
+     * @param metricsService the metrics service for recording filter metrics
+     */
+    public AccountExistenceFilter(AccountFilterProperties properties, AccountRepository accountRepository,
+                                  ShardRouter shardRouter, MetricsService metricsService) {
+        this.properties = properties;
+        this.accountRepository = accountRepository;
+        this.shardRouter = shardRouter;
+        this.metricsService = metricsService;
+        if (properties.isEnabled()) {
+            metricsService.bindAccountFilter(this, AccountExistenceFilter::memoryBytes,
+                    AccountExistenceFilter::expectedFalsePositiveRate);
+        }
+    }
+
+    /**
+     * Builds the filter once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Replaces the filter with one built from a fresh scan of all shards.
+     * Accounts created while the scan runs are added to both the old and the new filter.
+     */
+    @Scheduled(initialDelayString = "${payment.account-filter.rebuild-interval:PT10M}",
+            fixedDelayString = "${payment.account-filter.rebuild-interval:PT10M}")
+    public synchronized void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long began = System.nanoTime();
+        long accounts = 0;
+        for (String shard : shardRouter.shardNames()) {
+            accounts += shardRouter.inShardTransaction(shard, accountRepository::count);
+        }
+        long capacity = Math.max(properties.getExpectedAccounts(), (long) (accounts * properties.getGrowthFactor()));
+        BloomFilter next = new BloomFilter(capacity, properties.getFalsePositiveRate());
+        rebuilding = next;
+        try {
+            for (String shard : shardRouter.shardNames()) {
+                scan(shard, next);
+            }
+            filter = next;
+        } finally {
+            rebuilding = null;
+        }
+        metricsService.recordAccountFilterRebuild();
+        logger.info("Built account filter for {} accounts: capacity {}, {} KiB, {} hashes, in {} ms",
+                accounts, capacity, next.memoryBytes() / 1024, next.hashCount(), (System.nanoTime() - began) / 1_000_000);
+    }
+
+    private void scan(String shard, BloomFilter target) {
+        long afterAccountId = Long.MIN_VALUE;
+        List<Long> accountIds;
+        do {
+            long after = afterAccountId;
+            accountIds = shardRouter.inShardTransaction(shard,
+                    () -> accountRepository.findAccountIdsAfter(after, PageRequest.ofSize(PAGE_SIZE)));
+            accountIds.forEach(target::put);
+            if (!accountIds.isEmpty()) {
+                afterAccountId = accountIds.get(accountIds.size() - 1);
+            }
+        } while (accountIds.size() == PAGE_SIZE);
+    }
+
+    /**
+     * Tests whether an account may exist. A negative answer is definite and is counted as a rejection.
+     *
+     * @param accountId the account ID
+     * @return false if the account definitely does not exist
+     */
+    public boolean mightExist(Long accountId) {
+        BloomFilter current = filter;
+        if (current == null || current.mightContain(accountId)) {
+            return true;
+        }
+        metricsService.recordAccountFilterRejection();
+        return false;
+    }
+
+    /**
+     * Adds a newly created account once the creating transaction has committed,
+     * or immediately when no transaction is active.
+     *
+     * @param accountId the account ID
+     */
+    public void recordCreated(Long accountId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(accountId);
+                }
+            });
+        } else {
+            add(accountId);
+        }
+    }
+
+    /**
+     * Records that an account passed the filter but was not found in the database.
+     */
+    public void recordFalsePositive() {
+        if (filter != null) {
+            metricsService.recordAccountFilterFalsePositive();
+        }
+    }
+
+    /**
+     * Adds the account to the filter being built first: once the rebuild swaps it in and clears
+     * {@code rebuilding}, the current filter is that same instance, so the account is never lost.
+     */
+    private void add(long accountId) {
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(accountId);
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(accountId);
+        }
+    }
+
+    private double memoryBytes() {
+        BloomFilter current = filter;
+        return current != null ? current.memoryBytes() : 0;
+    }
+
+    private double expectedFalsePositiveRate() {
+        BloomFilter current = filter;
+        return current != null ? current.expectedFalsePositiveRate() : 0;
+    }
+}
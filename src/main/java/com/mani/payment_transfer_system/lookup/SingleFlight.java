@@ -0,0 +1,75 @@
+package com.mani.payment_transfer_system.lookup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into one execution.
+ * The first caller for a key runs the work on its own thread; callers arriving while it runs
+ * wait for and share its result or exception. The key is released before the result is
+ * published, so a caller arriving afterwards always starts a fresh execution: a shared result
+ * is never older than the execution it came from.
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Runs the work for the key, or joins an execution already in flight for it.
+     *
+     * @param key the key identifying identical work
+     * @param work the work, run only if no execution for the key is in flight
+     * @return the result of the execution
+     * @throws RuntimeException the exception thrown by the work, rethrown to every caller sharing it
+     */
+    public V execute(K key, Supplier<V> work) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        executed.increment();
+        try {
+            V result = work.get();
+            inFlight.remove(key, future);
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of calls that ran the work themselves.
+     *
+     * @return the executed call count
+     */
+    public long executedCount() {
+        return executed.sum();
+    }
+
+    /**
+     * Returns the number of calls that shared another call's execution.
+     *
+     * @return the coalesced call count
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+}
@@ -0,0 +1,37 @@
+package com.mani.payment_transfer_system.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * JSON message converter that reports the time spent writing each response body to {@link RequestCost}.
+ * Bodies are written to a buffered response when cost accounting is on, so the time is serialization
+ * rather than network I/O.
+ */
+public class CostTimingJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+    /**
+     * Constructs a new CostTimingJacksonConverter.
+     *
+     * @param objectMapper the application's object mapper
+     */
+    public CostTimingJacksonConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            RequestCost.recordSerialization(System.nanoTime() - start);
+        }
+    }
+}
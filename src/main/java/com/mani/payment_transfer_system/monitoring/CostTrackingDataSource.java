@@ -0,0 +1,128 @@
+package com.mani.payment_transfer_system.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Data source that reports the time of every statement execution, commit and rollback to {@link RequestCost}.
+ * Statements that take row locks ({@code FOR UPDATE}, {@code FOR NO KEY UPDATE}, {@code FOR SHARE}) are also
+ * reported as lock time. Connections and statements are wrapped in JDK proxies; everything else is delegated
+ * unchanged.
+ */
+public class CostTrackingDataSource extends DelegatingDataSource {
+
+    /**
+     * Wraps a data source.
+     *
+     * @param target the data source to track
+     */
+    public CostTrackingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    static boolean isLocking(String sql) {
+        if (sql == null) {
+            return false;
+        }
+        String lower = sql.toLowerCase(Locale.ROOT);
+        return lower.contains(" for update") || lower.contains(" for no key update") || lower.contains(" for share");
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            String name = method.getName();
+            if (name.equals("commit") || name.equals("rollback")) {
+                return timed(target, method, args, 0, false);
+            }
+            Object result = invoke(target, method, args);
+            return switch (name) {
+                case "createStatement" -> wrapStatement(Statement.class, (Statement) result, false);
+                case "prepareStatement" ->
+                        wrapStatement(PreparedStatement.class, (Statement) result, isLocking((String) args[0]));
+                case "prepareCall" ->
+                        wrapStatement(CallableStatement.class, (Statement) result, isLocking((String) args[0]));
+                default -> result;
+            };
+        });
+    }
+
+    private static <S extends Statement> S wrapStatement(Class<S> type, Statement statement, boolean preparedLocking) {
+        int[] batched = new int[1];
+        return proxy(type, type.cast(statement), (target, method, args) -> {
+            String name = method.getName();
+            switch (name) {
+                case "addBatch" -> batched[0]++;
+                case "clearBatch" -> batched[0] = 0;
+                case "executeBatch", "executeLargeBatch" -> {
+                    int statements = batched[0];
+                    batched[0] = 0;
+                    return timed(target, method, args, statements, preparedLocking);
+                }
+                default -> {
+                    if (name.startsWith("execute")) {
+                        boolean locking = args != null && args.length > 0 && args[0] instanceof String sql
+                                ? isLocking(sql) : preparedLocking;
+                        return timed(target, method, args, 1, locking);
+                    }
+                }
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    private static Object timed(Object target, Method method, Object[] args, int statements, boolean locking)
+            throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return invoke(target, method, args);
+        } finally {
+            RequestCost.recordStatement(System.nanoTime() - start, statements, locking);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if (method.getName().equals("unwrap") || method.getName().equals("isWrapperFor")) {
+                return invoke(target, method, args);
+            }
+            return handler.handle(target, method, args);
+        };
+        return (T) Proxy.newProxyInstance(CostTrackingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
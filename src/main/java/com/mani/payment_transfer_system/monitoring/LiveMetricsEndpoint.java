@@ -0,0 +1,38 @@
+package com.mani.payment_transfer_system.monitoring;
+
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint {@code /actuator/live} returning the per-second transfer statistics of the last 15 minutes.
+ * It must be exposed through {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Endpoint(id = "live")
+public class LiveMetricsEndpoint {
+
+    private final MetricsService metricsService;
+
+    /**
+     * Constructs a new LiveMetricsEndpoint.
+     *
+     * @param metricsService the metrics service maintaining the window
+     */
+    public LiveMetricsEndpoint(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Returns the most recent seconds of the window, e.g. {@code /actuator/live?seconds=60}.
+     *
+     * @param seconds the number of seconds to return; the whole window if omitted
+     * @return the report, oldest second first
+     */
+    @ReadOperation
+    public LiveMetricsReport window(@Nullable Integer seconds) {
+        return metricsService.liveMetrics(seconds != null ? seconds : MetricsService.LIVE_WINDOW_SECONDS);
+    }
+}
@@ -0,0 +1,60 @@
+package com.mani.payment_transfer_system.monitoring;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-second transfer statistics of the recent past, oldest second first.
+ */
+@Getter
+public class LiveMetricsReport {
+
+    private final Instant generatedAt;
+    private final int inFlight;
+    private final List<Second> seconds;
+
+    LiveMetricsReport(Instant generatedAt, int inFlight, List<Second> seconds) {
+        this.generatedAt = generatedAt;
+        this.inFlight = inFlight;
+        this.seconds = seconds;
+    }
+
+    /**
+     * Statistics of one second. Latency percentiles are null in a second without completed transfers.
+     */
+    @Getter
+    public static class Second {
+
+        private final Instant time;
+        private final long transfers;
+        private final long errors;
+        private final Map<TimeSeriesWindow.ErrorType, Long> errorsByType;
+        private final Double p50LatencyMillis;
+        private final Double p99LatencyMillis;
+        private final long peakInFlight;
+
+        Second(Instant time, long transfers, long errors, Map<TimeSeriesWindow.ErrorType, Long> errorsByType,
+               Double p50LatencyMillis, Double p99LatencyMillis, long peakInFlight) {
+            this.time = time;
+            this.transfers = transfers;
+            this.errors = errors;
+            this.errorsByType = errorsByType;
+            this.p50LatencyMillis = p50LatencyMillis;
+            this.p99LatencyMillis = p99LatencyMillis;
+            this.peakInFlight = peakInFlight;
+        }
+
+        /**
+         * Returns the share of failed requests among all completed transfers and errors of this second.
+         *
+         * @return the error rate in [0, 1], or 0 without activity
+         */
+        public double getErrorRate() {
+            long total = transfers + errors;
+            return total > 0 ? (double) errors / total : 0;
+        }
+    }
+}
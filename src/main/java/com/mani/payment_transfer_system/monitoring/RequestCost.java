@@ -0,0 +1,129 @@
+package com.mani.payment_transfer_system.monitoring;
+
+import java.util.Locale;
+
+/**
+ * Costs accumulated by the request running on the current thread: database time and statements, time spent in
+ * row-lock statements, connection acquisition and response serialization.
+ *
+ * <p>The hooks are static and return after one {@link ThreadLocal} read when no request is tracked, e.g. for
+ * scheduled jobs or with cost accounting disabled. Work a request hands to other threads is not attributed to it.
+ */
+public final class RequestCost {
+
+    private static final ThreadLocal<RequestCost> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private long databaseNanos;
+    private int statements;
+    private long lockNanos;
+    private long connectionNanos;
+    private long serializationNanos;
+
+    private RequestCost(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Starts tracking a request on the current thread.
+     *
+     * @return the new cost record
+     */
+    public static RequestCost begin() {
+        RequestCost cost = new RequestCost(System.nanoTime());
+        CURRENT.set(cost);
+        return cost;
+    }
+
+    /**
+     * Stops tracking the request on the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns the cost record of the request on the current thread.
+     *
+     * @return the record, or null if no request is tracked
+     */
+    public static RequestCost current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Adds the execution of SQL statements, or of a commit or rollback when {@code statements} is 0.
+     *
+     * @param nanos the time the driver call took
+     * @param statements the number of statements executed
+     * @param lock whether the statements take row locks, so their time is mostly lock wait under contention
+     */
+    public static void recordStatement(long nanos, int statements, boolean lock) {
+        RequestCost cost = CURRENT.get();
+        if (cost != null) {
+            cost.databaseNanos += nanos;
+            cost.statements += statements;
+            if (lock) {
+                cost.lockNanos += nanos;
+            }
+        }
+    }
+
+    /**
+     * Adds the time spent waiting for a pooled connection.
+     *
+     * @param nanos the acquire time
+     */
+    public static void recordConnectionAcquire(long nanos) {
+        RequestCost cost = CURRENT.get();
+        if (cost != null) {
+            cost.connectionNanos += nanos;
+        }
+    }
+
+    /**
+     * Adds the time spent serializing a response body.
+     *
+     * @param nanos the serialization time
+     */
+    public static void recordSerialization(long nanos) {
+        RequestCost cost = CURRENT.get();
+        if (cost != null) {
+            cost.serializationNanos += nanos;
+        }
+    }
+
+    /**
+     * Returns the time since the request started.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Formats the costs as a {@code Server-Timing} header value. Lock time is part of the database time;
+     * {@code app} is the remainder spent outside the database, the pool and serialization.
+     *
+     * @param totalNanos the total request time
+     * @return the header value
+     */
+    public String toServerTiming(long totalNanos) {
+        long appNanos = Math.max(0, totalNanos - databaseNanos - connectionNanos - serializationNanos);
+        return "db;dur=" + millis(databaseNanos) + ";desc=\"" + statements + " statements\""
+                + ", lock;dur=" + millis(lockNanos)
+                + ", conn;dur=" + millis(connectionNanos)
+                + ", ser;dur=" + millis(serializationNanos)
+                + ", app;dur=" + millis(appNanos)
+                + ", total;dur=" + millis(totalNanos);
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,60 @@
+package com.mani.payment_transfer_system.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Tracks the {@link RequestCost} of every request and returns it in a {@code Server-Timing} header.
+ * The response body is buffered until the chain returns, so the header can still be set after the controller
+ * has written the body. Requests slower than the threshold are logged with the same breakdown.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    /**
+     * Name of the response header carrying the costs.
+     */
+    public static final String HEADER = "Server-Timing";
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+    private final long slowRequestNanos;
+
+    /**
+     * Constructs a new ServerTimingFilter.
+     *
+     * @param slowRequestThreshold total time above which a request is logged, or null to log none
+     */
+    public ServerTimingFilter(Duration slowRequestThreshold) {
+        this.slowRequestNanos = slowRequestThreshold != null ? slowRequestThreshold.toNanos() : Long.MAX_VALUE;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        RequestCost cost = RequestCost.begin();
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            RequestCost.end();
+            long totalNanos = cost.elapsedNanos();
+            String timing = cost.toServerTiming(totalNanos);
+            if (!wrapper.isCommitted()) {
+                wrapper.setHeader(HEADER, timing);
+            }
+            if (totalNanos > slowRequestNanos) {
+                logger.warn("Slow request {} {} -> {} took {} ms: {}", request.getMethod(), request.getRequestURI(),
+                        wrapper.getStatus(), totalNanos / 1_000_000, timing);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
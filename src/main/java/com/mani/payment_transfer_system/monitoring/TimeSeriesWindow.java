@@ -0,0 +1,247 @@
+package com.mani.payment_transfer_system.monitoring;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free ring of per-second transfer statistics covering a fixed window.
+ *
+ * <p>Each slot holds one second: completed transfers, errors by type, the peak number of transfers in flight and a
+ * log-linear latency histogram. All slots live in one {@link AtomicLongArray}, so recording is a clock read and one
+ * or two atomic increments. A writer that finds its slot still holding an older second claims it with a CAS on the
+ * slot's stamp and clears it; concurrent writers of that second wait for the few hundred stores of the reset.
+ *
+ * <p>Latencies are bucketed by microseconds with four sub-buckets per power of two, so a percentile is reported as
+ * the upper bound of its bucket and overstates the exact value by at most 25%.
+ */
+public final class TimeSeriesWindow {
+
+    /**
+     * Error categories tracked per second.
+     */
+    public enum ErrorType {
+        INSUFFICIENT_BALANCE, ACCOUNT_NOT_FOUND, INVALID_AMOUNT, ACCOUNT_ALREADY_EXISTS, OPTIMISTIC_LOCK,
+        RETRY_EXHAUSTED, CONNECTION_TIMEOUT, RATE_LIMITED, OTHER
+    }
+
+    private static final ErrorType[] ERROR_TYPES = ErrorType.values();
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int LATENCY_BUCKETS = 128;
+
+    private static final int TRANSFERS = 0;
+    private static final int PEAK_IN_FLIGHT = 1;
+    private static final int ERRORS = 2;
+    private static final int LATENCIES = ERRORS + ERROR_TYPES.length;
+    private static final int STRIDE = LATENCIES + LATENCY_BUCKETS;
+    private static final long RESETTING = Long.MIN_VALUE;
+
+    private final int seconds;
+    private final LongSupplier clock;
+    private final AtomicLongArray stamps;
+    private final AtomicLongArray slots;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Constructs an empty window.
+     *
+     * @param seconds the number of seconds retained
+     * @param clock the wall clock in epoch milliseconds
+     */
+    public TimeSeriesWindow(int seconds, LongSupplier clock) {
+        if (seconds < 1) {
+            throw new IllegalArgumentException("Window must cover at least one second");
+        }
+        this.seconds = seconds;
+        this.clock = clock;
+        this.stamps = new AtomicLongArray(seconds);
+        this.slots = new AtomicLongArray(seconds * STRIDE);
+        for (int i = 0; i < seconds; i++) {
+            stamps.set(i, -1);
+        }
+    }
+
+    /**
+     * Records a completed transfer.
+     */
+    public void recordTransfer() {
+        int base = slot(currentSecond());
+        if (base >= 0) {
+            slots.incrementAndGet(base + TRANSFERS);
+        }
+    }
+
+    /**
+     * Records an error.
+     *
+     * @param type the error category
+     */
+    public void recordError(ErrorType type) {
+        int base = slot(currentSecond());
+        if (base >= 0) {
+            slots.incrementAndGet(base + ERRORS + type.ordinal());
+        }
+    }
+
+    /**
+     * Records the latency of a transfer, successful or not.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void recordLatency(long nanos) {
+        int base = slot(currentSecond());
+        if (base >= 0) {
+            slots.incrementAndGet(base + LATENCIES + bucketOf(nanos / 1_000));
+        }
+    }
+
+    /**
+     * Marks a transfer as started; it counts as in flight until {@link #transferFinished()}.
+     */
+    public void transferStarted() {
+        int current = inFlight.incrementAndGet();
+        int base = slot(currentSecond());
+        if (base >= 0) {
+            long peak;
+            while ((peak = slots.get(base + PEAK_IN_FLIGHT)) < current
+                    && !slots.compareAndSet(base + PEAK_IN_FLIGHT, peak, current)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Marks a transfer started with {@link #transferStarted()} as finished.
+     */
+    public void transferFinished() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Returns the number of transfers currently in flight.
+     *
+     * @return the in-flight count
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns the most recent seconds of the window, oldest first. The last entry is the current, still
+     * accumulating second; seconds without activity are included with zero counts.
+     *
+     * @param count the number of seconds, capped at the window size
+     * @return the window report
+     */
+    public LiveMetricsReport snapshot(int count) {
+        long now = currentSecond();
+        int length = Math.max(1, Math.min(count, seconds));
+        List<LiveMetricsReport.Second> entries = new ArrayList<>(length);
+        long[] values = new long[STRIDE];
+        for (long second = now - length + 1; second <= now; second++) {
+            entries.add(read(second, values));
+        }
+        return new LiveMetricsReport(Instant.ofEpochMilli(clock.getAsLong()), inFlight.get(), entries);
+    }
+
+    private LiveMetricsReport.Second read(long second, long[] values) {
+        int index = (int) Math.floorMod(second, (long) seconds);
+        int base = index * STRIDE;
+        boolean present = stamps.get(index) == second;
+        for (int i = 0; i < STRIDE; i++) {
+            values[i] = present ? slots.get(base + i) : 0;
+        }
+        // The slot may have been reclaimed for a newer second while it was copied
+        if (present && stamps.get(index) != second) {
+            Arrays.fill(values, 0);
+        }
+        Map<ErrorType, Long> errors = new EnumMap<>(ErrorType.class);
+        long errorCount = 0;
+        for (ErrorType type : ERROR_TYPES) {
+            long value = values[ERRORS + type.ordinal()];
+            if (value > 0) {
+                errors.put(type, value);
+                errorCount += value;
+            }
+        }
+        long latencyCount = 0;
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            latencyCount += values[LATENCIES + i];
+        }
+        return new LiveMetricsReport.Second(Instant.ofEpochSecond(second), values[TRANSFERS], errorCount, errors,
+                percentile(values, latencyCount, 0.5), percentile(values, latencyCount, 0.99),
+                values[PEAK_IN_FLIGHT]);
+    }
+
+    private static Double percentile(long[] values, long total, double percentile) {
+        if (total == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            seen += values[LATENCIES + i];
+            if (seen >= rank) {
+                return upperBoundMicros(i) / 1_000.0;
+            }
+        }
+        return upperBoundMicros(LATENCY_BUCKETS - 1) / 1_000.0;
+    }
+
+    /**
+     * Returns the base offset of the slot holding the given second, resetting it first if it still holds an
+     * older second.
+     *
+     * @return the offset, or -1 if the slot already moved on to a newer second
+     */
+    private int slot(long second) {
+        int index = (int) Math.floorMod(second, (long) seconds);
+        int base = index * STRIDE;
+        while (true) {
+            long stamp = stamps.get(index);
+            if (stamp == second) {
+                return base;
+            }
+            if (stamp == RESETTING) {
+                Thread.onSpinWait();
+            } else if (stamp > second) {
+                return -1;
+            } else if (stamps.compareAndSet(index, stamp, RESETTING)) {
+                for (int i = 0; i < STRIDE; i++) {
+                    slots.set(base + i, 0);
+                }
+                stamps.set(index, second);
+                return base;
+            }
+        }
+    }
+
+    private long currentSecond() {
+        return Math.floorDiv(clock.getAsLong(), 1_000L);
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) Math.max(0, micros);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min(LATENCY_BUCKETS - 1, ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket);
+    }
+
+    static long upperBoundMicros(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >> SUB_BUCKET_BITS) - 1;
+        int subBucket = bucket & (SUB_BUCKETS - 1);
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
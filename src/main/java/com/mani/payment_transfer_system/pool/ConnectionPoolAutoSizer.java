@@ -0,0 +1,157 @@
+package com.mani.payment_transfer_system.pool;
+
+import com.mani.payment_transfer_system.config.ConnectionPoolProperties;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adjusts the maximum size of every Hikari pool to the observed load.
+ * <ul>
+ *   <li>Grows by {@code step} while threads queue for connections, checkouts time out or the mean
+ *       acquire time exceeds the target.</li>
+ *   <li>Shrinks by {@code step} when the mean time connections are held rises to
+ *       {@code db-time-guard-factor} times its baseline: the database is saturated and more
+ *       concurrent connections would only lengthen its queues.</li>
+ *   <li>Shrinks by one connection after several intervals with idle connections and fast checkouts.</li>
+ * </ul>
+ * Sizes always stay within {@code [min-size, max-size]}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "payment.pool.auto-size", name = "enabled", havingValue = "true")
+public class ConnectionPoolAutoSizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolAutoSizer.class);
+    private final DataSource dataSource;
+    private final PoolMetricsTrackerFactory trackerFactory;
+    private final MetricsService metricsService;
+    private final ConnectionPoolProperties.AutoSize settings;
+    private final Map<String, PoolState> states = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new ConnectionPoolAutoSizer.
+     *
+     * @param dataSource the application data source; every Hikari pool behind it is managed
+     * @param trackerFactory the factory collecting pool activity
+     * @param metricsService the metrics service for recording resizes
+     * @param properties the connection pool properties
+     */
+    public ConnectionPoolAutoSizer(DataSource dataSource, PoolMetricsTrackerFactory trackerFactory,
+                                   MetricsService metricsService, ConnectionPoolProperties properties) {
+        this.dataSource = dataSource;
+        this.trackerFactory = trackerFactory;
+        this.metricsService = metricsService;
+        this.settings = properties.getAutoSize();
+        if (settings.getMinSize() < 1 || settings.getMinSize() > settings.getMaxSize()) {
+            throw new IllegalArgumentException("payment.pool.auto-size requires 1 <= min-size <= max-size");
+        }
+    }
+
+    /**
+     * Re-evaluates the size of every started pool.
+     */
+    @Scheduled(fixedDelayString = "${payment.pool.auto-size.interval:5s}")
+    public void adjustPoolSizes() {
+        for (HikariDataSource pool : hikariPools(dataSource)) {
+            PoolActivity activity = trackerFactory.activity(pool.getPoolName());
+            HikariConfigMXBean config = pool.getHikariConfigMXBean();
+            if (activity == null || config == null) {
+                continue;
+            }
+            PoolState state = states.computeIfAbsent(pool.getPoolName(), name -> new PoolState());
+            int currentSize = config.getMaximumPoolSize();
+            int newSize = nextSize(currentSize, activity.drain(), state);
+            if (newSize != currentSize) {
+                resize(pool.getPoolName(), config, currentSize, newSize);
+            }
+        }
+    }
+
+    /**
+     * Decides the maximum pool size for the next interval.
+     *
+     * @param currentSize the current maximum pool size
+     * @param snapshot the pool activity over the last interval
+     * @param state the controller state of the pool, updated in place
+     * @return the new maximum pool size
+     */
+    int nextSize(int currentSize, PoolActivity.Snapshot snapshot, PoolState state) {
+        int bounded = Math.max(settings.getMinSize(), Math.min(settings.getMaxSize(), currentSize));
+        if (snapshot.usages() > 0) {
+            double usage = snapshot.meanUsageMillis();
+            if (state.baselineUsageMillis > 0 && usage > state.baselineUsageMillis * settings.getDbTimeGuardFactor()) {
+                // Do not let the degraded response time become the new baseline
+                state.idleIntervals = 0;
+                return Math.max(settings.getMinSize(), bounded - settings.getStep());
+            }
+            // Follows improvements immediately and degradations slowly
+            state.baselineUsageMillis = state.baselineUsageMillis > 0
+                    ? Math.min(usage, state.baselineUsageMillis + (usage - state.baselineUsageMillis) * 0.05)
+                    : usage;
+        }
+
+        long targetAcquireNanos = settings.getTargetAcquireTime().toNanos();
+        if (snapshot.pending() > 0 || snapshot.timeouts() > 0 || snapshot.meanAcquireNanos() > targetAcquireNanos) {
+            state.idleIntervals = 0;
+            return Math.min(settings.getMaxSize(), bounded + settings.getStep());
+        }
+        if (snapshot.idle() > 0 && snapshot.maxAcquireNanos() < targetAcquireNanos) {
+            if (++state.idleIntervals >= settings.getShrinkAfterIdleIntervals()) {
+                state.idleIntervals = 0;
+                return Math.max(settings.getMinSize(), bounded - 1);
+            }
+        } else {
+            state.idleIntervals = 0;
+        }
+        return bounded;
+    }
+
+    private void resize(String poolName, HikariConfigMXBean config, int currentSize, int newSize) {
+        if (config.getMinimumIdle() > newSize) {
+            config.setMinimumIdle(newSize);
+        }
+        config.setMaximumPoolSize(newSize);
+        String direction = newSize > currentSize ? "grow" : "shrink";
+        metricsService.recordPoolResize(poolName, direction);
+        logger.info("Resized connection pool {} from {} to {}", poolName, currentSize, newSize);
+    }
+
+    /**
+     * Finds the Hikari pools behind the data source, looking through proxies and shard routing.
+     *
+     * @param dataSource the data source
+     * @return the Hikari pools
+     */
+    static List<HikariDataSource> hikariPools(DataSource dataSource) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        if (dataSource instanceof HikariDataSource hikari) {
+            pools.add(hikari);
+        } else if (dataSource instanceof DelegatingDataSource delegating && delegating.getTargetDataSource() != null) {
+            pools.addAll(hikariPools(delegating.getTargetDataSource()));
+        } else if (dataSource instanceof AbstractRoutingDataSource routing) {
+            routing.getResolvedDataSources().values().forEach(target -> pools.addAll(hikariPools(target)));
+        }
+        return pools;
+    }
+
+    /**
+     * Controller state kept per pool between intervals.
+     */
+    static class PoolState {
+        double baselineUsageMillis;
+        int idleIntervals;
+    }
+}
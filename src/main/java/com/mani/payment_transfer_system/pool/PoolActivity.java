@@ -0,0 +1,83 @@
+package com.mani.payment_transfer_system.pool;
+
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection pool activity accumulated since the last {@link #drain()}.
+ * Written by the pool's metrics tracker on every connection checkout and read periodically
+ * by the {@link ConnectionPoolAutoSizer}.
+ */
+public class PoolActivity {
+
+    private final PoolStats poolStats;
+    private final LongAdder acquires = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAccumulator maxAcquireNanos = new LongAccumulator(Long::max, 0);
+    private final LongAdder usages = new LongAdder();
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * Constructs a new PoolActivity.
+     *
+     * @param poolStats the live pool statistics
+     */
+    public PoolActivity(PoolStats poolStats) {
+        this.poolStats = poolStats;
+    }
+
+    void recordAcquire(long nanos) {
+        acquires.increment();
+        acquireNanos.add(nanos);
+        maxAcquireNanos.accumulate(nanos);
+    }
+
+    void recordUsage(long millis) {
+        usages.increment();
+        usageMillis.add(millis);
+    }
+
+    void recordTimeout() {
+        timeouts.increment();
+    }
+
+    /**
+     * Returns the activity since the previous call and starts a new interval.
+     *
+     * @return the interval snapshot including the current pool state
+     */
+    public Snapshot drain() {
+        long acquireCount = acquires.sumThenReset();
+        long usageCount = usages.sumThenReset();
+        return new Snapshot(
+                acquireCount,
+                acquireCount == 0 ? 0 : acquireNanos.sumThenReset() / acquireCount,
+                maxAcquireNanos.getThenReset(),
+                usageCount,
+                usageCount == 0 ? 0 : (double) usageMillis.sumThenReset() / usageCount,
+                timeouts.sumThenReset(),
+                poolStats.getActiveConnections(),
+                poolStats.getIdleConnections(),
+                poolStats.getPendingThreads());
+    }
+
+    /**
+     * Pool activity over one interval.
+     *
+     * @param acquires number of connection checkouts
+     * @param meanAcquireNanos mean time a checkout waited for a connection
+     * @param maxAcquireNanos longest time a checkout waited for a connection
+     * @param usages number of connections returned to the pool
+     * @param meanUsageMillis mean time a connection was held, dominated by database response time
+     * @param timeouts number of checkouts that timed out
+     * @param active connections in use at the end of the interval
+     * @param idle idle connections at the end of the interval
+     * @param pending threads waiting for a connection at the end of the interval
+     */
+    public record Snapshot(long acquires, long meanAcquireNanos, long maxAcquireNanos, long usages,
+                           double meanUsageMillis, long timeouts, int active, int idle, int pending) {
+    }
+}
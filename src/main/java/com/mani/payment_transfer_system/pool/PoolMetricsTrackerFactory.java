@@ -0,0 +1,100 @@
+package com.mani.payment_transfer_system.pool;
+
+import com.mani.payment_transfer_system.monitoring.RequestCost;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hikari metrics tracker factory that surfaces pool saturation through {@link MetricsService}
+ * and collects per-interval {@link PoolActivity} for the pool size controller.
+ * Also delegates to Hikari's own Micrometer tracker, so the standard {@code hikaricp.*} meters remain.
+ */
+@Component
+public class PoolMetricsTrackerFactory implements MetricsTrackerFactory {
+
+    private final MetricsService metricsService;
+    private final MetricsTrackerFactory micrometerFactory;
+    private final Map<String, PoolActivity> activities = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new PoolMetricsTrackerFactory.
+     *
+     * @param metricsService the metrics service for recording pool metrics
+     * @param meterRegistry the registry for Hikari's standard meters
+     */
+    public PoolMetricsTrackerFactory(MetricsService metricsService, MeterRegistry meterRegistry) {
+        this.metricsService = metricsService;
+        this.micrometerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        metricsService.bindConnectionPool(poolName, poolStats);
+        PoolActivity activity = new PoolActivity(poolStats);
+        activities.put(poolName, activity);
+        return new Tracker(poolName, activity, micrometerFactory.create(poolName, poolStats));
+    }
+
+    /**
+     * Returns the activity of a started pool.
+     *
+     * @param poolName the Hikari pool name
+     * @return the activity, or null if the pool has not started yet
+     */
+    public PoolActivity activity(String poolName) {
+        return activities.get(poolName);
+    }
+
+    private class Tracker implements IMetricsTracker {
+
+        private final String poolName;
+        private final PoolActivity activity;
+        private final IMetricsTracker delegate;
+
+        Tracker(String poolName, PoolActivity activity, IMetricsTracker delegate) {
+            this.poolName = poolName;
+            this.activity = activity;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            metricsService.recordConnectionAcquire(poolName, elapsedAcquiredNanos);
+            activity.recordAcquire(elapsedAcquiredNanos);
+            RequestCost.recordConnectionAcquire(elapsedAcquiredNanos);
+            delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            activity.recordUsage(elapsedBorrowedMillis);
+            delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            metricsService.recordConnectionTimeout(poolName);
+            activity.recordTimeout();
+            delegate.recordConnectionTimeout();
+        }
+
+        @Override
+        public void close() {
+            activities.remove(poolName, activity);
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package com.mani.payment_transfer_system.reconciliation;
+
+import com.mani.payment_transfer_system.config.ReconciliationProperties;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Proves that every account balance equals its opening balance plus all credits minus all debits
+ * recorded in {@code transactions}. In the {@code POSTINGS} execution mode, the balance checked is the
+ * checkpointed balance plus the account's postings above the checkpoint.
+ * <ol>
+ *   <li>Fold: on every shard, transactions above the shard's watermark that are older than
+ *       {@code settle-time} are summed per account into {@code account_ledger_totals}, and the
+ *       watermark advances to the highest of them, in one database transaction. Later runs only
+ *       read the delta.</li>
+ *   <li>Verify: the account ID space is split into ranges of about {@code range-size} accounts,
+ *       verified in parallel on a fork-join pool. For each range, every shard contributes its
+ *       stored totals plus the transactions above its watermark, read in the same snapshot as
+ *       the balances of the accounts it holds, which are streamed with {@code fetch-size}.</li>
+ * </ol>
+ * Without sharding the check is exact. With sharding, transactions are logged on the destination
+ * account's shard and shards are read in separate snapshots, so funds reserved by pending
+ * cross-shard transfers are taken into account and mismatches are re-checked once before they
+ * are reported.
+ */
+@Component
+public class LedgerReconciler {
+
+    static final String LEDGER = "transactions";
+
+    static final String ENSURE_WATERMARK =
+            "INSERT INTO reconciliation_watermarks (ledger, last_transaction_id, updated_at) VALUES (?, 0, ?) "
+                    + "ON CONFLICT (ledger) DO NOTHING";
+    static final String LOCK_WATERMARK =
+            "SELECT last_transaction_id FROM reconciliation_watermarks WHERE ledger = ? FOR UPDATE";
+    static final String READ_WATERMARK =
+            "SELECT last_transaction_id FROM reconciliation_watermarks WHERE ledger = ?";
+    static final String SETTLED_TRANSACTION_ID =
+            "SELECT MAX(id) FROM transactions WHERE id > ? AND timestamp < ?";
+    static final String FOLD_TRANSACTIONS =
+            "INSERT INTO account_ledger_totals (account_id, net_flow) "
+                    + "SELECT account_id, SUM(flow) FROM ("
+                    + "SELECT destination_account_id AS account_id, amount AS flow FROM transactions WHERE id > ? AND id <= ? "
+                    + "UNION ALL "
+                    + "SELECT source_account_id, -amount FROM transactions WHERE id > ? AND id <= ?"
+                    + ") flows GROUP BY account_id "
+                    + "ON CONFLICT (account_id) DO UPDATE SET net_flow = account_ledger_totals.net_flow + EXCLUDED.net_flow";
+    static final String ADVANCE_WATERMARK =
+            "UPDATE reconciliation_watermarks SET last_transaction_id = ?, updated_at = ? WHERE ledger = ?";
+    static final String RANGE_FLOWS =
+            "SELECT account_id, SUM(flow) FROM ("
+                    + "SELECT account_id, net_flow AS flow FROM account_ledger_totals WHERE account_id BETWEEN ? AND ? "
+                    + "UNION ALL "
+                    + "SELECT destination_account_id, amount FROM transactions WHERE id > ? AND destination_account_id BETWEEN ? AND ? "
+                    + "UNION ALL "
+                    + "SELECT source_account_id, -amount FROM transactions WHERE id > ? AND source_account_id BETWEEN ? AND ?"
+                    + ") flows GROUP BY account_id";
+    static final String RANGE_RESERVATIONS =
+            "SELECT source_account_id, SUM(amount) FROM transfer_reservations "
+                    + "WHERE status = 'PENDING' AND source_account_id BETWEEN ? AND ? GROUP BY source_account_id";
+    static final String RANGE_ACCOUNTS =
+            "SELECT a.account_id, a.balance + COALESCE((SELECT SUM(p.amount) FROM postings p "
+                    + "WHERE p.account_id = a.account_id AND p.id > COALESCE(a.checkpoint_posting_id, 0)), 0) AS balance, "
+                    + "a.opening_balance FROM accounts a WHERE a.account_id BETWEEN ? AND ? ORDER BY a.account_id";
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerReconciler.class);
+    private final ReconciliationProperties properties;
+    private final ShardRouter shardRouter;
+    private final AccountRepository accountRepository;
+    private final MetricsService metricsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ForkJoinPool pool;
+    private volatile ReconciliationReport lastReport;
+
+    /**
+     * Constructs a new LedgerReconciler.
+     *
+     * @param properties the reconciliation properties
+     * @param shardRouter the router listing the shards and running work on them
+     * @param accountRepository the account repository, used to split the account ID space
+     * @param metricsService the metrics service for recording runs
+     * @param dataSource the application data source
+     */
+    public LedgerReconciler(ReconciliationProperties properties, ShardRouter shardRouter,
+                            AccountRepository accountRepository, MetricsService metricsService, DataSource dataSource) {
+        if (properties.getRangeSize() < 1 || properties.getParallelism() < 1) {
+            throw new IllegalArgumentException("payment.reconciliation requires range-size >= 1 and parallelism >= 1");
+        }
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.accountRepository = accountRepository;
+        this.metricsService = metricsService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.pool = new ForkJoinPool(properties.getParallelism());
+        if (properties.isEnabled()) {
+            metricsService.bindReconciliation(this, LedgerReconciler::lastMismatchCount,
+                    LedgerReconciler::lastAccountsChecked);
+        }
+    }
+
+    /**
+     * Runs the reconciliation every {@code payment.reconciliation.interval} when enabled.
+     */
+    @Scheduled(initialDelayString = "${payment.reconciliation.interval:PT15M}",
+            fixedDelayString = "${payment.reconciliation.interval:PT15M}")
+    public void scheduledReconcile() {
+        if (properties.isEnabled()) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Folds settled transactions into the stored totals and verifies every account.
+     * Runs are serialized; a caller arriving during a run waits for it and then runs again.
+     *
+     * @return the report of this run
+     */
+    public synchronized ReconciliationReport reconcile() {
+        Instant startedAt = Instant.now();
+        long began = System.nanoTime();
+
+        Map<String, Long> watermarks = new LinkedHashMap<>();
+        long foldedAccounts = 0;
+        for (String shard : shardRouter.shardNames()) {
+            long[] folded = shardRouter.inShardTransaction(shard, this::fold);
+            watermarks.put(shard, folded[0]);
+            foldedAccounts += folded[1];
+        }
+
+        List<long[]> ranges = ranges();
+        RangeResult result = pool.invoke(new VerifyTask(ranges, 0, ranges.size()));
+        if (shardRouter.isSharded() && !result.mismatches.isEmpty()) {
+            result = recheck(result);
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - began);
+        List<ReconciliationReport.Mismatch> listed = result.mismatches.stream()
+                .limit(properties.getMaxReportedMismatches())
+                .toList();
+        ReconciliationReport report = new ReconciliationReport(startedAt, duration.toMillis(), watermarks,
+                foldedAccounts, ranges.size(), result.checked, result.skipped, result.mismatches.size(), listed);
+        lastReport = report;
+        metricsService.recordReconciliation(duration, result.mismatches.size());
+        if (result.mismatches.isEmpty()) {
+            logger.info("Reconciled {} accounts in {} ranges in {} ms, watermarks {}",
+                    result.checked, ranges.size(), duration.toMillis(), watermarks);
+        } else {
+            logger.error("Reconciliation found {} mismatched accounts out of {}, e.g. {}",
+                    result.mismatches.size(), result.checked, listed.get(0));
+        }
+        return report;
+    }
+
+    /**
+     * Returns the report of the most recent run.
+     *
+     * @return the report, or null if no run has completed yet
+     */
+    public ReconciliationReport getLastReport() {
+        return lastReport;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Folds the settled transactions of the current shard. Runs in a shard transaction.
+     *
+     * @return the new watermark and the number of accounts whose totals changed
+     */
+    private long[] fold() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        jdbcTemplate.update(ENSURE_WATERMARK, LEDGER, now);
+        Long watermark = jdbcTemplate.queryForObject(LOCK_WATERMARK, Long.class, LEDGER);
+        Long settled = jdbcTemplate.queryForObject(SETTLED_TRANSACTION_ID, Long.class, watermark,
+                now.minus(properties.getSettleTime()));
+        if (settled == null) {
+            return new long[]{watermark, 0};
+        }
+        int accounts = jdbcTemplate.update(FOLD_TRANSACTIONS, watermark, settled, watermark, settled);
+        jdbcTemplate.update(ADVANCE_WATERMARK, settled, now, LEDGER);
+        return new long[]{settled, accounts};
+    }
+
+    /**
+     * Splits the account ID space into ranges holding about {@code range-size} accounts per shard.
+     * The first range starts at the lowest and the last ends at the highest possible ID, so
+     * accounts created during the run are covered too.
+     */
+    List<long[]> ranges() {
+        TreeSet<Long> boundaries = new TreeSet<>();
+        for (String shard : shardRouter.shardNames()) {
+            long afterAccountId = Long.MIN_VALUE;
+            List<Long> accountIds;
+            do {
+                long after = afterAccountId;
+                accountIds = shardRouter.inShardTransaction(shard,
+                        () -> accountRepository.findAccountIdsAfter(after, PageRequest.ofSize(properties.getRangeSize())));
+                if (!accountIds.isEmpty()) {
+                    afterAccountId = accountIds.get(accountIds.size() - 1);
+                    if (accountIds.size() == properties.getRangeSize()) {
+                        boundaries.add(afterAccountId);
+                    }
+                }
+            } while (accountIds.size() == properties.getRangeSize());
+        }
+
+        List<long[]> ranges = new ArrayList<>();
+        long from = Long.MIN_VALUE;
+        for (long boundary : boundaries) {
+            ranges.add(new long[]{from, boundary});
+            from = boundary + 1;
+        }
+        if (boundaries.isEmpty() || boundaries.last() != Long.MAX_VALUE) {
+            ranges.add(new long[]{from, Long.MAX_VALUE});
+        }
+        return ranges;
+    }
+
+    /**
+     * Verifies all accounts with IDs in {@code [from, to]}.
+     */
+    RangeResult verifyRange(long from, long to) {
+        Map<Long, BigDecimal> flows = new HashMap<>();
+        List<AccountRow> accounts = new ArrayList<>();
+        for (String shard : shardRouter.shardNames()) {
+            shardRouter.inShardSnapshot(shard, () -> {
+                Long watermark = jdbcTemplate.query(READ_WATERMARK,
+                        rs -> rs.next() ? rs.getLong(1) : 0L, LEDGER);
+                jdbcTemplate.query(RANGE_FLOWS, rs -> {
+                    flows.merge(rs.getLong(1), rs.getBigDecimal(2), BigDecimal::add);
+                }, from, to, watermark, from, to, watermark, from, to);
+                // Reserved funds left the source account but are not logged as a transaction yet
+                jdbcTemplate.query(RANGE_RESERVATIONS, rs -> {
+                    flows.merge(rs.getLong(1), rs.getBigDecimal(2).negate(), BigDecimal::add);
+                }, from, to);
+                jdbcTemplate.query(RANGE_ACCOUNTS, rs -> {
+                    accounts.add(new AccountRow(rs.getLong(1), shard, rs.getBigDecimal(2), rs.getBigDecimal(3)));
+                }, from, to);
+                return null;
+            });
+        }
+
+        RangeResult result = new RangeResult();
+        for (AccountRow account : accounts) {
+            if (account.openingBalance == null) {
+                result.skipped++;
+                continue;
+            }
+            result.checked++;
+            BigDecimal expected = account.openingBalance.add(flows.getOrDefault(account.accountId, BigDecimal.ZERO));
+            if (expected.compareTo(account.balance) != 0) {
+                result.mismatches.add(new ReconciliationReport.Mismatch(account.accountId, account.shard,
+                        account.balance, expected));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Verifies the mismatched accounts once more; only those that still mismatch are kept.
+     */
+    private RangeResult recheck(RangeResult result) {
+        RangeResult confirmed = new RangeResult();
+        confirmed.checked = result.checked;
+        confirmed.skipped = result.skipped;
+        for (ReconciliationReport.Mismatch mismatch : result.mismatches) {
+            confirmed.mismatches.addAll(verifyRange(mismatch.accountId(), mismatch.accountId()).mismatches);
+        }
+        return confirmed;
+    }
+
+    private double lastMismatchCount() {
+        ReconciliationReport report = lastReport;
+        return report != null ? report.getMismatchCount() : 0;
+    }
+
+    private double lastAccountsChecked() {
+        ReconciliationReport report = lastReport;
+        return report != null ? report.getAccountsChecked() : 0;
+    }
+
+    private record AccountRow(long accountId, String shard, BigDecimal balance, BigDecimal openingBalance) {
+    }
+
+    /**
+     * Totals of the verified ranges.
+     */
+    static class RangeResult {
+        long checked;
+        long skipped;
+        List<ReconciliationReport.Mismatch> mismatches = new ArrayList<>();
+
+        RangeResult merge(RangeResult other) {
+            checked += other.checked;
+            skipped += other.skipped;
+            mismatches.addAll(other.mismatches);
+            return this;
+        }
+    }
+
+    /**
+     * Verifies a slice of the ranges by splitting it in halves until one range is left.
+     */
+    private class VerifyTask extends RecursiveTask<RangeResult> {
+
+        private final List<long[]> ranges;
+        private final int start;
+        private final int end;
+
+        VerifyTask(List<long[]> ranges, int start, int end) {
+            this.ranges = ranges;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected RangeResult compute() {
+            if (end - start == 1) {
+                long[] range = ranges.get(start);
+                return verifyRange(range[0], range[1]);
+            }
+            int middle = (start + end) >>> 1;
+            VerifyTask left = new VerifyTask(ranges, start, middle);
+            left.fork();
+            RangeResult right = new VerifyTask(ranges, middle, end).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.mani.payment_transfer_system.reconciliation;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint {@code /actuator/reconciliation} for inspecting and triggering ledger reconciliation.
+ * Only registered when reconciliation is enabled; it must additionally be exposed through
+ * {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Endpoint(id = "reconciliation")
+@ConditionalOnProperty(prefix = "payment.reconciliation", name = "enabled", havingValue = "true")
+public class ReconciliationEndpoint {
+
+    private final LedgerReconciler reconciler;
+
+    /**
+     * Constructs a new ReconciliationEndpoint.
+     *
+     * @param reconciler the ledger reconciler
+     */
+    public ReconciliationEndpoint(LedgerReconciler reconciler) {
+        this.reconciler = reconciler;
+    }
+
+    /**
+     * Returns the report of the most recent run.
+     *
+     * @return the report, or null (404) if no run has completed yet
+     */
+    @ReadOperation
+    public ReconciliationReport lastReport() {
+        return reconciler.getLastReport();
+    }
+
+    /**
+     * Runs a reconciliation now and waits for it to finish.
+     *
+     * @return the report of the run
+     */
+    @WriteOperation
+    public ReconciliationReport reconcile() {
+        return reconciler.reconcile();
+    }
+}
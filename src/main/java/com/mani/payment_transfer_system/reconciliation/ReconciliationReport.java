@@ -0,0 +1,59 @@
+package com.mani.payment_transfer_system.reconciliation;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one ledger reconciliation run.
+ */
+@Getter
+public class ReconciliationReport {
+
+    private final Instant startedAt;
+    private final long durationMillis;
+    private final Map<String, Long> watermarks;
+    private final long foldedAccounts;
+    private final int ranges;
+    private final long accountsChecked;
+    private final long accountsSkipped;
+    private final long mismatchCount;
+    private final List<Mismatch> mismatches;
+
+    ReconciliationReport(Instant startedAt, long durationMillis, Map<String, Long> watermarks, long foldedAccounts,
+                         int ranges, long accountsChecked, long accountsSkipped, long mismatchCount,
+                         List<Mismatch> mismatches) {
+        this.startedAt = startedAt;
+        this.durationMillis = durationMillis;
+        this.watermarks = watermarks;
+        this.foldedAccounts = foldedAccounts;
+        this.ranges = ranges;
+        this.accountsChecked = accountsChecked;
+        this.accountsSkipped = accountsSkipped;
+        this.mismatchCount = mismatchCount;
+        this.mismatches = mismatches;
+    }
+
+    /**
+     * An account whose balance differs from its opening balance plus credits minus debits.
+     *
+     * @param accountId the account ID
+     * @param shard the shard holding the account
+     * @param balance the stored balance
+     * @param expectedBalance the balance derived from the ledger
+     */
+    public record Mismatch(Long accountId, String shard, BigDecimal balance, BigDecimal expectedBalance) {
+
+        /**
+         * Returns the stored balance minus the expected balance.
+         *
+         * @return the difference
+         */
+        public BigDecimal getDifference() {
+            return balance.subtract(expectedBalance);
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.mani.payment_transfer_system.repository;
 
+import com.mani.payment_transfer_system.dto.AccountResponse;
 import com.mani.payment_transfer_system.entity.Account;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -24,6 +30,16 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      */
     Optional<Account> findByAccountId(Long accountId);
 
+    /**
+     * Find account by account ID as a response DTO, constructed from the row without a managed entity.
+     *
+     * @param accountId the account ID
+     * @return Optional containing the account's balances if found
+     */
+    @Query("SELECT new com.mani.payment_transfer_system.dto.AccountResponse("
+            + "a.accountId, a.balance, a.balance - a.heldBalance) FROM Account a WHERE a.accountId = :accountId")
+    Optional<AccountResponse> findResponseByAccountId(@Param("accountId") Long accountId);
+
     /**
      * Find account by account ID with pessimistic write lock for transaction processing.
      *
@@ -34,6 +50,18 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     @Query("SELECT a FROM Account a WHERE a.accountId = :accountId")
     Optional<Account> findByAccountIdWithLock(@Param("accountId") Long accountId);
 
+    /**
+     * Find and lock several accounts with a single query.
+     * Rows are sorted before they are locked, so concurrent callers always acquire
+     * their locks in ascending account ID order and cannot deadlock.
+     *
+     * @param accountIds the account IDs
+     * @return the existing accounts in ascending account ID order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountId IN :accountIds ORDER BY a.accountId")
+    List<Account> findAllByAccountIdInWithLock(@Param("accountIds") Collection<Long> accountIds);
+
     /**
      * Check if account exists by account ID.
      *
@@ -41,5 +69,81 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      * @return true if account exists, false otherwise
      */
     boolean existsByAccountId(Long accountId);
-}
 
+    /**
+     * Find a page of account IDs greater than the given ID, in ascending order (keyset pagination).
+     *
+     * @param afterAccountId the last account ID of the previous page
+     * @param pageable the page size
+     * @return the next account IDs
+     */
+    @Query("SELECT a.accountId FROM Account a WHERE a.accountId > :afterAccountId ORDER BY a.accountId")
+    List<Long> findAccountIdsAfter(@Param("afterAccountId") Long afterAccountId, Pageable pageable);
+
+    /**
+     * Sets the balance only if the account still has the expected version (compare-and-set).
+     * Clears the persistence context so subsequent reads observe the committed row.
+     *
+     * @param accountId the account ID
+     * @param balance the new balance
+     * @param version the version the caller read the account at
+     * @return the number of updated rows (0 on a version conflict)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = :balance, a.version = a.version + 1 " +
+            "WHERE a.accountId = :accountId AND a.version = :version")
+    int updateBalanceIfVersionMatches(@Param("accountId") Long accountId,
+                                      @Param("balance") BigDecimal balance,
+                                      @Param("version") Long version);
+
+    /**
+     * Atomically debits the account if its available balance (not reserved by holds) covers the given amount.
+     *
+     * @param accountId the account ID
+     * @param amount the amount to debit
+     * @return the number of updated rows (0 if the account is missing or underfunded)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance - :amount, a.version = a.version + 1 " +
+            "WHERE a.accountId = :accountId AND a.balance - a.heldBalance >= :amount")
+    int debitIfSufficientBalance(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Atomically credits the account.
+     *
+     * @param accountId the account ID
+     * @param amount the amount to credit
+     * @return the number of updated rows (0 if the account is missing)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount, a.version = a.version + 1 " +
+            "WHERE a.accountId = :accountId")
+    int credit(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Atomically reserves the given amount of the account's available balance for a hold.
+     *
+     * @param accountId the account ID
+     * @param amount the amount to hold
+     * @return the number of updated rows (0 if the account is missing or underfunded)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.heldBalance = a.heldBalance + :amount, a.version = a.version + 1 " +
+            "WHERE a.accountId = :accountId AND a.balance - a.heldBalance >= :amount")
+    int holdIfSufficientBalance(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Settles a hold on the account: releases the held amount and debits the captured amount.
+     *
+     * @param accountId the account ID
+     * @param heldAmount the amount the hold reserved
+     * @param capturedAmount the amount to debit, at most the held amount; zero to release the hold only
+     * @return the number of updated rows (0 if the account is missing)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance - :capturedAmount, " +
+            "a.heldBalance = a.heldBalance - :heldAmount, a.version = a.version + 1 " +
+            "WHERE a.accountId = :accountId")
+    int settleHold(@Param("accountId") Long accountId, @Param("heldAmount") BigDecimal heldAmount,
+                   @Param("capturedAmount") BigDecimal capturedAmount);
+}
@@ -0,0 +1,70 @@
+package com.mani.payment_transfer_system.repository;
+
+import com.mani.payment_transfer_system.dto.HoldResponse;
+import com.mani.payment_transfer_system.entity.AuthorizationHold;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for authorization holds.
+ */
+@Repository
+public interface AuthorizationHoldRepository extends JpaRepository<AuthorizationHold, UUID> {
+
+    /**
+     * Find a hold by ID as a response DTO, constructed from the row without a managed entity.
+     *
+     * @param id the hold ID
+     * @return Optional containing the hold if found
+     */
+    @Query("SELECT new com.mani.payment_transfer_system.dto.HoldResponse(h.id, h.sourceAccountId, "
+            + "h.destinationAccountId, h.amount, h.expiresAt, h.status, h.capturedAmount, h.transactionId) "
+            + "FROM AuthorizationHold h WHERE h.id = :id")
+    Optional<HoldResponse> findResponseById(@Param("id") UUID id);
+
+    /**
+     * Find a hold by ID with pessimistic write lock for capturing or voiding it.
+     *
+     * @param id the hold ID
+     * @return Optional containing the hold if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM AuthorizationHold h WHERE h.id = :id")
+    Optional<AuthorizationHold> findByIdWithLock(@Param("id") UUID id);
+
+    /**
+     * Mark an active hold finished. Must run in the transaction that settled the held balance.
+     *
+     * @param id the hold ID
+     * @param status the final status
+     * @param capturedAmount the amount transferred; null unless captured
+     * @param transactionId the transaction that transferred the captured amount; null unless captured
+     * @param finishedAt the time the hold was finished
+     * @return the number of updated rows (0 if the hold is no longer active)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AuthorizationHold h SET h.status = :status, h.capturedAmount = :capturedAmount, "
+            + "h.transactionId = :transactionId, h.finishedAt = :finishedAt "
+            + "WHERE h.id = :id AND h.status = 'ACTIVE'")
+    int finish(@Param("id") UUID id, @Param("status") AuthorizationHold.Status status,
+               @Param("capturedAmount") BigDecimal capturedAmount, @Param("transactionId") Long transactionId,
+               @Param("finishedAt") Instant finishedAt);
+
+    /**
+     * Check if any hold is in the given state.
+     *
+     * @param status the hold state
+     * @return true if at least one hold is in that state
+     */
+    boolean existsByStatus(AuthorizationHold.Status status);
+}
@@ -0,0 +1,88 @@
+package com.mani.payment_transfer_system.repository;
+
+import com.mani.payment_transfer_system.dto.ScheduledTransferResponse;
+import com.mani.payment_transfer_system.entity.ScheduledTransfer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for scheduled transfers.
+ */
+@Repository
+public interface ScheduledTransferRepository extends JpaRepository<ScheduledTransfer, UUID> {
+
+    /**
+     * Find a scheduled transfer by ID as a response DTO, constructed from the row without a managed entity.
+     *
+     * @param id the scheduled transfer ID
+     * @return Optional containing the scheduled transfer if found
+     */
+    @Query("SELECT new com.mani.payment_transfer_system.dto.ScheduledTransferResponse(s.id, s.sourceAccountId, "
+            + "s.destinationAccountId, s.amount, s.executeAt, s.status, s.transactionId, s.failureReason) "
+            + "FROM ScheduledTransfer s WHERE s.id = :id")
+    Optional<ScheduledTransferResponse> findResponseById(@Param("id") UUID id);
+
+    /**
+     * Find pending transfers due before the given time, ordered by execution time and ID,
+     * starting after the given position for keyset pagination.
+     *
+     * @param before the exclusive upper bound for the execution time
+     * @param afterExecuteAt the execution time of the last transfer of the previous page
+     * @param afterId the ID of the last transfer of the previous page
+     * @param pageable the page size
+     * @return the next page of pending transfers
+     */
+    @Query("SELECT s FROM ScheduledTransfer s WHERE s.status = 'PENDING' AND s.executeAt < :before "
+            + "AND (s.executeAt > :afterExecuteAt OR (s.executeAt = :afterExecuteAt AND s.id > :afterId)) "
+            + "ORDER BY s.executeAt, s.id")
+    List<ScheduledTransfer> findPendingBefore(@Param("before") Instant before,
+                                              @Param("afterExecuteAt") Instant afterExecuteAt,
+                                              @Param("afterId") UUID afterId,
+                                              Pageable pageable);
+
+    /**
+     * Find the transfers of a source account in the given state.
+     *
+     * @param sourceAccountId the account ID to debit
+     * @param status the scheduled transfer state
+     * @return the matching scheduled transfers
+     */
+    List<ScheduledTransfer> findBySourceAccountIdAndStatus(Long sourceAccountId, ScheduledTransfer.Status status);
+
+    /**
+     * Mark a pending transfer completed. Must run in the transaction that applied the transfer.
+     *
+     * @param id the scheduled transfer ID
+     * @param transactionId the transaction that applied the transfer
+     * @param finishedAt the completion time
+     * @return the number of updated rows (0 if the transfer is no longer pending)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ScheduledTransfer s SET s.status = 'COMPLETED', s.transactionId = :transactionId, "
+            + "s.finishedAt = :finishedAt WHERE s.id = :id AND s.status = 'PENDING'")
+    int markCompleted(@Param("id") UUID id, @Param("transactionId") Long transactionId,
+                      @Param("finishedAt") Instant finishedAt);
+
+    /**
+     * Mark a pending transfer failed.
+     *
+     * @param id the scheduled transfer ID
+     * @param failureReason why the transfer was rejected
+     * @param finishedAt the failure time
+     * @return the number of updated rows (0 if the transfer is no longer pending)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ScheduledTransfer s SET s.status = 'FAILED', s.failureReason = :failureReason, "
+            + "s.finishedAt = :finishedAt WHERE s.id = :id AND s.status = 'PENDING'")
+    int markFailed(@Param("id") UUID id, @Param("failureReason") String failureReason,
+                   @Param("finishedAt") Instant finishedAt);
+}
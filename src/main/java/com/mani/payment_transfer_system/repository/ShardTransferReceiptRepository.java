@@ -0,0 +1,14 @@
+package com.mani.payment_transfer_system.repository;
+
+import com.mani.payment_transfer_system.entity.ShardTransferReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Repository interface for cross-shard transfer receipts.
+ */
+@Repository
+public interface ShardTransferReceiptRepository extends JpaRepository<ShardTransferReceipt, UUID> {
+}
@@ -0,0 +1,21 @@
+package com.mani.payment_transfer_system.repository;
+
+import com.mani.payment_transfer_system.entity.Transaction;
+
+import java.util.List;
+
+/**
+ * Repository fragment for writing many transactions in one database round trip.
+ * IDENTITY keys prevent Hibernate from batching inserts, so this is implemented with plain JDBC.
+ */
+public interface TransactionBatchRepository {
+
+    /**
+     * Inserts all transactions with a single multi-row INSERT and assigns their generated IDs.
+     * Participates in the current transaction.
+     *
+     * @param transactions the new transactions; their IDs are set on return
+     * @return the generated IDs in the order of the given transactions
+     */
+    List<Long> insertAll(List<Transaction> transactions);
+}
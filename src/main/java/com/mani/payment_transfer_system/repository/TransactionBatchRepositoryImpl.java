@@ -0,0 +1,68 @@
+package com.mani.payment_transfer_system.repository;
+
+import com.mani.payment_transfer_system.entity.Transaction;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link TransactionBatchRepository}.
+ * Picked up by Spring Data as the fragment implementation of {@link TransactionRepository}.
+ */
+public class TransactionBatchRepositoryImpl implements TransactionBatchRepository {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO transactions (source_account_id, destination_account_id, amount, timestamp, payment_id) VALUES ";
+    private static final String VALUES_ROW = "(?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a new TransactionBatchRepositoryImpl.
+     *
+     * @param jdbcTemplate the JDBC template bound to the application data source
+     */
+    public TransactionBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(transactions.size() * 5);
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            sql.append(i == 0 ? VALUES_ROW : ", " + VALUES_ROW);
+            args.add(transaction.getSourceAccountId());
+            args.add(transaction.getDestinationAccountId());
+            args.add(transaction.getAmount());
+            args.add(toUtc(transaction.getTimestamp()));
+            args.add(transaction.getPaymentId());
+        }
+        sql.append(" RETURNING id");
+
+        // RETURNING does not guarantee any row order, but the IDs are drawn from the sequence in VALUES order,
+        // so the ascending IDs match the legs by position
+        List<Long> ids = new ArrayList<>(jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray()));
+        Collections.sort(ids);
+        for (int i = 0; i < ids.size(); i++) {
+            transactions.get(i).setId(ids.get(i));
+        }
+        return ids;
+    }
+
+    /**
+     * Converts a local timestamp to UTC, as Hibernate does for entities (hibernate.jdbc.time_zone=UTC).
+     */
+    private static LocalDateTime toUtc(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+}
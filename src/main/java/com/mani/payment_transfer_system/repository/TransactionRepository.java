@@ -1,13 +1,39 @@
 package com.mani.payment_transfer_system.repository;
 
+import com.mani.payment_transfer_system.dto.TransactionResponse;
 import com.mani.payment_transfer_system.entity.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for Transaction entity operations.
  */
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionBatchRepository {
+
+    /**
+     * Find a transaction by ID as a response DTO, constructed from the row without a managed entity.
+     *
+     * @param id the transaction ID
+     * @return Optional containing the transaction if found
+     */
+    @Query("SELECT new com.mani.payment_transfer_system.dto.TransactionResponse("
+            + "t.id, t.sourceAccountId, t.destinationAccountId, t.amount, t.timestamp) "
+            + "FROM Transaction t WHERE t.id = :id")
+    Optional<TransactionResponse> findResponseById(@Param("id") Long id);
+
+    /**
+     * Find all transactions as response DTOs, constructed from the rows without managed entities.
+     *
+     * @return all transactions
+     */
+    @Query("SELECT new com.mani.payment_transfer_system.dto.TransactionResponse("
+            + "t.id, t.sourceAccountId, t.destinationAccountId, t.amount, t.timestamp) FROM Transaction t")
+    List<TransactionResponse> findAllResponses();
 }
 
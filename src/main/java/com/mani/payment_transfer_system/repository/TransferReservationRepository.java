@@ -0,0 +1,49 @@
+package com.mani.payment_transfer_system.repository;
+
+import com.mani.payment_transfer_system.entity.TransferReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for cross-shard transfer reservations.
+ */
+@Repository
+public interface TransferReservationRepository extends JpaRepository<TransferReservation, UUID> {
+
+    /**
+     * Find reservation by ID with pessimistic write lock, so confirming and refunding cannot interleave.
+     *
+     * @param id the reservation ID
+     * @return Optional containing the reservation if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM TransferReservation r WHERE r.id = :id")
+    Optional<TransferReservation> findByIdWithLock(@Param("id") UUID id);
+
+    /**
+     * Find reservations in the given state created before the cutoff, oldest first.
+     *
+     * @param status the reservation state
+     * @param cutoff the creation time cutoff
+     * @return the matching reservations
+     */
+    List<TransferReservation> findByStatusAndCreatedAtBeforeOrderByCreatedAt(TransferReservation.Status status,
+                                                                             LocalDateTime cutoff);
+
+    /**
+     * Check if any reservation is in the given state.
+     *
+     * @param status the reservation state
+     * @return true if at least one reservation is in that state
+     */
+    boolean existsByStatus(TransferReservation.Status status);
+}
@@ -0,0 +1,152 @@
+package com.mani.payment_transfer_system.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel holding items until their deadline.
+ * <ul>
+ *   <li>Time advances in ticks of {@code tickMillis}. An item is due at the first tick at or after
+ *       its deadline, so it never fires early and at most one tick late.</li>
+ *   <li>Level 0 has one slot per tick; every further level has slots {@code wheelSize} times
+ *       coarser. An item is placed on the lowest level whose current rotation contains its due tick,
+ *       and moves down a level whenever the wheel reaches the start of its slot.</li>
+ *   <li>Adding an item and expiring a tick are O(1) apart from cascading, which moves every item
+ *       at most once per level.</li>
+ * </ul>
+ * The wheel covers at least {@code tickMillis * wheelSize ^ (levels - 1) * (wheelSize - 1)} ahead;
+ * later deadlines may be rejected.
+ * Not thread-safe.
+ *
+ * @param <T> the item type
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<List<Entry<T>>>[] slots;
+    private final long[] ticksPerSlot;
+    private final List<T> overdue = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    /**
+     * Constructs a new HierarchicalTimingWheel.
+     *
+     * @param tickMillis the duration of one tick in milliseconds
+     * @param wheelSize the number of slots per level
+     * @param levels the number of levels
+     * @param startMillis the current time in milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis < 1 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Timing wheel requires tick >= 1 ms, wheel-size >= 2 and levels >= 1");
+        }
+        if (Math.pow(wheelSize, levels) * tickMillis > Long.MAX_VALUE / 2.0) {
+            throw new IllegalArgumentException("Timing wheel covers more time than can be represented");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.slots = new List[levels];
+        this.ticksPerSlot = new long[levels];
+        long ticks = 1;
+        for (int level = 0; level < levels; level++) {
+            slots[level] = new ArrayList<>(wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots[level].add(new ArrayList<>());
+            }
+            ticksPerSlot[level] = ticks;
+            ticks *= wheelSize;
+        }
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Adds an item. An item whose deadline has passed is returned by the next {@link #advance(long)}.
+     *
+     * @param deadlineMillis the time the item is due, in milliseconds
+     * @param item the item
+     * @return false if the deadline is beyond the time the wheel covers; the item was not added
+     */
+    public boolean add(long deadlineMillis, T item) {
+        long dueTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        if (!place(new Entry<>(dueTick, item))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to the given time and removes every item that became due.
+     *
+     * @param nowMillis the current time in milliseconds; earlier times are ignored
+     * @return the due items, ordered by due tick
+     */
+    public List<T> advance(long nowMillis) {
+        List<T> due = new ArrayList<>(overdue);
+        overdue.clear();
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Coarser levels first, so their items reach level 0 before it expires this tick
+            for (int level = slots.length - 1; level > 0; level--) {
+                if (currentTick % ticksPerSlot[level] == 0) {
+                    List<Entry<T>> slot = slots[level].get(slotIndex(level, currentTick));
+                    List<Entry<T>> cascading = new ArrayList<>(slot);
+                    slot.clear();
+                    cascading.forEach(this::place);
+                }
+            }
+            List<Entry<T>> expiring = slots[0].get(slotIndex(0, currentTick));
+            for (Entry<T> entry : expiring) {
+                due.add(entry.item());
+            }
+            expiring.clear();
+            due.addAll(overdue);
+            overdue.clear();
+        }
+        size -= due.size();
+        return due;
+    }
+
+    /**
+     * Returns the number of items in the wheel, including overdue items not yet returned.
+     *
+     * @return the number of items
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns how far ahead of the current time the wheel always accepts deadlines.
+     *
+     * @return the covered time in milliseconds
+     */
+    public long horizonMillis() {
+        return ticksPerSlot[slots.length - 1] * (wheelSize - 1) * tickMillis;
+    }
+
+    private boolean place(Entry<T> entry) {
+        if (entry.dueTick() <= currentTick) {
+            overdue.add(entry.item());
+            return true;
+        }
+        for (int level = 0; level < slots.length; level++) {
+            if (entry.dueTick() / ticksPerSlot[level] - currentTick / ticksPerSlot[level] < wheelSize) {
+                slots[level].get(slotIndex(level, entry.dueTick())).add(entry);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int slotIndex(int level, long tick) {
+        return (int) Math.floorMod(tick / ticksPerSlot[level], (long) wheelSize);
+    }
+
+    private record Entry<T>(long dueTick, T item) {
+    }
+}
@@ -0,0 +1,265 @@
+package com.mani.payment_transfer_system.scheduling;
+
+import com.mani.payment_transfer_system.config.ScheduledTransferProperties;
+import com.mani.payment_transfer_system.dto.TransactionRequest;
+import com.mani.payment_transfer_system.entity.ScheduledTransfer;
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.exception.InvalidAmountException;
+import com.mani.payment_transfer_system.repository.ScheduledTransferRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.service.TransactionService;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Executes scheduled transfers when they are due.
+ * <ul>
+ *   <li>Every {@code load-interval}, pending transfers due within {@code load-ahead} are read from
+ *       every shard and placed in a {@link HierarchicalTimingWheel}; transfers scheduled within that
+ *       window are added directly. Reads happen ahead of time, spread over the interval, instead of
+ *       in a burst when transfers fall due.</li>
+ *   <li>A dedicated thread advances the wheel every {@code tick} and hands due transfers to
+ *       {@code parallelism} workers; the rest wait in the backlog, so a burst of transfers due at
+ *       the same time is executed at a bounded rate.</li>
+ *   <li>Each transfer runs through {@link TransactionService#processTransaction(TransactionRequest, java.util.function.LongConsumer)}
+ *       and is marked completed in the same database transaction, only if it is still pending.
+ *       A transfer that was already completed, e.g. by another instance, is rolled back, so none is
+ *       applied twice. Transfers rejected for a business reason (insufficient balance, unknown account,
+ *       invalid amount) are marked failed; any other failure, such as exhausted retries, a version conflict
+ *       or the database being unreachable, leaves the transfer pending for the next load.</li>
+ *   <li>Nothing is lost on restart: the first load runs at startup and picks up overdue transfers.</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(prefix = "payment.scheduled-transfers", name = "enabled", havingValue = "true")
+public class TransferScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferScheduler.class);
+    private static final UUID FIRST_ID = new UUID(0, 0);
+    private static final int MAX_FAILURE_REASON_LENGTH = 255;
+    private final ScheduledTransferProperties properties;
+    private final ScheduledTransferRepository repository;
+    private final TransactionService transactionService;
+    private final ShardRouter shardRouter;
+    private final MetricsService metricsService;
+    private final LongSupplier clock;
+    // Guarded by this
+    private final HierarchicalTimingWheel<ScheduledTransfer> wheel;
+    private final Set<UUID> queued = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService ticker;
+    private volatile long loadedUntilMillis;
+
+    /**
+     * Constructs a new TransferScheduler.
+     *
+     * @param properties the scheduled transfer properties
+     * @param repository the scheduled transfer repository
+     * @param transactionService the transaction service that applies transfers
+     * @param shardRouter the router listing the shards and routing to them
+     * @param metricsService the metrics service for recording lag, backlog and outcomes
+     */
+    @Autowired
+    public TransferScheduler(ScheduledTransferProperties properties, ScheduledTransferRepository repository,
+                             TransactionService transactionService, ShardRouter shardRouter,
+                             MetricsService metricsService) {
+        this(properties, repository, transactionService, shardRouter, metricsService, System::currentTimeMillis);
+    }
+
+    TransferScheduler(ScheduledTransferProperties properties, ScheduledTransferRepository repository,
+                      TransactionService transactionService, ShardRouter shardRouter,
+                      MetricsService metricsService, LongSupplier clock) {
+        if (properties.getParallelism() < 1 || properties.getLoadBatchSize() < 1) {
+            throw new IllegalArgumentException("payment.scheduled-transfers requires parallelism >= 1 and load-batch-size >= 1");
+        }
+        this.properties = properties;
+        this.repository = repository;
+        this.transactionService = transactionService;
+        this.shardRouter = shardRouter;
+        this.metricsService = metricsService;
+        this.clock = clock;
+        this.wheel = new HierarchicalTimingWheel<>(properties.getTick().toMillis(), properties.getWheelSize(),
+                properties.getLevels(), clock.getAsLong());
+        if (properties.getLoadAhead().compareTo(properties.getLoadInterval()) <= 0
+                || properties.getLoadAhead().toMillis() > wheel.horizonMillis()) {
+            throw new IllegalArgumentException("payment.scheduled-transfers requires load-interval < load-ahead <= "
+                    + Duration.ofMillis(wheel.horizonMillis()) + " (the timing wheel horizon)");
+        }
+        this.workers = new ThreadPoolExecutor(properties.getParallelism(), properties.getParallelism(),
+                0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), namedDaemonThreads("scheduled-transfer-worker"));
+        this.ticker = Executors.newSingleThreadScheduledExecutor(namedDaemonThreads("scheduled-transfer-ticker"));
+        metricsService.bindScheduledTransfers(this, scheduler -> scheduler.workers.getQueue().size(),
+                TransferScheduler::wheelSize);
+    }
+
+    @PostConstruct
+    void start() {
+        long tickMillis = properties.getTick().toMillis();
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Loads pending transfers due within {@code load-ahead} into the timing wheel, starting at startup
+     * and then every {@code load-interval}.
+     */
+    @Scheduled(fixedDelayString = "${payment.scheduled-transfers.load-interval:PT1M}")
+    public void load() {
+        long until = clock.getAsLong() + properties.getLoadAhead().toMillis();
+        // Raised first, so a transfer scheduled during the load is added directly rather than missed
+        loadedUntilMillis = until;
+        int loaded = 0;
+        for (String shard : shardRouter.shardNames()) {
+            Instant afterExecuteAt = Instant.EPOCH;
+            UUID afterId = FIRST_ID;
+            List<ScheduledTransfer> page;
+            do {
+                Instant pageAfterExecuteAt = afterExecuteAt;
+                UUID pageAfterId = afterId;
+                page = shardRouter.callInShard(shard, () -> repository.findPendingBefore(Instant.ofEpochMilli(until),
+                        pageAfterExecuteAt, pageAfterId, PageRequest.ofSize(properties.getLoadBatchSize())));
+                for (ScheduledTransfer transfer : page) {
+                    if (enqueue(transfer)) {
+                        loaded++;
+                    }
+                }
+                if (!page.isEmpty()) {
+                    afterExecuteAt = page.get(page.size() - 1).getExecuteAt();
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == properties.getLoadBatchSize());
+        }
+        logger.debug("Loaded {} scheduled transfers due before {}", loaded, Instant.ofEpochMilli(until));
+    }
+
+    /**
+     * Adds a newly scheduled transfer to the timing wheel if it falls due before the next load.
+     *
+     * @param transfer the persisted scheduled transfer
+     */
+    public void offer(ScheduledTransfer transfer) {
+        if (transfer.getExecuteAt().toEpochMilli() < loadedUntilMillis) {
+            enqueue(transfer);
+        }
+    }
+
+    /**
+     * Advances the timing wheel to the current time and hands due transfers to the workers.
+     */
+    void tick() {
+        List<ScheduledTransfer> due;
+        synchronized (this) {
+            due = wheel.advance(clock.getAsLong());
+        }
+        for (ScheduledTransfer transfer : due) {
+            workers.execute(() -> execute(transfer));
+        }
+    }
+
+    /**
+     * Applies one due transfer and records its outcome.
+     *
+     * @param transfer the due transfer
+     */
+    void execute(ScheduledTransfer transfer) {
+        Instant startedAt = Instant.ofEpochMilli(clock.getAsLong());
+        metricsService.recordScheduledTransferLag(Duration.between(transfer.getExecuteAt(), startedAt));
+        TransactionRequest request = new TransactionRequest(transfer.getSourceAccountId(),
+                transfer.getDestinationAccountId(), transfer.getAmount());
+        try {
+            Long transactionId = transactionService.processTransaction(request, appliedId -> {
+                if (repository.markCompleted(transfer.getId(), appliedId, startedAt) == 0) {
+                    throw new AlreadyExecutedException();
+                }
+            });
+            logger.debug("Scheduled transfer {} completed with transaction {}", transfer.getId(), transactionId);
+            metricsService.recordScheduledTransferExecution("completed");
+        } catch (AlreadyExecutedException e) {
+            logger.debug("Scheduled transfer {} was already executed", transfer.getId());
+            metricsService.recordScheduledTransferExecution("duplicate");
+        } catch (InsufficientBalanceException | AccountNotFoundException | InvalidAmountException e) {
+            logger.warn("Scheduled transfer {} failed: {}", transfer.getId(), e.getMessage());
+            shardRouter.inShardTransaction(shardRouter.shardFor(transfer.getSourceAccountId()),
+                    () -> repository.markFailed(transfer.getId(), failureReason(e), startedAt));
+            metricsService.recordScheduledTransferExecution("failed");
+        } catch (RuntimeException e) {
+            // Retry exhaustion, conflicts and outages are not the transfer's fault; the next load retries it
+            logger.warn("Scheduled transfer {} deferred to the next load: {}", transfer.getId(), e.toString());
+            metricsService.recordScheduledTransferExecution("deferred");
+        } finally {
+            queued.remove(transfer.getId());
+        }
+    }
+
+    private boolean enqueue(ScheduledTransfer transfer) {
+        if (!queued.add(transfer.getId())) {
+            return false;
+        }
+        boolean added;
+        synchronized (this) {
+            added = wheel.add(transfer.getExecuteAt().toEpochMilli(), transfer);
+        }
+        if (!added) {
+            // Only if the ticker has fallen far behind; the next load retries it
+            queued.remove(transfer.getId());
+        }
+        return added;
+    }
+
+    private static String failureReason(RuntimeException e) {
+        String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return reason.length() > MAX_FAILURE_REASON_LENGTH ? reason.substring(0, MAX_FAILURE_REASON_LENGTH) : reason;
+    }
+
+    private synchronized int wheelSize() {
+        return wheel.size();
+    }
+
+    private static ThreadFactory namedDaemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Rolls back a transfer whose scheduled transfer is no longer pending.
+     */
+    private static class AlreadyExecutedException extends RuntimeException {
+
+        AlreadyExecutedException() {
+            super("Scheduled transfer already executed", null, false, false);
+        }
+    }
+}
@@ -5,7 +5,12 @@ import com.mani.payment_transfer_system.exception.AccountNotFoundException;
 import com.mani.payment_transfer_system.entity.Account;
 import com.mani.payment_transfer_system.dto.AccountRequest;
 import com.mani.payment_transfer_system.dto.AccountResponse;
+import com.mani.payment_transfer_system.jfr.AccountQueryEvent;
+import com.mani.payment_transfer_system.ledger.PostingLedger;
+import com.mani.payment_transfer_system.lookup.AccountExistenceFilter;
+import com.mani.payment_transfer_system.lookup.SingleFlight;
 import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
 import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,6 +18,8 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
 /**
  * Service layer for account-related operations.
  * Handles business logic for account creation and retrieval.
@@ -23,20 +30,32 @@ public class AccountService {
     private static final Logger logger = LoggerFactory.getLogger(AccountService.class);
     private final AccountRepository accountRepository;
     private final MetricsService metricsService;
+    private final ShardRouter shardRouter;
+    private final AccountExistenceFilter accountFilter;
+    private final PostingLedger postingLedger;
+    private final SingleFlight<Long, Optional<AccountResponse>> accountReads = new SingleFlight<>();
 
     /**
      * Constructs a new AccountService with the given repository and metrics service.
      *
      * @param accountRepository the account repository for data access
      * @param metricsService the metrics service for recording metrics
+     * @param shardRouter the router selecting the shard that owns an account
+     * @param accountFilter the filter rejecting unknown account IDs without a database query
+     * @param postingLedger the posting ledger, which owns balances in the {@code POSTINGS} execution mode
      */
-    public AccountService(AccountRepository accountRepository, MetricsService metricsService) {
+    public AccountService(AccountRepository accountRepository, MetricsService metricsService, ShardRouter shardRouter,
+                          AccountExistenceFilter accountFilter, PostingLedger postingLedger) {
         this.accountRepository = accountRepository;
         this.metricsService = metricsService;
+        this.shardRouter = shardRouter;
+        this.accountFilter = accountFilter;
+        this.postingLedger = postingLedger;
+        metricsService.bindAccountReadCoalescing(accountReads, SingleFlight::executedCount, SingleFlight::coalescedCount);
     }
 
     /**
-     * Creates a new account with the specified initial balance.
+     * Creates a new account with the specified initial balance on the shard that owns its ID.
      *
      * @param request the account creation request
      * @throws AccountAlreadyExistsException if an account with the same ID already exists
@@ -48,7 +67,9 @@ public class AccountService {
             logger.debug("Creating new account with ID: {} and initial balance: {}", 
                     request.getAccountId(), request.getInitialBalance());
             // 1. Check with pessimistic lock (prevents race conditions)
-            if (accountRepository.findByAccountIdWithLock(request.getAccountId()).isPresent()) {
+            // The first statement binds the transaction to the shard owning the account
+            if (shardRouter.callForAccount(request.getAccountId(),
+                    () -> accountRepository.findByAccountIdWithLock(request.getAccountId())).isPresent()) {
                 metricsService.recordAccountAlreadyExistsError();
                 throw new AccountAlreadyExistsException(request.getAccountId());
             }
@@ -56,6 +77,7 @@ public class AccountService {
 
             try {
                 accountRepository.save(account);
+                accountFilter.recordCreated(request.getAccountId());
                 metricsService.recordAccountCreation();
                 logger.debug("Account saved successfully with ID: {}", request.getAccountId());
             } catch (DataIntegrityViolationException e) {
@@ -69,26 +91,49 @@ public class AccountService {
 
 
     /**
-     * Retrieves account information by account ID.
+     * Retrieves account information by account ID from the shard that owns it.
+     * Accounts rejected by the account filter are reported as not found without a database query;
+     * the remaining single query runs without an enclosing transaction, so a rejected lookup
+     * never takes a connection from the pool.
+     * Concurrent reads of the same account share one in-flight query, so a result is at most
+     * as old as the query that produced it.
+     * In the {@code POSTINGS} execution mode, the balance is the ledger balance: served from memory
+     * when cached, otherwise the checkpointed balance plus all later postings.
      *
      * @param accountId the account ID
-     * @return AccountResponse containing account ID and balance
+     * @return AccountResponse containing account ID, balance and available balance
      * @throws AccountNotFoundException if the account is not found
      */
-    @Transactional(readOnly = true)
     public AccountResponse getAccount(Long accountId) {
         logger.debug("Retrieving account with ID: {}", accountId);
-        Account account = accountRepository.findByAccountId(accountId)
+        AccountQueryEvent event = new AccountQueryEvent();
+        event.begin();
+        if (!accountFilter.mightExist(accountId)) {
+            logger.warn("Account not found with ID: {}", accountId);
+            metricsService.recordAccountNotFoundError();
+            event.complete(accountId, AccountQueryEvent.FILTERED);
+            throw new AccountNotFoundException(accountId);
+        }
+        AccountResponse account = accountReads.execute(accountId, () -> readAccount(accountId))
                 .orElseThrow(() -> {
                     logger.warn("Account not found with ID: {}", accountId);
                     metricsService.recordAccountNotFoundError();
+                    accountFilter.recordFalsePositive();
+                    event.complete(accountId, AccountQueryEvent.NOT_FOUND);
                     return new AccountNotFoundException(accountId);
                 });
+        event.complete(accountId, AccountQueryEvent.FOUND);
 
         metricsService.recordAccountQuery();
         logger.debug("Account retrieved successfully with ID: {} and balance: {}", 
                 accountId, account.getBalance());
-        return new AccountResponse(account.getAccountId(), account.getBalance());
+        return account;
     }
-}
 
+    private Optional<AccountResponse> readAccount(Long accountId) {
+        if (postingLedger.isEnabled()) {
+            return postingLedger.balance(accountId).map(balance -> new AccountResponse(accountId, balance));
+        }
+        return shardRouter.callForAccount(accountId, () -> accountRepository.findResponseByAccountId(accountId));
+    }
+}
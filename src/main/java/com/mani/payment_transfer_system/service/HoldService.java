@@ -0,0 +1,345 @@
+package com.mani.payment_transfer_system.service;
+
+import com.mani.payment_transfer_system.analytics.TransactionAnalyticsStore;
+import com.mani.payment_transfer_system.config.HoldProperties;
+import com.mani.payment_transfer_system.config.TransferProperties;
+import com.mani.payment_transfer_system.dto.HoldRequest;
+import com.mani.payment_transfer_system.dto.HoldResponse;
+import com.mani.payment_transfer_system.entity.Account;
+import com.mani.payment_transfer_system.entity.AuthorizationHold;
+import com.mani.payment_transfer_system.entity.Transaction;
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.HoldNotActiveException;
+import com.mani.payment_transfer_system.exception.HoldNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.exception.InvalidAmountException;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.repository.AuthorizationHoldRepository;
+import com.mani.payment_transfer_system.repository.TransactionRepository;
+import com.mani.payment_transfer_system.service.retry.TransientFailureRetrier;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Service for two-phase transfers: a hold reserves part of the source account's balance, and a
+ * later capture transfers it or a void releases it.
+ * <ul>
+ *   <li>Placing, capturing and voiding a hold are each one short database transaction that updates
+ *       the account rows with single statements, so row locks are held for a few statements only,
+ *       however long the caller takes between the two phases.</li>
+ *   <li>The reserved amount is counted in the source account's held balance. Every transfer path
+ *       checks the available balance, its balance minus the held balance, so a held amount cannot be
+ *       spent twice.</li>
+ *   <li>Holds that are neither captured nor voided before they expire are released in batches by a
+ *       background sweeper, one database transaction and one update per account per batch.</li>
+ * </ul>
+ * A hold and its capture run in one database transaction with both accounts, so they must be on the same shard.
+ */
+@Service
+@ConditionalOnProperty(prefix = "payment.holds", name = "enabled", havingValue = "true")
+public class HoldService {
+
+    /**
+     * Expires a batch of overdue holds and sums the released amounts per source account. Holds locked by
+     * a concurrent capture or void are skipped; the capture or void rejects them as expired.
+     */
+    static final String EXPIRE_BATCH =
+            "WITH expired AS (UPDATE authorization_holds SET status = 'EXPIRED', finished_at = ? "
+                    + "WHERE id IN (SELECT id FROM authorization_holds WHERE status = 'ACTIVE' AND expires_at <= ? "
+                    + "ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED) "
+                    + "RETURNING source_account_id, amount) "
+                    + "SELECT source_account_id, SUM(amount) AS released, COUNT(*) AS holds FROM expired "
+                    + "GROUP BY source_account_id ORDER BY source_account_id";
+    static final String RELEASE_HELD_BALANCE =
+            "UPDATE accounts SET held_balance = held_balance - ?, version = version + 1 WHERE account_id = ?";
+
+    private static final Logger logger = LoggerFactory.getLogger(HoldService.class);
+    private final HoldProperties properties;
+    private final AuthorizationHoldRepository holdRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransientFailureRetrier retrier;
+    private final ShardRouter shardRouter;
+    private final MetricsService metricsService;
+    private final TransactionAnalyticsStore analyticsStore;
+
+    /**
+     * Constructs a new HoldService.
+     *
+     * @param properties the hold properties
+     * @param holdRepository the authorization hold repository
+     * @param accountRepository the account repository for reserving and settling held balances
+     * @param transactionRepository the transaction repository for logging captured holds
+     * @param jdbcTemplate the JDBC template used by the expiry sweeper; participates in the shard transaction
+     * @param retrier the retrier for deadlocks, serialization failures and lock timeouts
+     * @param shardRouter the router selecting the shard that owns an account
+     * @param transferProperties the transfer properties selecting the execution mode
+     * @param metricsService the metrics service for recording metrics
+     * @param analyticsStore the in-memory analytics store, fed with every captured hold
+     * @throws IllegalStateException if the {@code POSTINGS} execution mode is selected
+     */
+    public HoldService(HoldProperties properties, AuthorizationHoldRepository holdRepository,
+                       AccountRepository accountRepository, TransactionRepository transactionRepository,
+                       JdbcTemplate jdbcTemplate, TransientFailureRetrier retrier, ShardRouter shardRouter,
+                       TransferProperties transferProperties, MetricsService metricsService,
+                       TransactionAnalyticsStore analyticsStore) {
+        if (properties.getSweepBatchSize() < 1 || properties.getDefaultTtl().compareTo(properties.getMaxTtl()) > 0) {
+            throw new IllegalArgumentException("payment.holds requires sweep-batch-size >= 1 and default-ttl <= max-ttl");
+        }
+        if (transferProperties.getExecutionMode() == TransferProperties.ExecutionMode.POSTINGS) {
+            throw new IllegalStateException("payment.holds cannot be combined with execution-mode=POSTINGS: "
+                    + "posting ledger balances do not account for held amounts");
+        }
+        this.properties = properties;
+        this.holdRepository = holdRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.retrier = retrier;
+        this.shardRouter = shardRouter;
+        this.metricsService = metricsService;
+        this.analyticsStore = analyticsStore;
+    }
+
+    /**
+     * Places a hold on the source account's available balance.
+     *
+     * @param request the hold request
+     * @return the active hold
+     * @throws AccountNotFoundException if source or destination account is not found
+     * @throws InsufficientBalanceException if the source account's available balance does not cover the amount
+     * @throws InvalidAmountException if the amount or time to live is invalid, the accounts are the same
+     *         or the accounts are on different shards
+     */
+    public HoldResponse placeHold(HoldRequest request) {
+        logger.debug("Placing hold: source={}, destination={}, amount={}, ttl={}",
+                request.getSourceAccountId(), request.getDestinationAccountId(), request.getAmount(), request.getTtl());
+        Duration ttl = request.getTtl() != null ? request.getTtl() : properties.getDefaultTtl();
+        validateRequest(request, ttl);
+        Long sourceAccountId = request.getSourceAccountId();
+        String shard = shardRouter.shardFor(sourceAccountId);
+        AuthorizationHold hold = retrier.execute(() -> shardRouter.inShardTransaction(shard, () -> {
+            rejectUnknownAccount(request.getDestinationAccountId());
+            if (accountRepository.holdIfSufficientBalance(sourceAccountId, request.getAmount()) == 0) {
+                throw rejectedDebit(sourceAccountId, request.getAmount());
+            }
+            return holdRepository.save(new AuthorizationHold(sourceAccountId,
+                    request.getDestinationAccountId(), request.getAmount(), Instant.now().plus(ttl)));
+        }));
+        logger.debug("Hold {} placed on account {}", hold.getId(), sourceAccountId);
+        metricsService.recordHold("placed");
+        return HoldResponse.from(hold);
+    }
+
+    /**
+     * Captures an active hold: transfers the captured amount to the destination account and releases the hold.
+     *
+     * @param id the hold ID
+     * @param amount the amount to transfer, at most the held amount; null for the held amount
+     * @return the captured hold with the resulting transaction ID
+     * @throws HoldNotFoundException if the hold is not found
+     * @throws HoldNotActiveException if the hold was already captured, voided or has expired
+     * @throws InvalidAmountException if the amount exceeds the held amount
+     */
+    public HoldResponse capture(UUID id, BigDecimal amount) {
+        AuthorizationHold located = locate(id);
+        AuthorizationHold captured = finish(located, hold -> {
+            BigDecimal capturedAmount = amount != null ? amount : hold.getAmount();
+            if (capturedAmount.signum() <= 0 || capturedAmount.compareTo(hold.getAmount()) > 0) {
+                logger.warn("Invalid capture amount {} for hold {} of {}", capturedAmount, id, hold.getAmount());
+                metricsService.recordInvalidAmountError();
+                throw new InvalidAmountException("Capture amount must be positive and not exceed the held amount");
+            }
+            // Account rows are updated in ascending account ID order, like every other transfer path
+            if (hold.getSourceAccountId() < hold.getDestinationAccountId()) {
+                accountRepository.settleHold(hold.getSourceAccountId(), hold.getAmount(), capturedAmount);
+                accountRepository.credit(hold.getDestinationAccountId(), capturedAmount);
+            } else {
+                accountRepository.credit(hold.getDestinationAccountId(), capturedAmount);
+                accountRepository.settleHold(hold.getSourceAccountId(), hold.getAmount(), capturedAmount);
+            }
+            Long transactionId = transactionRepository.save(new Transaction(hold.getSourceAccountId(),
+                    hold.getDestinationAccountId(), capturedAmount)).getId();
+            hold.setStatus(AuthorizationHold.Status.CAPTURED);
+            hold.setCapturedAmount(capturedAmount);
+            hold.setTransactionId(transactionId);
+        });
+        logger.debug("Hold {} captured with transaction {}", id, captured.getTransactionId());
+        metricsService.recordHold("captured");
+        metricsService.recordTransaction(captured.getCapturedAmount());
+        analyticsStore.record(captured.getTransactionId(), captured.getSourceAccountId(),
+                captured.getDestinationAccountId(), captured.getCapturedAmount());
+        return HoldResponse.from(captured);
+    }
+
+    /**
+     * Voids an active hold, releasing its amount without a transfer.
+     *
+     * @param id the hold ID
+     * @return the voided hold
+     * @throws HoldNotFoundException if the hold is not found
+     * @throws HoldNotActiveException if the hold was already captured, voided or has expired
+     */
+    public HoldResponse voidHold(UUID id) {
+        AuthorizationHold voided = finish(locate(id), hold -> {
+            accountRepository.settleHold(hold.getSourceAccountId(), hold.getAmount(), BigDecimal.ZERO);
+            hold.setStatus(AuthorizationHold.Status.VOIDED);
+        });
+        logger.debug("Hold {} voided", id);
+        metricsService.recordHold("voided");
+        return HoldResponse.from(voided);
+    }
+
+    /**
+     * Retrieves a hold by its unique identifier.
+     *
+     * @param id the hold ID
+     * @return the hold with its current state
+     * @throws HoldNotFoundException if the hold is not found
+     */
+    public HoldResponse getHold(UUID id) {
+        return shardRouter.readAcrossShards(() -> holdRepository.findResponseById(id).stream().toList())
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> notFound(id));
+    }
+
+    /**
+     * Releases holds that expired before being captured or voided, every {@code sweep-interval}.
+     * Each shard is swept in batches of {@code sweep-batch-size} holds until no expired hold is left.
+     *
+     * @return the number of holds released
+     */
+    @Scheduled(fixedDelayString = "${payment.holds.sweep-interval:PT30S}")
+    public long releaseExpiredHolds() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        long released = 0;
+        for (String shard : shardRouter.shardNames()) {
+            int batch;
+            do {
+                batch = retrier.execute(() -> shardRouter.inShardTransaction(shard, () -> releaseBatch(now)));
+                released += batch;
+            } while (batch == properties.getSweepBatchSize());
+        }
+        if (released > 0) {
+            logger.info("Released {} expired holds", released);
+            metricsService.recordHoldsExpired(released);
+        }
+        return released;
+    }
+
+    private int releaseBatch(OffsetDateTime now) {
+        List<Object[]> releases = jdbcTemplate.query(EXPIRE_BATCH, (rs, rowNum) -> new Object[] {
+                rs.getBigDecimal("released"), rs.getLong("source_account_id"), rs.getInt("holds")
+        }, now, now, properties.getSweepBatchSize());
+        if (releases.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(RELEASE_HELD_BALANCE,
+                releases.stream().map(release -> new Object[] {release[0], release[1]}).toList());
+        return releases.stream().mapToInt(release -> (Integer) release[2]).sum();
+    }
+
+    /**
+     * Locks an active hold in its shard, applies the settlement and marks the hold finished in one transaction.
+     */
+    private AuthorizationHold finish(AuthorizationHold located, Consumer<AuthorizationHold> settlement) {
+        UUID id = located.getId();
+        String shard = shardRouter.shardFor(located.getSourceAccountId());
+        return retrier.execute(() -> shardRouter.inShardTransaction(shard, () -> {
+            AuthorizationHold hold = holdRepository.findByIdWithLock(id).orElseThrow(() -> notFound(id));
+            Instant now = Instant.now();
+            if (hold.getStatus() != AuthorizationHold.Status.ACTIVE) {
+                throw notActive(id, hold.getStatus().name());
+            }
+            if (!hold.getExpiresAt().isAfter(now)) {
+                // Released by the sweeper
+                throw notActive(id, AuthorizationHold.Status.EXPIRED.name());
+            }
+            settlement.accept(hold);
+            holdRepository.finish(id, hold.getStatus(), hold.getCapturedAmount(), hold.getTransactionId(), now);
+            hold.setFinishedAt(now);
+            return hold;
+        }));
+    }
+
+    private AuthorizationHold locate(UUID id) {
+        return shardRouter.readAcrossShards(() -> holdRepository.findById(id).stream().toList())
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> notFound(id));
+    }
+
+    private void validateRequest(HoldRequest request, Duration ttl) {
+        if (request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            logger.warn("Invalid hold amount: {}", request.getAmount());
+            metricsService.recordInvalidAmountError();
+            throw new InvalidAmountException("Transaction amount must be positive");
+        }
+        if (request.getSourceAccountId().equals(request.getDestinationAccountId())) {
+            logger.warn("Attempt to place a hold for a transfer to same account: {}", request.getSourceAccountId());
+            metricsService.recordInvalidAmountError();
+            throw new InvalidAmountException("Source and destination accounts must be different");
+        }
+        if (ttl.isNegative() || ttl.isZero() || ttl.compareTo(properties.getMaxTtl()) > 0) {
+            logger.warn("Invalid hold time to live: {}", ttl);
+            metricsService.recordInvalidAmountError();
+            throw new InvalidAmountException("Hold time to live must be positive and at most " + properties.getMaxTtl());
+        }
+        // Captured with both accounts in one database transaction, which cannot span shards
+        if (shardRouter.isCrossShard(request.getSourceAccountId(), request.getDestinationAccountId())) {
+            logger.warn("Attempt to place a cross-shard hold from {} to {}",
+                    request.getSourceAccountId(), request.getDestinationAccountId());
+            metricsService.recordInvalidAmountError();
+            throw new InvalidAmountException("Source and destination accounts must be on the same shard");
+        }
+    }
+
+    private void rejectUnknownAccount(Long accountId) {
+        if (!accountRepository.existsByAccountId(accountId)) {
+            logger.warn("Account not found: {}", accountId);
+            metricsService.recordAccountNotFoundError();
+            throw new AccountNotFoundException(accountId);
+        }
+    }
+
+    private RuntimeException rejectedDebit(Long accountId, BigDecimal amount) {
+        Account account = accountRepository.findByAccountId(accountId).orElse(null);
+        if (account == null) {
+            logger.warn("Account not found: {}", accountId);
+            metricsService.recordAccountNotFoundError();
+            return new AccountNotFoundException(accountId);
+        }
+        logger.warn("Insufficient balance for hold on account {}: available={}, requested={}",
+                accountId, account.getAvailableBalance(), amount);
+        metricsService.recordInsufficientBalanceError();
+        return new InsufficientBalanceException(accountId, account.getAvailableBalance(), amount);
+    }
+
+    private HoldNotFoundException notFound(UUID id) {
+        logger.warn("Hold not found: {}", id);
+        metricsService.recordError();
+        return new HoldNotFoundException(id);
+    }
+
+    private HoldNotActiveException notActive(UUID id, String status) {
+        logger.warn("Hold {} is no longer active: {}", id, status);
+        metricsService.recordError();
+        return new HoldNotActiveException(id, status);
+    }
+}
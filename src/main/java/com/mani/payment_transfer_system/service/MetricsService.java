@@ -1,11 +1,23 @@
 package com.mani.payment_transfer_system.service;
 
+import com.mani.payment_transfer_system.monitoring.LiveMetricsReport;
+import com.mani.payment_transfer_system.monitoring.TimeSeriesWindow;
+import com.zaxxer.hikari.metrics.PoolStats;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Service for collecting application metrics.
@@ -14,6 +26,12 @@ import java.math.BigDecimal;
 @Service
 public class MetricsService {
 
+    /**
+     * Seconds covered by the live per-second window.
+     */
+    public static final int LIVE_WINDOW_SECONDS = 15 * 60;
+
+    private final MeterRegistry meterRegistry;
     private final Counter transactionCounter;
     private final Counter transactionAmountCounter;
     private final Counter accountCreationCounter;
@@ -24,10 +42,38 @@ public class MetricsService {
     private final Counter accountNotFoundCounter;
     private final Counter invalidAmountCounter;
     private final Counter accountAlreadyExistsCounter;
+    private final Counter optimisticLockRetryCounter;
+    private final Counter optimisticLockFailureCounter;
+    private final Counter splitTransactionCounter;
+    private final Counter transientFailureRetryCounter;
+    private final Counter transientFailureGiveUpCounter;
+    private final Counter crossShardTransferCounter;
+    private final Counter reservationRecoveryCounter;
+    private final Counter crossShardAbortCounter;
+    private final Counter accountFilterRejectionCounter;
+    private final Counter accountFilterFalsePositiveCounter;
+    private final Counter accountFilterRebuildCounter;
+    private final Counter transactionCacheHitCounter;
+    private final Counter transactionCacheMissCounter;
+    private final Counter transactionCacheEvictionCounter;
+    private final Counter ledgerPostingCounter;
+    private final Counter ledgerBalanceCacheReadCounter;
+    private final Counter ledgerBalanceDatabaseReadCounter;
     private final Timer transactionProcessingTime;
     private final Timer accountCreationTime;
+    private final Map<String, Timer> connectionAcquireTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> connectionTimeoutCounters = new ConcurrentHashMap<>();
+    private final TimeSeriesWindow liveWindow;
 
+    @Autowired
     public MetricsService(MeterRegistry meterRegistry) {
+        this(meterRegistry, System::currentTimeMillis);
+    }
+
+    MetricsService(MeterRegistry meterRegistry, LongSupplier clock) {
+        this.meterRegistry = meterRegistry;
+        this.liveWindow = new TimeSeriesWindow(LIVE_WINDOW_SECONDS, clock);
+
         // Transaction metrics
         this.transactionCounter = Counter.builder("payment.transactions.total")
                 .description("Total number of transactions processed")
@@ -42,7 +88,63 @@ public class MetricsService {
                 .description("Time taken to process transactions")
                 .register(meterRegistry);
 
+        this.optimisticLockRetryCounter = Counter.builder("payment.transactions.optimistic.retries")
+                .description("Number of account updates retried after an optimistic version conflict")
+                .register(meterRegistry);
+
+        this.splitTransactionCounter = Counter.builder("payment.transactions.split.total")
+                .description("Total number of multi-leg split transactions processed")
+                .register(meterRegistry);
+
+        this.transientFailureRetryCounter = Counter.builder("payment.transactions.transient.retries")
+                .description("Number of transactions retried after a deadlock, serialization failure or lock timeout")
+                .register(meterRegistry);
+
+        this.crossShardTransferCounter = Counter.builder("payment.transactions.cross_shard.total")
+                .description("Total number of transfers between accounts on different shards")
+                .register(meterRegistry);
+
+        this.reservationRecoveryCounter = Counter.builder("payment.transactions.cross_shard.recovered")
+                .description("Number of stale cross-shard reservations resolved by recovery")
+                .register(meterRegistry);
+
+        this.crossShardAbortCounter = Counter.builder("payment.transactions.cross_shard.aborted")
+                .description("Number of cross-shard transfers aborted by recovery before they were applied")
+                .register(meterRegistry);
+
         // Account metrics
+        this.accountFilterRejectionCounter = Counter.builder("payment.account_filter.rejections")
+                .description("Requests for unknown accounts rejected by the account filter without a database query")
+                .register(meterRegistry);
+
+        this.accountFilterFalsePositiveCounter = Counter.builder("payment.account_filter.false_positives")
+                .description("Unknown accounts that passed the account filter and were only rejected by the database")
+                .register(meterRegistry);
+
+        this.accountFilterRebuildCounter = Counter.builder("payment.account_filter.rebuilds")
+                .description("Number of times the account filter was rebuilt")
+                .register(meterRegistry);
+
+        this.transactionCacheHitCounter = Counter.builder("payment.transactions.cache.hits")
+                .description("Transaction lookups served from the response cache")
+                .register(meterRegistry);
+
+        this.transactionCacheMissCounter = Counter.builder("payment.transactions.cache.misses")
+                .description("Transaction lookups not found in the response cache")
+                .register(meterRegistry);
+
+        this.transactionCacheEvictionCounter = Counter.builder("payment.transactions.cache.evictions")
+                .description("Responses evicted from the transaction response cache")
+                .register(meterRegistry);
+
+        // Ledger metrics
+        this.ledgerPostingCounter = Counter.builder("payment.ledger.postings")
+                .description("Number of postings appended to the ledger")
+                .register(meterRegistry);
+
+        this.ledgerBalanceCacheReadCounter = ledgerBalanceReadCounter(meterRegistry, "cache");
+        this.ledgerBalanceDatabaseReadCounter = ledgerBalanceReadCounter(meterRegistry, "database");
+
         this.accountCreationCounter = Counter.builder("payment.accounts.created.total")
                 .description("Total number of accounts created")
                 .register(meterRegistry);
@@ -80,6 +182,14 @@ public class MetricsService {
         this.accountAlreadyExistsCounter = Counter.builder("payment.errors.account_already_exists")
                 .description("Number of account already exists errors")
                 .register(meterRegistry);
+
+        this.optimisticLockFailureCounter = Counter.builder("payment.errors.optimistic_lock")
+                .description("Number of transfers abandoned after exhausting optimistic retries")
+                .register(meterRegistry);
+
+        this.transientFailureGiveUpCounter = Counter.builder("payment.errors.retry_exhausted")
+                .description("Number of transactions abandoned after exhausting transient failure retries")
+                .register(meterRegistry);
     }
 
     /**
@@ -90,14 +200,46 @@ public class MetricsService {
     public void recordTransaction(BigDecimal amount) {
         transactionCounter.increment();
         transactionAmountCounter.increment(amount.doubleValue());
+        liveWindow.recordTransfer();
+    }
+
+    /**
+     * Records a successful multi-leg split transaction.
+     * Each leg is additionally recorded as a transaction.
+     */
+    public void recordSplitTransaction() {
+        splitTransactionCounter.increment();
+    }
+
+    /**
+     * Records a successful transfer between accounts on different shards.
+     */
+    public void recordCrossShardTransfer() {
+        crossShardTransferCounter.increment();
+    }
+
+    /**
+     * Records a stale cross-shard reservation resolved by recovery.
+     */
+    public void recordReservationRecovery() {
+        reservationRecoveryCounter.increment();
+    }
+
+    /**
+     * Records a cross-shard transfer whose reservation recovery aborted before it was applied.
+     */
+    public void recordCrossShardAbort() {
+        crossShardAbortCounter.increment();
     }
 
     /**
      * Records transaction processing time.
+     * The transaction counts as in flight until the timer is stopped.
      *
      * @return Timer.Sample to be stopped after processing
      */
     public Timer.Sample startTransactionTimer() {
+        liveWindow.transferStarted();
         return Timer.start();
     }
 
@@ -107,7 +249,18 @@ public class MetricsService {
      * @param sample the timer sample started earlier
      */
     public void stopTransactionTimer(Timer.Sample sample) {
-        sample.stop(transactionProcessingTime);
+        liveWindow.transferFinished();
+        liveWindow.recordLatency(sample.stop(transactionProcessingTime));
+    }
+
+    /**
+     * Returns the per-second transfer statistics of the most recent seconds.
+     *
+     * @param seconds the number of seconds, capped at {@link #LIVE_WINDOW_SECONDS}
+     * @return the report, oldest second first
+     */
+    public LiveMetricsReport liveMetrics(int seconds) {
+        return liveWindow.snapshot(seconds);
     }
 
     /**
@@ -153,7 +306,12 @@ public class MetricsService {
      * Records an error occurrence.
      */
     public void recordError() {
+        recordError(TimeSeriesWindow.ErrorType.OTHER);
+    }
+
+    private void recordError(TimeSeriesWindow.ErrorType type) {
         errorCounter.increment();
+        liveWindow.recordError(type);
     }
 
     /**
@@ -161,7 +319,7 @@ public class MetricsService {
      */
     public void recordInsufficientBalanceError() {
         insufficientBalanceCounter.increment();
-        recordError();
+        recordError(TimeSeriesWindow.ErrorType.INSUFFICIENT_BALANCE);
     }
 
     /**
@@ -169,7 +327,7 @@ public class MetricsService {
      */
     public void recordAccountNotFoundError() {
         accountNotFoundCounter.increment();
-        recordError();
+        recordError(TimeSeriesWindow.ErrorType.ACCOUNT_NOT_FOUND);
     }
 
     /**
@@ -177,7 +335,7 @@ public class MetricsService {
      */
     public void recordInvalidAmountError() {
         invalidAmountCounter.increment();
-        recordError();
+        recordError(TimeSeriesWindow.ErrorType.INVALID_AMOUNT);
     }
 
     /**
@@ -185,7 +343,551 @@ public class MetricsService {
      */
     public void recordAccountAlreadyExistsError() {
         accountAlreadyExistsCounter.increment();
-        recordError();
+        recordError(TimeSeriesWindow.ErrorType.ACCOUNT_ALREADY_EXISTS);
+    }
+
+    /**
+     * Records a retry caused by an optimistic version conflict.
+     */
+    public void recordOptimisticLockRetry() {
+        optimisticLockRetryCounter.increment();
+    }
+
+    /**
+     * Records a transfer abandoned after exhausting optimistic retries.
+     */
+    public void recordOptimisticLockFailure() {
+        optimisticLockFailureCounter.increment();
+        recordError(TimeSeriesWindow.ErrorType.OPTIMISTIC_LOCK);
+    }
+
+    /**
+     * Records a retry caused by a deadlock, serialization failure or lock timeout.
+     */
+    public void recordTransientFailureRetry() {
+        transientFailureRetryCounter.increment();
+    }
+
+    /**
+     * Records a transaction abandoned after exhausting transient failure retries.
+     */
+    public void recordTransientFailureGiveUp() {
+        transientFailureGiveUpCounter.increment();
+        recordError(TimeSeriesWindow.ErrorType.RETRY_EXHAUSTED);
+    }
+
+    /**
+     * Registers gauges for the state of a connection pool.
+     *
+     * @param poolName the Hikari pool name
+     * @param poolStats the live pool statistics
+     */
+    public void bindConnectionPool(String poolName, PoolStats poolStats) {
+        registerPoolGauge("payment.db.pool.active", "Connections currently in use", poolName, poolStats,
+                PoolStats::getActiveConnections);
+        registerPoolGauge("payment.db.pool.idle", "Idle connections", poolName, poolStats,
+                PoolStats::getIdleConnections);
+        registerPoolGauge("payment.db.pool.pending", "Threads waiting for a connection", poolName, poolStats,
+                PoolStats::getPendingThreads);
+        registerPoolGauge("payment.db.pool.max", "Maximum pool size", poolName, poolStats,
+                PoolStats::getMaxConnections);
+    }
+
+    private void registerPoolGauge(String name, String description, String poolName, PoolStats poolStats,
+                                   ToDoubleFunction<PoolStats> value) {
+        Gauge.builder(name, poolStats, value)
+                .description(description)
+                .tag("pool", poolName)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the time a thread waited to obtain a connection from the pool.
+     *
+     * @param poolName the Hikari pool name
+     * @param nanos the acquire time in nanoseconds
+     */
+    public void recordConnectionAcquire(String poolName, long nanos) {
+        connectionAcquireTimers.computeIfAbsent(poolName, pool -> Timer.builder("payment.db.pool.acquire.time")
+                        .description("Time taken to obtain a database connection from the pool")
+                        .tag("pool", pool)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a thread that gave up waiting for a connection.
+     *
+     * @param poolName the Hikari pool name
+     */
+    public void recordConnectionTimeout(String poolName) {
+        connectionTimeoutCounters.computeIfAbsent(poolName, pool -> Counter.builder("payment.errors.connection_timeout")
+                        .description("Number of requests that timed out waiting for a database connection")
+                        .tag("pool", pool)
+                        .register(meterRegistry))
+                .increment();
+        recordError(TimeSeriesWindow.ErrorType.CONNECTION_TIMEOUT);
+    }
+
+    /**
+     * Records a change of the maximum pool size by the adaptive controller.
+     *
+     * @param poolName the Hikari pool name
+     * @param direction "grow" or "shrink"
+     */
+    public void recordPoolResize(String poolName, String direction) {
+        Counter.builder("payment.db.pool.resizes")
+                .description("Number of maximum pool size adjustments")
+                .tag("pool", poolName)
+                .tag("direction", direction)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Registers gauges for the account filter.
+     *
+     * @param filter the filter
+     * @param memoryBytes the size of the filter's bit array in bytes
+     * @param expectedFalsePositiveRate the false-positive rate estimated from the filter's fill ratio
+     * @param <T> the filter type
+     */
+    public <T> void bindAccountFilter(T filter, ToDoubleFunction<T> memoryBytes,
+                                      ToDoubleFunction<T> expectedFalsePositiveRate) {
+        Gauge.builder("payment.account_filter.memory.bytes", filter, memoryBytes)
+                .description("Heap used by the account filter")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("payment.account_filter.false_positive_rate", filter, expectedFalsePositiveRate)
+                .description("Estimated probability that an unknown account passes the account filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a request for an unknown account rejected by the account filter.
+     */
+    public void recordAccountFilterRejection() {
+        accountFilterRejectionCounter.increment();
+    }
+
+    /**
+     * Records an unknown account that passed the account filter.
+     */
+    public void recordAccountFilterFalsePositive() {
+        accountFilterFalsePositiveCounter.increment();
+    }
+
+    /**
+     * Records a rebuild of the account filter.
+     */
+    public void recordAccountFilterRebuild() {
+        accountFilterRebuildCounter.increment();
+    }
+
+    /**
+     * Registers gauges for the transaction response cache.
+     *
+     * @param cache the cache
+     * @param bytes the total size of the cached bodies
+     * @param entries the number of cached responses
+     * @param <T> the cache type
+     */
+    public <T> void bindTransactionCache(T cache, ToDoubleFunction<T> bytes, ToDoubleFunction<T> entries) {
+        Gauge.builder("payment.transactions.cache.bytes", cache, bytes)
+                .description("Total size of the cached transaction responses")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("payment.transactions.cache.entries", cache, entries)
+                .description("Number of cached transaction responses")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a transaction lookup served from the response cache.
+     */
+    public void recordTransactionCacheHit() {
+        transactionCacheHitCounter.increment();
+    }
+
+    /**
+     * Records a transaction lookup that missed the response cache.
+     */
+    public void recordTransactionCacheMiss() {
+        transactionCacheMissCounter.increment();
+    }
+
+    /**
+     * Records a response evicted from the transaction response cache.
+     */
+    public void recordTransactionCacheEviction() {
+        transactionCacheEvictionCounter.increment();
+    }
+
+    /**
+     * Registers metrics for coalesced account reads.
+     *
+     * @param reads the coalescing state
+     * @param executed the number of reads that queried the database
+     * @param coalesced the number of reads that shared a query already in flight
+     * @param <T> the state type
+     */
+    public <T> void bindAccountReadCoalescing(T reads, ToDoubleFunction<T> executed, ToDoubleFunction<T> coalesced) {
+        FunctionCounter.builder("payment.accounts.reads.executed", reads, executed)
+                .description("Account reads that queried the database")
+                .register(meterRegistry);
+        FunctionCounter.builder("payment.accounts.reads.coalesced", reads, coalesced)
+                .description("Account reads that shared a query already in flight for the same account")
+                .register(meterRegistry);
+        Gauge.builder("payment.accounts.reads.coalescing_ratio", reads, state -> {
+                    double shared = coalesced.applyAsDouble(state);
+                    double total = shared + executed.applyAsDouble(state);
+                    return total > 0 ? shared / total : 0;
+                })
+                .description("Fraction of account reads served by another read's query since startup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers gauges for a concurrency limit bulkhead.
+     *
+     * @param bulkhead the bulkhead name
+     * @param limiter the limiter
+     * @param limit the current concurrency limit
+     * @param inFlight the number of requests currently admitted
+     * @param <T> the limiter type
+     */
+    public <T> void bindConcurrencyLimit(String bulkhead, T limiter, ToDoubleFunction<T> limit,
+                                         ToDoubleFunction<T> inFlight) {
+        Gauge.builder("payment.concurrency.limit", limiter, limit)
+                .description("Maximum number of concurrently admitted requests")
+                .tag("bulkhead", bulkhead)
+                .register(meterRegistry);
+        Gauge.builder("payment.concurrency.in_flight", limiter, inFlight)
+                .description("Requests currently admitted")
+                .tag("bulkhead", bulkhead)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a change of a concurrency limit by the adaptive limiter.
+     *
+     * @param bulkhead the bulkhead name
+     * @param direction "increase" or "decrease"
+     */
+    public void recordConcurrencyLimitChange(String bulkhead, String direction) {
+        Counter.builder("payment.concurrency.limit.changes")
+                .description("Number of concurrency limit adjustments")
+                .tag("bulkhead", bulkhead)
+                .tag("direction", direction)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Records a request rejected because its bulkhead was at its concurrency limit.
+     *
+     * @param bulkhead the bulkhead name
+     */
+    public void recordConcurrencyLimitRejection(String bulkhead) {
+        Counter.builder("payment.concurrency.rejections")
+                .description("Number of requests rejected with 503 because the concurrency limit was reached")
+                .tag("bulkhead", bulkhead)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Records a transfer rejected by a rate limit.
+     *
+     * @param scope the limit that was exceeded, "account" or "client"
+     */
+    public void recordRateLimited(String scope) {
+        Counter.builder("payment.errors.rate_limited")
+                .description("Number of transfers rejected with 429 by a rate limit")
+                .tag("scope", scope)
+                .register(meterRegistry)
+                .increment();
+        recordError(TimeSeriesWindow.ErrorType.RATE_LIMITED);
+    }
+
+    /**
+     * Registers a gauge for the number of keys tracked by a rate limit.
+     *
+     * @param scope the limit, "account" or "client"
+     * @param buckets the buckets of the limit
+     * @param size the number of tracked keys
+     * @param <T> the buckets type
+     */
+    public <T> void bindRateLimitKeys(String scope, T buckets, ToDoubleFunction<T> size) {
+        Gauge.builder("payment.rate_limit.tracked_keys", buckets, size)
+                .description("Accounts or clients currently tracked by the rate limiter")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers gauges for the outcome of the latest ledger reconciliation.
+     *
+     * @param reconciler the reconciler
+     * @param mismatches the number of mismatched accounts found by the latest run
+     * @param accountsChecked the number of accounts verified by the latest run
+     * @param <T> the reconciler type
+     */
+    public <T> void bindReconciliation(T reconciler, ToDoubleFunction<T> mismatches,
+                                       ToDoubleFunction<T> accountsChecked) {
+        Gauge.builder("payment.reconciliation.mismatches", reconciler, mismatches)
+                .description("Accounts whose balance did not match the ledger in the latest reconciliation")
+                .register(meterRegistry);
+        Gauge.builder("payment.reconciliation.accounts", reconciler, accountsChecked)
+                .description("Accounts verified by the latest reconciliation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a completed ledger reconciliation run.
+     *
+     * @param duration the duration of the run
+     * @param mismatches the number of mismatched accounts found
+     */
+    public void recordReconciliation(Duration duration, long mismatches) {
+        Timer.builder("payment.reconciliation.duration")
+                .description("Time taken by a ledger reconciliation run")
+                .register(meterRegistry)
+                .record(duration);
+        if (mismatches > 0) {
+            Counter.builder("payment.errors.ledger_mismatch")
+                    .description("Number of mismatched accounts found by ledger reconciliation runs")
+                    .register(meterRegistry)
+                    .increment(mismatches);
+        }
     }
-}
 
+    /**
+     * Records postings appended to the ledger.
+     *
+     * @param count the number of postings
+     */
+    public void recordPostings(int count) {
+        ledgerPostingCounter.increment(count);
+    }
+
+    /**
+     * Records a ledger balance read.
+     *
+     * @param cached whether the balance was served from memory
+     */
+    public void recordLedgerBalanceRead(boolean cached) {
+        (cached ? ledgerBalanceCacheReadCounter : ledgerBalanceDatabaseReadCounter).increment();
+    }
+
+    /**
+     * Registers a gauge for the number of ledger balances kept in memory.
+     *
+     * @param cache the balance cache
+     * @param entries the number of cached balances
+     * @param <T> the cache type
+     */
+    public <T> void bindLedgerBalanceCache(T cache, ToDoubleFunction<T> entries) {
+        Gauge.builder("payment.ledger.balance_cache.entries", cache, entries)
+                .description("Account balances currently cached by the ledger")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a completed ledger checkpoint.
+     *
+     * @param duration the duration of the checkpoint
+     * @param accounts the number of accounts whose postings were folded into their balance
+     */
+    public void recordLedgerCheckpoint(Duration duration, long accounts) {
+        Timer.builder("payment.ledger.checkpoint.duration")
+                .description("Time taken by a ledger checkpoint")
+                .register(meterRegistry)
+                .record(duration);
+        Counter.builder("payment.ledger.checkpoint.accounts")
+                .description("Number of accounts checkpointed")
+                .register(meterRegistry)
+                .increment(accounts);
+    }
+
+    /**
+     * Records a newly scheduled transfer.
+     */
+    public void recordTransferScheduled() {
+        Counter.builder("payment.scheduled_transfers.created")
+                .description("Number of transfers scheduled for a later time")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Registers gauges for scheduled transfers waiting to be executed.
+     *
+     * @param scheduler the transfer scheduler
+     * @param backlog the number of due transfers waiting for a worker
+     * @param queued the number of loaded transfers not yet due
+     * @param <T> the scheduler type
+     */
+    public <T> void bindScheduledTransfers(T scheduler, ToDoubleFunction<T> backlog, ToDoubleFunction<T> queued) {
+        Gauge.builder("payment.scheduled_transfers.backlog", scheduler, backlog)
+                .description("Due scheduled transfers waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("payment.scheduled_transfers.queued", scheduler, queued)
+                .description("Scheduled transfers loaded into the timing wheel and not yet due")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records how late a scheduled transfer started executing.
+     *
+     * @param lag the time between the requested execution time and the start of execution
+     */
+    public void recordScheduledTransferLag(Duration lag) {
+        Timer.builder("payment.scheduled_transfers.lag")
+                .description("Time between the requested execution time of a scheduled transfer and its execution")
+                .register(meterRegistry)
+                .record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    /**
+     * Records the outcome of a scheduled transfer execution.
+     *
+     * @param outcome completed, failed, deferred or duplicate
+     */
+    public void recordScheduledTransferExecution(String outcome) {
+        Counter.builder("payment.scheduled_transfers.executed")
+                .description("Number of scheduled transfer executions, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Records a change in the state of an authorization hold.
+     *
+     * @param outcome placed, captured or voided
+     */
+    public void recordHold(String outcome) {
+        Counter.builder("payment.holds")
+                .description("Number of authorization holds placed, captured and voided, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Records expired authorization holds released by the sweeper.
+     *
+     * @param holds the number of holds released
+     */
+    public void recordHoldsExpired(long holds) {
+        Counter.builder("payment.holds.expired")
+                .description("Number of expired authorization holds released by the sweeper")
+                .register(meterRegistry)
+                .increment(holds);
+    }
+
+    /**
+     * Records a statement generation run.
+     *
+     * @param duration the time taken by the run
+     * @param statements the number of statement files written
+     * @param bytes the number of compressed bytes written
+     */
+    public void recordStatementRun(Duration duration, long statements, long bytes) {
+        Timer.builder("payment.statements.run.duration")
+                .description("Time taken by statement generation runs")
+                .register(meterRegistry)
+                .record(duration);
+        Counter.builder("payment.statements.generated")
+                .description("Number of account statement files written")
+                .register(meterRegistry)
+                .increment(statements);
+        Counter.builder("payment.statements.bytes")
+                .description("Number of compressed statement bytes written")
+                .baseUnit("bytes")
+                .register(meterRegistry)
+                .increment(bytes);
+    }
+
+    /**
+     * Registers gauges for the size of the transaction archive.
+     *
+     * @param archive the transaction archive
+     * @param segments function returning the number of segment files
+     * @param transactions function returning the number of archived transactions
+     * @param <T> the archive type
+     */
+    public <T> void bindArchive(T archive, ToDoubleFunction<T> segments, ToDoubleFunction<T> transactions) {
+        Gauge.builder("payment.archive.segments", archive, segments)
+                .description("Number of transaction archive segment files")
+                .register(meterRegistry);
+        Gauge.builder("payment.archive.transactions", archive, transactions)
+                .description("Number of transactions held in the archive")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records an archive run.
+     *
+     * @param duration the time taken by the run
+     * @param transactions the number of transactions moved to the archive
+     * @param bytes the number of segment bytes written
+     */
+    public void recordArchiveRun(Duration duration, long transactions, long bytes) {
+        Timer.builder("payment.archive.run.duration")
+                .description("Time taken by archive runs")
+                .register(meterRegistry)
+                .record(duration);
+        Counter.builder("payment.archive.archived")
+                .description("Number of transactions moved to the archive")
+                .register(meterRegistry)
+                .increment(transactions);
+        Counter.builder("payment.archive.bytes")
+                .description("Number of archive segment bytes written")
+                .baseUnit("bytes")
+                .register(meterRegistry)
+                .increment(bytes);
+    }
+
+    /**
+     * Registers gauges for the size of the analytics store.
+     *
+     * @param store the analytics store
+     * @param transactions function returning the number of stored transactions
+     * @param memoryBytes function returning the heap allocated to the stored columns
+     * @param <T> the store type
+     */
+    public <T> void bindAnalytics(T store, ToDoubleFunction<T> transactions, ToDoubleFunction<T> memoryBytes) {
+        Gauge.builder("payment.analytics.transactions", store, transactions)
+                .description("Number of transactions held in the analytics store")
+                .register(meterRegistry);
+        Gauge.builder("payment.analytics.memory.bytes", store, memoryBytes)
+                .description("Heap allocated to the columns of the analytics store")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records an aggregate query answered by the analytics store.
+     *
+     * @param type time or account
+     * @param duration the time taken by the query
+     */
+    public void recordAnalyticsQuery(String type, Duration duration) {
+        Timer.builder("payment.analytics.query.duration")
+                .description("Time taken by analytics queries, by grouping")
+                .tag("type", type)
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    private static Counter ledgerBalanceReadCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("payment.ledger.balance_reads")
+                .description("Number of ledger balance reads, by where the balance came from")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,126 @@
+package com.mani.payment_transfer_system.service;
+
+import com.mani.payment_transfer_system.dto.ScheduledTransferRequest;
+import com.mani.payment_transfer_system.dto.ScheduledTransferResponse;
+import com.mani.payment_transfer_system.entity.ScheduledTransfer;
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InvalidAmountException;
+import com.mani.payment_transfer_system.exception.ScheduledTransferNotFoundException;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.repository.ScheduledTransferRepository;
+import com.mani.payment_transfer_system.scheduling.TransferScheduler;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Service for scheduling transfers to be executed at a later time.
+ * Scheduled transfers are persisted on the source account's shard and executed by the {@link TransferScheduler}.
+ */
+@Service
+@ConditionalOnProperty(prefix = "payment.scheduled-transfers", name = "enabled", havingValue = "true")
+public class ScheduledTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledTransferService.class);
+    private final ScheduledTransferRepository scheduledTransferRepository;
+    private final AccountRepository accountRepository;
+    private final TransferScheduler scheduler;
+    private final ShardRouter shardRouter;
+    private final MetricsService metricsService;
+
+    /**
+     * Constructs a new ScheduledTransferService.
+     *
+     * @param scheduledTransferRepository the scheduled transfer repository
+     * @param accountRepository the account repository for checking that both accounts exist
+     * @param scheduler the scheduler executing transfers when they are due
+     * @param shardRouter the router selecting the shard that owns an account
+     * @param metricsService the metrics service for recording metrics
+     */
+    public ScheduledTransferService(ScheduledTransferRepository scheduledTransferRepository,
+                                    AccountRepository accountRepository, TransferScheduler scheduler,
+                                    ShardRouter shardRouter, MetricsService metricsService) {
+        this.scheduledTransferRepository = scheduledTransferRepository;
+        this.accountRepository = accountRepository;
+        this.scheduler = scheduler;
+        this.shardRouter = shardRouter;
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Schedules a transfer. A transfer due in the past is executed right away.
+     * The balance is only checked at execution time; a transfer the source account cannot cover then is marked failed.
+     *
+     * @param request the scheduled transfer request
+     * @return the pending scheduled transfer
+     * @throws AccountNotFoundException if source or destination account is not found
+     * @throws InvalidAmountException if the amount is invalid, the accounts are the same
+     *         or the accounts are on different shards
+     */
+    public ScheduledTransferResponse schedule(ScheduledTransferRequest request) {
+        logger.debug("Scheduling transfer: source={}, destination={}, amount={}, executeAt={}",
+                request.getSourceAccountId(), request.getDestinationAccountId(), request.getAmount(),
+                request.getExecuteAt());
+        validateRequest(request);
+        rejectUnknownAccount(request.getSourceAccountId());
+        rejectUnknownAccount(request.getDestinationAccountId());
+
+        ScheduledTransfer transfer = shardRouter.callForAccount(request.getSourceAccountId(),
+                () -> scheduledTransferRepository.save(new ScheduledTransfer(request.getSourceAccountId(),
+                        request.getDestinationAccountId(), request.getAmount(), request.getExecuteAt())));
+        metricsService.recordTransferScheduled();
+        scheduler.offer(transfer);
+        return ScheduledTransferResponse.from(transfer);
+    }
+
+    /**
+     * Retrieves a scheduled transfer by its unique identifier.
+     *
+     * @param id the scheduled transfer ID
+     * @return the scheduled transfer with its current state
+     * @throws ScheduledTransferNotFoundException if the scheduled transfer is not found
+     */
+    public ScheduledTransferResponse getScheduledTransfer(UUID id) {
+        return shardRouter.readAcrossShards(() -> scheduledTransferRepository.findResponseById(id).stream().toList())
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> {
+                    logger.warn("Scheduled transfer not found: {}", id);
+                    metricsService.recordError();
+                    return new ScheduledTransferNotFoundException(id);
+                });
+    }
+
+    private void validateRequest(ScheduledTransferRequest request) {
+        if (request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            logger.warn("Invalid scheduled transfer amount: {}", request.getAmount());
+            metricsService.recordInvalidAmountError();
+            throw new InvalidAmountException("Transaction amount must be positive");
+        }
+        if (request.getSourceAccountId().equals(request.getDestinationAccountId())) {
+            logger.warn("Attempt to schedule a transfer to same account: {}", request.getSourceAccountId());
+            metricsService.recordInvalidAmountError();
+            throw new InvalidAmountException("Source and destination accounts must be different");
+        }
+        // Executed with its completion marker in one database transaction, which cannot span shards
+        if (shardRouter.isCrossShard(request.getSourceAccountId(), request.getDestinationAccountId())) {
+            logger.warn("Attempt to schedule a cross-shard transfer from {} to {}",
+                    request.getSourceAccountId(), request.getDestinationAccountId());
+            metricsService.recordInvalidAmountError();
+            throw new InvalidAmountException("Source and destination accounts must be on the same shard");
+        }
+    }
+
+    private void rejectUnknownAccount(Long accountId) {
+        if (!shardRouter.callForAccount(accountId, () -> accountRepository.existsByAccountId(accountId))) {
+            logger.warn("Account not found: {}", accountId);
+            metricsService.recordAccountNotFoundError();
+            throw new AccountNotFoundException(accountId);
+        }
+    }
+}
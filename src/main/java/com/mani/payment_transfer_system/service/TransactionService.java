@@ -1,98 +1,254 @@
 package com.mani.payment_transfer_system.service;
 
+import com.mani.payment_transfer_system.analytics.TransactionAnalyticsStore;
+import com.mani.payment_transfer_system.archive.TransactionArchive;
+import com.mani.payment_transfer_system.cache.CachedJson;
+import com.mani.payment_transfer_system.cache.TransactionResponseCache;
 import com.mani.payment_transfer_system.exception.AccountNotFoundException;
 import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
 import com.mani.payment_transfer_system.exception.InvalidAmountException;
 import com.mani.payment_transfer_system.exception.TransactionNotFoundException;
+import com.mani.payment_transfer_system.exception.TransactionRetryExhaustedException;
 import com.mani.payment_transfer_system.entity.Account;
 import com.mani.payment_transfer_system.entity.Transaction;
+import com.mani.payment_transfer_system.jfr.TransferEvent;
+import com.mani.payment_transfer_system.dto.SplitTransactionCreatedResponse;
+import com.mani.payment_transfer_system.dto.SplitTransactionRequest;
 import com.mani.payment_transfer_system.dto.TransactionRequest;
 import com.mani.payment_transfer_system.dto.TransactionResponse;
+import com.mani.payment_transfer_system.ledger.PostingLedger;
+import com.mani.payment_transfer_system.lookup.AccountExistenceFilter;
 import com.mani.payment_transfer_system.repository.AccountRepository;
 import com.mani.payment_transfer_system.repository.TransactionRepository;
+import com.mani.payment_transfer_system.service.execution.TransferExecutor;
+import com.mani.payment_transfer_system.service.retry.TransientFailureRetrier;
+import com.mani.payment_transfer_system.sharding.CrossShardTransferCoordinator;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
 import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 
 /**
  * Service layer for transaction-related operations.
- * Ensures data integrity through transaction management and pessimistic locking
- * to prevent race conditions and maintain ACID properties.
+ * Ensures data integrity through transaction management and a configurable
+ * transfer executor to prevent race conditions and maintain ACID properties.
  */
 @Service
 public class TransactionService {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionService.class);
+    private final TransferExecutor transferExecutor;
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
     private final MetricsService metricsService;
+    private final TransactionTemplate transferTransaction;
+    private final TransientFailureRetrier retrier;
+    private final ShardRouter shardRouter;
+    private final CrossShardTransferCoordinator crossShardTransferCoordinator;
+    private final AccountExistenceFilter accountFilter;
+    private final TransactionResponseCache transactionCache;
+    private final PostingLedger postingLedger;
+    private final TransactionArchive transactionArchive;
+    private final TransactionAnalyticsStore analyticsStore;
 
     /**
-     * Constructs a new TransactionService with the given repositories.
+     * Constructs a new TransactionService with the given executor and repository.
      *
-     * @param accountRepository the account repository for account operations
+     * @param transferExecutor the executor that applies and logs single transfers
+     * @param accountRepository the account repository for multi-leg locking
      * @param transactionRepository the transaction repository for transaction logging
      * @param metricsService the metrics service for recording metrics
+     * @param transactionManager the transaction manager used to run each transfer attempt
+     * @param retrier the retrier for deadlocks, serialization failures and lock timeouts
+     * @param shardRouter the router mapping accounts to shards
+     * @param crossShardTransferCoordinator the coordinator for transfers spanning two shards
+     * @param accountFilter the filter rejecting unknown account IDs without a database query
+     * @param transactionCache the cache of serialized transaction responses
+     * @param postingLedger the posting ledger, which applies split payments in the {@code POSTINGS} execution mode
+     * @param transactionArchive the archive of transactions moved out of the database
+     * @param analyticsStore the in-memory analytics store, fed with every committed transfer
      */
-    public TransactionService(AccountRepository accountRepository, TransactionRepository transactionRepository, MetricsService metricsService) {
+    public TransactionService(TransferExecutor transferExecutor, AccountRepository accountRepository,
+                              TransactionRepository transactionRepository, MetricsService metricsService,
+                              PlatformTransactionManager transactionManager, TransientFailureRetrier retrier,
+                              ShardRouter shardRouter, CrossShardTransferCoordinator crossShardTransferCoordinator,
+                              AccountExistenceFilter accountFilter, TransactionResponseCache transactionCache,
+                              PostingLedger postingLedger, TransactionArchive transactionArchive,
+                              TransactionAnalyticsStore analyticsStore) {
+        this.transferExecutor = transferExecutor;
         this.accountRepository = accountRepository;
         this.transactionRepository = transactionRepository;
         this.metricsService = metricsService;
+        this.transferTransaction = new TransactionTemplate(transactionManager);
+        this.transferTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.retrier = retrier;
+        this.shardRouter = shardRouter;
+        this.crossShardTransferCoordinator = crossShardTransferCoordinator;
+        this.accountFilter = accountFilter;
+        this.transactionCache = transactionCache;
+        this.postingLedger = postingLedger;
+        this.transactionArchive = transactionArchive;
+        this.analyticsStore = analyticsStore;
     }
 
     /**
      * Processes a transaction between two accounts.
-     * Uses pessimistic locking to prevent race conditions and ensures atomic updates.
-     * Locks accounts in sorted order by account ID to prevent deadlocks.
+     * Delegates the balance updates and the transaction log to the configured transfer executor
+     * within one database transaction, so the transfer is applied atomically.
+     * Attempts aborted by a deadlock, serialization failure or lock timeout are rolled back
+     * and re-run in a fresh transaction. Transfers between accounts on different shards are
+     * handed to the {@link CrossShardTransferCoordinator}. Accounts rejected by the account filter
+     * fail before a transaction is opened.
      *
      * @param request the transaction request
      * @return the unique transaction identifier generated by the database
      * @throws AccountNotFoundException if source or destination account is not found
      * @throws InsufficientBalanceException if source account has insufficient balance
      * @throws InvalidAmountException if the transaction amount is invalid
+     * @throws TransactionRetryExhaustedException if transient failures persisted past the retry budget
      */
-    @Transactional(isolation = Isolation.READ_COMMITTED)
     public Long processTransaction(TransactionRequest request) {
+        return processTransaction(request, null);
+    }
+
+    /**
+     * Processes a transaction between two accounts like {@link #processTransaction(TransactionRequest)},
+     * and calls back in the database transaction that applied it, before it commits.
+     * The callback may write to the source account's shard; an exception it throws rolls the
+     * transfer back and is rethrown. A retried attempt calls it again.
+     * Transfers between accounts on different shards are rejected, as they span several database transactions.
+     *
+     * @param request the transaction request
+     * @param onApplied called with the transaction ID once the transfer is applied; null for none
+     * @return the unique transaction identifier generated by the database
+     * @throws AccountNotFoundException if source or destination account is not found
+     * @throws InsufficientBalanceException if source account has insufficient balance
+     * @throws InvalidAmountException if the transaction amount is invalid, or a callback is given
+     *         and the accounts are on different shards
+     * @throws TransactionRetryExhaustedException if transient failures persisted past the retry budget
+     */
+    public Long processTransaction(TransactionRequest request, LongConsumer onApplied) {
+        TransferEvent event = new TransferEvent();
+        event.start();
+        Long transactionId = null;
+        String outcome = TransferEvent.COMPLETED;
         Timer.Sample timer = metricsService.startTransactionTimer();
         try {
             logger.debug("Processing transaction: source={}, destination={}, amount={}",
                     request.getSourceAccountId(), request.getDestinationAccountId(), request.getAmount());
 
             validateTransactionRequest(request);
-            
-            // Sort account IDs to ensure consistent lock ordering (prevents deadlocks)
-            Long sourceId = request.getSourceAccountId();
-            Long destId = request.getDestinationAccountId();
-            
-            // Always lock in ascending order by account ID to prevent deadlocks
-            Long firstAccountId = Math.min(sourceId, destId);
-            Long secondAccountId = Math.max(sourceId, destId);
-            
-            // Lock accounts in sorted order (ascending by account ID)
-            Account firstAccount = lockAndRetrieveAccount(firstAccountId,
-                    firstAccountId.equals(sourceId) ? "source" : "destination");
-            Account secondAccount = lockAndRetrieveAccount(secondAccountId,
-                    secondAccountId.equals(sourceId) ? "source" : "destination");
-            
-            // Map back to source/destination based on original request
-            Account sourceAccount = firstAccountId.equals(sourceId) ? firstAccount : secondAccount;
-            Account destinationAccount = firstAccountId.equals(sourceId) ? secondAccount : firstAccount;
-            
-            validateSufficientBalance(sourceAccount, request.getAmount());
-            executeTransfer(sourceAccount, destinationAccount, request.getAmount());
-            Long transactionId = logTransaction(request);
+            rejectUnknownAccount(request.getSourceAccountId());
+            rejectUnknownAccount(request.getDestinationAccountId());
+            boolean crossShard = shardRouter.isCrossShard(request.getSourceAccountId(),
+                    request.getDestinationAccountId());
+            event.executionStarted(crossShard);
+            try {
+                if (crossShard) {
+                    if (onApplied != null) {
+                        logger.warn("Callback requested for a cross-shard transfer");
+                        metricsService.recordInvalidAmountError();
+                        throw new InvalidAmountException("Source and destination accounts must be on the same shard");
+                    }
+                    transactionId = crossShardTransferCoordinator.transfer(request);
+                } else {
+                    transactionId = shardRouter.callForAccount(request.getSourceAccountId(),
+                            () -> retrier.execute(() -> transferTransaction.execute(status -> {
+                                Long appliedId = transferExecutor.transfer(request.getSourceAccountId(),
+                                        request.getDestinationAccountId(), request.getAmount());
+                                if (onApplied != null) {
+                                    onApplied.accept(appliedId);
+                                }
+                                return appliedId;
+                            })));
+                }
+            } catch (AccountNotFoundException e) {
+                accountFilter.recordFalsePositive();
+                throw e;
+            }
             
             // Record successful transaction metrics
             metricsService.recordTransaction(request.getAmount());
+            analyticsStore.record(transactionId, request.getSourceAccountId(), request.getDestinationAccountId(),
+                    request.getAmount());
+            transactionCache.populate(List.of(transactionId), this::findTransaction);
             
             return transactionId;
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            metricsService.stopTransactionTimer(timer);
+            event.complete(request.getSourceAccountId(), request.getDestinationAccountId(), request.getAmount(),
+                    transactionId, outcome);
+        }
+    }
+
+    /**
+     * Processes a multi-leg (split) payment atomically.
+     * All involved accounts are locked with a single query in ascending account ID order,
+     * so every account is locked exactly once however many legs it appears in.
+     * Each account must cover its net outflow across all legs. The legs are persisted
+     * with one batched insert and share a newly generated parent payment ID.
+     * With sharding enabled, all involved accounts must live on the same shard.
+     * In the {@code POSTINGS} execution mode, the legs are appended to the posting ledger instead.
+     *
+     * @param request the split transaction request
+     * @return the parent payment ID and the transaction ID of every leg
+     * @throws AccountNotFoundException if any involved account is not found
+     * @throws InsufficientBalanceException if any account cannot cover its net outflow
+     * @throws InvalidAmountException if any leg is invalid or the legs span several shards
+     * @throws TransactionRetryExhaustedException if transient failures persisted past the retry budget
+     */
+    public SplitTransactionCreatedResponse processSplitTransaction(SplitTransactionRequest request) {
+        Timer.Sample timer = metricsService.startTransactionTimer();
+        try {
+            List<TransactionRequest> legs = request.getLegs();
+            logger.debug("Processing split transaction with {} legs", legs.size());
+
+            legs.forEach(this::validateTransactionRequest);
+            for (TransactionRequest leg : legs) {
+                rejectUnknownAccount(leg.getSourceAccountId());
+                rejectUnknownAccount(leg.getDestinationAccountId());
+            }
+            String shard = resolveSplitShard(legs);
+            UUID paymentId = UUID.randomUUID();
+            List<Long> transactionIds = shardRouter.callInShard(shard,
+                    () -> retrier.execute(() -> transferTransaction.execute(status -> {
+                        if (postingLedger.isEnabled()) {
+                            return postingLedger.transferSplit(paymentId, legs);
+                        }
+                        executeSplitTransfer(legs);
+                        return logSplitTransaction(paymentId, legs);
+                    })));
+
+            legs.forEach(leg -> metricsService.recordTransaction(leg.getAmount()));
+            metricsService.recordSplitTransaction();
+            for (int i = 0; i < legs.size(); i++) {
+                TransactionRequest leg = legs.get(i);
+                analyticsStore.record(transactionIds.get(i), leg.getSourceAccountId(), leg.getDestinationAccountId(),
+                        leg.getAmount());
+            }
+            transactionCache.populate(transactionIds, this::findTransaction);
+
+            return new SplitTransactionCreatedResponse(paymentId, transactionIds,
+                    "Split transaction processed successfully");
         } finally {
             metricsService.stopTransactionTimer(timer);
         }
@@ -119,85 +275,101 @@ public class TransactionService {
     }
 
     /**
-     * Locks and retrieves an account with pessimistic write lock.
+     * Rejects an account that the account filter knows does not exist.
      *
-     * @param accountId the account ID to retrieve
-     * @param accountType the type of account (source/destination) for logging
-     * @return the locked account
-     * @throws AccountNotFoundException if account is not found
+     * @param accountId the account ID
+     * @throws AccountNotFoundException if the account definitely does not exist
      */
-    private Account lockAndRetrieveAccount(Long accountId, String accountType) {
-        logger.debug("Locking {} account: {}", accountType, accountId);
-        return accountRepository.findByAccountIdWithLock(accountId)
-                .orElseThrow(() -> {
-                    logger.warn("{} account not found: {}", accountType, accountId);
-                    metricsService.recordAccountNotFoundError();
-                    return new AccountNotFoundException(accountId);
-                });
+    private void rejectUnknownAccount(Long accountId) {
+        if (!accountFilter.mightExist(accountId)) {
+            logger.warn("Account not found: {}", accountId);
+            metricsService.recordAccountNotFoundError();
+            throw new AccountNotFoundException(accountId);
+        }
     }
 
     /**
-     * Validates that the source account has sufficient balance.
+     * Returns the shard holding every account of a split transaction.
      *
-     * @param sourceAccount the source account
-     * @param amount the transaction amount
-     * @throws InsufficientBalanceException if balance is insufficient
+     * @param legs the validated legs
+     * @return the shard name
+     * @throws InvalidAmountException if the accounts live on different shards
      */
-    private void validateSufficientBalance(Account sourceAccount, BigDecimal amount) {
-        if (sourceAccount.getBalance().compareTo(amount) < 0) {
-            logger.warn("Insufficient balance in account {}: current={}, requested={}",
-                    sourceAccount.getAccountId(), sourceAccount.getBalance(), amount);
-            metricsService.recordInsufficientBalanceError();
-            throw new InsufficientBalanceException(
-                    sourceAccount.getAccountId(),
-                    sourceAccount.getBalance(),
-                    amount
-            );
+    private String resolveSplitShard(List<TransactionRequest> legs) {
+        String shard = shardRouter.shardFor(legs.get(0).getSourceAccountId());
+        for (TransactionRequest leg : legs) {
+            if (!shard.equals(shardRouter.shardFor(leg.getSourceAccountId()))
+                    || !shard.equals(shardRouter.shardFor(leg.getDestinationAccountId()))) {
+                logger.warn("Split transaction spans several shards");
+                metricsService.recordInvalidAmountError();
+                throw new InvalidAmountException("All accounts of a split transaction must be on the same shard");
+            }
         }
+        return shard;
     }
 
     /**
-     * Executes the transfer between two accounts atomically.
+     * Locks every account involved in the legs and applies their net balance changes.
      *
-     * @param sourceAccount the source account
-     * @param destinationAccount the destination account
-     * @param amount the amount to transfer
+     * @param legs the validated legs
+     * @throws AccountNotFoundException if any involved account is not found
+     * @throws InsufficientBalanceException if any account cannot cover its net outflow
      */
-    private void executeTransfer(Account sourceAccount, Account destinationAccount, BigDecimal amount) {
-        logger.debug("Executing transfer: source balance={}, destination balance={}, amount={}",
-                sourceAccount.getBalance(), destinationAccount.getBalance(), amount);
-
-        BigDecimal newSourceBalance = sourceAccount.getBalance().subtract(amount);
-        BigDecimal newDestinationBalance = destinationAccount.getBalance().add(amount);
+    private void executeSplitTransfer(List<TransactionRequest> legs) {
+        Map<Long, BigDecimal> netChanges = new TreeMap<>();
+        for (TransactionRequest leg : legs) {
+            netChanges.merge(leg.getSourceAccountId(), leg.getAmount().negate(), BigDecimal::add);
+            netChanges.merge(leg.getDestinationAccountId(), leg.getAmount(), BigDecimal::add);
+        }
 
-        sourceAccount.setBalance(newSourceBalance);
-        destinationAccount.setBalance(newDestinationBalance);
+        logger.debug("Locking {} accounts for split transaction", netChanges.size());
+        Map<Long, Account> accounts = accountRepository.findAllByAccountIdInWithLock(netChanges.keySet()).stream()
+                .collect(Collectors.toMap(Account::getAccountId, Function.identity()));
 
-        accountRepository.saveAll(List.of(sourceAccount, destinationAccount));
-        logger.debug("Account balances updated: source={}, destination={}",
-                newSourceBalance, newDestinationBalance);
+        List<Account> changedAccounts = new ArrayList<>(netChanges.size());
+        for (Map.Entry<Long, BigDecimal> netChange : netChanges.entrySet()) {
+            Account account = accounts.get(netChange.getKey());
+            if (account == null) {
+                logger.warn("Account not found in split transaction: {}", netChange.getKey());
+                metricsService.recordAccountNotFoundError();
+                throw new AccountNotFoundException(netChange.getKey());
+            }
+            if (account.getAvailableBalance().add(netChange.getValue()).signum() < 0) {
+                logger.warn("Insufficient balance in account {}: available={}, net requested={}",
+                        account.getAccountId(), account.getAvailableBalance(), netChange.getValue().negate());
+                metricsService.recordInsufficientBalanceError();
+                throw new InsufficientBalanceException(
+                        account.getAccountId(), account.getAvailableBalance(), netChange.getValue().negate());
+            }
+            if (netChange.getValue().signum() != 0) {
+                account.setBalance(account.getBalance().add(netChange.getValue()));
+                changedAccounts.add(account);
+            }
+        }
+        accountRepository.saveAll(changedAccounts);
     }
 
     /**
-     * Logs the transaction to the database.
+     * Logs every leg of a split transaction with one batched insert.
      *
-     * @param request the transaction request
-     * @return the unique transaction identifier generated by the database
+     * @param paymentId the parent payment identifier
+     * @param legs the legs in request order
+     * @return the generated transaction identifiers in request order
      */
-    private Long logTransaction(TransactionRequest request) {
-        Transaction transaction = new Transaction(
-                request.getSourceAccountId(),
-                request.getDestinationAccountId(),
-                request.getAmount()
-        );
-        transactionRepository.save(transaction);
-        Long transactionId = transaction.getId();
-        logger.debug("Transaction logged successfully with ID: {}", transactionId);
-        return transactionId;
+    private List<Long> logSplitTransaction(UUID paymentId, List<TransactionRequest> legs) {
+        List<Transaction> transactions = legs.stream()
+                .map(leg -> new Transaction(leg.getSourceAccountId(), leg.getDestinationAccountId(),
+                        leg.getAmount(), paymentId))
+                .collect(Collectors.toList());
+        List<Long> transactionIds = transactionRepository.insertAll(transactions);
+        logger.debug("Split transaction {} logged with {} legs", paymentId, transactionIds.size());
+        return transactionIds;
     }
 
     /**
      * Retrieves a transaction by its unique identifier.
+     * With sharding enabled, every shard is searched. Transactions moved to the archive are
+     * looked up there if they are not in the database.
      *
      * @param transactionId the unique transaction identifier
      * @return TransactionResponse containing transaction details including ID, source account,
@@ -207,26 +379,54 @@ public class TransactionService {
     @Transactional(readOnly = true)
     public TransactionResponse getTransactionById(Long transactionId) {
         logger.debug("Retrieving transaction with ID: {}", transactionId);
-        Transaction transaction = transactionRepository.findById(transactionId)
-                .orElseThrow(() -> {
-                    logger.warn("Transaction not found with ID: {}", transactionId);
-                    metricsService.recordError();
-                    return new TransactionNotFoundException(transactionId);
-                });
+        TransactionResponse response = findTransaction(transactionId);
+        if (response == null) {
+            logger.warn("Transaction not found with ID: {}", transactionId);
+            metricsService.recordError();
+            throw new TransactionNotFoundException(transactionId);
+        }
 
         metricsService.recordTransactionQuery();
         logger.debug("Transaction retrieved successfully with ID: {}", transactionId);
-        return new TransactionResponse(
-                transaction.getId(),
-                transaction.getSourceAccountId(),
-                transaction.getDestinationAccountId(),
-                transaction.getAmount(),
-                transaction.getTimestamp()
-        );
+        return response;
+    }
+
+    /**
+     * Retrieves a transaction as the encoded JSON response body.
+     * Transactions are immutable, so a cached body is served without a database query.
+     *
+     * @param transactionId the unique transaction identifier
+     * @return the JSON body and its entity tag
+     * @throws TransactionNotFoundException if the transaction is not found
+     */
+    public CachedJson getTransactionJson(Long transactionId) {
+        CachedJson cached = transactionCache.get(transactionId);
+        if (cached != null) {
+            metricsService.recordTransactionQuery();
+            return cached;
+        }
+        return transactionCache.put(transactionId, getTransactionById(transactionId));
+    }
+
+    /**
+     * Looks up a transaction on every shard, then in the archive.
+     *
+     * @param transactionId the unique transaction identifier
+     * @return the transaction, or null if it does not exist
+     */
+    private TransactionResponse findTransaction(Long transactionId) {
+        return shardRouter.readAcrossShards(
+                        () -> transactionRepository.findResponseById(transactionId).stream().toList())
+                .stream()
+                .findFirst()
+                .orElseGet(() -> transactionArchive.find(transactionId));
     }
 
     /**
      * Retrieves all transactions from the system.
+     * With sharding enabled, the transactions of all shards are concatenated in shard order.
+     * Archived transactions come first, followed by those still in the database; a transaction
+     * archived while it was being read is listed once.
      *
      * @return list of all transactions with their details including ID, source account,
      *         destination account, amount, and timestamp
@@ -234,20 +434,20 @@ public class TransactionService {
     @Transactional(readOnly = true)
     public List<TransactionResponse> getAllTransactions() {
         logger.debug("Retrieving all transactions");
-        List<Transaction> transactions = transactionRepository.findAll();
-        logger.debug("Retrieved {} transactions", transactions.size());
+        List<TransactionResponse> transactions = shardRouter.readAcrossShards(transactionRepository::findAllResponses);
+        List<TransactionResponse> responses = transactionArchive.findAll();
+        logger.debug("Retrieved {} transactions and {} archived transactions", transactions.size(), responses.size());
         
         metricsService.recordTransactionQuery();
         
-        return transactions.stream()
-                .map(transaction -> new TransactionResponse(
-                        transaction.getId(),
-                        transaction.getSourceAccountId(),
-                        transaction.getDestinationAccountId(),
-                        transaction.getAmount(),
-                        transaction.getTimestamp()
-                ))
-                .collect(Collectors.toList());
+        // An archive run between the two reads may have archived rows that were still read from the database
+        Set<Long> archivedIds = responses.stream().map(TransactionResponse::getId).collect(Collectors.toSet());
+        for (TransactionResponse transaction : transactions) {
+            if (!archivedIds.contains(transaction.getId())) {
+                responses.add(transaction);
+            }
+        }
+        return responses;
     }
 }
 
@@ -0,0 +1,70 @@
+package com.mani.payment_transfer_system.service.concurrency;
+
+import com.mani.payment_transfer_system.entity.Account;
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+
+/**
+ * Applies each balance change as a single guarded UPDATE and checks the affected row count,
+ * without reading or locking accounts up front.
+ * Updates are applied in ascending account ID order so their row locks cannot deadlock.
+ * Accounts are only read when an update matched no row, to report the cause.
+ */
+public class ConditionalUpdateStrategy implements TransferConcurrencyStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConditionalUpdateStrategy.class);
+    private final AccountRepository accountRepository;
+    private final MetricsService metricsService;
+
+    /**
+     * Constructs a new ConditionalUpdateStrategy.
+     *
+     * @param accountRepository the account repository used for conditional updates
+     * @param metricsService the metrics service for recording errors
+     */
+    public ConditionalUpdateStrategy(AccountRepository accountRepository, MetricsService metricsService) {
+        this.accountRepository = accountRepository;
+        this.metricsService = metricsService;
+    }
+
+    @Override
+    public void transfer(Long sourceId, Long destId, BigDecimal amount) {
+        if (sourceId < destId) {
+            debit(sourceId, amount);
+            credit(destId, amount);
+        } else {
+            credit(destId, amount);
+            debit(sourceId, amount);
+        }
+    }
+
+    private void debit(Long accountId, BigDecimal amount) {
+        if (accountRepository.debitIfSufficientBalance(accountId, amount) == 1) {
+            return;
+        }
+        Account account = accountRepository.findByAccountId(accountId)
+                .orElseThrow(() -> accountNotFound(accountId, "source"));
+        logger.warn("Insufficient balance in account {}: available={}, requested={}",
+                accountId, account.getAvailableBalance(), amount);
+        metricsService.recordInsufficientBalanceError();
+        throw new InsufficientBalanceException(accountId, account.getAvailableBalance(), amount);
+    }
+
+    private void credit(Long accountId, BigDecimal amount) {
+        if (accountRepository.credit(accountId, amount) == 0) {
+            throw accountNotFound(accountId, "destination");
+        }
+    }
+
+    private AccountNotFoundException accountNotFound(Long accountId, String accountType) {
+        logger.warn("{} account not found: {}", accountType, accountId);
+        metricsService.recordAccountNotFoundError();
+        return new AccountNotFoundException(accountId);
+    }
+}
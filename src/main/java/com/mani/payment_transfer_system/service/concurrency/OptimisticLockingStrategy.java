@@ -0,0 +1,128 @@
+package com.mani.payment_transfer_system.service.concurrency;
+
+import com.mani.payment_transfer_system.config.TransferProperties;
+import com.mani.payment_transfer_system.entity.Account;
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.exception.TransactionRetryExhaustedException;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.service.retry.JitteredBackoff;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+/**
+ * Reads accounts without locking and writes them back with a version-checked update.
+ * A version conflict re-reads the account and retries with jittered exponential backoff,
+ * up to a bounded number of attempts; when they run out the transfer fails with
+ * {@link TransactionRetryExhaustedException}, which clients see as 503 with Retry-After.
+ * Updates are applied in ascending account ID order so the row locks taken by the
+ * updates themselves cannot deadlock.
+ */
+public class OptimisticLockingStrategy implements TransferConcurrencyStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticLockingStrategy.class);
+    private final AccountRepository accountRepository;
+    private final MetricsService metricsService;
+    private final TransferProperties.Optimistic settings;
+
+    /**
+     * Constructs a new OptimisticLockingStrategy.
+     *
+     * @param accountRepository the account repository used for reads and versioned updates
+     * @param metricsService the metrics service for recording retries and errors
+     * @param settings the retry settings
+     */
+    public OptimisticLockingStrategy(AccountRepository accountRepository, MetricsService metricsService,
+                                     TransferProperties.Optimistic settings) {
+        this.accountRepository = accountRepository;
+        this.metricsService = metricsService;
+        this.settings = settings;
+    }
+
+    @Override
+    public void transfer(Long sourceId, Long destId, BigDecimal amount) {
+        if (sourceId < destId) {
+            debit(sourceId, amount);
+            credit(destId, amount);
+        } else {
+            credit(destId, amount);
+            debit(sourceId, amount);
+        }
+    }
+
+    private void debit(Long accountId, BigDecimal amount) {
+        updateWithRetry(accountId, "source", account -> {
+            validateSufficientBalance(account, amount);
+            return account.getBalance().subtract(amount);
+        });
+    }
+
+    private void credit(Long accountId, BigDecimal amount) {
+        updateWithRetry(accountId, "destination", account -> account.getBalance().add(amount));
+    }
+
+    /**
+     * Reads the account, computes its new balance and writes it back if the version is unchanged.
+     *
+     * @param accountId the account ID
+     * @param accountType the type of account (source/destination) for logging
+     * @param newBalance computes the new balance from the current snapshot
+     * @throws TransactionRetryExhaustedException if every attempt hit a version conflict
+     */
+    private void updateWithRetry(Long accountId, String accountType, Function<Account, BigDecimal> newBalance) {
+        for (int attempt = 1; ; attempt++) {
+            Account account = retrieveAccount(accountId, accountType);
+            BigDecimal balance = newBalance.apply(account);
+            if (accountRepository.updateBalanceIfVersionMatches(accountId, balance, account.getVersion()) == 1) {
+                return;
+            }
+            if (attempt >= settings.getMaxAttempts()) {
+                logger.warn("Giving up on {} account {} after {} version conflicts", accountType, accountId, attempt);
+                throw exhausted(accountId, attempt, null);
+            }
+            logger.debug("Version conflict on {} account {} (attempt {}), retrying", accountType, accountId, attempt);
+            metricsService.recordOptimisticLockRetry();
+            backoff(accountId, attempt);
+        }
+    }
+
+    private void backoff(Long accountId, int attempt) {
+        try {
+            JitteredBackoff.sleep(JitteredBackoff.delayNanos(
+                    settings.getInitialBackoff(), settings.getMaxBackoff(), attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw exhausted(accountId, attempt, e);
+        }
+    }
+
+    private TransactionRetryExhaustedException exhausted(Long accountId, int attempt, InterruptedException interrupted) {
+        metricsService.recordOptimisticLockFailure();
+        return new TransactionRetryExhaustedException(attempt, new OptimisticLockingFailureException(
+                "Account " + accountId + " was concurrently modified " + attempt + " times", interrupted));
+    }
+
+    private Account retrieveAccount(Long accountId, String accountType) {
+        return accountRepository.findByAccountId(accountId)
+                .orElseThrow(() -> {
+                    logger.warn("{} account not found: {}", accountType, accountId);
+                    metricsService.recordAccountNotFoundError();
+                    return new AccountNotFoundException(accountId);
+                });
+    }
+
+    private void validateSufficientBalance(Account sourceAccount, BigDecimal amount) {
+        if (sourceAccount.getAvailableBalance().compareTo(amount) < 0) {
+            logger.warn("Insufficient balance in account {}: available={}, requested={}",
+                    sourceAccount.getAccountId(), sourceAccount.getAvailableBalance(), amount);
+            metricsService.recordInsufficientBalanceError();
+            throw new InsufficientBalanceException(sourceAccount.getAccountId(), sourceAccount.getAvailableBalance(),
+                    amount);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.mani.payment_transfer_system.service.concurrency;
+
+import com.mani.payment_transfer_system.entity.Account;
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.jfr.AccountLockEvent;
+import com.mani.payment_transfer_system.jfr.BalanceUpdateEvent;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Locks both accounts with {@code SELECT ... FOR UPDATE} before changing balances.
+ * Locks are always taken in ascending account ID order to prevent deadlocks.
+ */
+public class PessimisticLockingStrategy implements TransferConcurrencyStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(PessimisticLockingStrategy.class);
+    private final AccountRepository accountRepository;
+    private final MetricsService metricsService;
+
+    /**
+     * Constructs a new PessimisticLockingStrategy.
+     *
+     * @param accountRepository the account repository used for locked reads and updates
+     * @param metricsService the metrics service for recording errors
+     */
+    public PessimisticLockingStrategy(AccountRepository accountRepository, MetricsService metricsService) {
+        this.accountRepository = accountRepository;
+        this.metricsService = metricsService;
+    }
+
+    @Override
+    public void transfer(Long sourceId, Long destId, BigDecimal amount) {
+        // Always lock in ascending order by account ID to prevent deadlocks
+        Long firstAccountId = Math.min(sourceId, destId);
+        Long secondAccountId = Math.max(sourceId, destId);
+
+        // Lock accounts in sorted order (ascending by account ID)
+        Account firstAccount = lockAndRetrieveAccount(firstAccountId,
+                firstAccountId.equals(sourceId) ? "source" : "destination");
+        Account secondAccount = lockAndRetrieveAccount(secondAccountId,
+                secondAccountId.equals(sourceId) ? "source" : "destination");
+
+        // Map back to source/destination based on original request
+        Account sourceAccount = firstAccountId.equals(sourceId) ? firstAccount : secondAccount;
+        Account destinationAccount = firstAccountId.equals(sourceId) ? secondAccount : firstAccount;
+
+        validateSufficientBalance(sourceAccount, amount);
+        executeTransfer(sourceAccount, destinationAccount, amount);
+    }
+
+    /**
+     * Locks and retrieves an account with pessimistic write lock.
+     *
+     * @param accountId the account ID to retrieve
+     * @param accountType the type of account (source/destination) for logging
+     * @return the locked account
+     * @throws AccountNotFoundException if account is not found
+     */
+    private Account lockAndRetrieveAccount(Long accountId, String accountType) {
+        logger.debug("Locking {} account: {}", accountType, accountId);
+        AccountLockEvent event = new AccountLockEvent();
+        event.begin();
+        Optional<Account> account = accountRepository.findByAccountIdWithLock(accountId);
+        event.complete(accountId, accountType, account.isPresent());
+        return account.orElseThrow(() -> {
+            logger.warn("{} account not found: {}", accountType, accountId);
+            metricsService.recordAccountNotFoundError();
+            return new AccountNotFoundException(accountId);
+        });
+    }
+
+    /**
+     * Validates that the source account has sufficient available balance, i.e. balance not reserved by holds.
+     *
+     * @param sourceAccount the source account
+     * @param amount the transaction amount
+     * @throws InsufficientBalanceException if the available balance is insufficient
+     */
+    private void validateSufficientBalance(Account sourceAccount, BigDecimal amount) {
+        if (sourceAccount.getAvailableBalance().compareTo(amount) < 0) {
+            logger.warn("Insufficient balance in account {}: available={}, requested={}",
+                    sourceAccount.getAccountId(), sourceAccount.getAvailableBalance(), amount);
+            metricsService.recordInsufficientBalanceError();
+            throw new InsufficientBalanceException(
+                    sourceAccount.getAccountId(),
+                    sourceAccount.getAvailableBalance(),
+                    amount
+            );
+        }
+    }
+
+    /**
+     * Executes the transfer between two locked accounts.
+     *
+     * @param sourceAccount the source account
+     * @param destinationAccount the destination account
+     * @param amount the amount to transfer
+     */
+    private void executeTransfer(Account sourceAccount, Account destinationAccount, BigDecimal amount) {
+        logger.debug("Executing transfer: source balance={}, destination balance={}, amount={}",
+                sourceAccount.getBalance(), destinationAccount.getBalance(), amount);
+
+        BigDecimal newSourceBalance = sourceAccount.getBalance().subtract(amount);
+        BigDecimal newDestinationBalance = destinationAccount.getBalance().add(amount);
+
+        sourceAccount.setBalance(newSourceBalance);
+        destinationAccount.setBalance(newDestinationBalance);
+
+        BalanceUpdateEvent event = new BalanceUpdateEvent();
+        event.begin();
+        accountRepository.saveAll(List.of(sourceAccount, destinationAccount));
+        event.complete(sourceAccount.getAccountId(), destinationAccount.getAccountId(), amount);
+        logger.debug("Account balances updated: source={}, destination={}",
+                newSourceBalance, newDestinationBalance);
+    }
+}
@@ -0,0 +1,24 @@
+package com.mani.payment_transfer_system.service.concurrency;
+
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+
+import java.math.BigDecimal;
+
+/**
+ * Moves funds between two accounts while keeping concurrent balance updates consistent.
+ * Implementations must run inside the caller's database transaction.
+ */
+public interface TransferConcurrencyStrategy {
+
+    /**
+     * Debits the source account and credits the destination account.
+     *
+     * @param sourceAccountId the account to debit
+     * @param destinationAccountId the account to credit
+     * @param amount the positive amount to move
+     * @throws AccountNotFoundException if either account does not exist
+     * @throws InsufficientBalanceException if the source account cannot cover the amount
+     */
+    void transfer(Long sourceAccountId, Long destinationAccountId, BigDecimal amount);
+}
@@ -0,0 +1,120 @@
+package com.mani.payment_transfer_system.service.execution;
+
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.jfr.BalanceUpdateEvent;
+import com.mani.payment_transfer_system.jfr.TransactionInsertEvent;
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Applies transfers with plain JDBC statements, bypassing the Hibernate persistence context:
+ * no entities are hydrated, snapshotted or dirty-checked. A transfer costs three round trips:
+ * <ol>
+ *   <li>lock both accounts in ascending ID order and read the source's available balance,</li>
+ *   <li>update both balances in one batch,</li>
+ *   <li>insert the transaction and return its ID.</li>
+ * </ol>
+ * The SQL strings are constants, so the driver reuses its server-side prepared statements.
+ */
+public class JdbcTransferExecutor implements TransferExecutor {
+
+    static final String LOCK_ACCOUNTS =
+            "SELECT account_id, balance - held_balance AS available_balance FROM accounts "
+                    + "WHERE account_id IN (?, ?) ORDER BY account_id FOR UPDATE";
+    static final String ADD_TO_BALANCE =
+            "UPDATE accounts SET balance = balance + ?, version = version + 1 WHERE account_id = ?";
+    static final String INSERT_TRANSACTION =
+            "INSERT INTO transactions (source_account_id, destination_account_id, amount, timestamp) "
+                    + "VALUES (?, ?, ?, ?) RETURNING id";
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcTransferExecutor.class);
+    private final JdbcTemplate jdbcTemplate;
+    private final MetricsService metricsService;
+
+    /**
+     * Constructs a new JdbcTransferExecutor.
+     *
+     * @param jdbcTemplate the JDBC template; participates in the caller's transaction
+     * @param metricsService the metrics service for recording errors
+     */
+    public JdbcTransferExecutor(JdbcTemplate jdbcTemplate, MetricsService metricsService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.metricsService = metricsService;
+    }
+
+    @Override
+    public Long transfer(Long sourceAccountId, Long destinationAccountId, BigDecimal amount) {
+        LockedAccounts locked = jdbcTemplate.query(LOCK_ACCOUNTS, lockedAccountsExtractor(sourceAccountId, destinationAccountId),
+                sourceAccountId, destinationAccountId);
+        if (locked == null || locked.sourceBalance() == null) {
+            throw accountNotFound(sourceAccountId, "Source");
+        }
+        if (!locked.destinationFound()) {
+            throw accountNotFound(destinationAccountId, "Destination");
+        }
+        if (locked.sourceBalance().compareTo(amount) < 0) {
+            logger.warn("Insufficient balance in account {}: available={}, requested={}",
+                    sourceAccountId, locked.sourceBalance(), amount);
+            metricsService.recordInsufficientBalanceError();
+            throw new InsufficientBalanceException(sourceAccountId, locked.sourceBalance(), amount);
+        }
+
+        BalanceUpdateEvent updateEvent = new BalanceUpdateEvent();
+        updateEvent.begin();
+        jdbcTemplate.batchUpdate(ADD_TO_BALANCE, List.of(
+                new Object[]{amount.negate(), sourceAccountId},
+                new Object[]{amount, destinationAccountId}));
+        updateEvent.complete(sourceAccountId, destinationAccountId, amount);
+
+        // Stored in UTC, like the timestamps Hibernate writes (hibernate.jdbc.time_zone=UTC)
+        TransactionInsertEvent insertEvent = new TransactionInsertEvent();
+        insertEvent.begin();
+        Long transactionId = jdbcTemplate.queryForObject(INSERT_TRANSACTION, Long.class,
+                sourceAccountId, destinationAccountId, amount, LocalDateTime.now(ZoneOffset.UTC));
+        insertEvent.complete(sourceAccountId, destinationAccountId, amount, transactionId);
+        logger.debug("Transaction logged successfully with ID: {}", transactionId);
+        return transactionId;
+    }
+
+    private static ResultSetExtractor<LockedAccounts> lockedAccountsExtractor(Long sourceAccountId,
+                                                                            Long destinationAccountId) {
+        return rs -> {
+            BigDecimal sourceBalance = null;
+            boolean destinationFound = false;
+            while (rs.next()) {
+                long accountId = rs.getLong("account_id");
+                if (accountId == sourceAccountId) {
+                    sourceBalance = rs.getBigDecimal("available_balance");
+                }
+                if (accountId == destinationAccountId) {
+                    destinationFound = true;
+                }
+            }
+            return new LockedAccounts(sourceBalance, destinationFound);
+        };
+    }
+
+    private AccountNotFoundException accountNotFound(Long accountId, String role) {
+        logger.warn("{} account not found: {}", role, accountId);
+        metricsService.recordAccountNotFoundError();
+        return new AccountNotFoundException(accountId);
+    }
+
+    /**
+     * The accounts found by the locking query.
+     *
+     * @param sourceBalance the source's available balance, or null if the source account does not exist
+     * @param destinationFound whether the destination account exists
+     */
+    record LockedAccounts(BigDecimal sourceBalance, boolean destinationFound) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.mani.payment_transfer_system.service.execution;
+
+import com.mani.payment_transfer_system.entity.Transaction;
+import com.mani.payment_transfer_system.jfr.TransactionInsertEvent;
+import com.mani.payment_transfer_system.repository.TransactionRepository;
+import com.mani.payment_transfer_system.service.concurrency.TransferConcurrencyStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+
+/**
+ * Applies transfers through JPA: the configured concurrency strategy updates the balances
+ * and the transaction is persisted as an entity.
+ */
+public class JpaTransferExecutor implements TransferExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(JpaTransferExecutor.class);
+    private final TransferConcurrencyStrategy concurrencyStrategy;
+    private final TransactionRepository transactionRepository;
+
+    /**
+     * Constructs a new JpaTransferExecutor.
+     *
+     * @param concurrencyStrategy the strategy that moves balances between accounts
+     * @param transactionRepository the transaction repository for transaction logging
+     */
+    public JpaTransferExecutor(TransferConcurrencyStrategy concurrencyStrategy,
+                               TransactionRepository transactionRepository) {
+        this.concurrencyStrategy = concurrencyStrategy;
+        this.transactionRepository = transactionRepository;
+    }
+
+    @Override
+    public Long transfer(Long sourceAccountId, Long destinationAccountId, BigDecimal amount) {
+        concurrencyStrategy.transfer(sourceAccountId, destinationAccountId, amount);
+
+        TransactionInsertEvent event = new TransactionInsertEvent();
+        event.begin();
+        Transaction transaction = new Transaction(sourceAccountId, destinationAccountId, amount);
+        transactionRepository.save(transaction);
+        Long transactionId = transaction.getId();
+        event.complete(sourceAccountId, destinationAccountId, amount, transactionId);
+        logger.debug("Transaction logged successfully with ID: {}", transactionId);
+        return transactionId;
+    }
+}
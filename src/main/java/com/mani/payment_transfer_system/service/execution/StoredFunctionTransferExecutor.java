@@ -0,0 +1,80 @@
+package com.mani.payment_transfer_system.service.execution;
+
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+/**
+ * Applies transfers with a single call to the {@code transfer_funds} PL/pgSQL function, which locks
+ * both accounts in ascending ID order, validates the available balance, updates both rows and logs the
+ * transaction on the server. This costs one database round trip instead of four or more.
+ * The function is installed by {@link TransferFunctionInstaller}.
+ */
+public class StoredFunctionTransferExecutor implements TransferExecutor {
+
+    static final String CALL_TRANSFER_FUNCTION =
+            "SELECT result_code, transaction_id, source_balance FROM transfer_funds(?, ?, ?)";
+
+    private static final Logger logger = LoggerFactory.getLogger(StoredFunctionTransferExecutor.class);
+    private final JdbcTemplate jdbcTemplate;
+    private final MetricsService metricsService;
+
+    /**
+     * Constructs a new StoredFunctionTransferExecutor.
+     *
+     * @param jdbcTemplate the JDBC template; participates in the caller's transaction
+     * @param metricsService the metrics service for recording errors
+     */
+    public StoredFunctionTransferExecutor(JdbcTemplate jdbcTemplate, MetricsService metricsService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.metricsService = metricsService;
+    }
+
+    @Override
+    public Long transfer(Long sourceAccountId, Long destinationAccountId, BigDecimal amount) {
+        FunctionResult result = jdbcTemplate.queryForObject(CALL_TRANSFER_FUNCTION,
+                (rs, rowNum) -> new FunctionResult(ResultCode.valueOf(rs.getString("result_code")),
+                        rs.getObject("transaction_id", Long.class), rs.getBigDecimal("source_balance")),
+                sourceAccountId, destinationAccountId, amount);
+
+        switch (result.code()) {
+            case OK -> {
+                logger.debug("Transaction logged successfully with ID: {}", result.transactionId());
+                return result.transactionId();
+            }
+            case SOURCE_NOT_FOUND -> throw accountNotFound(sourceAccountId, "Source");
+            case DESTINATION_NOT_FOUND -> throw accountNotFound(destinationAccountId, "Destination");
+            case INSUFFICIENT_BALANCE -> {
+                logger.warn("Insufficient balance in account {}: available={}, requested={}",
+                        sourceAccountId, result.sourceBalance(), amount);
+                metricsService.recordInsufficientBalanceError();
+                throw new InsufficientBalanceException(sourceAccountId, result.sourceBalance(), amount);
+            }
+            default -> throw new IllegalStateException("Unexpected transfer_funds result: " + result.code());
+        }
+    }
+
+    private AccountNotFoundException accountNotFound(Long accountId, String role) {
+        logger.warn("{} account not found: {}", role, accountId);
+        metricsService.recordAccountNotFoundError();
+        return new AccountNotFoundException(accountId);
+    }
+
+    /**
+     * Result codes returned by {@code transfer_funds}.
+     */
+    enum ResultCode {
+        OK,
+        SOURCE_NOT_FOUND,
+        DESTINATION_NOT_FOUND,
+        INSUFFICIENT_BALANCE
+    }
+
+    private record FunctionResult(ResultCode code, Long transactionId, BigDecimal sourceBalance) {
+    }
+}
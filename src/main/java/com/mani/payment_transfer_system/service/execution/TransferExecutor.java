@@ -0,0 +1,25 @@
+package com.mani.payment_transfer_system.service.execution;
+
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+
+import java.math.BigDecimal;
+
+/**
+ * Applies a single transfer and logs it in the transaction history.
+ * Implementations must run inside the caller's database transaction.
+ */
+public interface TransferExecutor {
+
+    /**
+     * Debits the source account, credits the destination account and logs the transaction.
+     *
+     * @param sourceAccountId the account to debit
+     * @param destinationAccountId the account to credit
+     * @param amount the positive amount to move
+     * @return the unique transaction identifier generated by the database
+     * @throws AccountNotFoundException if either account does not exist
+     * @throws InsufficientBalanceException if the source account cannot cover the amount
+     */
+    Long transfer(Long sourceAccountId, Long destinationAccountId, BigDecimal amount);
+}
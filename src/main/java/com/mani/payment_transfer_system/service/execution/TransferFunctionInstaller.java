@@ -0,0 +1,58 @@
+package com.mani.payment_transfer_system.service.execution;
+
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Installs the {@code transfer_funds} function on every shard at startup.
+ * The script uses {@code CREATE OR REPLACE}, so installing is idempotent and upgrades the
+ * function when the script changes. The script is executed as a single statement because
+ * the function body contains semicolons.
+ */
+public class TransferFunctionInstaller {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferFunctionInstaller.class);
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final Resource script;
+
+    /**
+     * Constructs a new TransferFunctionInstaller.
+     *
+     * @param jdbcTemplate the JDBC template
+     * @param shardRouter the router listing the shards to install on
+     * @param script the SQL script creating the function
+     */
+    public TransferFunctionInstaller(JdbcTemplate jdbcTemplate, ShardRouter shardRouter, Resource script) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.script = script;
+    }
+
+    /**
+     * Creates or replaces the function on every shard.
+     */
+    public void install() {
+        String sql;
+        try {
+            sql = StreamUtils.copyToString(script.getInputStream(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + script, e);
+        }
+        for (String shard : shardRouter.shardNames()) {
+            shardRouter.callInShard(shard, () -> {
+                jdbcTemplate.execute(sql);
+                return null;
+            });
+            logger.info("Installed transfer_funds function on shard {}", shard);
+        }
+    }
+}
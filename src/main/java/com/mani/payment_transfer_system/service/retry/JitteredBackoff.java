@@ -0,0 +1,43 @@
+package com.mani.payment_transfer_system.service.retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Capped exponential backoff with full jitter: the delay before retry {@code n} is drawn
+ * uniformly from {@code [0, min(max, initial * 2^(n-1))]}, which spreads competing
+ * retries apart instead of letting them collide again in lockstep.
+ */
+public final class JitteredBackoff {
+
+    private JitteredBackoff() {
+    }
+
+    /**
+     * Computes a randomized delay for the given attempt.
+     *
+     * @param initial the ceiling for the first retry
+     * @param max the upper bound for any single delay
+     * @param attempt the attempt that just failed, starting at 1
+     * @return the delay in nanoseconds
+     */
+    public static long delayNanos(Duration initial, Duration max, int attempt) {
+        long ceiling = Math.min(max.toNanos(), initial.toNanos() << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return 0;
+        }
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Sleeps for the given number of nanoseconds.
+     *
+     * @param nanos the delay
+     * @throws InterruptedException if the thread was interrupted while sleeping
+     */
+    public static void sleep(long nanos) throws InterruptedException {
+        if (nanos > 0) {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.mani.payment_transfer_system.service.retry;
+
+import com.mani.payment_transfer_system.config.TransferProperties;
+import com.mani.payment_transfer_system.exception.TransactionRetryExhaustedException;
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a transactional unit of work when PostgreSQL aborted it with a transient error.
+ * Only errors after which the server has definitely rolled the transaction back are retried,
+ * so a retried attempt can never duplicate writes (such as the transaction log insert) of a
+ * previous one. Work that joins an already active transaction is never retried, because the
+ * enclosing transaction is aborted as a whole.
+ */
+@Component
+public class TransientFailureRetrier {
+
+    /**
+     * SQLStates after which the transaction is rolled back and can be safely re-run:
+     * deadlock_detected, serialization_failure and lock_not_available.
+     */
+    static final Set<String> TRANSIENT_SQL_STATES = Set.of("40P01", "40001", "55P03");
+
+    private static final Logger logger = LoggerFactory.getLogger(TransientFailureRetrier.class);
+    private final TransferProperties.Retry settings;
+    private final MetricsService metricsService;
+
+    /**
+     * Constructs a new TransientFailureRetrier.
+     *
+     * @param properties the transfer properties holding the retry settings
+     * @param metricsService the metrics service for recording retries and give-ups
+     * @throws IllegalArgumentException if the lock timeout does not leave time for a retry within the deadline
+     */
+    public TransientFailureRetrier(TransferProperties properties, MetricsService metricsService) {
+        // Zero disables lock_timeout, so lock waits never fail with 55P03
+        if (!properties.getLockTimeout().isZero()
+                && properties.getLockTimeout().compareTo(properties.getRetry().getDeadline()) >= 0) {
+            throw new IllegalArgumentException("payment.transfer requires lock-timeout < retry.deadline, "
+                    + "or transfers that time out waiting for a lock are never retried");
+        }
+        this.settings = properties.getRetry();
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Executes the action, retrying transient failures with capped exponential backoff and
+     * jitter until the attempt limit or the total deadline is reached.
+     *
+     * @param action the unit of work; must open and complete its own transaction
+     * @param <T> the result type
+     * @return the result of the first successful attempt
+     * @throws TransactionRetryExhaustedException if every permitted attempt failed transiently
+     */
+    public <T> T execute(Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        long deadline = System.nanoTime() + settings.getDeadline().toNanos();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (RuntimeException e) {
+                String sqlState = transientSqlState(e);
+                if (sqlState == null) {
+                    throw e;
+                }
+                long delay = JitteredBackoff.delayNanos(settings.getInitialBackoff(), settings.getMaxBackoff(), attempt);
+                if (attempt >= settings.getMaxAttempts() || System.nanoTime() + delay >= deadline) {
+                    logger.warn("Giving up after {} attempt(s), last SQLState {}", attempt, sqlState);
+                    metricsService.recordTransientFailureGiveUp();
+                    throw new TransactionRetryExhaustedException(attempt, e);
+                }
+                logger.debug("Transient failure (SQLState {}) on attempt {}, retrying", sqlState, attempt);
+                metricsService.recordTransientFailureRetry();
+                sleep(delay, attempt, e);
+            }
+        }
+    }
+
+    private void sleep(long delay, int attempt, RuntimeException failure) {
+        try {
+            JitteredBackoff.sleep(delay);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            metricsService.recordTransientFailureGiveUp();
+            throw new TransactionRetryExhaustedException(attempt, failure);
+        }
+    }
+
+    /**
+     * Finds the SQLState of a transient failure anywhere in the cause chain.
+     *
+     * @param failure the failure to classify
+     * @return the transient SQLState, or null if the failure is not transient
+     */
+    static String transientSqlState(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && TRANSIENT_SQL_STATES.contains(sqlException.getSQLState())) {
+                return sqlException.getSQLState();
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,85 @@
+package com.mani.payment_transfer_system.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent-hash ring mapping account IDs to shard names.
+ * Every shard is placed on the ring at several virtual nodes; an account belongs to the
+ * first shard at or after its own hash, so adding or removing a shard only moves the
+ * accounts in the ranges next to that shard's nodes.
+ */
+public final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final List<String> shardNames;
+
+    /**
+     * Builds the ring.
+     *
+     * @param shardNames the distinct shard names
+     * @param virtualNodes the number of ring points per shard
+     * @throws IllegalArgumentException if no shard is given or two shards collide on the ring
+     */
+    public ConsistentHashRing(List<String> shardNames, int virtualNodes) {
+        if (shardNames.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Virtual nodes must be positive");
+        }
+        this.shardNames = List.copyOf(shardNames);
+        for (String shardName : this.shardNames) {
+            for (int node = 0; node < virtualNodes; node++) {
+                String previous = ring.put(hash(shardName + "#" + node), shardName);
+                if (previous != null) {
+                    throw new IllegalArgumentException(
+                            "Shards " + previous + " and " + shardName + " collide on the hash ring");
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the shard owning the account.
+     *
+     * @param accountId the account ID
+     * @return the shard name
+     */
+    public String shardFor(long accountId) {
+        Map.Entry<Long, String> owner = ring.ceilingEntry(mix(accountId));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * Returns the shard names in configuration order.
+     *
+     * @return the shard names
+     */
+    public List<String> shardNames() {
+        return shardNames;
+    }
+
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer; spreads sequential account IDs evenly over the ring.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
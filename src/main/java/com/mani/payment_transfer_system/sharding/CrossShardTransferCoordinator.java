@@ -0,0 +1,272 @@
+package com.mani.payment_transfer_system.sharding;
+
+import com.mani.payment_transfer_system.config.ShardingProperties;
+import com.mani.payment_transfer_system.dto.TransactionRequest;
+import com.mani.payment_transfer_system.entity.Account;
+import com.mani.payment_transfer_system.entity.ShardTransferReceipt;
+import com.mani.payment_transfer_system.entity.Transaction;
+import com.mani.payment_transfer_system.entity.TransferReservation;
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.exception.TransferAbortedException;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.repository.ShardTransferReceiptRepository;
+import com.mani.payment_transfer_system.repository.TransactionRepository;
+import com.mani.payment_transfer_system.repository.TransferReservationRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.service.retry.TransientFailureRetrier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Transfers money between accounts on different shards with a durable two-phase reservation.
+ * <ol>
+ *   <li>Reserve: on the source shard, debit the source and record a pending reservation.</li>
+ *   <li>Apply: on the destination shard, credit the destination, log the transaction and
+ *       record a receipt keyed by the reservation ID.</li>
+ *   <li>Confirm: on the source shard, mark the reservation committed.</li>
+ * </ol>
+ * Each step is a local transaction on one shard. The receipt's primary key guarantees that a
+ * reservation is applied at most once; a reservation whose destination step failed is refunded,
+ * and one left pending by a crash is resolved by {@link #recoverStaleReservations()}.
+ */
+@Component
+public class CrossShardTransferCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrossShardTransferCoordinator.class);
+    private final ShardRouter shardRouter;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransferReservationRepository reservationRepository;
+    private final ShardTransferReceiptRepository receiptRepository;
+    private final MetricsService metricsService;
+    private final TransientFailureRetrier retrier;
+    private final Duration recoveryAfter;
+
+    /**
+     * Constructs a new CrossShardTransferCoordinator.
+     *
+     * @param shardRouter the router mapping accounts to shards
+     * @param accountRepository the account repository
+     * @param transactionRepository the transaction repository for transaction logging
+     * @param reservationRepository the repository for reservations on source shards
+     * @param receiptRepository the repository for receipts on destination shards
+     * @param metricsService the metrics service for recording metrics
+     * @param retrier the retrier for deadlocks, serialization failures and lock timeouts
+     * @param properties the sharding properties
+     */
+    public CrossShardTransferCoordinator(ShardRouter shardRouter, AccountRepository accountRepository,
+                                         TransactionRepository transactionRepository,
+                                         TransferReservationRepository reservationRepository,
+                                         ShardTransferReceiptRepository receiptRepository,
+                                         MetricsService metricsService, TransientFailureRetrier retrier,
+                                         ShardingProperties properties) {
+        this.shardRouter = shardRouter;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.reservationRepository = reservationRepository;
+        this.receiptRepository = receiptRepository;
+        this.metricsService = metricsService;
+        this.retrier = retrier;
+        this.recoveryAfter = properties.getRecoveryAfter();
+    }
+
+    /**
+     * Transfers the amount from the source account to the destination account on another shard.
+     *
+     * @param request the validated transaction request
+     * @return the transaction identifier generated on the destination shard
+     * @throws AccountNotFoundException if source or destination account is not found
+     * @throws InsufficientBalanceException if source account has insufficient balance
+     * @throws TransferAbortedException if recovery aborted the reservation before it was applied
+     */
+    public Long transfer(TransactionRequest request) {
+        String sourceShard = shardRouter.shardFor(request.getSourceAccountId());
+        String destinationShard = shardRouter.shardFor(request.getDestinationAccountId());
+        logger.debug("Cross-shard transfer: source={} on {}, destination={} on {}",
+                request.getSourceAccountId(), sourceShard, request.getDestinationAccountId(), destinationShard);
+
+        // Fail fast before any funds are reserved
+        if (!retrier.execute(() -> shardRouter.inShardTransaction(destinationShard,
+                () -> accountRepository.existsByAccountId(request.getDestinationAccountId())))) {
+            logger.warn("Destination account not found: {}", request.getDestinationAccountId());
+            metricsService.recordAccountNotFoundError();
+            throw new AccountNotFoundException(request.getDestinationAccountId());
+        }
+
+        UUID reservationId = UUID.randomUUID();
+        retrier.execute(() -> shardRouter.inShardTransaction(sourceShard, () -> reserve(reservationId, request)));
+
+        Long transactionId;
+        try {
+            transactionId = retrier.execute(() -> shardRouter.inShardTransaction(destinationShard,
+                    () -> apply(reservationId, request.getSourceAccountId(), request.getDestinationAccountId(),
+                            request.getAmount())));
+        } catch (AccountNotFoundException | ReservationAbortedException e) {
+            release(sourceShard, reservationId);
+            if (e instanceof ReservationAbortedException) {
+                logger.warn("Reservation {} was aborted by recovery before it could be applied", reservationId);
+                metricsService.recordCrossShardAbort();
+                throw new TransferAbortedException(e);
+            }
+            throw e;
+        }
+        // Any other failure leaves the reservation pending; recovery confirms or refunds it
+
+        try {
+            retrier.execute(() -> shardRouter.inShardTransaction(sourceShard, () -> confirm(reservationId, transactionId)));
+        } catch (RuntimeException e) {
+            // The destination is credited, so the transfer has happened; recovery marks it committed later
+            logger.warn("Could not confirm reservation {}, leaving it to recovery", reservationId, e);
+        }
+        metricsService.recordCrossShardTransfer();
+        return transactionId;
+    }
+
+    /**
+     * Resolves reservations that stayed pending longer than {@code payment.sharding.recovery-after},
+     * e.g. because the coordinating instance crashed mid-transfer.
+     * A reservation whose destination has no receipt yet is aborted by recording an empty receipt,
+     * which also prevents a delayed apply step from crediting it later, and then refunded.
+     */
+    @Scheduled(fixedDelayString = "${payment.sharding.recovery-interval:PT30S}")
+    public void recoverStaleReservations() {
+        if (!shardRouter.isSharded()) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(recoveryAfter);
+        for (String shard : shardRouter.shardNames()) {
+            List<TransferReservation> stale = shardRouter.inShardTransaction(shard, () ->
+                    reservationRepository.findByStatusAndCreatedAtBeforeOrderByCreatedAt(
+                            TransferReservation.Status.PENDING, cutoff));
+            for (TransferReservation reservation : stale) {
+                try {
+                    recover(shard, reservation);
+                } catch (RuntimeException e) {
+                    logger.error("Failed to recover reservation {} on shard {}", reservation.getId(), shard, e);
+                }
+            }
+        }
+    }
+
+    private void recover(String sourceShard, TransferReservation reservation) {
+        String destinationShard = shardRouter.shardFor(reservation.getDestinationAccountId());
+        ShardTransferReceipt receipt = retrier.execute(() -> shardRouter.inShardTransaction(destinationShard,
+                () -> receiptRepository.findById(reservation.getId())
+                        .orElseGet(() -> receiptRepository.save(new ShardTransferReceipt(reservation.getId(), null)))));
+        if (receipt.isApplied()) {
+            retrier.execute(() -> shardRouter.inShardTransaction(sourceShard,
+                    () -> confirm(reservation.getId(), receipt.getTransactionId())));
+        } else {
+            release(sourceShard, reservation.getId());
+        }
+        logger.info("Recovered reservation {}: {}", reservation.getId(), receipt.isApplied() ? "committed" : "released");
+        metricsService.recordReservationRecovery();
+    }
+
+    /**
+     * Debits the source account and records a pending reservation. Runs on the source shard.
+     */
+    private Void reserve(UUID reservationId, TransactionRequest request) {
+        Account source = accountRepository.findByAccountIdWithLock(request.getSourceAccountId())
+                .orElseThrow(() -> {
+                    logger.warn("Source account not found: {}", request.getSourceAccountId());
+                    metricsService.recordAccountNotFoundError();
+                    return new AccountNotFoundException(request.getSourceAccountId());
+                });
+        if (source.getAvailableBalance().compareTo(request.getAmount()) < 0) {
+            logger.warn("Insufficient balance in account {}: available={}, requested={}",
+                    source.getAccountId(), source.getAvailableBalance(), request.getAmount());
+            metricsService.recordInsufficientBalanceError();
+            throw new InsufficientBalanceException(source.getAccountId(), source.getAvailableBalance(),
+                    request.getAmount());
+        }
+        source.setBalance(source.getBalance().subtract(request.getAmount()));
+        accountRepository.save(source);
+        reservationRepository.save(new TransferReservation(reservationId, request.getSourceAccountId(),
+                request.getDestinationAccountId(), request.getAmount()));
+        return null;
+    }
+
+    /**
+     * Credits the destination account, logs the transaction and records the receipt.
+     * Runs on the destination shard and is idempotent per reservation.
+     */
+    private Long apply(UUID reservationId, Long sourceAccountId, Long destinationAccountId,
+                       BigDecimal amount) {
+        ShardTransferReceipt existing = receiptRepository.findById(reservationId).orElse(null);
+        if (existing != null) {
+            if (!existing.isApplied()) {
+                throw new ReservationAbortedException();
+            }
+            return existing.getTransactionId();
+        }
+        Account destination = accountRepository.findByAccountIdWithLock(destinationAccountId)
+                .orElseThrow(() -> {
+                    logger.warn("Destination account not found: {}", destinationAccountId);
+                    metricsService.recordAccountNotFoundError();
+                    return new AccountNotFoundException(destinationAccountId);
+                });
+        destination.setBalance(destination.getBalance().add(amount));
+        accountRepository.save(destination);
+
+        Transaction transaction = new Transaction(sourceAccountId, destinationAccountId, amount, reservationId);
+        transactionRepository.save(transaction);
+        try {
+            receiptRepository.saveAndFlush(new ShardTransferReceipt(reservationId, transaction.getId()));
+        } catch (DataIntegrityViolationException e) {
+            // Recovery aborted the reservation concurrently; this transaction rolls back
+            throw new ReservationAbortedException();
+        }
+        return transaction.getId();
+    }
+
+    /**
+     * Marks a pending reservation committed. Runs on the source shard.
+     */
+    private Void confirm(UUID reservationId, Long transactionId) {
+        reservationRepository.findByIdWithLock(reservationId)
+                .filter(reservation -> reservation.getStatus() == TransferReservation.Status.PENDING)
+                .ifPresent(reservation -> {
+                    reservation.setStatus(TransferReservation.Status.COMMITTED);
+                    reservation.setTransactionId(transactionId);
+                    reservationRepository.save(reservation);
+                });
+        return null;
+    }
+
+    /**
+     * Refunds a pending reservation to its source account. Runs on the source shard.
+     */
+    private void release(String sourceShard, UUID reservationId) {
+        retrier.execute(() -> shardRouter.inShardTransaction(sourceShard, () -> {
+            reservationRepository.findByIdWithLock(reservationId)
+                    .filter(reservation -> reservation.getStatus() == TransferReservation.Status.PENDING)
+                    .ifPresent(reservation -> {
+                        Account source = accountRepository.findByAccountIdWithLock(reservation.getSourceAccountId())
+                                .orElseThrow(() -> new AccountNotFoundException(reservation.getSourceAccountId()));
+                        source.setBalance(source.getBalance().add(reservation.getAmount()));
+                        accountRepository.save(source);
+                        reservation.setStatus(TransferReservation.Status.RELEASED);
+                        reservationRepository.save(reservation);
+                        logger.debug("Released reservation {}", reservationId);
+                    });
+            return null;
+        }));
+    }
+
+    /**
+     * Signals that a reservation was aborted by recovery and must not be applied.
+     */
+    private static class ReservationAbortedException extends RuntimeException {
+    }
+}
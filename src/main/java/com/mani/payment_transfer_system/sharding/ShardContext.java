@@ -0,0 +1,46 @@
+package com.mani.payment_transfer_system.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the shard the current thread's database work is routed to.
+ * Read by {@link ShardRoutingDataSource} when a physical connection is first needed.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Returns the shard selected for the current thread.
+     *
+     * @return the shard name, or null to use the default shard
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the work with the given shard selected, restoring the previous selection afterwards.
+     *
+     * @param shard the shard name
+     * @param work the work to run
+     * @param <T> the result type
+     * @return the result of the work
+     */
+    public static <T> T callInShard(String shard, Supplier<T> work) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.mani.payment_transfer_system.sharding;
+
+import com.mani.payment_transfer_system.entity.Account;
+import com.mani.payment_transfer_system.entity.AuthorizationHold;
+import com.mani.payment_transfer_system.entity.ScheduledTransfer;
+import com.mani.payment_transfer_system.entity.TransferReservation;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.repository.AuthorizationHoldRepository;
+import com.mani.payment_transfer_system.repository.ScheduledTransferRepository;
+import com.mani.payment_transfer_system.repository.TransferReservationRepository;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Moves accounts to the shard that owns them under the current ring, after shards were
+ * added, removed or renamed in {@code payment.sharding.shards}.
+ * Run it while transfers are paused: until an account has been moved, requests routed to its
+ * new shard do not find it. Moves are idempotent, so an interrupted run can simply be repeated.
+ */
+@Component
+public class ShardRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRebalancer.class);
+    private static final int PAGE_SIZE = 1000;
+    private final ShardRouter shardRouter;
+    private final AccountRepository accountRepository;
+    private final TransferReservationRepository reservationRepository;
+    private final AuthorizationHoldRepository holdRepository;
+    private final ScheduledTransferRepository scheduledTransferRepository;
+
+    /**
+     * Constructs a new ShardRebalancer.
+     *
+     * @param shardRouter the router holding the target ring
+     * @param accountRepository the account repository
+     * @param reservationRepository the reservation repository, checked for in-flight transfers
+     * @param holdRepository the hold repository, checked for active holds
+     * @param scheduledTransferRepository the scheduled transfer repository, whose pending transfers move
+     *        with their source account
+     */
+    public ShardRebalancer(ShardRouter shardRouter, AccountRepository accountRepository,
+                           TransferReservationRepository reservationRepository,
+                           AuthorizationHoldRepository holdRepository,
+                           ScheduledTransferRepository scheduledTransferRepository) {
+        this.shardRouter = shardRouter;
+        this.accountRepository = accountRepository;
+        this.reservationRepository = reservationRepository;
+        this.holdRepository = holdRepository;
+        this.scheduledTransferRepository = scheduledTransferRepository;
+    }
+
+    /**
+     * Scans every shard and moves each misplaced account to its owner.
+     *
+     * @param dryRun if true, only count the accounts that would move
+     * @return the number of accounts moved (or to be moved) per source and target shard
+     * @throws IllegalStateException if cross-shard reservations are still pending or holds are still active
+     */
+    public RebalanceReport rebalance(boolean dryRun) {
+        for (String shard : shardRouter.shardNames()) {
+            if (shardRouter.inShardTransaction(shard,
+                    () -> reservationRepository.existsByStatus(TransferReservation.Status.PENDING))) {
+                throw new IllegalStateException("Shard " + shard + " has pending cross-shard reservations; "
+                        + "wait for them to be resolved before rebalancing");
+            }
+            // Holds live on their source account's shard and are settled there, so they cannot follow a move
+            if (shardRouter.inShardTransaction(shard,
+                    () -> holdRepository.existsByStatus(AuthorizationHold.Status.ACTIVE))) {
+                throw new IllegalStateException("Shard " + shard + " has active holds; "
+                        + "wait for them to be captured, voided or expired before rebalancing");
+            }
+        }
+
+        RebalanceReport report = new RebalanceReport(dryRun);
+        for (String shard : shardRouter.shardNames()) {
+            long afterAccountId = Long.MIN_VALUE;
+            List<Long> accountIds;
+            do {
+                long after = afterAccountId;
+                accountIds = shardRouter.inShardTransaction(shard,
+                        () -> accountRepository.findAccountIdsAfter(after, PageRequest.ofSize(PAGE_SIZE)));
+                for (Long accountId : accountIds) {
+                    report.scanned++;
+                    String owner = shardRouter.shardFor(accountId);
+                    if (!owner.equals(shard)) {
+                        report.moves.merge(shard + "->" + owner, 1L, Long::sum);
+                        if (!dryRun) {
+                            move(accountId, shard, owner);
+                        }
+                    }
+                }
+                if (!accountIds.isEmpty()) {
+                    afterAccountId = accountIds.get(accountIds.size() - 1);
+                }
+            } while (accountIds.size() == PAGE_SIZE);
+        }
+        logger.info("Rebalance {}: scanned {} accounts, moves {}", dryRun ? "dry run" : "completed",
+                report.scanned, report.moves);
+        return report;
+    }
+
+    /**
+     * Copies the account and its pending scheduled transfers to its new shard and deletes them from the old one.
+     * The source row stays locked until the copy has committed, so a crash in between leaves
+     * the account on both shards and the next run overwrites the copy with the same balance.
+     * Scheduled transfers already copied are not overwritten, as they may have run on the new shard since.
+     */
+    private void move(Long accountId, String fromShard, String toShard) {
+        shardRouter.inShardTransaction(fromShard, () -> {
+            accountRepository.findByAccountIdWithLock(accountId).ifPresent(account -> {
+                List<ScheduledTransfer> scheduledTransfers = scheduledTransferRepository
+                        .findBySourceAccountIdAndStatus(accountId, ScheduledTransfer.Status.PENDING);
+                shardRouter.inShardTransaction(toShard, () -> {
+                    Account copy = accountRepository.findByAccountIdWithLock(accountId)
+                            .orElseGet(() -> new Account(accountId, account.getBalance()));
+                    copy.setBalance(account.getBalance());
+                    copy.setHeldBalance(account.getHeldBalance());
+                    copy.setOpeningBalance(account.getOpeningBalance());
+                    for (ScheduledTransfer transfer : scheduledTransfers) {
+                        if (!scheduledTransferRepository.existsById(transfer.getId())) {
+                            scheduledTransferRepository.save(transfer);
+                        }
+                    }
+                    return accountRepository.save(copy);
+                });
+                scheduledTransferRepository.deleteAll(scheduledTransfers);
+                accountRepository.delete(account);
+            });
+            return null;
+        });
+        logger.debug("Moved account {} from shard {} to shard {}", accountId, fromShard, toShard);
+    }
+
+    /**
+     * Outcome of a rebalancing run.
+     */
+    @Getter
+    public static class RebalanceReport {
+
+        private final boolean dryRun;
+        private long scanned;
+        private final Map<String, Long> moves = new TreeMap<>();
+
+        RebalanceReport(boolean dryRun) {
+            this.dryRun = dryRun;
+        }
+    }
+}
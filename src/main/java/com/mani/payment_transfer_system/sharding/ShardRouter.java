@@ -0,0 +1,164 @@
+package com.mani.payment_transfer_system.sharding;
+
+import com.mani.payment_transfer_system.config.ShardingProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Maps account IDs to shards and runs repository work against a chosen shard.
+ * The data source hands out physical connections lazily, so selecting a shard at the start of
+ * a transactional method is enough to route every statement of that transaction.
+ * With sharding disabled there is a single default shard and all work runs unchanged.
+ */
+@Component
+public class ShardRouter {
+
+    /**
+     * Name of the only shard when sharding is disabled.
+     */
+    public static final String DEFAULT_SHARD = "default";
+
+    private final ConsistentHashRing ring;
+    private final TransactionTemplate shardTransaction;
+    private final TransactionTemplate shardReadTransaction;
+    private final TransactionTemplate shardSnapshotTransaction;
+
+    /**
+     * Constructs a new ShardRouter.
+     *
+     * @param properties the sharding properties
+     * @param transactionManager the transaction manager used for per-shard transactions
+     */
+    public ShardRouter(ShardingProperties properties, PlatformTransactionManager transactionManager) {
+        this.ring = properties.isEnabled()
+                ? new ConsistentHashRing(properties.getShards().stream().map(ShardingProperties.Shard::getName).toList(),
+                        properties.getVirtualNodes())
+                : null;
+        this.shardTransaction = new TransactionTemplate(transactionManager);
+        this.shardTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.shardReadTransaction = new TransactionTemplate(transactionManager);
+        this.shardReadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardReadTransaction.setReadOnly(true);
+        this.shardSnapshotTransaction = new TransactionTemplate(transactionManager);
+        this.shardSnapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardSnapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.shardSnapshotTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Returns whether accounts are distributed across several shards.
+     *
+     * @return true if sharding is enabled
+     */
+    public boolean isSharded() {
+        return ring != null;
+    }
+
+    /**
+     * Returns the shard owning the account.
+     *
+     * @param accountId the account ID
+     * @return the shard name
+     */
+    public String shardFor(Long accountId) {
+        return ring != null ? ring.shardFor(accountId) : DEFAULT_SHARD;
+    }
+
+    /**
+     * Returns whether the two accounts live on different shards.
+     *
+     * @param accountId the first account ID
+     * @param otherAccountId the second account ID
+     * @return true if a transfer between them spans shards
+     */
+    public boolean isCrossShard(Long accountId, Long otherAccountId) {
+        return ring != null && !ring.shardFor(accountId).equals(ring.shardFor(otherAccountId));
+    }
+
+    /**
+     * Returns all shard names.
+     *
+     * @return the shard names in configuration order
+     */
+    public List<String> shardNames() {
+        return ring != null ? ring.shardNames() : List.of(DEFAULT_SHARD);
+    }
+
+    /**
+     * Routes the work to the shard owning the account.
+     * Must be entered before the first statement of the surrounding transaction.
+     *
+     * @param accountId the account ID
+     * @param work the work to run
+     * @param <T> the result type
+     * @return the result of the work
+     */
+    public <T> T callForAccount(Long accountId, Supplier<T> work) {
+        return callInShard(shardFor(accountId), work);
+    }
+
+    /**
+     * Routes the work to the given shard.
+     * Must be entered before the first statement of the surrounding transaction.
+     *
+     * @param shard the shard name
+     * @param work the work to run
+     * @param <T> the result type
+     * @return the result of the work
+     */
+    public <T> T callInShard(String shard, Supplier<T> work) {
+        return ring != null ? ShardContext.callInShard(shard, work) : work.get();
+    }
+
+    /**
+     * Runs the work in a new read-committed transaction on the given shard.
+     *
+     * @param shard the shard name
+     * @param work the work to run
+     * @param <T> the result type
+     * @return the result of the work
+     */
+    public <T> T inShardTransaction(String shard, Supplier<T> work) {
+        return ShardContext.callInShard(shard, () -> shardTransaction.execute(status -> work.get()));
+    }
+
+    /**
+     * Runs reads in a new read-only transaction on the given shard in which every statement sees
+     * the same snapshot of the shard (repeatable read).
+     *
+     * @param shard the shard name
+     * @param work the reads to run
+     * @param <T> the result type
+     * @return the result of the work
+     */
+    public <T> T inShardSnapshot(String shard, Supplier<T> work) {
+        return ShardContext.callInShard(shard, () -> shardSnapshotTransaction.execute(status -> work.get()));
+    }
+
+    /**
+     * Runs a read on every shard, each in its own read-only transaction, and concatenates the results.
+     * With sharding disabled the read joins the caller's transaction instead.
+     *
+     * @param work the read to run per shard
+     * @param <T> the element type
+     * @return the results of all shards in shard order
+     */
+    public <T> List<T> readAcrossShards(Supplier<? extends Collection<T>> work) {
+        if (ring == null) {
+            return new ArrayList<>(work.get());
+        }
+        List<T> results = new ArrayList<>();
+        for (String shard : ring.shardNames()) {
+            ShardContext.callInShard(shard, () -> shardReadTransaction.execute(status -> results.addAll(work.get())));
+        }
+        return results;
+    }
+}
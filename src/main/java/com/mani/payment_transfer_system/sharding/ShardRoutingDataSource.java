@@ -0,0 +1,16 @@
+package com.mani.payment_transfer_system.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Data source that hands out connections from the pool of the shard selected in {@link ShardContext}.
+ * Falls back to the default target data source when no shard is selected, e.g. for schema
+ * management at startup.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
@@ -0,0 +1,65 @@
+package com.mani.payment_transfer_system.sharding;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint {@code /actuator/shards} for inspecting the shard layout and rebalancing accounts.
+ * Only registered when sharding is enabled; it must additionally be exposed through
+ * {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Endpoint(id = "shards")
+@ConditionalOnProperty(prefix = "payment.sharding", name = "enabled", havingValue = "true")
+public class ShardsEndpoint {
+
+    private final ShardRouter shardRouter;
+    private final ShardRebalancer shardRebalancer;
+
+    /**
+     * Constructs a new ShardsEndpoint.
+     *
+     * @param shardRouter the shard router
+     * @param shardRebalancer the rebalancing tool
+     */
+    public ShardsEndpoint(ShardRouter shardRouter, ShardRebalancer shardRebalancer) {
+        this.shardRouter = shardRouter;
+        this.shardRebalancer = shardRebalancer;
+    }
+
+    /**
+     * Lists the configured shards, optionally with the owner of one account.
+     *
+     * @param accountId an account ID to locate, or null
+     * @return the shard names and, if requested, the owning shard
+     */
+    @ReadOperation
+    public Map<String, Object> shards(@Nullable Long accountId) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("shards", List.copyOf(shardRouter.shardNames()));
+        if (accountId != null) {
+            body.put("accountId", accountId);
+            body.put("shard", shardRouter.shardFor(accountId));
+        }
+        return body;
+    }
+
+    /**
+     * Moves misplaced accounts to their owning shard.
+     *
+     * @param dryRun if true (the default), only report what would move
+     * @return the rebalancing report
+     */
+    @WriteOperation
+    public ShardRebalancer.RebalanceReport rebalance(@Nullable Boolean dryRun) {
+        return shardRebalancer.rebalance(dryRun == null || dryRun);
+    }
+}
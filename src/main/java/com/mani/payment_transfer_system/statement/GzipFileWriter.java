@@ -0,0 +1,90 @@
+package com.mani.payment_transfer_system.statement;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes gzip files through a {@link FileChannel}, reusing one deflater and one output buffer for
+ * every file. Generating millions of small files with {@code GZIPOutputStream} would allocate a
+ * deflater and its native memory per file; here a file that fits the buffer costs a single write.
+ * Not thread-safe: each worker uses its own writer.
+ */
+final class GzipFileWriter implements AutoCloseable {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int TRAILER_LENGTH = 8;
+
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructs a new GzipFileWriter.
+     *
+     * @param bufferSize the size of the compressed output buffer in bytes
+     * @param compressionLevel the deflate compression level
+     */
+    GzipFileWriter(int bufferSize, int compressionLevel) {
+        if (bufferSize < HEADER.length + TRAILER_LENGTH) {
+            throw new IllegalArgumentException("Buffer size must be at least " + (HEADER.length + TRAILER_LENGTH));
+        }
+        this.deflater = new Deflater(compressionLevel, true);
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Compresses the content into a gzip file, replacing the file if it exists.
+     *
+     * @param path the file to write
+     * @param content the uncompressed content
+     * @return the number of bytes written
+     * @throws IOException if the file cannot be written
+     */
+    long write(Path path, byte[] content) throws IOException {
+        deflater.reset();
+        crc.reset();
+        crc.update(content);
+        deflater.setInput(content);
+        deflater.finish();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.clear();
+            buffer.put(HEADER);
+            while (!deflater.finished()) {
+                if (!buffer.hasRemaining()) {
+                    drain(channel);
+                }
+                int written = deflater.deflate(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                buffer.position(buffer.position() + written);
+            }
+            if (buffer.remaining() < TRAILER_LENGTH) {
+                drain(channel);
+            }
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt((int) crc.getValue());
+            buffer.putInt(content.length);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            drain(channel);
+            return channel.position();
+        }
+    }
+
+    @Override
+    public void close() {
+        deflater.end();
+    }
+
+    private void drain(FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,54 @@
+package com.mani.payment_transfer_system.statement;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Actuator endpoint {@code /actuator/statements} for inspecting and triggering statement generation.
+ * Only registered when statements are enabled; it must additionally be exposed through
+ * {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Endpoint(id = "statements")
+@ConditionalOnProperty(prefix = "payment.statements", name = "enabled", havingValue = "true")
+public class StatementEndpoint {
+
+    private final StatementGenerator generator;
+
+    /**
+     * Constructs a new StatementEndpoint.
+     *
+     * @param generator the statement generator
+     */
+    public StatementEndpoint(StatementGenerator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * Returns the report of the most recent run.
+     *
+     * @return the report, or null (404) if no run has completed yet
+     */
+    @ReadOperation
+    public StatementRunReport lastReport() {
+        return generator.getLastReport();
+    }
+
+    /**
+     * Generates the statements of a month now and waits for the run to finish. A month whose run
+     * was interrupted resumes after its last completed partition.
+     *
+     * @param period the month as {@code yyyy-MM}; the previous month if omitted
+     * @return the report of the run
+     */
+    @WriteOperation
+    public StatementRunReport generate(@Nullable String period) {
+        return generator.generate(period != null ? YearMonth.parse(period) : StatementGenerator.previousMonth());
+    }
+}
@@ -0,0 +1,448 @@
+package com.mani.payment_transfer_system.statement;
+
+import com.mani.payment_transfer_system.config.StatementProperties;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Generates one gzip-compressed statement file per account and month.
+ * <ul>
+ *   <li>The account ID space is split into partitions of about {@code partition-size} accounts per
+ *       shard. The partitions of a month are recorded in {@code partitions.csv} on its first run,
+ *       and each completed partition leaves a checkpoint file, so a run that crashed resumes with
+ *       the partitions that were not completed.</li>
+ *   <li>Partitions are generated by {@code parallelism} workers. Each streams its partition's
+ *       transactions in one cursor ordered by account, time and ID, with {@code fetch-size} rows per
+ *       round trip, and writes every account's statement as soon as its last transaction was read.</li>
+ *   <li>Files are compressed and written through a {@link GzipFileWriter} that each worker reuses.</li>
+ * </ul>
+ * With sharding, transactions are logged on the destination account's shard, so a partition reads
+ * every shard and merges the transactions in memory; keep {@code partition-size} small in that case.
+ */
+@Component
+@ConditionalOnProperty(prefix = "payment.statements", name = "enabled", havingValue = "true")
+public class StatementGenerator {
+
+    static final String PARTITIONS_FILE = "partitions.csv";
+    static final String RANGE_ACCOUNTS =
+            "SELECT account_id FROM accounts WHERE account_id BETWEEN ? AND ? ORDER BY account_id";
+    static final String RANGE_ENTRIES =
+            "SELECT account_id, id, counterparty_account_id, amount, timestamp FROM ("
+                    + "SELECT source_account_id AS account_id, id, destination_account_id AS counterparty_account_id, "
+                    + "-amount AS amount, timestamp FROM transactions "
+                    + "WHERE source_account_id BETWEEN ? AND ? AND timestamp >= ? AND timestamp < ? "
+                    + "UNION ALL "
+                    + "SELECT destination_account_id, id, source_account_id, amount, timestamp FROM transactions "
+                    + "WHERE destination_account_id BETWEEN ? AND ? AND timestamp >= ? AND timestamp < ?"
+                    + ") entries ORDER BY account_id, timestamp, id";
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementGenerator.class);
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator.comparingLong(Entry::accountId)
+            .thenComparing(Entry::timestamp)
+            .thenComparingLong(Entry::transactionId);
+    private final StatementProperties properties;
+    private final ShardRouter shardRouter;
+    private final AccountRepository accountRepository;
+    private final MetricsService metricsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutorService workers;
+    private volatile StatementRunReport lastReport;
+
+    /**
+     * Constructs a new StatementGenerator.
+     *
+     * @param properties the statement properties
+     * @param shardRouter the router listing the shards and running work on them
+     * @param accountRepository the account repository, used to split the account ID space
+     * @param metricsService the metrics service for recording runs
+     * @param dataSource the application data source
+     */
+    public StatementGenerator(StatementProperties properties, ShardRouter shardRouter,
+                              AccountRepository accountRepository, MetricsService metricsService, DataSource dataSource) {
+        if (properties.getPartitionSize() < 1 || properties.getParallelism() < 1) {
+            throw new IllegalArgumentException("payment.statements requires partition-size >= 1 and parallelism >= 1");
+        }
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.accountRepository = accountRepository;
+        this.metricsService = metricsService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        AtomicInteger count = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(properties.getParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "statement-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Generates the statements of the previous month, on {@code payment.statements.cron}.
+     */
+    @Scheduled(cron = "${payment.statements.cron:0 0 2 1 * *}", zone = "UTC")
+    public void scheduledGenerate() {
+        generate(previousMonth());
+    }
+
+    /**
+     * Generates the statements of a month, skipping the partitions a previous run completed.
+     * Runs are serialized; a caller arriving during a run waits for it and then runs again.
+     *
+     * @param period the month
+     * @return the report of this run
+     * @throws UncheckedIOException if the output directory cannot be written
+     * @throws IllegalStateException if a partition failed; completed partitions keep their checkpoints
+     */
+    public synchronized StatementRunReport generate(YearMonth period) {
+        Instant startedAt = Instant.now();
+        long began = System.nanoTime();
+        Path directory = Path.of(properties.getOutputDirectory()).resolve(period.toString());
+        List<long[]> partitions = partitionPlan(directory);
+
+        List<Future<PartitionResult>> futures = new ArrayList<>();
+        int resumed = 0;
+        for (int index = 0; index < partitions.size(); index++) {
+            if (Files.exists(checkpoint(directory, index))) {
+                resumed++;
+                continue;
+            }
+            int partition = index;
+            futures.add(workers.submit(() -> generatePartition(period, directory, partition, partitions.get(partition))));
+        }
+        PartitionResult total = new PartitionResult();
+        RuntimeException failure = null;
+        for (Future<PartitionResult> future : futures) {
+            try {
+                total.merge(future.get());
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = new IllegalStateException("Statement partition failed: " + e.getCause().getMessage(),
+                            e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while generating statements", e);
+            }
+        }
+        if (failure != null) {
+            logger.error("Statement generation for {} failed; rerun to resume", period, failure);
+            throw failure;
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - began);
+        StatementRunReport report = new StatementRunReport(period.toString(), directory.toString(), startedAt,
+                duration.toMillis(), partitions.size(), resumed, total.statements, total.entries, total.bytes);
+        lastReport = report;
+        metricsService.recordStatementRun(duration, total.statements, total.bytes);
+        logger.info("Generated {} statements for {} in {} ms ({} partitions, {} resumed): {} statements/s, {} bytes",
+                total.statements, period, duration.toMillis(), partitions.size(), resumed,
+                Math.round(report.getStatementsPerSecond()), total.bytes);
+        return report;
+    }
+
+    /**
+     * Returns the report of the most recent run.
+     *
+     * @return the report, or null if no run has completed yet
+     */
+    public StatementRunReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Returns the month before the current one in UTC.
+     *
+     * @return the previous month
+     */
+    static YearMonth previousMonth() {
+        return YearMonth.now(ZoneOffset.UTC).minusMonths(1);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Reads the partitions recorded by a previous run of the month, or splits the account ID space and records them.
+     */
+    List<long[]> partitionPlan(Path directory) {
+        Path plan = directory.resolve(PARTITIONS_FILE);
+        try {
+            if (Files.exists(plan)) {
+                return Files.readAllLines(plan).stream()
+                        .map(line -> line.split(","))
+                        .map(bounds -> new long[]{Long.parseLong(bounds[0]), Long.parseLong(bounds[1])})
+                        .toList();
+            }
+            List<long[]> partitions = partitions();
+            Files.createDirectories(directory);
+            StringBuilder lines = new StringBuilder();
+            for (long[] partition : partitions) {
+                lines.append(partition[0]).append(',').append(partition[1]).append('\n');
+            }
+            writeAtomically(plan, lines.toString());
+            return partitions;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot record statement partitions in " + directory, e);
+        }
+    }
+
+    /**
+     * Splits the account ID space into ranges holding about {@code partition-size} accounts per shard.
+     * The last range ends at the highest possible ID, so accounts created later are covered too.
+     */
+    List<long[]> partitions() {
+        TreeSet<Long> boundaries = new TreeSet<>();
+        for (String shard : shardRouter.shardNames()) {
+            long afterAccountId = Long.MIN_VALUE;
+            List<Long> accountIds;
+            do {
+                long after = afterAccountId;
+                accountIds = shardRouter.inShardTransaction(shard, () -> accountRepository.findAccountIdsAfter(after,
+                        PageRequest.ofSize(properties.getPartitionSize())));
+                if (!accountIds.isEmpty()) {
+                    afterAccountId = accountIds.get(accountIds.size() - 1);
+                    if (accountIds.size() == properties.getPartitionSize()) {
+                        boundaries.add(afterAccountId);
+                    }
+                }
+            } while (accountIds.size() == properties.getPartitionSize());
+        }
+
+        List<long[]> partitions = new ArrayList<>();
+        long from = Long.MIN_VALUE;
+        for (long boundary : boundaries) {
+            partitions.add(new long[]{from, boundary});
+            from = boundary + 1;
+        }
+        if (boundaries.isEmpty() || boundaries.last() != Long.MAX_VALUE) {
+            partitions.add(new long[]{from, Long.MAX_VALUE});
+        }
+        return partitions;
+    }
+
+    /**
+     * Writes the statements of all accounts with IDs in the partition and records its checkpoint.
+     */
+    PartitionResult generatePartition(YearMonth period, Path directory, int index, long[] range) throws IOException {
+        Path partitionDirectory = directory.resolve(String.format("partition-%05d", index));
+        Files.createDirectories(partitionDirectory);
+        LocalDateTime from = period.atDay(1).atStartOfDay();
+        LocalDateTime to = period.plusMonths(1).atDay(1).atStartOfDay();
+        Object[] arguments = {range[0], range[1], from, to, range[0], range[1], from, to};
+
+        try (GzipFileWriter writer = new GzipFileWriter(properties.getBufferSize(), properties.getCompressionLevel())) {
+            TreeSet<Long> accountIds = new TreeSet<>();
+            List<Entry> merged = new ArrayList<>();
+            for (String shard : shardRouter.shardNames()) {
+                shardRouter.inShardSnapshot(shard, () -> {
+                    jdbcTemplate.query(RANGE_ACCOUNTS, rs -> {
+                        accountIds.add(rs.getLong(1));
+                    }, range[0], range[1]);
+                    return null;
+                });
+            }
+            PartitionWriter partition = new PartitionWriter(period, partitionDirectory, new ArrayList<>(accountIds), writer);
+            if (shardRouter.isSharded()) {
+                for (String shard : shardRouter.shardNames()) {
+                    shardRouter.inShardSnapshot(shard, () -> streamEntries(arguments, merged::add));
+                }
+                merged.sort(ENTRY_ORDER);
+                merged.forEach(partition::accept);
+            } else {
+                shardRouter.inShardSnapshot(ShardRouter.DEFAULT_SHARD, () -> streamEntries(arguments, partition::accept));
+            }
+            PartitionResult result = partition.complete();
+            writeAtomically(checkpoint(directory, index),
+                    result.statements + "," + result.entries + "," + result.bytes + "\n");
+            logger.debug("Statement partition {} of {} completed: {} statements", index, period, result.statements);
+            return result;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Void streamEntries(Object[] arguments, Consumer<Entry> sink) {
+        jdbcTemplate.query(RANGE_ENTRIES, rs -> {
+            sink.accept(new Entry(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getBigDecimal(4),
+                    rs.getObject(5, LocalDateTime.class)));
+        }, arguments);
+        return null;
+    }
+
+    private static Path checkpoint(Path directory, int index) {
+        return directory.resolve(String.format("partition-%05d.done", index));
+    }
+
+    private static void writeAtomically(Path path, String content) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.writeString(temporary, content);
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * One transaction as seen from one account: negative amounts are debits.
+     */
+    record Entry(long accountId, long transactionId, long counterpartyAccountId, BigDecimal amount,
+                 LocalDateTime timestamp) {
+    }
+
+    /**
+     * Totals of the generated partitions.
+     */
+    static class PartitionResult {
+        long statements;
+        long entries;
+        long bytes;
+
+        PartitionResult merge(PartitionResult other) {
+            statements += other.statements;
+            entries += other.entries;
+            bytes += other.bytes;
+            return this;
+        }
+    }
+
+    /**
+     * Renders the ordered entries of a partition into one statement per account, including accounts
+     * without transactions in the period, and writes each as soon as it is complete.
+     */
+    private class PartitionWriter {
+
+        private final String period;
+        private final Path directory;
+        private final List<Long> accountIds;
+        private final GzipFileWriter writer;
+        private final StringBuilder content = new StringBuilder(4096);
+        private final PartitionResult result = new PartitionResult();
+        private int nextAccount;
+        private Long openAccountId;
+        private int openEntries;
+        private BigDecimal credits;
+        private BigDecimal debits;
+
+        PartitionWriter(YearMonth period, Path directory, List<Long> accountIds, GzipFileWriter writer) {
+            this.period = period.toString();
+            this.directory = directory;
+            this.accountIds = accountIds;
+            this.writer = writer;
+        }
+
+        void accept(Entry entry) {
+            if (openAccountId == null || openAccountId != entry.accountId()) {
+                advanceTo(entry.accountId());
+            }
+            if (entry.amount().signum() < 0) {
+                debits = debits.add(entry.amount().negate());
+            } else {
+                credits = credits.add(entry.amount());
+            }
+            String timestamp = entry.timestamp().toInstant(ZoneOffset.UTC).toString();
+            if (properties.getFormat() == StatementProperties.Format.CSV) {
+                content.append(entry.transactionId()).append(',').append(timestamp).append(',')
+                        .append(entry.counterpartyAccountId()).append(',').append(entry.amount().toPlainString())
+                        .append('\n');
+            } else {
+                content.append(openEntries > 0 ? "," : "")
+                        .append("{\"transaction_id\":").append(entry.transactionId())
+                        .append(",\"timestamp\":\"").append(timestamp)
+                        .append("\",\"counterparty_account_id\":").append(entry.counterpartyAccountId())
+                        .append(",\"amount\":").append(entry.amount().toPlainString()).append('}');
+            }
+            openEntries++;
+            result.entries++;
+        }
+
+        PartitionResult complete() {
+            if (openAccountId != null) {
+                finish();
+            }
+            while (nextAccount < accountIds.size()) {
+                begin(accountIds.get(nextAccount++));
+                finish();
+            }
+            return result;
+        }
+
+        private void advanceTo(long accountId) {
+            if (openAccountId != null) {
+                finish();
+            }
+            while (nextAccount < accountIds.size() && accountIds.get(nextAccount) < accountId) {
+                begin(accountIds.get(nextAccount++));
+                finish();
+            }
+            if (nextAccount < accountIds.size() && accountIds.get(nextAccount) == accountId) {
+                nextAccount++;
+            }
+            begin(accountId);
+        }
+
+        private void begin(long accountId) {
+            openAccountId = accountId;
+            openEntries = 0;
+            credits = BigDecimal.ZERO;
+            debits = BigDecimal.ZERO;
+            content.setLength(0);
+            if (properties.getFormat() == StatementProperties.Format.CSV) {
+                content.append("transaction_id,timestamp,counterparty_account_id,amount\n");
+            } else {
+                content.append("{\"account_id\":").append(accountId)
+                        .append(",\"period\":\"").append(period).append("\",\"entries\":[");
+            }
+        }
+
+        private void finish() {
+            String extension;
+            if (properties.getFormat() == StatementProperties.Format.CSV) {
+                extension = ".csv.gz";
+            } else {
+                content.append("],\"total_credits\":").append(credits.toPlainString())
+                        .append(",\"total_debits\":").append(debits.toPlainString()).append('}');
+                extension = ".json.gz";
+            }
+            try {
+                result.bytes += writer.write(directory.resolve(openAccountId + extension),
+                        content.toString().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            result.statements++;
+            openAccountId = null;
+        }
+    }
+}
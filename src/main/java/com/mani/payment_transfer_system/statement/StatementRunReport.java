@@ -0,0 +1,53 @@
+package com.mani.payment_transfer_system.statement;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Outcome of one statement generation run.
+ */
+@Getter
+public class StatementRunReport {
+
+    private final String period;
+    private final String outputDirectory;
+    private final Instant startedAt;
+    private final long durationMillis;
+    private final int partitions;
+    private final int partitionsResumed;
+    private final long statements;
+    private final long entries;
+    private final long bytesWritten;
+
+    StatementRunReport(String period, String outputDirectory, Instant startedAt, long durationMillis, int partitions,
+                       int partitionsResumed, long statements, long entries, long bytesWritten) {
+        this.period = period;
+        this.outputDirectory = outputDirectory;
+        this.startedAt = startedAt;
+        this.durationMillis = durationMillis;
+        this.partitions = partitions;
+        this.partitionsResumed = partitionsResumed;
+        this.statements = statements;
+        this.entries = entries;
+        this.bytesWritten = bytesWritten;
+    }
+
+    /**
+     * Returns the number of statements (one page per account) written per second by this run.
+     *
+     * @return the throughput in statements per second
+     */
+    public double getStatementsPerSecond() {
+        return durationMillis > 0 ? statements * 1000.0 / durationMillis : statements;
+    }
+
+    /**
+     * Returns the number of compressed bytes written per second by this run.
+     *
+     * @return the throughput in bytes per second
+     */
+    public double getBytesPerSecond() {
+        return durationMillis > 0 ? bytesWritten * 1000.0 / durationMillis : bytesWritten;
+    }
+}
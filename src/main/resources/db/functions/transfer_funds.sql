@@ -0,0 +1,51 @@
+-- Applies one transfer in a single round trip.
+-- Locks both accounts in ascending account ID order (the same order as the JPA path, so the
+-- two paths cannot deadlock each other), validates the available balance (balance not reserved
+-- by holds), updates both rows and logs the transaction. Returns result_code OK with the new
+-- transaction_id, or an error code with the source's available balance for INSUFFICIENT_BALANCE.
+-- Nothing is changed unless the code is OK.
+CREATE OR REPLACE FUNCTION transfer_funds(
+    p_source_account_id BIGINT,
+    p_destination_account_id BIGINT,
+    p_amount NUMERIC(19, 5),
+    OUT result_code TEXT,
+    OUT transaction_id BIGINT,
+    OUT source_balance NUMERIC(19, 5))
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    PERFORM 1 FROM accounts
+    WHERE account_id IN (p_source_account_id, p_destination_account_id)
+    ORDER BY account_id
+    FOR UPDATE;
+
+    SELECT balance - held_balance INTO source_balance FROM accounts WHERE account_id = p_source_account_id;
+    IF NOT FOUND THEN
+        result_code := 'SOURCE_NOT_FOUND';
+        RETURN;
+    END IF;
+
+    PERFORM 1 FROM accounts WHERE account_id = p_destination_account_id;
+    IF NOT FOUND THEN
+        result_code := 'DESTINATION_NOT_FOUND';
+        RETURN;
+    END IF;
+
+    IF source_balance < p_amount THEN
+        result_code := 'INSUFFICIENT_BALANCE';
+        RETURN;
+    END IF;
+
+    UPDATE accounts SET balance = balance - p_amount, version = version + 1
+    WHERE account_id = p_source_account_id;
+    UPDATE accounts SET balance = balance + p_amount, version = version + 1
+    WHERE account_id = p_destination_account_id;
+
+    -- Timestamps are stored in UTC (hibernate.jdbc.time_zone=UTC)
+    INSERT INTO transactions (source_account_id, destination_account_id, amount, timestamp)
+    VALUES (p_source_account_id, p_destination_account_id, p_amount, now() AT TIME ZONE 'UTC')
+    RETURNING id INTO transaction_id;
+
+    result_code := 'OK';
+END;
+$$;
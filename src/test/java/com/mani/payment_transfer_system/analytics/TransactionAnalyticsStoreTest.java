@@ -0,0 +1,174 @@
+package com.mani.payment_transfer_system.analytics;
+
+import com.mani.payment_transfer_system.config.AnalyticsProperties;
+import com.mani.payment_transfer_system.config.ShardingProperties;
+import com.mani.payment_transfer_system.dto.AccountAggregate;
+import com.mani.payment_transfer_system.dto.TimeBucketAggregate;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TransactionAnalyticsStoreTest {
+
+    private static final Instant START = Instant.parse("2024-01-15T10:00:00Z");
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    private final MetricsService metricsService = mock(MetricsService.class);
+    private final AtomicLong now = new AtomicLong(START.toEpochMilli());
+    private TransactionAnalyticsStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.shutdown();
+        }
+    }
+
+    @Test
+    void testAggregateByTime_BucketsAcrossChunks() {
+        store = store(true);
+        // 1.00 to 10.00 in the first hour, 100.00 and 200.00 in the third
+        for (int i = 1; i <= 10; i++) {
+            record(i, 1L, 2L, i + ".00000", Duration.ofMinutes(i));
+        }
+        record(11, 2L, 3L, "100.00000", Duration.ofMinutes(130));
+        record(12, 3L, 1L, "200.00000", Duration.ofMinutes(135));
+
+        List<TimeBucketAggregate> buckets = store.aggregateByTime(START, START.plus(Duration.ofHours(3)), HOUR,
+                null, List.of(0.5, 0.9, 1.0));
+
+        assertEquals(2, buckets.size());
+        TimeBucketAggregate first = buckets.get(0);
+        assertEquals(START, first.getBucketStart());
+        assertEquals(10, first.getCount());
+        assertEquals(new BigDecimal("55.00000"), first.getSum());
+        assertEquals(Map.of("p50", new BigDecimal("5.00000"), "p90", new BigDecimal("9.00000"),
+                "p100", new BigDecimal("10.00000")), first.getPercentiles());
+        assertEquals(START.plus(Duration.ofHours(2)), buckets.get(1).getBucketStart());
+        assertEquals(new BigDecimal("300.00000"), buckets.get(1).getSum());
+        verify(metricsService).recordAnalyticsQuery(eq("time"), any());
+    }
+
+    @Test
+    void testAggregateByTime_RangeAndAccountFilter() {
+        store = store(true);
+        record(1, 1L, 2L, "1.00000", Duration.ofMinutes(1));
+        record(2, 3L, 4L, "2.00000", Duration.ofMinutes(2));
+        record(3, 2L, 1L, "3.00000", Duration.ofMinutes(3));
+        record(4, 1L, 4L, "4.00000", Duration.ofMinutes(70));
+
+        List<TimeBucketAggregate> buckets = store.aggregateByTime(START, START.plus(HOUR), Duration.ofMinutes(30),
+                1L, List.of());
+
+        assertEquals(1, buckets.size());
+        assertEquals(2, buckets.get(0).getCount());
+        assertEquals(new BigDecimal("4.00000"), buckets.get(0).getSum());
+        assertTrue(buckets.get(0).getPercentiles().isEmpty());
+    }
+
+    @Test
+    void testAggregateByAccount_TopPayeesWithPercentiles() {
+        store = store(true);
+        record(1, 1L, 2L, "10.00000", Duration.ofMinutes(1));
+        record(2, 1L, 2L, "30.00000", Duration.ofMinutes(2));
+        record(3, 1L, 3L, "50.00000", Duration.ofMinutes(3));
+        record(4, 4L, 5L, "5.00000", Duration.ofMinutes(4));
+        record(5, 1L, 5L, "1.00000", Duration.ofMinutes(5));
+
+        List<AccountAggregate> payees = store.aggregateByAccount(START, START.plus(HOUR),
+                TransactionAnalyticsStore.GroupBy.DESTINATION, 1L, 2, List.of(0.5));
+
+        assertEquals(List.of(3L, 2L), payees.stream().map(AccountAggregate::getAccountId).toList());
+        assertEquals(new BigDecimal("40.00000"), payees.get(1).getSum());
+        assertEquals(2, payees.get(1).getCount());
+        assertEquals(Map.of("p50", new BigDecimal("10.00000")), payees.get(1).getPercentiles());
+        verify(metricsService).recordAnalyticsQuery(eq("account"), any());
+    }
+
+    @Test
+    void testAggregateByAccount_TopPayers() {
+        store = store(true);
+        record(1, 1L, 2L, "10.00000", Duration.ofMinutes(1));
+        record(2, 3L, 2L, "30.00000", Duration.ofMinutes(2));
+        record(3, 1L, 3L, "25.00000", Duration.ofMinutes(3));
+
+        List<AccountAggregate> payers = store.aggregateByAccount(START, START.plus(HOUR),
+                TransactionAnalyticsStore.GroupBy.SOURCE, null, 10, List.of());
+
+        assertEquals(List.of(1L, 3L), payers.stream().map(AccountAggregate::getAccountId).toList());
+        assertEquals(new BigDecimal("35.00000"), payers.get(0).getSum());
+    }
+
+    @Test
+    void testEvict_ReleasesFullChunksOlderThanLookback() {
+        store = store(true);
+        for (int i = 1; i <= 9; i++) {
+            record(i, 1L, 2L, "1.00000", Duration.ofMinutes(i));
+        }
+        now.set(START.plus(Duration.ofDays(2)).toEpochMilli());
+        record(10, 1L, 2L, "1.00000", Duration.ofDays(2));
+
+        store.evict();
+
+        // Two full chunks of 4 released; the third holds one old and one new transaction
+        assertEquals(2, store.transactionCount());
+    }
+
+    @Test
+    void testRecord_IgnoredWhenDisabled() {
+        store = store(false);
+
+        record(1, 1L, 2L, "1.00000", Duration.ZERO);
+
+        assertEquals(0, store.transactionCount());
+        verify(metricsService, never()).bindAnalytics(any(), any(), any());
+    }
+
+    @Test
+    void testQueries_RejectInvalidParameters() {
+        store = store(true);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> store.aggregateByTime(START, START, HOUR, null, List.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.aggregateByTime(START, START.plus(Duration.ofDays(30)), Duration.ofMinutes(1), null, List.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.aggregateByTime(START, START.plus(HOUR), HOUR, null, List.of(1.5)));
+        assertThrows(IllegalArgumentException.class, () -> store.aggregateByAccount(START, START.plus(HOUR),
+                TransactionAnalyticsStore.GroupBy.SOURCE, null, 0, List.of()));
+    }
+
+    private void record(long id, long source, long destination, String amount, Duration offset) {
+        long saved = now.get();
+        now.set(START.plus(offset).toEpochMilli());
+        store.record(id, source, destination, new BigDecimal(amount));
+        now.set(Math.max(saved, now.get()));
+    }
+
+    private TransactionAnalyticsStore store(boolean enabled) {
+        AnalyticsProperties properties = new AnalyticsProperties();
+        properties.setEnabled(enabled);
+        properties.setChunkSize(4);
+        properties.setParallelism(2);
+        properties.setMaxBuckets(1000);
+        properties.setLookback(Duration.ofDays(1));
+        return new TransactionAnalyticsStore(properties,
+                new ShardRouter(new ShardingProperties(), mock(PlatformTransactionManager.class)),
+                metricsService, mock(DataSource.class), now::get);
+    }
+}
@@ -0,0 +1,93 @@
+package com.mani.payment_transfer_system.archive;
+
+import com.mani.payment_transfer_system.config.ArchiveProperties;
+import com.mani.payment_transfer_system.config.ShardingProperties;
+import com.mani.payment_transfer_system.dto.TransactionResponse;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TransactionArchiveTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    @TempDir
+    Path directory;
+
+    private final MetricsService metricsService = mock(MetricsService.class);
+    private final ShardRouter shardRouter = new ShardRouter(new ShardingProperties(), mock(PlatformTransactionManager.class));
+
+    @Test
+    void testLoad_FindsTransactionsOfEverySegment() throws IOException {
+        Path shardDirectory = Files.createDirectories(directory.resolve(ShardRouter.DEFAULT_SHARD));
+        SegmentWriter.write(shardDirectory.resolve("segment-0000000001.seg"),
+                List.of(transaction(1, "1.00000"), transaction(5, "5.00000")));
+        SegmentWriter.write(shardDirectory.resolve("segment-0000000002.seg"),
+                List.of(transaction(3, "3.00000"), transaction(9, "9.00000")));
+        Files.write(shardDirectory.resolve("segment-0000000003.seg.tmp"), new byte[10]);
+
+        TransactionArchive archive = archive(true);
+        archive.load();
+
+        assertEquals(new BigDecimal("5.00000"), archive.find(5).getAmount());
+        assertEquals(new BigDecimal("3.00000"), archive.find(3).getAmount());
+        assertNull(archive.find(4));
+        assertEquals(List.of(1L, 5L, 3L, 9L), archive.findAll().stream().map(TransactionResponse::getId).toList());
+        assertEquals(2, archive.segmentCount());
+        assertEquals(4, archive.transactionCount());
+        assertFalse(Files.exists(shardDirectory.resolve("segment-0000000003.seg.tmp")));
+        assertEquals(shardDirectory.resolve("segment-0000000003.seg"), archive.nextSegmentPath(ShardRouter.DEFAULT_SHARD));
+        verify(metricsService).bindArchive(eq(archive), any(), any());
+    }
+
+    @Test
+    void testAdd_MakesSegmentVisible() {
+        TransactionArchive archive = archive(true);
+        archive.load();
+        Path file = archive.nextSegmentPath(ShardRouter.DEFAULT_SHARD);
+        file.getParent().toFile().mkdirs();
+        SegmentWriter.write(file, List.of(transaction(7, "7.00000")));
+
+        assertNull(archive.find(7));
+        archive.add(ShardRouter.DEFAULT_SHARD, TransactionSegment.open(file));
+
+        assertEquals(7L, archive.find(7).getId());
+    }
+
+    @Test
+    void testDisabled_LoadsNothing() throws IOException {
+        Path shardDirectory = Files.createDirectories(directory.resolve(ShardRouter.DEFAULT_SHARD));
+        SegmentWriter.write(shardDirectory.resolve("segment-0000000001.seg"), List.of(transaction(1, "1.00000")));
+
+        TransactionArchive archive = archive(false);
+        archive.load();
+
+        assertNull(archive.find(1));
+        assertTrue(archive.findAll().isEmpty());
+        verifyNoInteractions(metricsService);
+    }
+
+    private TransactionArchive archive(boolean enabled) {
+        ArchiveProperties properties = new ArchiveProperties();
+        properties.setEnabled(enabled);
+        properties.setDirectory(directory.toString());
+        return new TransactionArchive(properties, shardRouter, metricsService);
+    }
+
+    private static TransactionResponse transaction(long id, String amount) {
+        return new TransactionResponse(id, 100L, 200L, new BigDecimal(amount), TIMESTAMP.plusMinutes(id));
+    }
+}
@@ -0,0 +1,157 @@
+package com.mani.payment_transfer_system.archive;
+
+import com.mani.payment_transfer_system.dto.TransactionResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionSegmentTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_456_000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testWriteAndFind_AcrossBlocks() {
+        List<TransactionResponse> transactions = transactions(1000, new Random(42));
+        Path file = directory.resolve("segment-0000000001.seg");
+
+        long size = SegmentWriter.write(file, transactions);
+        TransactionSegment segment = TransactionSegment.open(file);
+
+        assertEquals(size, segment.getSizeBytes());
+        assertEquals(1000, segment.getRowCount());
+        assertEquals(transactions.get(0).getId(), segment.getMinId());
+        assertEquals(transactions.get(999).getId(), segment.getMaxId());
+        for (TransactionResponse expected : transactions) {
+            assertTransaction(expected, segment.find(expected.getId()));
+        }
+    }
+
+    @Test
+    void testFind_MissingIds() {
+        List<TransactionResponse> transactions = List.of(
+                transaction(10, 1, 2, "1.00000", START),
+                transaction(20, 2, 1, "2.00000", START.plusSeconds(1)),
+                transaction(30, 1, 3, "3.00000", START.plusSeconds(2)));
+        Path file = directory.resolve("segment.seg");
+        SegmentWriter.write(file, transactions);
+        TransactionSegment segment = TransactionSegment.open(file);
+
+        assertNull(segment.find(9));
+        assertNull(segment.find(15));
+        assertNull(segment.find(31));
+        assertFalse(segment.mayContain(31));
+        assertTrue(segment.mayContain(15));
+    }
+
+    @Test
+    void testHeader_TimestampRangeWithUnorderedTimestamps() {
+        List<TransactionResponse> transactions = List.of(
+                transaction(1, 1, 2, "1.00000", START.plusHours(1)),
+                transaction(2, 1, 2, "1.00000", START),
+                transaction(3, 1, 2, "1.00000", START.plusMinutes(5)));
+        Path file = directory.resolve("segment.seg");
+        SegmentWriter.write(file, transactions);
+        TransactionSegment segment = TransactionSegment.open(file);
+
+        assertEquals(START, segment.getMinTimestamp());
+        assertEquals(START.plusHours(1), segment.getMaxTimestamp());
+        assertEquals(START, segment.find(2).getTimestamp());
+    }
+
+    @Test
+    void testForEach_DecodesInIdOrder() {
+        List<TransactionResponse> transactions = transactions(300, new Random(7));
+        Path file = directory.resolve("segment.seg");
+        SegmentWriter.write(file, transactions);
+
+        List<TransactionResponse> decoded = new ArrayList<>();
+        TransactionSegment.open(file).forEach(decoded::add);
+
+        assertEquals(transactions.size(), decoded.size());
+        for (int i = 0; i < transactions.size(); i++) {
+            assertTransaction(transactions.get(i), decoded.get(i));
+        }
+    }
+
+    @Test
+    void testWrite_SmallerThanRowFormat() {
+        List<TransactionResponse> transactions = transactions(10_000, new Random(1));
+        Path file = directory.resolve("segment.seg");
+
+        long size = SegmentWriter.write(file, transactions);
+
+        // id, two accounts, amount and timestamp take 40 bytes per row in a fixed-width layout
+        assertTrue(size < 10_000 * 20L, "segment size " + size);
+    }
+
+    @Test
+    void testWrite_RejectsUnorderedIds() {
+        List<TransactionResponse> transactions = List.of(
+                transaction(2, 1, 2, "1.00000", START),
+                transaction(1, 1, 2, "1.00000", START));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> SegmentWriter.write(directory.resolve("segment.seg"), transactions));
+        assertFalse(Files.exists(directory.resolve("segment.seg")));
+    }
+
+    @Test
+    void testWrite_RejectsAmountBeyondFixedPointRange() {
+        List<TransactionResponse> transactions = List.of(
+                transaction(1, 1, 2, "99999999999999.00000", START));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> SegmentWriter.write(directory.resolve("segment.seg"), transactions));
+    }
+
+    @Test
+    void testOpen_RejectsOtherFiles() throws IOException {
+        Path file = directory.resolve("other.seg");
+        Files.write(file, new byte[100]);
+
+        assertThrows(IllegalStateException.class, () -> TransactionSegment.open(file));
+    }
+
+    private static List<TransactionResponse> transactions(int count, Random random) {
+        List<TransactionResponse> transactions = new ArrayList<>();
+        long id = 1_000_000L;
+        LocalDateTime timestamp = START;
+        for (int i = 0; i < count; i++) {
+            id += 1 + random.nextInt(5);
+            // Mostly increasing, sometimes slightly out of order, like commit order
+            timestamp = timestamp.plusNanos((random.nextInt(2_000_000) - 200_000) * 1000L);
+            long source = 1000 + random.nextInt(200);
+            long destination = 1000 + random.nextInt(200);
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(100_000_000) + 1L, 5);
+            transactions.add(new TransactionResponse(id, source, destination, amount, timestamp));
+        }
+        return transactions;
+    }
+
+    private static TransactionResponse transaction(long id, long source, long destination, String amount,
+                                                   LocalDateTime timestamp) {
+        return new TransactionResponse(id, source, destination, new BigDecimal(amount), timestamp);
+    }
+
+    private static void assertTransaction(TransactionResponse expected, TransactionResponse actual) {
+        assertNotNull(actual, "transaction " + expected.getId());
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getSourceAccountId(), actual.getSourceAccountId());
+        assertEquals(expected.getDestinationAccountId(), actual.getDestinationAccountId());
+        assertEquals(expected.getAmount(), actual.getAmount());
+        assertEquals(expected.getTimestamp(), actual.getTimestamp());
+    }
+}
@@ -0,0 +1,146 @@
+package com.mani.payment_transfer_system.benchmark;
+
+import com.mani.payment_transfer_system.config.TransferProperties;
+import com.mani.payment_transfer_system.entity.Account;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.service.concurrency.ConditionalUpdateStrategy;
+import com.mani.payment_transfer_system.service.concurrency.OptimisticLockingStrategy;
+import com.mani.payment_transfer_system.service.concurrency.PessimisticLockingStrategy;
+import com.mani.payment_transfer_system.service.concurrency.TransferConcurrencyStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the transfer concurrency strategies under varying contention.
+ * Contention is controlled by the size of the account pool transfers are drawn from:
+ * two accounts means every transfer conflicts, larger pools approach the uncontended case.
+ * Not part of the regular test run; execute explicitly against a local PostgreSQL:
+ * {@code mvn test -Dtest=ConcurrencyStrategyBenchmark}
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ConcurrencyStrategyBenchmark {
+
+    private static final long FIRST_ACCOUNT_ID = 9_000_000_000L;
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 200;
+    private static final int[] ACCOUNT_POOL_SIZES = {2, 16, 1024};
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00000");
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00000");
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MetricsService metricsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private List<Long> accountIds = List.of();
+
+    @AfterEach
+    void tearDown() {
+        accountRepository.deleteAllById(accountIds);
+    }
+
+    @Test
+    void compareStrategiesUnderContention() throws InterruptedException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+
+        System.out.printf("%-20s %8s %12s %10s %10s %8s%n",
+                "strategy", "accounts", "transfers/s", "p50 ms", "p99 ms", "failed");
+        for (int poolSize : ACCOUNT_POOL_SIZES) {
+            for (TransferProperties.ConcurrencyStrategy type : TransferProperties.ConcurrencyStrategy.values()) {
+                createAccounts(poolSize);
+                run(type, strategy(type), transactionTemplate, poolSize);
+                accountRepository.deleteAllById(accountIds);
+            }
+        }
+    }
+
+    private void run(TransferProperties.ConcurrencyStrategy type, TransferConcurrencyStrategy strategy,
+                     TransactionTemplate transactionTemplate, int poolSize) throws InterruptedException {
+        long[] latencies = new long[THREADS * TRANSFERS_PER_THREAD];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    int source = random.nextInt(poolSize);
+                    int destination = (source + 1 + random.nextInt(poolSize - 1)) % poolSize;
+                    long began = System.nanoTime();
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> strategy.transfer(
+                                accountIds.get(source), accountIds.get(destination), AMOUNT));
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    }
+                    latencies[next.getAndIncrement()] = System.nanoTime() - began;
+                }
+                return null;
+            });
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - began) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-20s %8d %12.0f %10.2f %10.2f %8d%n", type, poolSize,
+                latencies.length / seconds,
+                latencies[latencies.length / 2] / 1e6,
+                latencies[(int) (latencies.length * 0.99)] / 1e6,
+                failed.get());
+
+        BigDecimal total = accountRepository.findAllById(accountIds).stream()
+                .map(Account::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(poolSize)).compareTo(total),
+                "Money must be conserved with the " + type + " strategy");
+    }
+
+    private TransferConcurrencyStrategy strategy(TransferProperties.ConcurrencyStrategy type) {
+        return switch (type) {
+            case PESSIMISTIC -> new PessimisticLockingStrategy(accountRepository, metricsService);
+            case OPTIMISTIC -> new OptimisticLockingStrategy(accountRepository, metricsService,
+                    new TransferProperties.Optimistic());
+            case CONDITIONAL_UPDATE -> new ConditionalUpdateStrategy(accountRepository, metricsService);
+        };
+    }
+
+    private void createAccounts(int poolSize) {
+        List<Account> accounts = new ArrayList<>(poolSize);
+        LongStream.range(FIRST_ACCOUNT_ID, FIRST_ACCOUNT_ID + poolSize)
+                .forEach(id -> accounts.add(new Account(id, INITIAL_BALANCE)));
+        accountRepository.saveAll(accounts);
+        accountIds = accounts.stream().map(Account::getAccountId).toList();
+    }
+}
@@ -0,0 +1,306 @@
+package com.mani.payment_transfer_system.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.config.TransferProperties;
+import com.mani.payment_transfer_system.dto.TransactionRequest;
+import com.mani.payment_transfer_system.entity.Account;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures how {@link TransactionService#processTransaction} scales with threads under four traffic shapes:
+ * <ul>
+ *   <li>{@code UNIFORM}: random pairs from 1024 accounts, close to the uncontended case</li>
+ *   <li>{@code ZIPF}: sources and destinations drawn from a Zipf distribution (s = 1.1), so a few accounts take
+ *       most of the traffic</li>
+ *   <li>{@code HOT_ACCOUNT}: every transfer pays into or out of the same account</li>
+ *   <li>{@code CIRCULAR}: three accounts transferring A to B, B to C and C to A at the same time, the pattern that
+ *       deadlocks without ordered locking</li>
+ * </ul>
+ * Every point runs {@code benchmark.transfers} transfers (at least 10 per thread) and checks that the sum of the
+ * balances (including unfolded postings in {@code POSTINGS} mode) is unchanged and that one transaction was logged
+ * per successful transfer. Threads beyond the pool size of 32 queue for connections, as requests would.
+ *
+ * <p>Prints a throughput and latency table per scenario and writes the points as JSON to
+ * {@code target/benchmarks/contention-scaling-<strategy>-<mode>.json}, so runs with different
+ * {@code payment.transfer.*} settings can be compared.
+ * Not part of the regular test run; execute explicitly against a local PostgreSQL:
+ * {@code mvn test -Dtest=ContentionScalingBenchmark -Dpayment.transfer.concurrency-strategy=OPTIMISTIC}
+ * (optionally {@code -Dbenchmark.threads=1,8,64 -Dbenchmark.scenarios=HOT_ACCOUNT -Dbenchmark.transfers=4000}).
+ */
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=32")
+@ActiveProfiles("test")
+class ContentionScalingBenchmark {
+
+    private static final long FIRST_ACCOUNT_ID = 9_200_000_000L;
+    private static final int ACCOUNTS = 1024;
+    private static final int CIRCLE = 3;
+    private static final double ZIPF_EXPONENT = 1.1;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00000");
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00000");
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransferProperties transferProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<Long> accountIds = List.of();
+
+    enum Scenario {
+        UNIFORM, ZIPF, HOT_ACCOUNT, CIRCULAR
+    }
+
+    /**
+     * One measured combination of scenario and thread count.
+     */
+    record Point(Scenario scenario, int threads, int transfers, int failed, Map<String, Integer> failures,
+                 double transfersPerSecond, double scalingEfficiency, double p50Millis, double p99Millis,
+                 double p999Millis, double maxMillis) {
+    }
+
+    /**
+     * The machine-readable result of a run.
+     */
+    record Report(Instant generatedAt, TransferProperties.ConcurrencyStrategy concurrencyStrategy,
+                  TransferProperties.ExecutionMode executionMode, int availableProcessors, int accounts,
+                  List<Point> points) {
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteBenchmarkData();
+    }
+
+    @Test
+    void scaleThreadsAcrossContentionPatterns() throws Exception {
+        int[] threadCounts = Arrays.stream(System.getProperty("benchmark.threads", "1,2,4,8,16,32,64,128,256")
+                .split(",")).mapToInt(value -> Integer.parseInt(value.trim())).toArray();
+        List<Scenario> scenarios = Arrays.stream(System.getProperty("benchmark.scenarios",
+                "UNIFORM,ZIPF,HOT_ACCOUNT,CIRCULAR").split(",")).map(value -> Scenario.valueOf(value.trim())).toList();
+        int transfersPerPoint = Integer.getInteger("benchmark.transfers", 4000);
+
+        createAccounts();
+        run(Scenario.UNIFORM, 8, 1000, 0);
+
+        List<Point> points = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            System.out.printf("%n%s (%s, %s)%n", scenario, transferProperties.getConcurrencyStrategy(),
+                    transferProperties.getExecutionMode());
+            System.out.printf("%8s %12s %10s %10s %10s %10s %10s %8s%n",
+                    "threads", "transfers/s", "scaling", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "failed");
+            double baseline = 0;
+            for (int threads : threadCounts) {
+                Point point = run(scenario, threads, transfersPerPoint, baseline);
+                if (baseline == 0) {
+                    baseline = point.transfersPerSecond() / threads;
+                }
+                points.add(point);
+                System.out.printf("%8d %12.0f %10.2f %10.2f %10.2f %10.2f %10.2f %8d%n", threads,
+                        point.transfersPerSecond(), point.scalingEfficiency(), point.p50Millis(), point.p99Millis(),
+                        point.p999Millis(), point.maxMillis(), point.failed());
+                if (!point.failures().isEmpty()) {
+                    System.out.printf("%8s failures: %s%n", "", point.failures());
+                }
+            }
+        }
+
+        Path report = writeReport(points);
+        System.out.printf("%nReport written to %s%n", report.toAbsolutePath());
+    }
+
+    private Point run(Scenario scenario, int threads, int transfersPerPoint, double baselinePerThread)
+            throws InterruptedException {
+        int transfersPerThread = Math.max(10, transfersPerPoint / threads);
+        long[] latencies = new long[threads * transfersPerThread];
+        Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+        AtomicInteger failed = new AtomicInteger();
+        Long transactionsBefore = countTransactions();
+        double[] zipf = scenario == Scenario.ZIPF ? zipfDistribution(ACCOUNTS, ZIPF_EXPONENT) : null;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            pool.submit(() -> {
+                SplittableRandom random = new SplittableRandom(31L * thread + scenario.ordinal());
+                int[] pair = new int[2];
+                start.await();
+                for (int i = 0; i < transfersPerThread; i++) {
+                    choose(scenario, thread, i, random, zipf, pair);
+                    TransactionRequest request = new TransactionRequest(
+                            accountIds.get(pair[0]), accountIds.get(pair[1]), AMOUNT);
+                    long began = System.nanoTime();
+                    try {
+                        transactionService.processTransaction(request);
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                        failures.computeIfAbsent(e.getClass().getSimpleName(), name -> new LongAdder()).increment();
+                    }
+                    latencies[thread * transfersPerThread + i] = System.nanoTime() - began;
+                }
+                return null;
+            });
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.MINUTES), "Benchmark point did not finish");
+        double seconds = (System.nanoTime() - began) / 1e9;
+
+        assertConserved(transactionsBefore, latencies.length - failed.get(), scenario, threads);
+
+        Arrays.sort(latencies);
+        double throughput = latencies.length / seconds;
+        Map<String, Integer> failureCounts = new TreeMap<>();
+        failures.forEach((name, count) -> failureCounts.put(name, count.intValue()));
+        return new Point(scenario, threads, latencies.length, failed.get(), failureCounts, throughput,
+                baselinePerThread > 0 ? throughput / (baselinePerThread * threads) : 1.0,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                latencies[latencies.length - 1] / 1e6);
+    }
+
+    /**
+     * Picks the source and destination indexes of the next transfer.
+     */
+    private static void choose(Scenario scenario, int thread, int i, SplittableRandom random, double[] zipf,
+                               int[] pair) {
+        switch (scenario) {
+            case UNIFORM -> {
+                pair[0] = random.nextInt(ACCOUNTS);
+                pair[1] = (pair[0] + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+            }
+            case ZIPF -> {
+                pair[0] = sample(zipf, random);
+                do {
+                    pair[1] = sample(zipf, random);
+                } while (pair[1] == pair[0]);
+            }
+            case HOT_ACCOUNT -> {
+                // Alternates direction, so the hot account's balance stays near its initial value
+                int other = 1 + random.nextInt(ACCOUNTS - 1);
+                boolean outgoing = (i & 1) == 0;
+                pair[0] = outgoing ? 0 : other;
+                pair[1] = outgoing ? other : 0;
+            }
+            case CIRCULAR -> {
+                // Threads start at different edges of the circle, so all three edges run concurrently
+                int edge = (thread + i) % CIRCLE;
+                pair[0] = edge;
+                pair[1] = (edge + 1) % CIRCLE;
+            }
+        }
+    }
+
+    private void assertConserved(Long transactionsBefore, int succeeded, Scenario scenario, int threads) {
+        BigDecimal total = jdbcTemplate.queryForObject(
+                "SELECT SUM(a.balance + COALESCE((SELECT SUM(p.amount) FROM postings p WHERE p.account_id = a.account_id "
+                        + "AND p.id > COALESCE(a.checkpoint_posting_id, 0)), 0)) "
+                        + "FROM accounts a WHERE a.account_id BETWEEN ? AND ?", BigDecimal.class,
+                FIRST_ACCOUNT_ID, FIRST_ACCOUNT_ID + ACCOUNTS - 1);
+        assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)).compareTo(total),
+                "Money must be conserved in " + scenario + " with " + threads + " threads");
+        assertEquals(transactionsBefore + succeeded, countTransactions(),
+                "Every successful transfer must log exactly one transaction in " + scenario + " with "
+                        + threads + " threads");
+    }
+
+    private Long countTransactions() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE source_account_id BETWEEN ? AND ?", Long.class,
+                FIRST_ACCOUNT_ID, FIRST_ACCOUNT_ID + ACCOUNTS - 1);
+    }
+
+    private Path writeReport(List<Point> points) throws IOException {
+        Report report = new Report(Instant.now(), transferProperties.getConcurrencyStrategy(),
+                transferProperties.getExecutionMode(), Runtime.getRuntime().availableProcessors(), ACCOUNTS, points);
+        Path file = Path.of("target", "benchmarks", "contention-scaling-"
+                + transferProperties.getConcurrencyStrategy() + "-" + transferProperties.getExecutionMode() + ".json");
+        Files.createDirectories(file.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        return file;
+    }
+
+    private static double percentile(long[] sortedLatencies, double quantile) {
+        int index = Math.min(sortedLatencies.length - 1, (int) (sortedLatencies.length * quantile));
+        return sortedLatencies[index] / 1e6;
+    }
+
+    /**
+     * Returns the cumulative distribution of a Zipf distribution over {@code n} ranks.
+     */
+    private static double[] zipfDistribution(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+    }
+
+    private void createAccounts() {
+        List<Account> accounts = new ArrayList<>(ACCOUNTS);
+        LongStream.range(FIRST_ACCOUNT_ID, FIRST_ACCOUNT_ID + ACCOUNTS)
+                .forEach(id -> accounts.add(new Account(id, INITIAL_BALANCE)));
+        accountRepository.saveAll(accounts);
+        accountIds = accounts.stream().map(Account::getAccountId).toList();
+    }
+
+    private void deleteBenchmarkData() {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM postings WHERE account_id BETWEEN ? AND ?",
+                FIRST_ACCOUNT_ID, FIRST_ACCOUNT_ID + ACCOUNTS - 1);
+        jdbcTemplate.update("DELETE FROM transactions WHERE source_account_id BETWEEN ? AND ?",
+                FIRST_ACCOUNT_ID, FIRST_ACCOUNT_ID + ACCOUNTS - 1);
+        accountRepository.deleteAllById(accountIds);
+        accountIds = List.of();
+    }
+}
@@ -0,0 +1,143 @@
+package com.mani.payment_transfer_system.benchmark;
+
+import com.mani.payment_transfer_system.dto.AccountResponse;
+import com.mani.payment_transfer_system.dto.TransactionResponse;
+import com.mani.payment_transfer_system.entity.Account;
+import com.mani.payment_transfer_system.entity.Transaction;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares reading through managed entities copied into response DTOs, as the read endpoints used to,
+ * with the repository projections that construct the DTOs straight from the result set.
+ * Both variants run in read-only transactions; the listing reads every transaction in the database,
+ * including the {@value #TRANSACTIONS} rows the benchmark inserts. Allocation is measured on the calling thread
+ * and includes the JDBC driver.
+ * Not part of the regular test run; execute explicitly against a local PostgreSQL:
+ * {@code mvn test -Dtest=ReadProjectionBenchmark}
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReadProjectionBenchmark {
+
+    private static final long FIRST_ACCOUNT_ID = 9_300_000_000L;
+    private static final int ACCOUNTS = 100;
+    private static final int TRANSACTIONS = 50_000;
+    private static final int LISTING_WARMUP = 5;
+    private static final int LISTING_ITERATIONS = 20;
+    private static final int LOOKUP_WARMUP = 2_000;
+    private static final int LOOKUP_ITERATIONS = 10_000;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE source_account_id BETWEEN ? AND ?",
+                FIRST_ACCOUNT_ID, FIRST_ACCOUNT_ID + ACCOUNTS - 1);
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_id BETWEEN ? AND ?",
+                FIRST_ACCOUNT_ID, FIRST_ACCOUNT_ID + ACCOUNTS - 1);
+    }
+
+    @Test
+    void compareEntityHydrationWithProjections() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Long transactionId = createData();
+        long accountId = FIRST_ACCOUNT_ID;
+
+        int rows = readOnly.execute(status -> transactionRepository.findAllResponses()).size();
+        assertEquals(rows, readOnly.execute(status -> entityListing()).size());
+
+        System.out.printf("%-30s %10s %10s %10s %14s%n", "read", "p50 ms", "p99 ms", "mean ms", "bytes/call");
+        measure("listing (" + rows + " rows) entity", LISTING_WARMUP, LISTING_ITERATIONS, this::entityListing);
+        measure("listing (" + rows + " rows) projection", LISTING_WARMUP, LISTING_ITERATIONS,
+                transactionRepository::findAllResponses);
+        measure("transaction by ID entity", LOOKUP_WARMUP, LOOKUP_ITERATIONS,
+                () -> transactionRepository.findById(transactionId).map(ReadProjectionBenchmark::toResponse));
+        measure("transaction by ID projection", LOOKUP_WARMUP, LOOKUP_ITERATIONS,
+                () -> transactionRepository.findResponseById(transactionId));
+        measure("account entity", LOOKUP_WARMUP, LOOKUP_ITERATIONS,
+                () -> accountRepository.findByAccountId(accountId).map(account -> new AccountResponse(
+                        account.getAccountId(), account.getBalance(), account.getAvailableBalance())));
+        measure("account projection", LOOKUP_WARMUP, LOOKUP_ITERATIONS,
+                () -> accountRepository.findResponseByAccountId(accountId));
+    }
+
+    private List<TransactionResponse> entityListing() {
+        return transactionRepository.findAll().stream().map(ReadProjectionBenchmark::toResponse).toList();
+    }
+
+    private void measure(String name, int warmup, int iterations, Supplier<?> read) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < warmup; i++) {
+            readOnly.execute(status -> read.get());
+        }
+        long[] latencies = new long[iterations];
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            long began = System.nanoTime();
+            readOnly.execute(status -> read.get());
+            latencies[i] = System.nanoTime() - began;
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        long total = Arrays.stream(latencies).sum();
+        Arrays.sort(latencies);
+        System.out.printf("%-30s %10.3f %10.3f %10.3f %14d%n", name,
+                latencies[iterations / 2] / 1e6,
+                latencies[Math.min(iterations - 1, (int) (iterations * 0.99))] / 1e6,
+                total / 1e6 / iterations,
+                allocated / iterations);
+    }
+
+    private static TransactionResponse toResponse(Transaction transaction) {
+        return new TransactionResponse(transaction.getId(), transaction.getSourceAccountId(),
+                transaction.getDestinationAccountId(), transaction.getAmount(), transaction.getTimestamp());
+    }
+
+    private Long createData() {
+        accountRepository.saveAll(IntStream.range(0, ACCOUNTS)
+                .mapToObj(i -> new Account(FIRST_ACCOUNT_ID + i, new BigDecimal("1000.00000")))
+                .toList());
+        Timestamp timestamp = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transactions (source_account_id, destination_account_id, amount, timestamp) "
+                        + "VALUES (?, ?, ?, ?)",
+                IntStream.range(0, TRANSACTIONS).mapToObj(i -> new Object[]{
+                        FIRST_ACCOUNT_ID + i % ACCOUNTS, FIRST_ACCOUNT_ID + (i + 1) % ACCOUNTS,
+                        new BigDecimal("1.00000"), timestamp}).toList());
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM transactions WHERE source_account_id BETWEEN ? AND ?",
+                Long.class, FIRST_ACCOUNT_ID, FIRST_ACCOUNT_ID + ACCOUNTS - 1);
+    }
+}
@@ -0,0 +1,184 @@
+package com.mani.payment_transfer_system.benchmark;
+
+import com.mani.payment_transfer_system.config.LedgerProperties;
+import com.mani.payment_transfer_system.config.TransferProperties;
+import com.mani.payment_transfer_system.entity.Account;
+import com.mani.payment_transfer_system.ledger.PostingLedger;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.repository.TransactionRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.service.concurrency.PessimisticLockingStrategy;
+import com.mani.payment_transfer_system.service.execution.JdbcTransferExecutor;
+import com.mani.payment_transfer_system.service.execution.JpaTransferExecutor;
+import com.mani.payment_transfer_system.service.execution.StoredFunctionTransferExecutor;
+import com.mani.payment_transfer_system.service.execution.TransferExecutor;
+import com.mani.payment_transfer_system.service.execution.TransferFunctionInstaller;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the transfer execution modes: latency, throughput and heap allocated per transfer.
+ * Each thread transfers back and forth within its own pair of accounts, so lock contention does
+ * not blur the cost of the execution path itself. Allocation is measured per worker thread and
+ * includes the JDBC driver and connection pool.
+ * Not part of the regular test run; execute explicitly against a local PostgreSQL:
+ * {@code mvn test -Dtest=TransferExecutionBenchmark}
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransferExecutionBenchmark {
+
+    private static final long FIRST_ACCOUNT_ID = 9_100_000_000L;
+    private static final int THREADS = 8;
+    private static final int WARMUP_TRANSFERS_PER_THREAD = 200;
+    private static final int TRANSFERS_PER_THREAD = 1000;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00000");
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00000");
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MetricsService metricsService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private List<Long> accountIds = List.of();
+
+    @AfterEach
+    void tearDown() {
+        deleteBenchmarkData();
+    }
+
+    @Test
+    void compareExecutionModes() throws InterruptedException {
+        new TransferFunctionInstaller(jdbcTemplate, shardRouter,
+                new ClassPathResource("db/functions/transfer_funds.sql")).install();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+
+        System.out.printf("%-16s %12s %10s %10s %14s%n", "mode", "transfers/s", "p50 ms", "p99 ms", "bytes/transfer");
+        for (TransferProperties.ExecutionMode mode : TransferProperties.ExecutionMode.values()) {
+            createAccounts();
+            TransferExecutor executor = executor(mode);
+            measure(executor, transactionTemplate, WARMUP_TRANSFERS_PER_THREAD, null);
+            measure(executor, transactionTemplate, TRANSFERS_PER_THREAD, mode);
+            deleteBenchmarkData();
+        }
+    }
+
+    private void measure(TransferExecutor executor, TransactionTemplate transactionTemplate,
+                         int transfersPerThread, TransferProperties.ExecutionMode mode) throws InterruptedException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] latencies = new long[THREADS * transfersPerThread];
+        AtomicLong allocatedBytes = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            pool.submit(() -> {
+                Long first = accountIds.get(2 * thread);
+                Long second = accountIds.get(2 * thread + 1);
+                start.await();
+                long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+                for (int i = 0; i < transfersPerThread; i++) {
+                    boolean forward = i % 2 == 0;
+                    long began = System.nanoTime();
+                    transactionTemplate.executeWithoutResult(status -> executor.transfer(
+                            forward ? first : second, forward ? second : first, AMOUNT));
+                    latencies[thread * transfersPerThread + i] = System.nanoTime() - began;
+                }
+                allocatedBytes.addAndGet(threads.getCurrentThreadAllocatedBytes() - allocatedBefore);
+                return null;
+            });
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - began) / 1e9;
+
+        if (mode != null) {
+            Arrays.sort(latencies);
+            System.out.printf("%-16s %12.0f %10.2f %10.2f %14d%n", mode,
+                    latencies.length / seconds,
+                    latencies[latencies.length / 2] / 1e6,
+                    latencies[(int) (latencies.length * 0.99)] / 1e6,
+                    allocatedBytes.get() / latencies.length);
+        }
+
+        BigDecimal total = accountRepository.findAllById(accountIds).stream()
+                .map(Account::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(accountIds.size())).compareTo(total),
+                "Money must be conserved");
+    }
+
+    private TransferExecutor executor(TransferProperties.ExecutionMode mode) {
+        return switch (mode) {
+            case JPA -> new JpaTransferExecutor(
+                    new PessimisticLockingStrategy(accountRepository, metricsService), transactionRepository);
+            case JDBC -> new JdbcTransferExecutor(jdbcTemplate, metricsService);
+            case STORED_FUNCTION -> new StoredFunctionTransferExecutor(jdbcTemplate, metricsService);
+            case POSTINGS -> {
+                TransferProperties properties = new TransferProperties();
+                properties.setExecutionMode(mode);
+                yield new PostingLedger(jdbcTemplate, transactionRepository, transactionManager, properties,
+                        new LedgerProperties(), shardRouter, metricsService)::transfer;
+            }
+        };
+    }
+
+    private void createAccounts() {
+        List<Account> accounts = new ArrayList<>(2 * THREADS);
+        LongStream.range(FIRST_ACCOUNT_ID, FIRST_ACCOUNT_ID + 2 * THREADS)
+                .forEach(id -> accounts.add(new Account(id, INITIAL_BALANCE)));
+        accountRepository.saveAll(accounts);
+        accountIds = accounts.stream().map(Account::getAccountId).toList();
+    }
+
+    private void deleteBenchmarkData() {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM postings WHERE account_id BETWEEN ? AND ?",
+                FIRST_ACCOUNT_ID, FIRST_ACCOUNT_ID + 2 * THREADS);
+        jdbcTemplate.update("DELETE FROM transactions WHERE source_account_id BETWEEN ? AND ?",
+                FIRST_ACCOUNT_ID, FIRST_ACCOUNT_ID + 2 * THREADS);
+        accountRepository.deleteAllById(accountIds);
+        accountIds = List.of();
+    }
+}
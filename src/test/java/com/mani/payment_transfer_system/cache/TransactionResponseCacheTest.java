@@ -0,0 +1,136 @@
+package com.mani.payment_transfer_system.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mani.payment_transfer_system.config.TransactionCacheProperties;
+import com.mani.payment_transfer_system.dto.TransactionResponse;
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TransactionResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final MetricsService metricsService = mock(MetricsService.class);
+
+    @Test
+    void testDisabled_EncodesWithoutStoring() throws Exception {
+        TransactionResponseCache cache = new TransactionResponseCache(new TransactionCacheProperties(),
+                objectMapper, metricsService);
+
+        CachedJson json = cache.put(1L, response(1L));
+
+        assertEquals(objectMapper.writeValueAsString(response(1L)), body(json));
+        assertNull(cache.get(1L));
+        verifyNoInteractions(metricsService);
+    }
+
+    @Test
+    void testHitAndMiss() {
+        TransactionResponseCache cache = new TransactionResponseCache(enabled(DataSize.ofMegabytes(1), false),
+                objectMapper, metricsService);
+        CachedJson json = cache.put(1L, response(1L));
+
+        assertSame(json, cache.get(1L));
+        assertNull(cache.get(2L));
+        verify(metricsService).recordTransactionCacheHit();
+        verify(metricsService).recordTransactionCacheMiss();
+    }
+
+    @Test
+    void testEtag_StrongAndStable() {
+        TransactionResponseCache cache = new TransactionResponseCache(enabled(DataSize.ofMegabytes(1), false),
+                objectMapper, metricsService);
+
+        String etag = cache.put(1L, response(1L)).etag();
+
+        assertTrue(etag.startsWith("\"1-") && etag.endsWith("\""), etag);
+        assertEquals(etag, new TransactionResponseCache(new TransactionCacheProperties(), objectMapper, metricsService)
+                .put(1L, response(1L)).etag());
+        assertNotEquals(etag, cache.put(2L, response(2L)).etag());
+    }
+
+    @Test
+    void testOffHeap_WritesSameBytes() throws Exception {
+        TransactionResponseCache cache = new TransactionResponseCache(enabled(DataSize.ofMegabytes(1), true),
+                objectMapper, metricsService);
+
+        CachedJson json = cache.put(1L, response(1L));
+
+        assertEquals(objectMapper.writeValueAsString(response(1L)), body(json));
+        // Writing does not consume the buffer
+        assertEquals(body(json), body(cache.get(1L)));
+    }
+
+    @Test
+    void testEviction_GivesReferencedEntriesSecondChance() {
+        int entrySize = new TransactionResponseCache(new TransactionCacheProperties(), objectMapper, metricsService)
+                .put(1L, response(1L)).length();
+        TransactionResponseCache cache = new TransactionResponseCache(enabled(DataSize.ofBytes(3L * entrySize), false),
+                objectMapper, metricsService);
+        cache.put(1L, response(1L));
+        cache.put(2L, response(2L));
+        cache.put(3L, response(3L));
+        cache.get(1L);
+
+        cache.put(4L, response(4L));
+
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(3L));
+        assertNotNull(cache.get(4L));
+        verify(metricsService).recordTransactionCacheEviction();
+    }
+
+    @Test
+    void testPopulate_LoadsInBackground() {
+        TransactionCacheProperties properties = enabled(DataSize.ofMegabytes(1), false);
+        properties.setPopulateOnWrite(true);
+        TransactionResponseCache cache = new TransactionResponseCache(properties, objectMapper, metricsService);
+
+        cache.populate(List.of(1L, 2L), id -> id == 1L ? response(1L) : null);
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (cache.get(1L) == null && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+    }
+
+    @Test
+    void testPopulate_SkippedByDefault() {
+        TransactionResponseCache cache = new TransactionResponseCache(enabled(DataSize.ofMegabytes(1), false),
+                objectMapper, metricsService);
+
+        cache.populate(List.of(1L), id -> fail("Must not load"));
+
+        assertNull(cache.get(1L));
+    }
+
+    private static TransactionCacheProperties enabled(DataSize maxSize, boolean offHeap) {
+        TransactionCacheProperties properties = new TransactionCacheProperties();
+        properties.setEnabled(true);
+        properties.setMaxSize(maxSize);
+        properties.setOffHeap(offHeap);
+        return properties;
+    }
+
+    private static TransactionResponse response(Long id) {
+        return new TransactionResponse(id, 123L, 456L, new BigDecimal("50.00000"), LocalDateTime.of(2025, 1, 2, 3, 4, 5));
+    }
+
+    private static String body(CachedJson json) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        json.writeTo(out);
+        return out.toString();
+    }
+}
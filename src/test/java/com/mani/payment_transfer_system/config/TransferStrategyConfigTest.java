@@ -0,0 +1,107 @@
+package com.mani.payment_transfer_system.config;
+
+import com.mani.payment_transfer_system.ledger.PostingLedger;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.repository.TransactionRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.service.concurrency.ConditionalUpdateStrategy;
+import com.mani.payment_transfer_system.service.concurrency.OptimisticLockingStrategy;
+import com.mani.payment_transfer_system.service.concurrency.PessimisticLockingStrategy;
+import com.mani.payment_transfer_system.service.execution.JdbcTransferExecutor;
+import com.mani.payment_transfer_system.service.execution.JpaTransferExecutor;
+import com.mani.payment_transfer_system.service.execution.StoredFunctionTransferExecutor;
+import com.mani.payment_transfer_system.service.execution.TransferExecutor;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+class TransferStrategyConfigTest {
+
+    private final TransferStrategyConfig config = new TransferStrategyConfig();
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final MetricsService metricsService = mock(MetricsService.class);
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ShardRouter shardRouter =
+            new ShardRouter(new ShardingProperties(), mock(PlatformTransactionManager.class));
+    private final PostingLedger postingLedger = mock(PostingLedger.class);
+
+    @Test
+    void testDefaultStrategyIsPessimistic() {
+        TransferProperties properties = new TransferProperties();
+
+        assertInstanceOf(PessimisticLockingStrategy.class,
+                config.transferConcurrencyStrategy(properties, accountRepository, metricsService));
+    }
+
+    @Test
+    void testOptimisticStrategy() {
+        TransferProperties properties = new TransferProperties();
+        properties.setConcurrencyStrategy(TransferProperties.ConcurrencyStrategy.OPTIMISTIC);
+
+        assertInstanceOf(OptimisticLockingStrategy.class,
+                config.transferConcurrencyStrategy(properties, accountRepository, metricsService));
+    }
+
+    @Test
+    void testConditionalUpdateStrategy() {
+        TransferProperties properties = new TransferProperties();
+        properties.setConcurrencyStrategy(TransferProperties.ConcurrencyStrategy.CONDITIONAL_UPDATE);
+
+        assertInstanceOf(ConditionalUpdateStrategy.class,
+                config.transferConcurrencyStrategy(properties, accountRepository, metricsService));
+    }
+
+    @Test
+    void testDefaultExecutionModeIsJpa() {
+        TransferProperties properties = new TransferProperties();
+
+        assertInstanceOf(JpaTransferExecutor.class, config.transferExecutor(properties,
+                new PessimisticLockingStrategy(accountRepository, metricsService), transactionRepository,
+                jdbcTemplate, metricsService, shardRouter, postingLedger));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testStoredFunctionExecutionModeInstallsFunction() {
+        TransferProperties properties = new TransferProperties();
+        properties.setExecutionMode(TransferProperties.ExecutionMode.STORED_FUNCTION);
+
+        assertInstanceOf(StoredFunctionTransferExecutor.class, config.transferExecutor(properties,
+                new PessimisticLockingStrategy(accountRepository, metricsService), transactionRepository,
+                jdbcTemplate, metricsService, shardRouter, postingLedger));
+        verify(jdbcTemplate).execute(contains("CREATE OR REPLACE FUNCTION transfer_funds"));
+    }
+
+    @Test
+    void testJdbcExecutionMode() {
+        TransferProperties properties = new TransferProperties();
+        properties.setExecutionMode(TransferProperties.ExecutionMode.JDBC);
+
+        assertInstanceOf(JdbcTransferExecutor.class, config.transferExecutor(properties,
+                new PessimisticLockingStrategy(accountRepository, metricsService), transactionRepository,
+                jdbcTemplate, metricsService, shardRouter, postingLedger));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testPostingsExecutionMode() {
+        TransferProperties properties = new TransferProperties();
+        properties.setExecutionMode(TransferProperties.ExecutionMode.POSTINGS);
+        when(postingLedger.transfer(1L, 2L, BigDecimal.TEN)).thenReturn(42L);
+
+        TransferExecutor executor = config.transferExecutor(properties,
+                new PessimisticLockingStrategy(accountRepository, metricsService), transactionRepository,
+                jdbcTemplate, metricsService, shardRouter, postingLedger);
+
+        assertEquals(42L, executor.transfer(1L, 2L, BigDecimal.TEN));
+        verifyNoInteractions(jdbcTemplate, transactionRepository);
+    }
+}
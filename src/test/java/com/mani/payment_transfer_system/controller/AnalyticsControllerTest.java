@@ -0,0 +1,120 @@
+package com.mani.payment_transfer_system.controller;
+
+import com.mani.payment_transfer_system.analytics.TransactionAnalyticsStore;
+import com.mani.payment_transfer_system.dto.AccountAggregate;
+import com.mani.payment_transfer_system.dto.TimeBucketAggregate;
+import com.mani.payment_transfer_system.limit.TransferRateLimiter;
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(value = AnalyticsController.class, properties = "payment.analytics.enabled=true")
+class AnalyticsControllerTest {
+
+    private static final Instant FROM = Instant.parse("2024-01-15T00:00:00Z");
+    private static final Instant TO = Instant.parse("2024-01-16T00:00:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransactionAnalyticsStore analyticsStore;
+
+    @MockBean
+    private MetricsService metricsService;
+
+    @MockBean
+    private TransferRateLimiter rateLimiter;
+
+    @Test
+    void testVolume_Defaults() throws Exception {
+        when(analyticsStore.aggregateByTime(FROM, TO, Duration.ofHours(1), null, List.of(0.5, 0.9, 0.99)))
+                .thenReturn(List.of(new TimeBucketAggregate(FROM, 2, new BigDecimal("30.00000"),
+                        Map.of("p50", new BigDecimal("10.00000")))));
+
+        mockMvc.perform(get("/analytics/volume")
+                        .param("from", FROM.toString())
+                        .param("to", TO.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bucket_start").value("2024-01-15T00:00:00Z"))
+                .andExpect(jsonPath("$[0].count").value(2))
+                .andExpect(jsonPath("$[0].sum").value(30.0))
+                .andExpect(jsonPath("$[0].percentiles.p50").value(10.0));
+    }
+
+    @Test
+    void testVolume_BucketAccountAndPercentiles() throws Exception {
+        when(analyticsStore.aggregateByTime(any(), any(), any(), any(), any())).thenReturn(List.of());
+
+        mockMvc.perform(get("/analytics/volume")
+                        .param("from", FROM.toString())
+                        .param("to", TO.toString())
+                        .param("bucket", "PT15M")
+                        .param("account_id", "123")
+                        .param("percentiles", "0.95,0.999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+
+        verify(analyticsStore).aggregateByTime(FROM, TO, Duration.ofMinutes(15), 123L, List.of(0.95, 0.999));
+    }
+
+    @Test
+    void testVolume_InvalidQuery() throws Exception {
+        when(analyticsStore.aggregateByTime(any(), any(), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("'from' must be before 'to'"));
+
+        mockMvc.perform(get("/analytics/volume")
+                        .param("from", TO.toString())
+                        .param("to", FROM.toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("'from' must be before 'to'"));
+    }
+
+    @Test
+    void testAccounts_TopPayeesOfAccount() throws Exception {
+        when(analyticsStore.aggregateByAccount(FROM, TO, TransactionAnalyticsStore.GroupBy.DESTINATION, 123L, 5,
+                List.of(0.5, 0.9, 0.99)))
+                .thenReturn(List.of(new AccountAggregate(456L, 3, new BigDecimal("75.00000"), Map.of())));
+
+        mockMvc.perform(get("/analytics/accounts")
+                        .param("from", FROM.toString())
+                        .param("to", TO.toString())
+                        .param("account_id", "123")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].account_id").value(456))
+                .andExpect(jsonPath("$[0].count").value(3))
+                .andExpect(jsonPath("$[0].sum").value(75.0));
+    }
+
+    @Test
+    void testAccounts_GroupBySource() throws Exception {
+        when(analyticsStore.aggregateByAccount(any(), any(), any(), any(), anyInt(), any())).thenReturn(List.of());
+
+        mockMvc.perform(get("/analytics/accounts")
+                        .param("from", FROM.toString())
+                        .param("to", TO.toString())
+                        .param("group_by", "SOURCE")
+                        .param("percentiles", "0.5"))
+                .andExpect(status().isOk());
+
+        verify(analyticsStore).aggregateByAccount(eq(FROM), eq(TO), eq(TransactionAnalyticsStore.GroupBy.SOURCE),
+                isNull(), eq(10), eq(List.of(0.5)));
+    }
+}
@@ -0,0 +1,144 @@
+package com.mani.payment_transfer_system.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.dto.HoldRequest;
+import com.mani.payment_transfer_system.dto.HoldResponse;
+import com.mani.payment_transfer_system.entity.AuthorizationHold;
+import com.mani.payment_transfer_system.exception.HoldNotActiveException;
+import com.mani.payment_transfer_system.exception.HoldNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.limit.TransferRateLimiter;
+import com.mani.payment_transfer_system.service.HoldService;
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(value = HoldController.class, properties = "payment.holds.enabled=true")
+class HoldControllerTest {
+
+    private static final Instant EXPIRES_AT = Instant.parse("2030-01-15T10:30:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private HoldService holdService;
+
+    @MockBean
+    private MetricsService metricsService;
+
+    @MockBean
+    private TransferRateLimiter rateLimiter;
+
+    @Test
+    void testPlaceHold_Success() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(holdService.placeHold(any(HoldRequest.class))).thenReturn(hold(id, AuthorizationHold.Status.ACTIVE, null, null));
+
+        mockMvc.perform(post("/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"source_account_id\": 123, \"destination_account_id\": 456, "
+                                + "\"amount\": \"25.00000\", \"ttl\": \"PT30M\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(id.toString()))
+                .andExpect(jsonPath("$.status").value("ACTIVE"))
+                .andExpect(jsonPath("$.expires_at").value("2030-01-15T10:30:00Z"));
+
+        verify(rateLimiter).checkTransfer(eq(List.of(123L)), any());
+        verify(holdService).placeHold(argThat(request -> Duration.ofMinutes(30).equals(request.getTtl())));
+    }
+
+    @Test
+    void testPlaceHold_InvalidAmount() throws Exception {
+        HoldRequest request = new HoldRequest(123L, 456L, new BigDecimal("-1.00000"), null);
+
+        mockMvc.perform(post("/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(holdService, never()).placeHold(any());
+    }
+
+    @Test
+    void testPlaceHold_InsufficientBalance() throws Exception {
+        HoldRequest request = new HoldRequest(123L, 456L, new BigDecimal("25.00000"), null);
+        when(holdService.placeHold(any())).thenThrow(
+                new InsufficientBalanceException(123L, new BigDecimal("10.00000"), new BigDecimal("25.00000")));
+
+        mockMvc.perform(post("/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCaptureHold_WithAmount() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(holdService.capture(id, new BigDecimal("10.00000"))).thenReturn(
+                hold(id, AuthorizationHold.Status.CAPTURED, new BigDecimal("10.00000"), 9L));
+
+        mockMvc.perform(post("/holds/{id}/capture", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": \"10.00000\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CAPTURED"))
+                .andExpect(jsonPath("$.captured_amount").value(10.0))
+                .andExpect(jsonPath("$.transaction_id").value(9));
+    }
+
+    @Test
+    void testCaptureHold_WithoutBodyCapturesHeldAmount() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(holdService.capture(eq(id), isNull())).thenReturn(
+                hold(id, AuthorizationHold.Status.CAPTURED, new BigDecimal("25.00000"), 9L));
+
+        mockMvc.perform(post("/holds/{id}/capture", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.captured_amount").value(25.0));
+    }
+
+    @Test
+    void testVoidHold_NotActive() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(holdService.voidHold(id)).thenThrow(new HoldNotActiveException(id, "CAPTURED"));
+
+        mockMvc.perform(post("/holds/{id}/void", id))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testGetHold_NotFound() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(holdService.getHold(id)).thenThrow(new HoldNotFoundException(id));
+
+        mockMvc.perform(get("/holds/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+
+    private static HoldResponse hold(UUID id, AuthorizationHold.Status status, BigDecimal capturedAmount,
+                                     Long transactionId) {
+        return new HoldResponse(id, 123L, 456L, new BigDecimal("25.00000"), EXPIRES_AT, status, capturedAmount,
+                transactionId);
+    }
+}
@@ -0,0 +1,130 @@
+package com.mani.payment_transfer_system.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.dto.ScheduledTransferRequest;
+import com.mani.payment_transfer_system.dto.ScheduledTransferResponse;
+import com.mani.payment_transfer_system.entity.ScheduledTransfer;
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.RateLimitExceededException;
+import com.mani.payment_transfer_system.exception.ScheduledTransferNotFoundException;
+import com.mani.payment_transfer_system.limit.TransferRateLimiter;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.service.ScheduledTransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(value = ScheduledTransferController.class, properties = "payment.scheduled-transfers.enabled=true")
+class ScheduledTransferControllerTest {
+
+    private static final Instant EXECUTE_AT = Instant.parse("2030-01-15T10:30:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ScheduledTransferService scheduledTransferService;
+
+    @MockBean
+    private MetricsService metricsService;
+
+    @MockBean
+    private TransferRateLimiter rateLimiter;
+
+    @Test
+    void testScheduleTransfer_Success() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(scheduledTransferService.schedule(any(ScheduledTransferRequest.class))).thenReturn(
+                new ScheduledTransferResponse(id, 123L, 456L, new BigDecimal("25.00000"), EXECUTE_AT,
+                        ScheduledTransfer.Status.PENDING, null, null));
+
+        mockMvc.perform(post("/transactions/scheduled")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"source_account_id\": 123, \"destination_account_id\": 456, "
+                                + "\"amount\": \"25.00000\", \"execute_at\": \"2030-01-15T10:30:00Z\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(id.toString()))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.execute_at").value("2030-01-15T10:30:00Z"));
+
+        verify(rateLimiter).checkTransfer(eq(List.of(123L)), any());
+        verify(scheduledTransferService).schedule(any(ScheduledTransferRequest.class));
+    }
+
+    @Test
+    void testScheduleTransfer_MissingExecutionTime() throws Exception {
+        ScheduledTransferRequest request = new ScheduledTransferRequest(123L, 456L, new BigDecimal("25.00000"), null);
+
+        mockMvc.perform(post("/transactions/scheduled")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(scheduledTransferService, never()).schedule(any());
+    }
+
+    @Test
+    void testScheduleTransfer_AccountNotFound() throws Exception {
+        ScheduledTransferRequest request = new ScheduledTransferRequest(123L, 456L, new BigDecimal("25.00000"), EXECUTE_AT);
+        doThrow(new AccountNotFoundException(456L)).when(scheduledTransferService).schedule(any());
+
+        mockMvc.perform(post("/transactions/scheduled")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testScheduleTransfer_RateLimited() throws Exception {
+        ScheduledTransferRequest request = new ScheduledTransferRequest(123L, 456L, new BigDecimal("25.00000"), EXECUTE_AT);
+        doThrow(new RateLimitExceededException("account", 123L, Duration.ofMillis(300)))
+                .when(rateLimiter).checkTransfer(any(), any());
+
+        mockMvc.perform(post("/transactions/scheduled")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests());
+
+        verify(scheduledTransferService, never()).schedule(any());
+    }
+
+    @Test
+    void testGetScheduledTransfer_Success() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(scheduledTransferService.getScheduledTransfer(id)).thenReturn(
+                new ScheduledTransferResponse(id, 123L, 456L, new BigDecimal("25.00000"), EXECUTE_AT,
+                        ScheduledTransfer.Status.COMPLETED, 9L, null));
+
+        mockMvc.perform(get("/transactions/scheduled/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.transaction_id").value(9));
+    }
+
+    @Test
+    void testGetScheduledTransfer_NotFound() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(scheduledTransferService.getScheduledTransfer(id)).thenThrow(new ScheduledTransferNotFoundException(id));
+
+        mockMvc.perform(get("/transactions/scheduled/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,20 +1,35 @@
 package com.mani.payment_transfer_system.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.cache.CachedJson;
+import com.mani.payment_transfer_system.cache.TransactionResponseCache;
+import com.mani.payment_transfer_system.config.TransactionCacheProperties;
+import com.mani.payment_transfer_system.exception.TransactionNotFoundException;
 import com.mani.payment_transfer_system.exception.AccountNotFoundException;
 import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
 import com.mani.payment_transfer_system.exception.InvalidAmountException;
+import com.mani.payment_transfer_system.exception.RateLimitExceededException;
+import com.mani.payment_transfer_system.exception.TransactionRetryExhaustedException;
+import com.mani.payment_transfer_system.dto.SplitTransactionCreatedResponse;
+import com.mani.payment_transfer_system.dto.SplitTransactionRequest;
 import com.mani.payment_transfer_system.dto.TransactionRequest;
+import com.mani.payment_transfer_system.dto.TransactionResponse;
+import com.mani.payment_transfer_system.limit.TransferRateLimiter;
 import com.mani.payment_transfer_system.service.MetricsService;
 import com.mani.payment_transfer_system.service.TransactionService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -36,6 +51,9 @@ class TransactionControllerTest {
     @MockBean
     private MetricsService metricsService;
 
+    @MockBean
+    private TransferRateLimiter rateLimiter;
+
     @Test
     void testSubmitTransaction_Success() throws Exception {
         TransactionRequest request = new TransactionRequest(123L, 456L, new BigDecimal("100.12345"));
@@ -53,6 +71,22 @@ class TransactionControllerTest {
         verify(transactionService).processTransaction(any(TransactionRequest.class));
     }
 
+    @Test
+    void testSubmitTransaction_OptimisticRetriesExhausted() throws Exception {
+        TransactionRequest request = new TransactionRequest(123L, 456L, new BigDecimal("100.12345"));
+
+        doThrow(new TransactionRetryExhaustedException(5,
+                new OptimisticLockingFailureException("Account 123 was concurrently modified 5 times")))
+                .when(transactionService).processTransaction(any(TransactionRequest.class));
+
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.error").exists());
+    }
+
     @Test
     void testSubmitTransaction_ValidationError() throws Exception {
         TransactionRequest request = new TransactionRequest(null, 456L, new BigDecimal("-10.00000"));
@@ -127,6 +161,85 @@ class TransactionControllerTest {
         verify(transactionService).processTransaction(any(TransactionRequest.class));
     }
 
+    @Test
+    void testSubmitTransaction_RateLimited() throws Exception {
+        TransactionRequest request = new TransactionRequest(123L, 456L, new BigDecimal("100.12345"));
+
+        doThrow(new RateLimitExceededException("account", 123L, Duration.ofMillis(300)))
+                .when(rateLimiter).checkTransfer(List.of(123L), "client-a");
+
+        mockMvc.perform(post("/transactions")
+                        .header("X-Client-Id", "client-a")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.error").value("Rate limit exceeded for account 123. Please retry later."));
+
+        verify(transactionService, never()).processTransaction(any(TransactionRequest.class));
+    }
+
+    @Test
+    void testSubmitTransaction_ClientDefaultsToRemoteAddress() throws Exception {
+        TransactionRequest request = new TransactionRequest(123L, 456L, new BigDecimal("100.12345"));
+        when(transactionService.processTransaction(any(TransactionRequest.class))).thenReturn(1L);
+
+        mockMvc.perform(post("/transactions")
+                        .with(httpRequest -> {
+                            httpRequest.setRemoteAddr("10.0.0.7");
+                            return httpRequest;
+                        })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        verify(rateLimiter).checkTransfer(List.of(123L), "10.0.0.7");
+    }
+
+    @Test
+    void testSubmitSplitTransaction_Success() throws Exception {
+        SplitTransactionRequest request = new SplitTransactionRequest(java.util.List.of(
+                new TransactionRequest(123L, 456L, new BigDecimal("10.00000")),
+                new TransactionRequest(123L, 789L, new BigDecimal("20.00000"))));
+        java.util.UUID paymentId = java.util.UUID.randomUUID();
+
+        when(transactionService.processSplitTransaction(any(SplitTransactionRequest.class)))
+                .thenReturn(new SplitTransactionCreatedResponse(paymentId, java.util.List.of(1L, 2L),
+                        "Split transaction processed successfully"));
+
+        mockMvc.perform(post("/transactions/split")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.paymentId").value(paymentId.toString()))
+                .andExpect(jsonPath("$.transactionIds.length()").value(2))
+                .andExpect(jsonPath("$.message").value("Split transaction processed successfully"))
+                .andExpect(jsonPath("$.timestamp").exists());
+
+        // Both legs debit account 123, which is charged once
+        verify(rateLimiter).checkTransfer(java.util.Set.of(123L), "127.0.0.1");
+
+        verify(transactionService).processSplitTransaction(any(SplitTransactionRequest.class));
+    }
+
+    @Test
+    void testSubmitSplitTransaction_ValidationError() throws Exception {
+        SplitTransactionRequest request = new SplitTransactionRequest(java.util.List.of(
+                new TransactionRequest(123L, null, new BigDecimal("10.00000"))));
+
+        mockMvc.perform(post("/transactions/split")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/transactions/split")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SplitTransactionRequest(java.util.List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verify(transactionService, never()).processSplitTransaction(any(SplitTransactionRequest.class));
+    }
+
     @Test
     void testGetAllTransactions_Success() throws Exception {
         com.mani.payment_transfer_system.dto.TransactionResponse response1 = 
@@ -162,5 +275,47 @@ class TransactionControllerTest {
 
         verify(transactionService).getAllTransactions();
     }
-}
 
+    @Test
+    void testGetTransactionById_Success() throws Exception {
+        CachedJson json = encode(new TransactionResponse(
+                1L, 123L, 456L, new BigDecimal("50.00000"), LocalDateTime.of(2025, 1, 2, 3, 4, 5)));
+        when(transactionService.getTransactionJson(1L)).thenReturn(json);
+
+        mockMvc.perform(get("/transactions/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, json.etag()))
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.source_account_id").value(123))
+                .andExpect(jsonPath("$.destination_account_id").value(456))
+                .andExpect(jsonPath("$.amount").value(50.0))
+                .andExpect(jsonPath("$.timestamp").value("2025-01-02T03:04:05"));
+    }
+
+    @Test
+    void testGetTransactionById_NotModified() throws Exception {
+        CachedJson json = encode(new TransactionResponse(
+                1L, 123L, 456L, new BigDecimal("50.00000"), LocalDateTime.of(2025, 1, 2, 3, 4, 5)));
+        when(transactionService.getTransactionJson(1L)).thenReturn(json);
+
+        mockMvc.perform(get("/transactions/1").header(HttpHeaders.IF_NONE_MATCH, json.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, json.etag()))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testGetTransactionById_NotFound() throws Exception {
+        when(transactionService.getTransactionJson(99L)).thenThrow(new TransactionNotFoundException(99L));
+
+        mockMvc.perform(get("/transactions/99"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    private CachedJson encode(TransactionResponse response) {
+        return new TransactionResponseCache(new TransactionCacheProperties(), objectMapper, metricsService)
+                .put(response.getId(), response);
+    }
+}
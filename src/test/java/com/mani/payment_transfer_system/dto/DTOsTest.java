@@ -3,6 +3,8 @@ package com.mani.payment_transfer_system.dto;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -100,5 +102,29 @@ class DTOsTest {
         assertTrue(response.toString().contains("1"));
         assertTrue(response.toString().contains("123"));
     }
-}
 
+    @Test
+    void testSplitTransactionRequest() {
+        SplitTransactionRequest request = new SplitTransactionRequest();
+        List<TransactionRequest> legs = List.of(
+                new TransactionRequest(123L, 456L, new BigDecimal("10.00")));
+        request.setLegs(legs);
+
+        assertEquals(legs, request.getLegs());
+        assertEquals(legs, new SplitTransactionRequest(legs).getLegs());
+        assertNotNull(request.toString());
+    }
+
+    @Test
+    void testSplitTransactionCreatedResponse() {
+        UUID paymentId = UUID.randomUUID();
+        SplitTransactionCreatedResponse response = new SplitTransactionCreatedResponse(
+                paymentId, List.of(1L, 2L), "Split transaction processed successfully");
+
+        assertEquals(paymentId, response.getPaymentId());
+        assertEquals(List.of(1L, 2L), response.getTransactionIds());
+        assertEquals("Split transaction processed successfully", response.getMessage());
+        assertNotNull(response.getTimestamp());
+        assertTrue(response.toString().contains(paymentId.toString()));
+    }
+}
@@ -79,5 +79,15 @@ class AccountTest {
         assertTrue(toString.contains("123"));
         assertTrue(toString.contains("100.50"));
     }
-}
 
+    @Test
+    void testGetAvailableBalance_ExcludesHeldBalance() {
+        Account account = new Account(123L, new BigDecimal("100.00"));
+        assertEquals(new BigDecimal("100.00"), account.getAvailableBalance());
+
+        account.setHeldBalance(new BigDecimal("30.00"));
+
+        assertEquals(new BigDecimal("70.00"), account.getAvailableBalance());
+        assertEquals(new BigDecimal("100.00"), account.getBalance());
+    }
+}
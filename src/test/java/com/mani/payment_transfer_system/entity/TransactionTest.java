@@ -28,6 +28,18 @@ class TransactionTest {
         assertNotNull(transaction.getTimestamp());
     }
 
+    @Test
+    void testPaymentLegConstructor() {
+        java.util.UUID paymentId = java.util.UUID.randomUUID();
+        Transaction transaction = new Transaction(123L, 456L, new BigDecimal("100.50"), paymentId);
+        assertEquals(123L, transaction.getSourceAccountId());
+        assertEquals(456L, transaction.getDestinationAccountId());
+        assertEquals(new BigDecimal("100.50"), transaction.getAmount());
+        assertEquals(paymentId, transaction.getPaymentId());
+        assertNotNull(transaction.getTimestamp());
+        assertNull(new Transaction(123L, 456L, new BigDecimal("100.50")).getPaymentId());
+    }
+
     @Test
     void testGettersAndSetters() {
         Transaction transaction = new Transaction();
@@ -3,6 +3,7 @@ package com.mani.payment_transfer_system.exception;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -52,5 +53,34 @@ class ExceptionClassesTest {
         AccountAlreadyExistsException ex = new AccountAlreadyExistsException(123L);
         assertEquals("Account with ID 123 already exists", ex.getMessage());
     }
-}
 
+    @Test
+    void testTransactionRetryExhaustedException() {
+        RuntimeException cause = new RuntimeException("deadlock detected");
+        TransactionRetryExhaustedException ex = new TransactionRetryExhaustedException(3, cause);
+        assertTrue(ex.getMessage().contains("3 attempt(s)"));
+        assertSame(cause, ex.getCause());
+    }
+
+    @Test
+    void testTransferAbortedException() {
+        RuntimeException cause = new RuntimeException("reservation aborted");
+        TransferAbortedException ex = new TransferAbortedException(cause);
+        assertTrue(ex.getMessage().contains("aborted"));
+        assertSame(cause, ex.getCause());
+    }
+
+    @Test
+    void testServiceOverloadedException() {
+        ServiceOverloadedException ex = new ServiceOverloadedException("read", Duration.ofSeconds(1));
+        assertTrue(ex.getMessage().contains("read requests"));
+        assertEquals(Duration.ofSeconds(1), ex.getRetryAfter());
+    }
+
+    @Test
+    void testRateLimitExceededException() {
+        RateLimitExceededException ex = new RateLimitExceededException("account", 42L, Duration.ofMillis(250));
+        assertEquals("Rate limit exceeded for account 42. Please retry later.", ex.getMessage());
+        assertEquals(Duration.ofMillis(250), ex.getRetryAfter());
+    }
+}
@@ -9,8 +9,10 @@ import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -40,6 +42,48 @@ class GlobalExceptionHandlerTest {
         assertEquals("/accounts/123", response.getBody().getPath());
     }
 
+    @Test
+    void testHandleScheduledTransferNotFoundException() {
+        UUID id = UUID.fromString("6f1c2a8e-3b0d-4f5e-9a51-0c7d3e2b1a90");
+        ScheduledTransferNotFoundException ex = new ScheduledTransferNotFoundException(id);
+        jakarta.servlet.http.HttpServletRequest request = mock(jakarta.servlet.http.HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn("/transactions/scheduled/" + id);
+        ResponseEntity<com.mani.payment_transfer_system.dto.ErrorResponse> response =
+                globalExceptionHandler.handleScheduledTransferNotFoundException(ex, request);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Scheduled transfer with ID " + id + " not found", response.getBody().getError());
+    }
+
+    @Test
+    void testHandleHoldNotFoundException() {
+        UUID id = UUID.fromString("0b6f7a52-91c4-4e1d-8f0a-5d2e3c4b1a77");
+        HoldNotFoundException ex = new HoldNotFoundException(id);
+        jakarta.servlet.http.HttpServletRequest request = mock(jakarta.servlet.http.HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn("/holds/" + id);
+        ResponseEntity<com.mani.payment_transfer_system.dto.ErrorResponse> response =
+                globalExceptionHandler.handleHoldNotFoundException(ex, request);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Hold with ID " + id + " not found", response.getBody().getError());
+    }
+
+    @Test
+    void testHandleHoldNotActiveException() {
+        UUID id = UUID.fromString("0b6f7a52-91c4-4e1d-8f0a-5d2e3c4b1a77");
+        HoldNotActiveException ex = new HoldNotActiveException(id, "CAPTURED");
+        jakarta.servlet.http.HttpServletRequest request = mock(jakarta.servlet.http.HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn("/holds/" + id + "/void");
+        ResponseEntity<com.mani.payment_transfer_system.dto.ErrorResponse> response =
+                globalExceptionHandler.handleHoldNotActiveException(ex, request);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Hold with ID " + id + " is no longer active (CAPTURED)", response.getBody().getError());
+    }
+
     @Test
     void testHandleInsufficientBalanceException() {
         InsufficientBalanceException ex = new InsufficientBalanceException(123L, 
@@ -83,6 +127,66 @@ class GlobalExceptionHandlerTest {
         assertEquals("/accounts", response.getBody().getPath());
     }
 
+    @Test
+    void testHandleTransactionRetryExhaustedException() {
+        TransactionRetryExhaustedException ex = new TransactionRetryExhaustedException(4, new RuntimeException("deadlock"));
+        jakarta.servlet.http.HttpServletRequest request = mock(jakarta.servlet.http.HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn("/transactions");
+        ResponseEntity<com.mani.payment_transfer_system.dto.ErrorResponse> response =
+                globalExceptionHandler.handleTransactionRetryExhaustedException(ex, request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().getError().contains("4 attempt(s)"));
+        assertEquals("/transactions", response.getBody().getPath());
+    }
+
+    @Test
+    void testHandleTransferAbortedException() {
+        TransferAbortedException ex = new TransferAbortedException(new RuntimeException("reservation aborted"));
+        jakarta.servlet.http.HttpServletRequest request = mock(jakarta.servlet.http.HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn("/transactions");
+        ResponseEntity<com.mani.payment_transfer_system.dto.ErrorResponse> response =
+                globalExceptionHandler.handleTransferAbortedException(ex, request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+        assertNotNull(response.getBody());
+        assertEquals(ex.getMessage(), response.getBody().getError());
+        assertEquals("/transactions", response.getBody().getPath());
+        verifyNoInteractions(metricsService);
+    }
+
+    @Test
+    void testHandleServiceOverloadedException() {
+        ServiceOverloadedException ex = new ServiceOverloadedException("write", Duration.ofMillis(1500));
+        jakarta.servlet.http.HttpServletRequest request = mock(jakarta.servlet.http.HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn("/transactions");
+        ResponseEntity<com.mani.payment_transfer_system.dto.ErrorResponse> response =
+                globalExceptionHandler.handleServiceOverloadedException(ex, request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst("Retry-After"));
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().getError().contains("write"));
+        verifyNoInteractions(metricsService);
+    }
+
+    @Test
+    void testHandleRateLimitExceededException() {
+        RateLimitExceededException ex = new RateLimitExceededException("client", "client-a", Duration.ofMillis(40));
+        jakarta.servlet.http.HttpServletRequest request = mock(jakarta.servlet.http.HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn("/transactions");
+        ResponseEntity<com.mani.payment_transfer_system.dto.ErrorResponse> response =
+                globalExceptionHandler.handleRateLimitExceededException(ex, request);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+        assertNotNull(response.getBody());
+        assertEquals("Rate limit exceeded for client client-a. Please retry later.", response.getBody().getError());
+    }
+
     @Test
     void testHandleValidationExceptions() {
         MethodArgumentNotValidException ex = mock(MethodArgumentNotValidException.class);
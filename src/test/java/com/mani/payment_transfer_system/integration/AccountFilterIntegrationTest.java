@@ -0,0 +1,83 @@
+package com.mani.payment_transfer_system.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.dto.AccountRequest;
+import com.mani.payment_transfer_system.dto.TransactionRequest;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: accounts enter the filter only once their creating transaction commits.
+ */
+@SpringBootTest(properties = "payment.account-filter.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AccountFilterIntegrationTest {
+
+    private static final long ACCOUNT_ID = 9_500_000_001L;
+    private static final long UNKNOWN_ACCOUNT_ID = 9_500_000_999L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @AfterEach
+    void tearDown() {
+        accountRepository.findByAccountId(ACCOUNT_ID).ifPresent(accountRepository::delete);
+    }
+
+    @Test
+    void testUnknownAccountRejected() throws Exception {
+        double rejectionsBefore = rejections();
+
+        mockMvc.perform(get("/accounts/" + UNKNOWN_ACCOUNT_ID))
+                .andExpect(status().isNotFound());
+        TransactionRequest transfer = new TransactionRequest(UNKNOWN_ACCOUNT_ID, ACCOUNT_ID, new BigDecimal("1.00000"));
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transfer)))
+                .andExpect(status().isNotFound());
+
+        assertEquals(rejectionsBefore + 2, rejections());
+        assertTrue(meterRegistry.find("payment.account_filter.memory.bytes").gauge().value() > 0);
+        assertNotNull(meterRegistry.find("payment.account_filter.false_positive_rate").gauge());
+    }
+
+    @Test
+    void testCreatedAccountPassesFilter() throws Exception {
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountRequest(ACCOUNT_ID, new BigDecimal("10.00000")))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/accounts/" + ACCOUNT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.account_id").value(ACCOUNT_ID));
+    }
+
+    private double rejections() {
+        return meterRegistry.find("payment.account_filter.rejections").counter().count();
+    }
+}
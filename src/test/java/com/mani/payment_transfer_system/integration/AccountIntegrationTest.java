@@ -2,6 +2,7 @@ package com.mani.payment_transfer_system.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mani.payment_transfer_system.dto.AccountRequest;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -13,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -28,6 +30,9 @@ class AccountIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void testCreateAndGetAccount_EndToEnd() throws Exception {
         // Create account
@@ -71,5 +76,14 @@ class AccountIntegrationTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.error").exists());
     }
-}
 
+    @Test
+    void testConnectionPoolMetrics_Recorded() throws Exception {
+        mockMvc.perform(get("/accounts/99999"))
+                .andExpect(status().isNotFound());
+
+        assertNotNull(meterRegistry.find("payment.db.pool.active").gauge());
+        assertNotNull(meterRegistry.find("payment.db.pool.pending").gauge());
+        assertTrue(meterRegistry.find("payment.db.pool.acquire.time").timer().count() > 0);
+    }
+}
@@ -0,0 +1,87 @@
+package com.mani.payment_transfer_system.integration;
+
+import com.mani.payment_transfer_system.dto.AccountRequest;
+import com.mani.payment_transfer_system.dto.AccountResponse;
+import com.mani.payment_transfer_system.exception.AccountAlreadyExistsException;
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.service.AccountService;
+import com.mani.payment_transfer_system.support.SqlCounter;
+import com.mani.payment_transfer_system.support.SqlCounts;
+import com.mani.payment_transfer_system.support.SqlCountingConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the SQL each {@link AccountService} method issues in the default configuration.
+ * Not transactional: every call commits on its own, as in production.
+ */
+@SpringBootTest
+@Import(SqlCountingConfiguration.class)
+@ActiveProfiles("test")
+class AccountServiceSqlBudgetTest {
+
+    private static final long EXISTING = 9_970_000_011L;
+    private static final long CREATED = 9_970_000_012L;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        accountService.createAccount(new AccountRequest(EXISTING, new BigDecimal("100.00000")));
+        accountService.getAccount(EXISTING);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_id IN (?, ?)", EXISTING, CREATED);
+    }
+
+    @Test
+    void testCreateAccount() throws Exception {
+        SqlCounts counts = SqlCounter.count(
+                () -> accountService.createAccount(new AccountRequest(CREATED, new BigDecimal("5.00000"))));
+
+        // Locked existence check, insert, commit
+        assertEquals(new SqlCounts(1, 1, 0, 0, 0, 3, 0, 1), counts);
+    }
+
+    @Test
+    void testCreateAccount_AlreadyExists() {
+        SqlCounts counts = SqlCounter.countFailure(
+                () -> accountService.createAccount(new AccountRequest(EXISTING, new BigDecimal("5.00000"))),
+                AccountAlreadyExistsException.class);
+
+        assertEquals(new SqlCounts(1, 0, 0, 0, 0, 2, 1, 0), counts);
+    }
+
+    @Test
+    void testGetAccount() throws Exception {
+        SqlCounter.Measured<AccountResponse> account = SqlCounter.measure(() -> accountService.getAccount(EXISTING));
+
+        // A single auto-commit query without an enclosing transaction
+        assertEquals(new BigDecimal("100.00000"), account.result().getBalance());
+        assertEquals(new SqlCounts(1, 0, 0, 0, 0, 1, 1, 0), account.counts());
+    }
+
+    @Test
+    void testGetAccount_NotFound() {
+        SqlCounts counts = SqlCounter.countFailure(() -> accountService.getAccount(CREATED),
+                AccountNotFoundException.class);
+
+        assertEquals(new SqlCounts(1, 0, 0, 0, 0, 1, 0, 0), counts);
+    }
+}
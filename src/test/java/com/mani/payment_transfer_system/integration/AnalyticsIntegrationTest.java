@@ -0,0 +1,117 @@
+package com.mani.payment_transfer_system.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.dto.AccountRequest;
+import com.mani.payment_transfer_system.dto.TransactionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: the analytics store is fed after transfers commit.
+ */
+@SpringBootTest(properties = "payment.analytics.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AnalyticsIntegrationTest {
+
+    private static final long PAYER = 9_950_000_001L;
+    private static final long FIRST_PAYEE = 9_950_000_002L;
+    private static final long SECOND_PAYEE = 9_950_000_003L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE source_account_id IN (?, ?, ?) OR destination_account_id IN (?, ?, ?)",
+                PAYER, FIRST_PAYEE, SECOND_PAYEE, PAYER, FIRST_PAYEE, SECOND_PAYEE);
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_id IN (?, ?, ?)", PAYER, FIRST_PAYEE, SECOND_PAYEE);
+    }
+
+    @Test
+    void testAnalytics_AggregatesCommittedTransfers() throws Exception {
+        createAccount(PAYER, "1000.00000");
+        createAccount(FIRST_PAYEE, "0.00000");
+        createAccount(SECOND_PAYEE, "0.00000");
+        Instant from = Instant.now().minus(Duration.ofMinutes(1));
+        transfer(PAYER, FIRST_PAYEE, "10.00000");
+        transfer(PAYER, FIRST_PAYEE, "30.00000");
+        transfer(PAYER, SECOND_PAYEE, "50.00000");
+        // Rejected: not recorded
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new TransactionRequest(FIRST_PAYEE, SECOND_PAYEE, new BigDecimal("500.00000")))))
+                .andExpect(status().isBadRequest());
+        Instant to = Instant.now().plus(Duration.ofMinutes(1));
+
+        mockMvc.perform(get("/analytics/accounts")
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .param("account_id", String.valueOf(PAYER))
+                        .param("percentiles", "0.5,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].account_id").value(SECOND_PAYEE))
+                .andExpect(jsonPath("$[1].account_id").value(FIRST_PAYEE))
+                .andExpect(jsonPath("$[1].count").value(2))
+                .andExpect(jsonPath("$[1].sum").value(40.0))
+                .andExpect(jsonPath("$[1].percentiles.p50").value(10.0))
+                .andExpect(jsonPath("$[1].percentiles.p100").value(30.0));
+
+        // Buckets are epoch-aligned, so the transfers may straddle a bucket boundary
+        String volume = mockMvc.perform(get("/analytics/volume")
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .param("bucket", "PT10M")
+                        .param("account_id", String.valueOf(FIRST_PAYEE))
+                        .param("percentiles", "0.5"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long count = 0;
+        BigDecimal sum = BigDecimal.ZERO;
+        for (JsonNode bucket : objectMapper.readTree(volume)) {
+            count += bucket.get("count").asLong();
+            sum = sum.add(bucket.get("sum").decimalValue());
+        }
+        assertEquals(2, count);
+        assertEquals(0, new BigDecimal("40.00000").compareTo(sum));
+    }
+
+    private void transfer(long source, long destination, String amount) throws Exception {
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new TransactionRequest(source, destination, new BigDecimal(amount)))))
+                .andExpect(status().isCreated());
+    }
+
+    private void createAccount(long accountId, String balance) throws Exception {
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountRequest(accountId, new BigDecimal(balance)))))
+                .andExpect(status().isCreated());
+    }
+}
@@ -0,0 +1,131 @@
+package com.mani.payment_transfer_system.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.archive.ArchiveRunReport;
+import com.mani.payment_transfer_system.archive.TransactionArchiver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: the archiver commits its deletes in its own transactions.
+ * The minimum age is set so that only transactions from before 2002 are archived.
+ */
+@SpringBootTest(properties = {
+        "payment.archive.enabled=true",
+        "payment.archive.min-age=9000d",
+        "payment.archive.segment-size=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ArchiveIntegrationTest {
+
+    private static final long SOURCE = 9_940_000_001L;
+    private static final long DESTINATION = 9_940_000_002L;
+    private static final LocalDateTime OLD = LocalDateTime.of(2000, 3, 14, 15, 9, 26, 535_000_000);
+    private static final Path DIRECTORY;
+
+    static {
+        try {
+            DIRECTORY = Files.createTempDirectory("archive");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void archiveDirectory(DynamicPropertyRegistry registry) {
+        registry.add("payment.archive.directory", DIRECTORY::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionArchiver archiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE source_account_id IN (?, ?) OR destination_account_id IN (?, ?)",
+                SOURCE, DESTINATION, SOURCE, DESTINATION);
+    }
+
+    @AfterAll
+    static void deleteArchive() throws IOException {
+        FileSystemUtils.deleteRecursively(DIRECTORY);
+    }
+
+    @Test
+    void testArchive_MovesOldTransactionsAndLookupsFallBack() throws Exception {
+        List<Long> old = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            old.add(insert(SOURCE, DESTINATION, new BigDecimal("1" + i + ".12345"), OLD.plusDays(i)));
+        }
+        long recent = insert(DESTINATION, SOURCE, new BigDecimal("2.00000"), LocalDateTime.now());
+
+        ArchiveRunReport report = archiver.archive();
+
+        assertTrue(report.getTransactionsArchived() >= 4);
+        assertTrue(report.getSegmentsWritten() >= 2);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE source_account_id = ?", Integer.class, SOURCE));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE id = ?", Integer.class, recent));
+
+        mockMvc.perform(get("/transactions/" + old.get(3)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(old.get(3)))
+                .andExpect(jsonPath("$.source_account_id").value(SOURCE))
+                .andExpect(jsonPath("$.destination_account_id").value(DESTINATION))
+                .andExpect(jsonPath("$.amount").value(13.12345))
+                .andExpect(jsonPath("$.timestamp").value("2000-03-17T15:09:26.535"));
+        mockMvc.perform(get("/transactions/" + recent))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.amount").value(2.0));
+
+        String body = mockMvc.perform(get("/transactions"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Long> listed = new ArrayList<>();
+        for (JsonNode transaction : objectMapper.readTree(body)) {
+            listed.add(transaction.get("id").asLong());
+        }
+        assertTrue(listed.containsAll(old));
+        assertTrue(listed.indexOf(old.get(0)) < listed.indexOf(recent));
+
+        assertEquals(0, archiver.archive().getTransactionsArchived());
+    }
+
+    private long insert(long source, long destination, BigDecimal amount, LocalDateTime timestamp) {
+        return jdbcTemplate.queryForObject("INSERT INTO transactions (source_account_id, destination_account_id, amount, timestamp) "
+                + "VALUES (?, ?, ?, ?) RETURNING id", Long.class, source, destination, amount, timestamp);
+    }
+}
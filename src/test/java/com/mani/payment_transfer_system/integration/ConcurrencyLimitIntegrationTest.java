@@ -0,0 +1,119 @@
+package com.mani.payment_transfer_system.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.dto.AccountRequest;
+import com.mani.payment_transfer_system.dto.HoldRequest;
+import com.mani.payment_transfer_system.dto.HoldResponse;
+import com.mani.payment_transfer_system.entity.AuthorizationHold;
+import com.mani.payment_transfer_system.service.HoldService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "payment.concurrency-limit.enabled=true",
+        "payment.holds.enabled=true",
+        "payment.concurrency-limit.write.initial-limit=1",
+        "payment.concurrency-limit.write.min-limit=1",
+        "payment.concurrency-limit.write.max-limit=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class ConcurrencyLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private HoldService holdService;
+
+    @Test
+    void testSequentialRequestsAreAdmittedAndReleased() throws Exception {
+        AccountRequest request = new AccountRequest(9_600_000_001L, new BigDecimal("100.00"));
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+        // A write limit of one still admits the next write once the previous one completed, errors included
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/accounts/9600000001"))
+                .andExpect(status().isOk());
+
+        assertEquals(1.0, meterRegistry.get("payment.concurrency.limit").tag("bulkhead", "write").gauge().value());
+        assertEquals(0.0, meterRegistry.get("payment.concurrency.in_flight").tag("bulkhead", "write").gauge().value());
+        assertEquals(0.0, meterRegistry.get("payment.concurrency.in_flight").tag("bulkhead", "read").gauge().value());
+        assertNull(meterRegistry.find("payment.concurrency.rejections").counter());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testHoldWritesShareTheWriteBulkhead() throws Exception {
+        CountDownLatch placing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UUID holdId = UUID.randomUUID();
+        when(holdService.placeHold(any(HoldRequest.class))).thenAnswer(invocation -> {
+            placing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new HoldResponse(holdId, 9_600_000_002L, 9_600_000_003L, new BigDecimal("10.00000"),
+                    Instant.now().plusSeconds(60), AuthorizationHold.Status.ACTIVE, null, null);
+        });
+        HoldRequest request = new HoldRequest(9_600_000_002L, 9_600_000_003L, new BigDecimal("10.00"), null);
+
+        ExecutorService client = Executors.newSingleThreadExecutor();
+        try {
+            Future<MvcResult> placed = client.submit(() -> mockMvc.perform(post("/holds")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andReturn());
+            assertTrue(placing.await(5, TimeUnit.SECONDS));
+
+            // The hold being placed takes the only write permit, so capturing is shed before it locks anything
+            mockMvc.perform(post("/holds/{id}/capture", holdId))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists("Retry-After"));
+            release.countDown();
+            assertEquals(201, placed.get(5, TimeUnit.SECONDS).getResponse().getStatus());
+        } finally {
+            release.countDown();
+            client.shutdownNow();
+        }
+
+        assertEquals(1.0, meterRegistry.get("payment.concurrency.rejections").tag("bulkhead", "write")
+                .counter().count());
+        assertEquals(0.0, meterRegistry.get("payment.concurrency.in_flight").tag("bulkhead", "write").gauge().value());
+    }
+}
@@ -0,0 +1,152 @@
+package com.mani.payment_transfer_system.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.dto.AccountRequest;
+import com.mani.payment_transfer_system.dto.HoldRequest;
+import com.mani.payment_transfer_system.dto.TransactionRequest;
+import com.mani.payment_transfer_system.service.HoldService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: holds are placed, captured and released in their own transactions.
+ */
+@SpringBootTest(properties = {
+        "payment.holds.enabled=true",
+        "payment.holds.sweep-interval=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HoldIntegrationTest {
+
+    private static final long SOURCE = 9_920_000_001L;
+    private static final long DESTINATION = 9_920_000_002L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM authorization_holds WHERE source_account_id IN (?, ?)", SOURCE, DESTINATION);
+        jdbcTemplate.update("DELETE FROM transactions WHERE source_account_id IN (?, ?) OR destination_account_id IN (?, ?)",
+                SOURCE, DESTINATION, SOURCE, DESTINATION);
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_id IN (?, ?)", SOURCE, DESTINATION);
+    }
+
+    @Test
+    void testHold_ReservesBalanceUntilPartialCapture() throws Exception {
+        createAccount(SOURCE, "100.00000");
+        createAccount(DESTINATION, "50.00000");
+
+        JsonNode hold = placeHold("70.00000", null);
+        assertEquals("ACTIVE", hold.get("status").asText());
+        assertBalances(SOURCE, "100.00000", "30.00000");
+
+        // Only the available balance can be spent
+        transfer("40.00000").andExpect(status().isBadRequest());
+        transfer("30.00000").andExpect(status().isCreated());
+        assertBalances(SOURCE, "70.00000", "0.00000");
+
+        mockMvc.perform(post("/holds/" + hold.get("id").asText() + "/capture")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": \"60.00000\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CAPTURED"))
+                .andExpect(jsonPath("$.transaction_id").isNumber());
+        assertBalances(SOURCE, "10.00000", "10.00000");
+        assertBalances(DESTINATION, "140.00000", "140.00000");
+
+        mockMvc.perform(post("/holds/" + hold.get("id").asText() + "/void"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testHold_VoidReleasesBalance() throws Exception {
+        createAccount(SOURCE, "100.00000");
+        createAccount(DESTINATION, "50.00000");
+        JsonNode hold = placeHold("70.00000", null);
+
+        mockMvc.perform(post("/holds/" + hold.get("id").asText() + "/void"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("VOIDED"));
+
+        assertBalances(SOURCE, "100.00000", "100.00000");
+        assertBalances(DESTINATION, "50.00000", "50.00000");
+    }
+
+    @Test
+    void testReleaseExpiredHolds_ReleasesBalanceAndRejectsCapture() throws Exception {
+        createAccount(SOURCE, "100.00000");
+        createAccount(DESTINATION, "50.00000");
+        JsonNode first = placeHold("30.00000", Duration.ofMillis(100));
+        placeHold("20.00000", Duration.ofMillis(100));
+        JsonNode live = placeHold("10.00000", Duration.ofHours(1));
+        assertBalances(SOURCE, "100.00000", "40.00000");
+        Thread.sleep(200);
+
+        assertTrue(holdService.releaseExpiredHolds() >= 2);
+
+        assertBalances(SOURCE, "100.00000", "90.00000");
+        mockMvc.perform(get("/holds/" + first.get("id").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("EXPIRED"));
+        mockMvc.perform(post("/holds/" + first.get("id").asText() + "/capture"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/holds/" + live.get("id").asText()))
+                .andExpect(jsonPath("$.status").value("ACTIVE"));
+    }
+
+    private JsonNode placeHold(String amount, Duration ttl) throws Exception {
+        HoldRequest request = new HoldRequest(SOURCE, DESTINATION, new BigDecimal(amount), ttl);
+        String body = mockMvc.perform(post("/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private org.springframework.test.web.servlet.ResultActions transfer(String amount) throws Exception {
+        return mockMvc.perform(post("/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TransactionRequest(SOURCE, DESTINATION, new BigDecimal(amount)))));
+    }
+
+    private void createAccount(long accountId, String balance) throws Exception {
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountRequest(accountId, new BigDecimal(balance)))))
+                .andExpect(status().isCreated());
+    }
+
+    private void assertBalances(long accountId, String balance, String availableBalance) throws Exception {
+        mockMvc.perform(get("/accounts/" + accountId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(new BigDecimal(balance).doubleValue()))
+                .andExpect(jsonPath("$.available_balance").value(new BigDecimal(availableBalance).doubleValue()));
+    }
+}
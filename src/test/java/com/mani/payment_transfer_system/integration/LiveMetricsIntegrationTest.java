@@ -0,0 +1,91 @@
+package com.mani.payment_transfer_system.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.dto.AccountRequest;
+import com.mani.payment_transfer_system.dto.TransactionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: transfers run in their own transactions.
+ * Other tests in the same context also feed the window, so counts are asserted as lower bounds.
+ */
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=live")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LiveMetricsIntegrationTest {
+
+    private static final long SOURCE = 9_960_000_001L;
+    private static final long DESTINATION = 9_960_000_002L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE source_account_id IN (?, ?) OR destination_account_id IN (?, ?)",
+                SOURCE, DESTINATION, SOURCE, DESTINATION);
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_id IN (?, ?)", SOURCE, DESTINATION);
+    }
+
+    @Test
+    void testLiveEndpoint_ReportsRecentTransfersAndErrors() throws Exception {
+        createAccount(SOURCE, "100.00000");
+        createAccount(DESTINATION, "0.00000");
+        transfer(SOURCE, DESTINATION, "10.00000").andExpect(status().isCreated());
+        transfer(SOURCE, DESTINATION, "500.00000").andExpect(status().isBadRequest());
+
+        String body = mockMvc.perform(get("/actuator/live").param("seconds", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seconds.length()").value(10))
+                .andExpect(jsonPath("$.inFlight").value(0))
+                .andReturn().getResponse().getContentAsString();
+
+        long transfers = 0;
+        long insufficientBalance = 0;
+        boolean latencyReported = false;
+        for (JsonNode second : objectMapper.readTree(body).get("seconds")) {
+            transfers += second.get("transfers").asLong();
+            insufficientBalance += second.get("errorsByType").path("INSUFFICIENT_BALANCE").asLong();
+            latencyReported |= second.get("p99LatencyMillis").isNumber();
+        }
+        assertTrue(transfers >= 1);
+        assertTrue(insufficientBalance >= 1);
+        assertTrue(latencyReported);
+    }
+
+    private ResultActions transfer(long source, long destination, String amount) throws Exception {
+        return mockMvc.perform(post("/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new TransactionRequest(source, destination, new BigDecimal(amount)))));
+    }
+
+    private void createAccount(long accountId, String balance) throws Exception {
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountRequest(accountId, new BigDecimal(balance)))))
+                .andExpect(status().isCreated());
+    }
+}
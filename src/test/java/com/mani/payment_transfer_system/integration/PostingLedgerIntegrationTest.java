@@ -0,0 +1,167 @@
+package com.mani.payment_transfer_system.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.dto.AccountRequest;
+import com.mani.payment_transfer_system.dto.SplitTransactionRequest;
+import com.mani.payment_transfer_system.dto.TransactionRequest;
+import com.mani.payment_transfer_system.ledger.PostingLedger;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "payment.transfer.execution-mode=POSTINGS")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class PostingLedgerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostingLedger postingLedger;
+
+    @Test
+    void testTransfer_AppendsPostingsWithoutUpdatingAccounts() throws Exception {
+        createAccount(9_900_000_011L, "200.00000");
+        createAccount(9_900_000_012L, "100.00000");
+
+        transfer(9_900_000_011L, 9_900_000_012L, "50.12345")
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/accounts/9900000011"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(149.87655));
+        mockMvc.perform(get("/accounts/9900000012"))
+                .andExpect(jsonPath("$.balance").value(150.12345));
+        assertEquals(0, new BigDecimal("200.00000").compareTo(storedBalance(9_900_000_011L)));
+        assertEquals(List.of(new BigDecimal("-50.12345"), new BigDecimal("50.12345")),
+                jdbcTemplate.queryForList("SELECT amount FROM postings WHERE account_id IN (?, ?) ORDER BY id",
+                        BigDecimal.class, 9_900_000_011L, 9_900_000_012L));
+    }
+
+    @Test
+    void testTransfer_ValidatesAgainstPostedBalance() throws Exception {
+        createAccount(9_900_000_021L, "100.00000");
+        createAccount(9_900_000_022L, "0.00000");
+
+        transfer(9_900_000_021L, 9_900_000_022L, "70.00000")
+                .andExpect(status().isCreated());
+        transfer(9_900_000_021L, 9_900_000_022L, "40.00000")
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/accounts/9900000021"))
+                .andExpect(jsonPath("$.balance").value(30.0));
+    }
+
+    @Test
+    void testTransfer_AccountNotFound() throws Exception {
+        createAccount(9_900_000_031L, "10.00000");
+
+        transfer(9_900_000_031L, 9_900_000_039L, "1.00000")
+                .andExpect(status().isNotFound());
+        transfer(9_900_000_038L, 9_900_000_031L, "1.00000")
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testSplitTransaction_AppendsPostingPerLegSide() throws Exception {
+        createAccount(9_900_000_041L, "100.00000");
+        createAccount(9_900_000_042L, "0.00000");
+        createAccount(9_900_000_043L, "0.00000");
+        SplitTransactionRequest request = new SplitTransactionRequest(List.of(
+                new TransactionRequest(9_900_000_041L, 9_900_000_042L, new BigDecimal("30.00000")),
+                new TransactionRequest(9_900_000_042L, 9_900_000_043L, new BigDecimal("10.00000"))));
+
+        mockMvc.perform(post("/transactions/split")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.transactionIds.length()").value(2));
+
+        mockMvc.perform(get("/accounts/9900000041")).andExpect(jsonPath("$.balance").value(70.0));
+        mockMvc.perform(get("/accounts/9900000042")).andExpect(jsonPath("$.balance").value(20.0));
+        mockMvc.perform(get("/accounts/9900000043")).andExpect(jsonPath("$.balance").value(10.0));
+        assertEquals(4, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM postings WHERE account_id BETWEEN ? AND ?", Integer.class,
+                9_900_000_041L, 9_900_000_043L));
+    }
+
+    @Test
+    void testSplitTransaction_InsufficientNetBalance() throws Exception {
+        createAccount(9_900_000_051L, "10.00000");
+        createAccount(9_900_000_052L, "0.00000");
+        SplitTransactionRequest request = new SplitTransactionRequest(List.of(
+                new TransactionRequest(9_900_000_051L, 9_900_000_052L, new BigDecimal("6.00000")),
+                new TransactionRequest(9_900_000_051L, 9_900_000_052L, new BigDecimal("6.00000"))));
+
+        mockMvc.perform(post("/transactions/split")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCheckpoint_FoldsPostingsIntoStoredBalance() throws Exception {
+        createAccount(9_900_000_061L, "100.00000");
+        createAccount(9_900_000_062L, "0.00000");
+        transfer(9_900_000_061L, 9_900_000_062L, "25.00000").andExpect(status().isCreated());
+        transfer(9_900_000_061L, 9_900_000_062L, "5.00000").andExpect(status().isCreated());
+
+        assertTrue(postingLedger.checkpoint() >= 2);
+
+        assertEquals(0, new BigDecimal("70.00000").compareTo(storedBalance(9_900_000_061L)));
+        assertEquals(0, new BigDecimal("30.00000").compareTo(storedBalance(9_900_000_062L)));
+        mockMvc.perform(get("/accounts/9900000061")).andExpect(jsonPath("$.balance").value(70.0));
+
+        // Postings after the checkpoint are added on top of it
+        transfer(9_900_000_061L, 9_900_000_062L, "70.00000").andExpect(status().isCreated());
+        transfer(9_900_000_061L, 9_900_000_062L, "0.00001").andExpect(status().isBadRequest());
+        mockMvc.perform(get("/accounts/9900000062")).andExpect(jsonPath("$.balance").value(100.0));
+    }
+
+    private BigDecimal storedBalance(Long accountId) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE account_id = ?", BigDecimal.class,
+                accountId);
+    }
+
+    private void createAccount(Long accountId, String balance) throws Exception {
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountRequest(accountId, new BigDecimal(balance)))))
+                .andExpect(status().isCreated());
+        // Make the account visible to the ledger, which runs on the same connection
+        entityManager.flush();
+    }
+
+    private ResultActions transfer(Long sourceAccountId, Long destinationAccountId, String amount) throws Exception {
+        TransactionRequest request = new TransactionRequest(sourceAccountId, destinationAccountId, new BigDecimal(amount));
+        return mockMvc.perform(post("/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.mani.payment_transfer_system.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.dto.TransactionRequest;
+import com.mani.payment_transfer_system.entity.Account;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "payment.rate-limit.enabled=true",
+        "payment.rate-limit.account.permits-per-second=0.1",
+        "payment.rate-limit.account.burst=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class RateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testSecondTransferFromSameAccountIsThrottled() throws Exception {
+        accountRepository.save(new Account(9_700_000_001L, new BigDecimal("100.00000")));
+        accountRepository.save(new Account(9_700_000_002L, new BigDecimal("100.00000")));
+        String body = objectMapper.writeValueAsString(
+                new TransactionRequest(9_700_000_001L, 9_700_000_002L, new BigDecimal("10.00000")));
+
+        mockMvc.perform(post("/transactions").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/transactions").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        assertEquals(0, new BigDecimal("90.00000").compareTo(
+                accountRepository.findByAccountId(9_700_000_001L).orElseThrow().getBalance()));
+        assertEquals(1.0, meterRegistry.get("payment.errors.rate_limited").tag("scope", "account").counter().count());
+    }
+}
@@ -0,0 +1,131 @@
+package com.mani.payment_transfer_system.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.dto.AccountRequest;
+import com.mani.payment_transfer_system.dto.TransactionRequest;
+import com.mani.payment_transfer_system.reconciliation.LedgerReconciler;
+import com.mani.payment_transfer_system.reconciliation.ReconciliationReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: the reconciler reads committed data in its own transactions.
+ * Other tests may leave unrelated accounts behind, so only this test's accounts are asserted on.
+ */
+@SpringBootTest(properties = {
+        "payment.reconciliation.enabled=true",
+        "payment.reconciliation.settle-time=0s",
+        "payment.reconciliation.range-size=50",
+        "payment.reconciliation.max-reported-mismatches=1000000",
+        "payment.reconciliation.interval=1h",
+        "management.endpoints.web.exposure.include=reconciliation"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReconciliationIntegrationTest {
+
+    private static final long SOURCE = 9_800_000_001L;
+    private static final long DESTINATION = 9_800_000_002L;
+    private static final List<Long> ACCOUNTS = List.of(SOURCE, DESTINATION);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LedgerReconciler reconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE source_account_id IN (?, ?) OR destination_account_id IN (?, ?)",
+                SOURCE, DESTINATION, SOURCE, DESTINATION);
+        jdbcTemplate.update("DELETE FROM account_ledger_totals WHERE account_id IN (?, ?)", SOURCE, DESTINATION);
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_id IN (?, ?)", SOURCE, DESTINATION);
+    }
+
+    @Test
+    void testReconcile_FoldsIncrementallyAndDetectsTampering() throws Exception {
+        createAccount(SOURCE, "100.00000");
+        createAccount(DESTINATION, "50.00000");
+        Long first = transfer(SOURCE, DESTINATION, "30.00000");
+
+        ReconciliationReport report = reconciler.reconcile();
+        assertTrue(ownMismatches(report).isEmpty());
+        assertTrue(report.getWatermarks().get("default") >= first);
+        assertTrue(report.getAccountsChecked() >= 2);
+        assertTrue(report.getRanges() >= 1);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT net_flow FROM account_ledger_totals WHERE account_id = ?", BigDecimal.class, DESTINATION)
+                .compareTo(new BigDecimal("30.00000")));
+
+        // Only the new transaction is folded by the next run
+        Long second = transfer(DESTINATION, SOURCE, "5.00000");
+        report = reconciler.reconcile();
+        assertTrue(ownMismatches(report).isEmpty());
+        assertTrue(report.getWatermarks().get("default") >= second);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT net_flow FROM account_ledger_totals WHERE account_id = ?", BigDecimal.class, DESTINATION)
+                .compareTo(new BigDecimal("25.00000")));
+
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + 1 WHERE account_id = ?", SOURCE);
+        report = reconciler.reconcile();
+        List<ReconciliationReport.Mismatch> mismatches = ownMismatches(report);
+        assertEquals(1, mismatches.size());
+        assertEquals(SOURCE, mismatches.get(0).accountId());
+        assertEquals(0, mismatches.get(0).expectedBalance().compareTo(new BigDecimal("75.00000")));
+        assertEquals(0, mismatches.get(0).getDifference().compareTo(BigDecimal.ONE));
+    }
+
+    @Test
+    void testEndpoint_RunsAndReturnsReport() throws Exception {
+        mockMvc.perform(post("/actuator/reconciliation"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.watermarks.default").exists())
+                .andExpect(jsonPath("$.accountsChecked").exists());
+        mockMvc.perform(get("/actuator/reconciliation"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mismatchCount").exists());
+    }
+
+    private List<ReconciliationReport.Mismatch> ownMismatches(ReconciliationReport report) {
+        return report.getMismatches().stream()
+                .filter(mismatch -> ACCOUNTS.contains(mismatch.accountId()))
+                .toList();
+    }
+
+    private void createAccount(long accountId, String balance) throws Exception {
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountRequest(accountId, new BigDecimal(balance)))))
+                .andExpect(status().isCreated());
+    }
+
+    private Long transfer(long source, long destination, String amount) throws Exception {
+        String body = mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new TransactionRequest(source, destination, new BigDecimal(amount)))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("transactionId").asLong();
+    }
+}
@@ -0,0 +1,157 @@
+package com.mani.payment_transfer_system.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.dto.AccountRequest;
+import com.mani.payment_transfer_system.dto.ScheduledTransferRequest;
+import com.mani.payment_transfer_system.entity.ScheduledTransfer;
+import com.mani.payment_transfer_system.repository.ScheduledTransferRepository;
+import com.mani.payment_transfer_system.scheduling.TransferScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: scheduled transfers are executed by worker threads in their own transactions.
+ */
+@SpringBootTest(properties = {
+        "payment.scheduled-transfers.enabled=true",
+        "payment.scheduled-transfers.tick=20ms",
+        "payment.scheduled-transfers.load-interval=30m",
+        "payment.scheduled-transfers.load-ahead=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ScheduledTransferIntegrationTest {
+
+    private static final long SOURCE = 9_910_000_001L;
+    private static final long DESTINATION = 9_910_000_002L;
+    private static final Duration WAIT = Duration.ofSeconds(10);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ScheduledTransferRepository scheduledTransferRepository;
+
+    @Autowired
+    private TransferScheduler scheduler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM scheduled_transfers WHERE source_account_id IN (?, ?)", SOURCE, DESTINATION);
+        jdbcTemplate.update("DELETE FROM transactions WHERE source_account_id IN (?, ?) OR destination_account_id IN (?, ?)",
+                SOURCE, DESTINATION, SOURCE, DESTINATION);
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_id IN (?, ?)", SOURCE, DESTINATION);
+    }
+
+    @Test
+    void testScheduledTransfer_ExecutedWhenDue() throws Exception {
+        createAccount(SOURCE, "100.00000");
+        createAccount(DESTINATION, "50.00000");
+        Instant executeAt = Instant.now().plusMillis(300);
+
+        JsonNode scheduled = schedule(SOURCE, DESTINATION, "30.00000", executeAt);
+        assertEquals("PENDING", scheduled.get("status").asText());
+
+        JsonNode completed = awaitFinished(scheduled.get("id").asText());
+        assertEquals("COMPLETED", completed.get("status").asText());
+        assertTrue(completed.get("transaction_id").isNumber());
+        assertFalse(Instant.now().isBefore(executeAt));
+        assertBalance(SOURCE, "70.00000");
+        assertBalance(DESTINATION, "80.00000");
+        mockMvc.perform(get("/transactions/" + completed.get("transaction_id").asLong()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.amount").value(30.0));
+    }
+
+    @Test
+    void testScheduledTransfer_InsufficientBalanceMarkedFailed() throws Exception {
+        createAccount(SOURCE, "10.00000");
+        createAccount(DESTINATION, "50.00000");
+
+        JsonNode scheduled = schedule(SOURCE, DESTINATION, "30.00000", Instant.now());
+
+        JsonNode failed = awaitFinished(scheduled.get("id").asText());
+        assertEquals("FAILED", failed.get("status").asText());
+        assertTrue(failed.get("failure_reason").asText().contains("insufficient balance"));
+        assertBalance(SOURCE, "10.00000");
+        assertBalance(DESTINATION, "50.00000");
+    }
+
+    @Test
+    void testLoad_ExecutesOverdueTransfersOnceAfterRestart() throws Exception {
+        createAccount(SOURCE, "100.00000");
+        createAccount(DESTINATION, "50.00000");
+        // Persisted before a restart: not offered to the scheduler, only found by a load
+        ScheduledTransfer overdue = scheduledTransferRepository.save(new ScheduledTransfer(SOURCE, DESTINATION,
+                new BigDecimal("20.00000"), Instant.now().minusSeconds(60)));
+
+        scheduler.load();
+        scheduler.load();
+
+        assertEquals("COMPLETED", awaitFinished(overdue.getId().toString()).get("status").asText());
+        scheduler.load();
+        Thread.sleep(200);
+        assertBalance(SOURCE, "80.00000");
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE source_account_id = ?", Integer.class, SOURCE));
+    }
+
+    private JsonNode schedule(long source, long destination, String amount, Instant executeAt) throws Exception {
+        ScheduledTransferRequest request = new ScheduledTransferRequest(source, destination, new BigDecimal(amount), executeAt);
+        String body = mockMvc.perform(post("/transactions/scheduled")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private JsonNode awaitFinished(String id) throws Exception {
+        Instant deadline = Instant.now().plus(WAIT);
+        while (true) {
+            String body = mockMvc.perform(get("/transactions/scheduled/" + id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode transfer = objectMapper.readTree(body);
+            if (!"PENDING".equals(transfer.get("status").asText()) || Instant.now().isAfter(deadline)) {
+                return transfer;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private void createAccount(long accountId, String balance) throws Exception {
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountRequest(accountId, new BigDecimal(balance)))))
+                .andExpect(status().isCreated());
+    }
+
+    private void assertBalance(long accountId, String balance) throws Exception {
+        mockMvc.perform(get("/accounts/" + accountId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(new BigDecimal(balance).doubleValue()));
+    }
+}
@@ -0,0 +1,90 @@
+package com.mani.payment_transfer_system.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.dto.AccountRequest;
+import com.mani.payment_transfer_system.dto.TransactionRequest;
+import com.mani.payment_transfer_system.monitoring.ServerTimingFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: each request commits on its own, as in production.
+ */
+@SpringBootTest(properties = "payment.server-timing.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ServerTimingIntegrationTest {
+
+    private static final long SOURCE = 9_980_000_001L;
+    private static final long DESTINATION = 9_980_000_002L;
+    private static final Pattern STATEMENTS = Pattern.compile("db;dur=[0-9.]+;desc=\"(\\d+) statements\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE source_account_id IN (?, ?) OR destination_account_id IN (?, ?)",
+                SOURCE, DESTINATION, SOURCE, DESTINATION);
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_id IN (?, ?)", SOURCE, DESTINATION);
+    }
+
+    @Test
+    void testTransfer_ReportsStatementsAndLockTime() throws Exception {
+        createAccount(SOURCE, "100.00000");
+        createAccount(DESTINATION, "0.00000");
+
+        String header = mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new TransactionRequest(SOURCE, DESTINATION, new BigDecimal("10.00000")))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.transactionId").isNumber())
+                .andReturn().getResponse().getHeader(ServerTimingFilter.HEADER);
+
+        assertNotNull(header);
+        Matcher statements = STATEMENTS.matcher(header);
+        assertTrue(statements.find(), header);
+        // Two account locks, two balance updates and the transaction insert
+        assertTrue(Integer.parseInt(statements.group(1)) >= 5, header);
+        assertTrue(header.contains("lock;dur="), header);
+        assertTrue(header.contains("conn;dur="), header);
+    }
+
+    @Test
+    void testFailedRequest_StillCarriesHeader() throws Exception {
+        mockMvc.perform(get("/accounts/{accountId}", 9_980_000_999L))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(ServerTimingFilter.HEADER, containsString("total;dur=")));
+    }
+
+    private void createAccount(long accountId, String balance) throws Exception {
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountRequest(accountId, new BigDecimal(balance)))))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(ServerTimingFilter.HEADER));
+    }
+}
@@ -0,0 +1,173 @@
+package com.mani.payment_transfer_system.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.dto.AccountRequest;
+import com.mani.payment_transfer_system.dto.TransactionRequest;
+import com.mani.payment_transfer_system.statement.StatementGenerator;
+import com.mani.payment_transfer_system.statement.StatementRunReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: partitions are generated by worker threads in their own transactions.
+ */
+@SpringBootTest(properties = {
+        "payment.statements.enabled=true",
+        "payment.statements.partition-size=2",
+        "payment.statements.parallelism=2",
+        "management.endpoints.web.exposure.include=statements"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StatementIntegrationTest {
+
+    private static final long FIRST = 9_930_000_001L;
+    private static final long SECOND = 9_930_000_002L;
+    private static final long IDLE = 9_930_000_003L;
+    private static final YearMonth PERIOD = YearMonth.of(2001, 2);
+    private static final Path OUTPUT;
+
+    static {
+        try {
+            OUTPUT = Files.createTempDirectory("statements");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void outputDirectory(DynamicPropertyRegistry registry) {
+        registry.add("payment.statements.output-directory", OUTPUT::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StatementGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        jdbcTemplate.update("DELETE FROM transactions WHERE source_account_id IN (?, ?, ?) OR destination_account_id IN (?, ?, ?)",
+                FIRST, SECOND, IDLE, FIRST, SECOND, IDLE);
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_id IN (?, ?, ?)", FIRST, SECOND, IDLE);
+        FileSystemUtils.deleteRecursively(OUTPUT.resolve(PERIOD.toString()));
+    }
+
+    @Test
+    void testGenerate_WritesOneStatementPerAccountAndResumesFromCheckpoints() throws Exception {
+        createAccount(FIRST, "100.00000");
+        createAccount(SECOND, "50.00000");
+        createAccount(IDLE, "10.00000");
+        transfer(FIRST, SECOND, "30.00000");
+        transfer(SECOND, FIRST, "5.00000");
+        // Outside the period
+        transfer(FIRST, SECOND, "1.00000");
+        jdbcTemplate.update("UPDATE transactions SET timestamp = ? WHERE source_account_id IN (?, ?) AND amount > 1",
+                PERIOD.atDay(10).atTime(12, 0), FIRST, SECOND);
+
+        StatementRunReport report = generator.generate(PERIOD);
+
+        assertTrue(report.getStatements() >= 3);
+        assertTrue(report.getBytesWritten() > 0);
+        assertEquals(0, report.getPartitionsResumed());
+        List<String> first = statement(FIRST);
+        assertEquals("transaction_id,timestamp,counterparty_account_id,amount", first.get(0));
+        assertEquals(3, first.size());
+        assertTrue(first.get(1).endsWith("," + SECOND + ",-30.00000"));
+        assertTrue(first.get(1).contains(",2001-02-10T12:00:00Z,"));
+        assertTrue(first.get(2).endsWith("," + SECOND + ",5.00000"));
+        assertEquals(1, statement(IDLE).size());
+
+        // A crash after the first partition: only the unfinished ones are generated again
+        Path month = OUTPUT.resolve(PERIOD.toString());
+        Path lastCheckpoint;
+        try (Stream<Path> checkpoints = Files.list(month)) {
+            lastCheckpoint = checkpoints.filter(path -> path.toString().endsWith(".done")).sorted()
+                    .reduce((a, b) -> b).orElseThrow();
+        }
+        Files.delete(lastCheckpoint);
+
+        StatementRunReport resumed = generator.generate(PERIOD);
+
+        assertEquals(report.getPartitions(), resumed.getPartitions());
+        assertEquals(report.getPartitions() - 1, resumed.getPartitionsResumed());
+        assertTrue(Files.exists(lastCheckpoint));
+    }
+
+    @Test
+    void testEndpoint_GeneratesRequestedMonth() throws Exception {
+        createAccount(FIRST, "100.00000");
+
+        String body = mockMvc.perform(post("/actuator/statements")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"period\": \"" + PERIOD + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode report = objectMapper.readTree(body);
+
+        assertEquals(PERIOD.toString(), report.get("period").asText());
+        assertTrue(report.get("statementsPerSecond").isNumber());
+        assertEquals(1, statement(FIRST).size());
+        mockMvc.perform(get("/actuator/statements"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.period").value(PERIOD.toString()));
+    }
+
+    private List<String> statement(long accountId) throws IOException {
+        try (Stream<Path> files = Files.walk(OUTPUT.resolve(PERIOD.toString()))) {
+            Path file = files.filter(path -> path.getFileName().toString().equals(accountId + ".csv.gz"))
+                    .findFirst().orElseThrow();
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            }
+        }
+    }
+
+    private void transfer(long source, long destination, String amount) throws Exception {
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new TransactionRequest(source, destination, new BigDecimal(amount)))))
+                .andExpect(status().isCreated());
+    }
+
+    private void createAccount(long accountId, String balance) throws Exception {
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountRequest(accountId, new BigDecimal(balance)))))
+                .andExpect(status().isCreated());
+    }
+}
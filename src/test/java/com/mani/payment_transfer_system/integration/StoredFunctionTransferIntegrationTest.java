@@ -0,0 +1,94 @@
+package com.mani.payment_transfer_system.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mani.payment_transfer_system.dto.AccountRequest;
+import com.mani.payment_transfer_system.dto.TransactionRequest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "payment.transfer.execution-mode=STORED_FUNCTION")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class StoredFunctionTransferIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testTransfer_EndToEnd() throws Exception {
+        createAccount(9311L, "200.00000");
+        createAccount(9312L, "100.00000");
+
+        transfer(9311L, 9312L, "50.12345")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.message").value("Transaction processed successfully"));
+        // The function updated the rows behind Hibernate's back
+        entityManager.clear();
+
+        mockMvc.perform(get("/accounts/9311"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(149.87655));
+        mockMvc.perform(get("/accounts/9312"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(150.12345));
+    }
+
+    @Test
+    void testTransfer_InsufficientBalance() throws Exception {
+        createAccount(9321L, "10.00000");
+        createAccount(9322L, "0.00000");
+
+        transfer(9321L, 9322L, "10.00001")
+                .andExpect(status().isBadRequest());
+        entityManager.clear();
+
+        mockMvc.perform(get("/accounts/9321"))
+                .andExpect(jsonPath("$.balance").value(10.0));
+    }
+
+    @Test
+    void testTransfer_AccountNotFound() throws Exception {
+        createAccount(9331L, "10.00000");
+
+        transfer(9331L, 9339L, "1.00000")
+                .andExpect(status().isNotFound());
+        transfer(9338L, 9331L, "1.00000")
+                .andExpect(status().isNotFound());
+    }
+
+    private void createAccount(Long accountId, String balance) throws Exception {
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountRequest(accountId, new BigDecimal(balance)))))
+                .andExpect(status().isCreated());
+        // Make the account visible to the function, which runs on the same connection
+        entityManager.flush();
+    }
+
+    private ResultActions transfer(Long sourceAccountId, Long destinationAccountId, String amount) throws Exception {
+        TransactionRequest request = new TransactionRequest(sourceAccountId, destinationAccountId, new BigDecimal(amount));
+        return mockMvc.perform(post("/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+}
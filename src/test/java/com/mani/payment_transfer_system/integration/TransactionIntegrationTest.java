@@ -1,18 +1,22 @@
 package com.mani.payment_transfer_system.integration;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mani.payment_transfer_system.dto.AccountRequest;
+import com.mani.payment_transfer_system.dto.SplitTransactionRequest;
 import com.mani.payment_transfer_system.dto.TransactionRequest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -69,6 +73,37 @@ class TransactionIntegrationTest {
                 .andExpect(jsonPath("$.balance").value("150.12345"));
     }
 
+    @Test
+    void testGetTransactionById_ConditionalRequest() throws Exception {
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountRequest(777L, new BigDecimal("20.00000")))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AccountRequest(778L, new BigDecimal("0.00000")))))
+                .andExpect(status().isCreated());
+        String created = mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransactionRequest(777L, 778L, new BigDecimal("5.00000")))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long transactionId = objectMapper.readTree(created).get("transactionId").asLong();
+
+        String etag = mockMvc.perform(get("/transactions/" + transactionId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(transactionId))
+                .andExpect(jsonPath("$.source_account_id").value(777))
+                .andExpect(jsonPath("$.amount").value(5.0))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/transactions/" + transactionId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/transactions/" + (transactionId + 1_000_000)))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void testTransaction_InsufficientBalance() throws Exception {
         // Create source account with low balance
@@ -147,5 +182,55 @@ class TransactionIntegrationTest {
                 .andExpect(jsonPath("$[*].amount").exists())
                 .andExpect(jsonPath("$[*].timestamp").exists());
     }
-}
 
+    @Test
+    void testSplitTransaction_EndToEnd() throws Exception {
+        for (AccountRequest accountRequest : List.of(
+                new AccountRequest(771L, new BigDecimal("100.00000")),
+                new AccountRequest(772L, new BigDecimal("0.00000")),
+                new AccountRequest(773L, new BigDecimal("0.00000")))) {
+            mockMvc.perform(post("/accounts")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(accountRequest)))
+                    .andExpect(status().isCreated());
+        }
+
+        SplitTransactionRequest splitRequest = new SplitTransactionRequest(List.of(
+                new TransactionRequest(771L, 772L, new BigDecimal("60.00000")),
+                new TransactionRequest(771L, 773L, new BigDecimal("40.00000"))));
+        String created = mockMvc.perform(post("/transactions/split")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(splitRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.paymentId").exists())
+                .andExpect(jsonPath("$.transactionIds.length()").value(2))
+                .andReturn().getResponse().getContentAsString();
+
+        // Each returned ID identifies the leg at the same position
+        JsonNode transactionIds = objectMapper.readTree(created).get("transactionIds");
+        for (int i = 0; i < splitRequest.getLegs().size(); i++) {
+            mockMvc.perform(get("/transactions/" + transactionIds.get(i).asLong()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.destination_account_id")
+                            .value(splitRequest.getLegs().get(i).getDestinationAccountId()));
+        }
+
+        mockMvc.perform(get("/accounts/771"))
+                .andExpect(jsonPath("$.balance").value(0.0));
+        mockMvc.perform(get("/accounts/772"))
+                .andExpect(jsonPath("$.balance").value(60.0));
+        mockMvc.perform(get("/accounts/773"))
+                .andExpect(jsonPath("$.balance").value(40.0));
+
+        // Over-spending across legs is rejected atomically
+        SplitTransactionRequest overdraft = new SplitTransactionRequest(List.of(
+                new TransactionRequest(772L, 771L, new BigDecimal("50.00000")),
+                new TransactionRequest(772L, 773L, new BigDecimal("50.00000"))));
+        mockMvc.perform(post("/transactions/split")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(overdraft)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/accounts/772"))
+                .andExpect(jsonPath("$.balance").value(60.0));
+    }
+}
@@ -0,0 +1,145 @@
+package com.mani.payment_transfer_system.integration;
+
+import com.mani.payment_transfer_system.dto.AccountRequest;
+import com.mani.payment_transfer_system.dto.SplitTransactionCreatedResponse;
+import com.mani.payment_transfer_system.dto.SplitTransactionRequest;
+import com.mani.payment_transfer_system.dto.TransactionRequest;
+import com.mani.payment_transfer_system.dto.TransactionResponse;
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.service.AccountService;
+import com.mani.payment_transfer_system.service.TransactionService;
+import com.mani.payment_transfer_system.support.SqlCounter;
+import com.mani.payment_transfer_system.support.SqlCounts;
+import com.mani.payment_transfer_system.support.SqlCountingConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the SQL each {@link TransactionService} method issues in the default configuration
+ * (JPA execution, pessimistic locking). A change that adds a query to a path fails here with the new counts;
+ * update the budget only when the extra statement is intended.
+ * Not transactional: every call commits on its own, as in production.
+ */
+@SpringBootTest
+@Import(SqlCountingConfiguration.class)
+@ActiveProfiles("test")
+class TransactionServiceSqlBudgetTest {
+
+    private static final long SOURCE = 9_970_000_001L;
+    private static final long DESTINATION = 9_970_000_002L;
+    private static final long OTHER = 9_970_000_003L;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        accountService.createAccount(new AccountRequest(SOURCE, new BigDecimal("1000.00000")));
+        accountService.createAccount(new AccountRequest(DESTINATION, new BigDecimal("0.00000")));
+        accountService.createAccount(new AccountRequest(OTHER, new BigDecimal("0.00000")));
+        // Warms up lazily initialized infrastructure, so budgets describe the steady state
+        transactionService.processTransaction(new TransactionRequest(SOURCE, DESTINATION, new BigDecimal("1.00000")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE source_account_id IN (?, ?, ?) OR destination_account_id IN (?, ?, ?)",
+                SOURCE, DESTINATION, OTHER, SOURCE, DESTINATION, OTHER);
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_id IN (?, ?, ?)", SOURCE, DESTINATION, OTHER);
+    }
+
+    @Test
+    void testProcessTransaction() throws Exception {
+        SqlCounts counts = SqlCounter.count(() -> transactionService.processTransaction(
+                new TransactionRequest(SOURCE, DESTINATION, new BigDecimal("10.00000"))));
+
+        // Lock both accounts, update both balances, insert the transaction, commit
+        assertEquals(new SqlCounts(2, 1, 2, 0, 0, 6, 2, 3), counts);
+    }
+
+    @Test
+    void testProcessTransaction_InsufficientBalance() {
+        SqlCounts counts = SqlCounter.countFailure(() -> transactionService.processTransaction(
+                new TransactionRequest(DESTINATION, SOURCE, new BigDecimal("5000.00000"))),
+                InsufficientBalanceException.class);
+
+        // Both locks are taken before the balance check, then the transaction rolls back
+        assertEquals(new SqlCounts(2, 0, 0, 0, 0, 3, 2, 0), counts);
+    }
+
+    @Test
+    void testProcessTransaction_AccountNotFound() {
+        SqlCounts counts = SqlCounter.countFailure(() -> transactionService.processTransaction(
+                new TransactionRequest(SOURCE, 9_970_000_999L, new BigDecimal("1.00000"))),
+                AccountNotFoundException.class);
+
+        // The missing destination is only noticed by its lock query
+        assertEquals(new SqlCounts(2, 0, 0, 0, 0, 3, 1, 0), counts);
+    }
+
+    @Test
+    void testProcessSplitTransaction() throws Exception {
+        SqlCounter.Measured<SplitTransactionCreatedResponse> split = SqlCounter.measure(
+                () -> transactionService.processSplitTransaction(new SplitTransactionRequest(List.of(
+                        new TransactionRequest(SOURCE, DESTINATION, new BigDecimal("5.00000")),
+                        new TransactionRequest(SOURCE, OTHER, new BigDecimal("7.00000"))))));
+
+        // One lock query for all accounts, one update per account, one insert returning every leg's ID
+        assertEquals(2, split.result().getTransactionIds().size());
+        assertEquals(new SqlCounts(1, 1, 3, 0, 0, 6, 5, 3), split.counts());
+    }
+
+    @Test
+    void testGetTransactionById() throws Exception {
+        Long transactionId = transactionService.processTransaction(
+                new TransactionRequest(SOURCE, DESTINATION, new BigDecimal("3.00000")));
+
+        SqlCounts counts = SqlCounter.count(() -> transactionService.getTransactionById(transactionId));
+
+        // Query and commit of the read-only transaction
+        assertEquals(new SqlCounts(1, 0, 0, 0, 0, 2, 1, 0), counts);
+    }
+
+    @Test
+    void testGetTransactionJson() throws Exception {
+        Long transactionId = transactionService.processTransaction(
+                new TransactionRequest(SOURCE, DESTINATION, new BigDecimal("3.00000")));
+
+        SqlCounts counts = SqlCounter.count(() -> transactionService.getTransactionJson(transactionId));
+
+        // The response cache is disabled by default, so every call reads the database; the single projection
+        // query runs without a transaction of its own, so there is no commit
+        assertEquals(new SqlCounts(1, 0, 0, 0, 0, 1, 1, 0), counts);
+    }
+
+    @Test
+    void testGetAllTransactions() throws Exception {
+        SqlCounter.Measured<List<TransactionResponse>> all = SqlCounter.measure(
+                () -> transactionService.getAllTransactions());
+
+        // One query however many transactions exist
+        SqlCounts counts = all.counts();
+        assertEquals(1, counts.selects());
+        assertEquals(1, counts.statements());
+        assertEquals(2, counts.roundTrips());
+        assertEquals(all.result().size(), counts.rowsRead());
+    }
+}
@@ -0,0 +1,134 @@
+package com.mani.payment_transfer_system.jfr;
+
+import com.mani.payment_transfer_system.entity.Account;
+import com.mani.payment_transfer_system.entity.Transaction;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.repository.TransactionRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.service.concurrency.PessimisticLockingStrategy;
+import com.mani.payment_transfer_system.service.execution.JpaTransferExecutor;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PaymentEventsTest {
+
+    private static final List<String> EVENTS = List.of("payment.Transfer", "payment.AccountLock",
+            "payment.BalanceUpdate", "payment.TransactionInsert", "payment.AccountQuery");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testJpaTransfer_EmitsPhaseEvents() throws Exception {
+        AccountRepository accountRepository = mock(AccountRepository.class);
+        TransactionRepository transactionRepository = mock(TransactionRepository.class);
+        when(accountRepository.findByAccountIdWithLock(123L))
+                .thenReturn(Optional.of(new Account(123L, new BigDecimal("0.00000"))));
+        when(accountRepository.findByAccountIdWithLock(456L))
+                .thenReturn(Optional.of(new Account(456L, new BigDecimal("100.00000"))));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            transaction.setId(9L);
+            return transaction;
+        });
+        JpaTransferExecutor executor = new JpaTransferExecutor(
+                new PessimisticLockingStrategy(accountRepository, mock(MetricsService.class)), transactionRepository);
+
+        List<RecordedEvent> events = record(() -> executor.transfer(456L, 123L, new BigDecimal("25.00000")));
+
+        List<RecordedEvent> locks = ofType(events, "payment.AccountLock");
+        assertEquals(2, locks.size());
+        assertEquals(123L, locks.get(0).getLong("accountId"));
+        assertEquals("destination", locks.get(0).getString("role"));
+        assertTrue(locks.get(0).getBoolean("found"));
+        RecordedEvent update = ofType(events, "payment.BalanceUpdate").get(0);
+        assertEquals(456L, update.getLong("sourceAccountId"));
+        assertEquals(25.0, update.getDouble("amount"));
+        assertEquals(9L, ofType(events, "payment.TransactionInsert").get(0).getLong("transactionId"));
+    }
+
+    @Test
+    void testTransferEvent_CarriesOutcomeAndPhases() throws Exception {
+        List<RecordedEvent> events = record(() -> {
+            TransferEvent event = new TransferEvent();
+            event.start();
+            event.executionStarted(true);
+            event.complete(1L, 2L, new BigDecimal("10.50000"), null, "InsufficientBalanceException");
+        });
+
+        RecordedEvent transfer = ofType(events, "payment.Transfer").get(0);
+        assertEquals(1L, transfer.getLong("sourceAccountId"));
+        assertEquals(10.5, transfer.getDouble("amount"));
+        assertEquals("InsufficientBalanceException", transfer.getString("outcome"));
+        assertTrue(transfer.getBoolean("crossShard"));
+        assertFalse(transfer.getDuration("validationTime").isNegative());
+        assertFalse(transfer.getDuration("executionTime").isNegative());
+        assertNull(transfer.getEventType().getField("startNanos"));
+    }
+
+    @Test
+    void testEvents_DisabledUnlessEnabledBySettings() throws Exception {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.start();
+            AccountQueryEvent event = new AccountQueryEvent();
+            event.begin();
+            event.complete(1L, AccountQueryEvent.FOUND);
+            recording.stop();
+            Path file = directory.resolve("disabled.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        assertTrue(ofType(events, "payment.AccountQuery").isEmpty());
+    }
+
+    @Test
+    void testSettingsProfile_EnablesEveryEvent() throws Exception {
+        Configuration configuration;
+        try (Reader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/jfr/payment.jfc"), StandardCharsets.UTF_8)) {
+            configuration = Configuration.create(reader);
+        }
+
+        Map<String, String> settings = configuration.getSettings();
+        for (String event : EVENTS) {
+            assertEquals("true", settings.get(event + "#enabled"), event);
+        }
+        assertEquals("0 ms", settings.get("payment.Transfer#threshold"));
+    }
+
+    private List<RecordedEvent> record(Runnable action) throws Exception {
+        try (Recording recording = new Recording()) {
+            EVENTS.forEach(event -> recording.enable(event).withThreshold(Duration.ZERO));
+            recording.start();
+            action.run();
+            recording.stop();
+            Path file = directory.resolve("payment.jfr");
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        }
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+    }
+}
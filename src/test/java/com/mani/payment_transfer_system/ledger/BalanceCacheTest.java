@@ -0,0 +1,48 @@
+package com.mani.payment_transfer_system.ledger;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceCacheTest {
+
+    @Test
+    void testUpdate_KeepsBalanceWithLaterPostings() {
+        BalanceCache cache = new BalanceCache(10);
+
+        cache.update(1L, new BigDecimal("50.00000"), 7);
+        // A read that started before the transfer with posting 7 committed
+        cache.update(1L, new BigDecimal("80.00000"), 5);
+
+        assertEquals(new BigDecimal("50.00000"), cache.get(1L));
+
+        cache.update(1L, new BigDecimal("40.00000"), 9);
+        assertEquals(new BigDecimal("40.00000"), cache.get(1L));
+    }
+
+    @Test
+    void testUpdate_StopsAddingAccountsWhenFull() {
+        BalanceCache cache = new BalanceCache(1);
+
+        cache.update(1L, BigDecimal.ONE, 1);
+        cache.update(2L, BigDecimal.TEN, 2);
+
+        assertEquals(1, cache.size());
+        assertNull(cache.get(2L));
+        // Cached accounts are still refreshed
+        cache.update(1L, BigDecimal.TEN, 3);
+        assertEquals(BigDecimal.TEN, cache.get(1L));
+    }
+
+    @Test
+    void testZeroSizeDisablesCache() {
+        BalanceCache cache = new BalanceCache(0);
+
+        cache.update(1L, BigDecimal.ONE, 1);
+
+        assertNull(cache.get(1L));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,88 @@
+package com.mani.payment_transfer_system.ledger;
+
+import com.mani.payment_transfer_system.config.LedgerProperties;
+import com.mani.payment_transfer_system.config.ShardingProperties;
+import com.mani.payment_transfer_system.config.TransferProperties;
+import com.mani.payment_transfer_system.repository.TransactionRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PostingLedgerTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final MetricsService metricsService = mock(MetricsService.class);
+
+    @Test
+    void testDisabledUnlessPostingsMode() {
+        PostingLedger ledger = createLedger(TransferProperties.ExecutionMode.JDBC, new LedgerProperties(),
+                new ShardingProperties());
+
+        assertFalse(ledger.isEnabled());
+        ledger.scheduledCheckpoint();
+        verifyNoInteractions(jdbcTemplate);
+        verify(metricsService, never()).bindLedgerBalanceCache(any(), any());
+    }
+
+    @Test
+    void testEnabledInPostingsMode() {
+        PostingLedger ledger = createLedger(TransferProperties.ExecutionMode.POSTINGS, new LedgerProperties(),
+                new ShardingProperties());
+
+        assertTrue(ledger.isEnabled());
+        verify(metricsService).bindLedgerBalanceCache(any(), any());
+    }
+
+    @Test
+    void testRejectsSharding() {
+        ShardingProperties sharding = new ShardingProperties();
+        sharding.setEnabled(true);
+        for (String name : List.of("shard-a", "shard-b")) {
+            ShardingProperties.Shard shard = new ShardingProperties.Shard();
+            shard.setName(name);
+            sharding.getShards().add(shard);
+        }
+
+        assertThrows(IllegalStateException.class,
+                () -> createLedger(TransferProperties.ExecutionMode.POSTINGS, new LedgerProperties(), sharding));
+        // Other execution modes do not use the ledger
+        assertFalse(createLedger(TransferProperties.ExecutionMode.JPA, new LedgerProperties(), sharding).isEnabled());
+    }
+
+    @Test
+    void testRejectsInvalidProperties() {
+        LedgerProperties properties = new LedgerProperties();
+        properties.setCheckpointBatchSize(0);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> createLedger(TransferProperties.ExecutionMode.POSTINGS, properties, new ShardingProperties()));
+    }
+
+    @Test
+    void testCheckpoint_NothingPending() {
+        PostingLedger ledger = createLedger(TransferProperties.ExecutionMode.POSTINGS, new LedgerProperties(),
+                new ShardingProperties());
+        when(jdbcTemplate.queryForList(PostingLedger.PENDING_ACCOUNTS, Long.class, Long.MIN_VALUE, 1000))
+                .thenReturn(List.of());
+
+        assertEquals(0, ledger.checkpoint());
+        verify(jdbcTemplate, never()).update(eq(PostingLedger.CHECKPOINT), any(Object[].class));
+        verify(metricsService).recordLedgerCheckpoint(any(), eq(0L));
+    }
+
+    private PostingLedger createLedger(TransferProperties.ExecutionMode mode, LedgerProperties properties,
+                                       ShardingProperties sharding) {
+        TransferProperties transferProperties = new TransferProperties();
+        transferProperties.setExecutionMode(mode);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        return new PostingLedger(jdbcTemplate, mock(TransactionRepository.class), transactionManager,
+                transferProperties, properties, new ShardRouter(sharding, transactionManager), metricsService);
+    }
+}
@@ -0,0 +1,116 @@
+package com.mani.payment_transfer_system.limit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(50).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<int[]> changes = new ArrayList<>();
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter("write", 10, 2, 40, 1.5, 0.2, 0.9,
+                (name, oldLimit, newLimit) -> changes.add(new int[]{oldLimit, newLimit}), clock::get);
+    }
+
+    @Test
+    void testTryAcquire_RejectsBeyondLimit() {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            permits.add(limiter.tryAcquire());
+        }
+
+        assertTrue(permits.stream().allMatch(java.util.Objects::nonNull));
+        assertNull(limiter.tryAcquire());
+        assertEquals(10, limiter.getInFlight());
+
+        permits.get(0).release(false);
+        assertEquals(9, limiter.getInFlight());
+        assertNotNull(limiter.tryAcquire());
+    }
+
+    @Test
+    void testOnSample_GrowsWhileLatencyIsStableAndLimitIsUsed() {
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(FAST, limiter.getLimit(), false);
+        }
+
+        assertTrue(limiter.getLimit() > 10);
+        assertTrue(changes.stream().allMatch(change -> change[1] > change[0]));
+    }
+
+    @Test
+    void testOnSample_DoesNotGrowWhenLimitIsNotUsed() {
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(FAST, 1, false);
+        }
+
+        assertEquals(10, limiter.getLimit());
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    void testOnSample_ShrinksWhenLatencyRises() {
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(FAST, 1, false);
+        }
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(SLOW, 1, false);
+        }
+
+        assertTrue(limiter.getLimit() < 10);
+    }
+
+    @Test
+    void testOnSample_BacksOffOnFailureButNotBelowMinLimit() {
+        limiter.onSample(FAST, 10, true);
+        assertEquals(9, limiter.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(FAST, 10, true);
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void testOnSample_NeverExceedsMaxLimit() {
+        for (int i = 0; i < 500; i++) {
+            limiter.onSample(FAST, 40, false);
+        }
+
+        assertEquals(40, limiter.getLimit());
+    }
+
+    @Test
+    void testRelease_MeasuresTimeSinceAcquire() {
+        limiter.onSample(FAST, 1, false);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        permit.release(false);
+
+        // One very slow request reduces the limit right away
+        assertTrue(limiter.getLimit() < 10);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidBounds() {
+        AdaptiveConcurrencyLimiter.LimitListener listener = (name, oldLimit, newLimit) -> { };
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyLimiter("read", 1, 2, 10, 1.5, 0.2, 0.9, listener));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyLimiter("read", 5, 2, 10, 1.5, 0.2, 1.0, listener));
+    }
+}
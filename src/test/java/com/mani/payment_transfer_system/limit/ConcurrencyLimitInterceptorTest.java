@@ -0,0 +1,94 @@
+package com.mani.payment_transfer_system.limit;
+
+import com.mani.payment_transfer_system.exception.ServiceOverloadedException;
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitInterceptorTest {
+
+    @Mock
+    private MetricsService metricsService;
+
+    private AdaptiveConcurrencyLimiter readLimiter;
+    private AdaptiveConcurrencyLimiter writeLimiter;
+    private ConcurrencyLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        AdaptiveConcurrencyLimiter.LimitListener listener = (name, oldLimit, newLimit) -> { };
+        readLimiter = new AdaptiveConcurrencyLimiter("read", 2, 1, 10, 1.5, 0.2, 0.5, listener);
+        writeLimiter = new AdaptiveConcurrencyLimiter("write", 1, 1, 10, 1.5, 0.2, 0.5, listener);
+        interceptor = new ConcurrencyLimitInterceptor(readLimiter, writeLimiter, metricsService, Duration.ofSeconds(2));
+    }
+
+    @Test
+    void testPreHandle_RejectsWritesBeyondLimitWithoutAffectingReads() {
+        assertTrue(interceptor.preHandle(request("POST"), new MockHttpServletResponse(), null));
+
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                () -> interceptor.preHandle(request("POST"), new MockHttpServletResponse(), null));
+        assertEquals(Duration.ofSeconds(2), ex.getRetryAfter());
+        verify(metricsService).recordConcurrencyLimitRejection("write");
+
+        assertTrue(interceptor.preHandle(request("GET"), new MockHttpServletResponse(), null));
+        assertEquals(1, readLimiter.getInFlight());
+        assertEquals(1, writeLimiter.getInFlight());
+    }
+
+    @Test
+    void testAfterCompletion_ReleasesPermitOnce() {
+        MockHttpServletRequest request = request("GET");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+
+        interceptor.afterCompletion(request, response, null, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertEquals(0, readLimiter.getInFlight());
+        assertEquals(2, readLimiter.getLimit());
+    }
+
+    @Test
+    void testAfterCompletion_ServerErrorBacksOff() {
+        writeLimiter = new AdaptiveConcurrencyLimiter("write", 4, 1, 10, 1.5, 0.2, 0.5, (name, oldLimit, newLimit) -> { });
+        interceptor = new ConcurrencyLimitInterceptor(readLimiter, writeLimiter, metricsService, Duration.ofSeconds(1));
+        MockHttpServletRequest request = request("POST");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        response.setStatus(503);
+
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertEquals(2, writeLimiter.getLimit());
+        assertEquals(0, writeLimiter.getInFlight());
+    }
+
+    @Test
+    void testAfterCompletion_ClientErrorDoesNotBackOff() {
+        MockHttpServletRequest request = request("POST");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        response.setStatus(400);
+
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertEquals(1, writeLimiter.getLimit());
+        verify(metricsService, never()).recordConcurrencyLimitRejection(anyString());
+    }
+
+    private static MockHttpServletRequest request(String method) {
+        return new MockHttpServletRequest(method, "/transactions");
+    }
+}
@@ -0,0 +1,115 @@
+package com.mani.payment_transfer_system.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketsTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void testTryAcquire_AllowsBurstThenRate() {
+        TokenBuckets<Long> buckets = new TokenBuckets<>("account", 10, 3, 100);
+        long now = 1_000 * SECOND;
+
+        assertEquals(0, buckets.tryAcquire(1L, now));
+        assertEquals(0, buckets.tryAcquire(1L, now));
+        assertEquals(0, buckets.tryAcquire(1L, now));
+        assertEquals(SECOND / 10, buckets.tryAcquire(1L, now));
+
+        // One token is refilled every 100ms
+        assertEquals(0, buckets.tryAcquire(1L, now + SECOND / 10));
+        assertTrue(buckets.tryAcquire(1L, now + SECOND / 10) > 0);
+    }
+
+    @Test
+    void testTryAcquire_KeysAreIndependent() {
+        TokenBuckets<String> buckets = new TokenBuckets<>("client", 1, 1, 100);
+        long now = 1_000 * SECOND;
+
+        assertEquals(0, buckets.tryAcquire("a", now));
+        assertTrue(buckets.tryAcquire("a", now) > 0);
+        assertEquals(0, buckets.tryAcquire("b", now));
+    }
+
+    @Test
+    void testTryAcquire_RejectedRequestsDoNotConsumeTokens() {
+        TokenBuckets<Long> buckets = new TokenBuckets<>("account", 10, 1, 100);
+        long now = 1_000 * SECOND;
+
+        assertEquals(0, buckets.tryAcquire(1L, now));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(buckets.tryAcquire(1L, now) > 0);
+        }
+        assertEquals(0, buckets.tryAcquire(1L, now + SECOND / 10));
+    }
+
+    @Test
+    void testTryAcquire_LeavesNewKeysUnlimitedWhenFull() {
+        TokenBuckets<Long> buckets = new TokenBuckets<>("account", 1, 1, 2);
+        long now = 1_000 * SECOND;
+        buckets.tryAcquire(1L, now);
+        buckets.tryAcquire(2L, now);
+
+        assertTrue(buckets.isFull());
+        assertEquals(0, buckets.tryAcquire(3L, now));
+        assertEquals(0, buckets.tryAcquire(3L, now));
+        assertEquals(2, buckets.size());
+    }
+
+    @Test
+    void testEvictIdle_RemovesOnlyBucketsFullForTheTimeout() {
+        TokenBuckets<Long> buckets = new TokenBuckets<>("account", 1, 1, 100);
+        long now = 1_000 * SECOND;
+        buckets.tryAcquire(1L, now);
+        buckets.tryAcquire(2L, now + 5 * SECOND);
+
+        // Bucket 1 is full again at now + 1s, bucket 2 at now + 6s
+        assertEquals(1, buckets.evictIdle(now + 6 * SECOND, 5 * SECOND));
+        assertEquals(1, buckets.size());
+        assertTrue(buckets.tryAcquire(2L, now + 5 * SECOND) > 0);
+    }
+
+    @Test
+    void testTryAcquire_ConcurrentCallersNeverExceedBurst() throws Exception {
+        TokenBuckets<Long> buckets = new TokenBuckets<>("account", 0.001, 50, 100);
+        long now = System.nanoTime();
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        if (buckets.tryAcquire(1L, now) == 0) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(50, allowed.get());
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidRates() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBuckets<Long>("account", 0, 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBuckets<Long>("account", 1, 0, 10));
+    }
+}
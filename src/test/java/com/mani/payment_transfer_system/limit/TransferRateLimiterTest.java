@@ -0,0 +1,77 @@
+package com.mani.payment_transfer_system.limit;
+
+import com.mani.payment_transfer_system.config.RateLimitProperties;
+import com.mani.payment_transfer_system.exception.RateLimitExceededException;
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferRateLimiterTest {
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Test
+    void testCheckTransfer_ThrottlesAccountAfterBurst() {
+        TransferRateLimiter limiter = new TransferRateLimiter(properties(true, 2, 100), metricsService);
+
+        limiter.checkTransfer(List.of(1L), "client-a");
+        limiter.checkTransfer(List.of(1L), "client-b");
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class,
+                () -> limiter.checkTransfer(List.of(1L), "client-c"));
+
+        assertTrue(ex.getMessage().contains("account 1"));
+        assertTrue(ex.getRetryAfter().compareTo(Duration.ZERO) > 0);
+        verify(metricsService).recordRateLimited("account");
+        // Other accounts are unaffected
+        limiter.checkTransfer(List.of(2L), "client-c");
+    }
+
+    @Test
+    void testCheckTransfer_ThrottlesClientAcrossAccounts() {
+        TransferRateLimiter limiter = new TransferRateLimiter(properties(true, 100, 2), metricsService);
+
+        limiter.checkTransfer(List.of(1L), "client-a");
+        limiter.checkTransfer(List.of(2L), "client-a");
+
+        assertThrows(RateLimitExceededException.class, () -> limiter.checkTransfer(List.of(3L), "client-a"));
+        verify(metricsService).recordRateLimited("client");
+    }
+
+    @Test
+    void testCheckTransfer_DisabledNeverThrottles() {
+        TransferRateLimiter limiter = new TransferRateLimiter(properties(false, 1, 1), metricsService);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.checkTransfer(List.of(1L), "client-a");
+        }
+        verifyNoInteractions(metricsService);
+    }
+
+    @Test
+    void testConstructor_BindsTrackedKeyGaugesWhenEnabled() {
+        new TransferRateLimiter(properties(true, 1, 1), metricsService);
+
+        verify(metricsService).bindRateLimitKeys(eq("account"), any(), any());
+        verify(metricsService).bindRateLimitKeys(eq("client"), any(), any());
+    }
+
+    private static RateLimitProperties properties(boolean enabled, int accountBurst, int clientBurst) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(enabled);
+        properties.setAccount(new RateLimitProperties.Rate(0.01, accountBurst));
+        properties.setClient(new RateLimitProperties.Rate(0.01, clientBurst));
+        return properties;
+    }
+}
@@ -0,0 +1,138 @@
+package com.mani.payment_transfer_system.lookup;
+
+import com.mani.payment_transfer_system.config.AccountFilterProperties;
+import com.mani.payment_transfer_system.config.ShardingProperties;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountExistenceFilterTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private MetricsService metricsService;
+
+    private final AccountFilterProperties properties = new AccountFilterProperties();
+    private AccountExistenceFilter accountFilter;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        properties.setExpectedAccounts(1_000);
+        ShardRouter shardRouter = new ShardRouter(new ShardingProperties(), mock(PlatformTransactionManager.class));
+        accountFilter = new AccountExistenceFilter(properties, accountRepository, shardRouter, metricsService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testEverythingPassesBeforeFirstBuild() {
+        assertTrue(accountFilter.mightExist(123L));
+        verify(metricsService, never()).recordAccountFilterRejection();
+    }
+
+    @Test
+    void testRebuild_ScansAllPages() {
+        List<Long> firstPage = LongStream.range(0, 10_000).boxed().toList();
+        when(accountRepository.count()).thenReturn(10_001L);
+        when(accountRepository.findAccountIdsAfter(eq(Long.MIN_VALUE), any(Pageable.class))).thenReturn(firstPage);
+        when(accountRepository.findAccountIdsAfter(eq(9_999L), any(Pageable.class))).thenReturn(List.of(50_000L));
+
+        accountFilter.rebuild();
+
+        assertTrue(accountFilter.mightExist(0L));
+        assertTrue(accountFilter.mightExist(9_999L));
+        assertTrue(accountFilter.mightExist(50_000L));
+        assertFalse(accountFilter.mightExist(-1L));
+        verify(metricsService).recordAccountFilterRejection();
+        verify(metricsService).recordAccountFilterRebuild();
+    }
+
+    @Test
+    void testRecordCreated_AddsImmediatelyWithoutTransaction() {
+        buildEmpty();
+
+        accountFilter.recordCreated(123L);
+
+        assertTrue(accountFilter.mightExist(123L));
+    }
+
+    @Test
+    void testRecordCreated_AddsAfterCommit() {
+        buildEmpty();
+        TransactionSynchronizationManager.initSynchronization();
+
+        accountFilter.recordCreated(123L);
+        assertFalse(accountFilter.mightExist(123L));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(accountFilter.mightExist(123L));
+    }
+
+    @Test
+    void testRecordCreated_DuringRebuildKeptInNewFilter() {
+        when(accountRepository.count()).thenReturn(0L);
+        when(accountRepository.findAccountIdsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            // An account committed after the scan has passed its position
+            accountFilter.recordCreated(-5L);
+            return List.of();
+        });
+
+        accountFilter.rebuild();
+
+        assertTrue(accountFilter.mightExist(-5L));
+    }
+
+    @Test
+    void testDisabled_NeverBuildsOrRejects() {
+        properties.setEnabled(false);
+
+        accountFilter.rebuild();
+
+        assertTrue(accountFilter.mightExist(123L));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void testRecordFalsePositive_OnlyOnceBuilt() {
+        accountFilter.recordFalsePositive();
+        verify(metricsService, never()).recordAccountFilterFalsePositive();
+
+        buildEmpty();
+        accountFilter.recordFalsePositive();
+        verify(metricsService).recordAccountFilterFalsePositive();
+    }
+
+    private void buildEmpty() {
+        when(accountRepository.count()).thenReturn(0L);
+        when(accountRepository.findAccountIdsAfter(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        accountFilter.rebuild();
+    }
+}
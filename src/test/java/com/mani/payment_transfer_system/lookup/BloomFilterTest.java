@@ -0,0 +1,61 @@
+package com.mani.payment_transfer_system.lookup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        LongStream.range(0, 10_000).map(i -> i * 7919).forEach(filter::put);
+
+        assertTrue(LongStream.range(0, 10_000).map(i -> i * 7919).allMatch(filter::mightContain));
+    }
+
+    @Test
+    void testFalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        LongStream.range(0, 10_000).forEach(filter::put);
+
+        long falsePositives = LongStream.range(1_000_000, 1_100_000).filter(filter::mightContain).count();
+
+        assertTrue(falsePositives < 2_000, "False positives: " + falsePositives);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+    }
+
+    @Test
+    void testEmptyFilterRejectsEverything() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        assertFalse(filter.mightContain(42L));
+        assertEquals(0.0, filter.expectedFalsePositiveRate());
+    }
+
+    @Test
+    void testSizing() {
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+
+        // About 9.6 bits and 7 hashes per key for a 1% false-positive rate
+        assertEquals(1_198_160, filter.memoryBytes(), 64);
+        assertEquals(7, filter.hashCount());
+    }
+
+    @Test
+    void testConcurrentPuts() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        IntStream.range(0, 100_000).parallel().forEach(filter::put);
+
+        assertTrue(IntStream.range(0, 100_000).allMatch(filter::mightContain));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.0));
+    }
+}
@@ -0,0 +1,66 @@
+package com.mani.payment_transfer_system.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CostTrackingDataSourceTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestCost.end();
+    }
+
+    @Test
+    void testStatements_CountedAndLockingClassified() throws Exception {
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        RequestCost cost = RequestCost.begin();
+
+        try (Connection tracked = new CostTrackingDataSource(target).getConnection()) {
+            tracked.prepareStatement("select a1_0.id from accounts a1_0 where a1_0.account_id=? for no key update")
+                    .executeQuery();
+            PreparedStatement update = tracked.prepareStatement("update accounts set balance=? where id=?");
+            update.addBatch();
+            update.addBatch();
+            update.executeBatch();
+            tracked.createStatement().execute("SET LOCAL lock_timeout = '1s'");
+            tracked.commit();
+        }
+
+        assertEquals(4, cost.getStatements());
+        verify(connection).commit();
+        verify(connection).close();
+    }
+
+    @Test
+    void testIsLocking() {
+        assertTrue(CostTrackingDataSource.isLocking("select * from accounts where account_id=? FOR UPDATE"));
+        assertTrue(CostTrackingDataSource.isLocking("select * from accounts where account_id = any(?) for no key update"));
+        assertTrue(CostTrackingDataSource.isLocking("select * from accounts for share"));
+        assertFalse(CostTrackingDataSource.isLocking("update accounts set balance=? where id=?"));
+        assertFalse(CostTrackingDataSource.isLocking(null));
+    }
+
+    @Test
+    void testUnwrap_ReachesTargetConnection() throws Exception {
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.unwrap(Connection.class)).thenReturn(connection);
+
+        Connection tracked = new CostTrackingDataSource(target).getConnection();
+
+        assertSame(connection, tracked.unwrap(Connection.class));
+    }
+}
@@ -0,0 +1,77 @@
+package com.mani.payment_transfer_system.monitoring;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingFilterTest {
+
+    @Test
+    void testFilter_SetsHeaderAfterBodyIsWritten() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(Duration.ofSeconds(1));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (request, servletResponse) -> {
+            RequestCost.recordStatement(2_000_000, 1, true);
+            RequestCost.recordStatement(1_000_000, 2, false);
+            RequestCost.recordConnectionAcquire(500_000);
+            RequestCost.recordSerialization(250_000);
+            servletResponse.getOutputStream().write("{\"ok\":true}".getBytes(StandardCharsets.UTF_8));
+            servletResponse.flushBuffer();
+        };
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/transactions"), response, chain);
+
+        String header = response.getHeader(ServerTimingFilter.HEADER);
+        assertNotNull(header);
+        assertTrue(header.startsWith("db;dur=3.00;desc=\"3 statements\", lock;dur=2.00, conn;dur=0.50, ser;dur=0.25"),
+                header);
+        assertTrue(header.contains(", total;dur="), header);
+        assertEquals("{\"ok\":true}", response.getContentAsString());
+        assertNull(RequestCost.current());
+    }
+
+    @Test
+    void testFilter_ClearsCostWhenChainFails() {
+        ServerTimingFilter filter = new ServerTimingFilter(null);
+        FilterChain chain = (request, response) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThrows(IllegalStateException.class, () ->
+                filter.doFilter(new MockHttpServletRequest("GET", "/accounts/1"), new MockHttpServletResponse(), chain));
+        assertNull(RequestCost.current());
+    }
+
+    @Test
+    void testHooks_IgnoredOutsideRequest() {
+        RequestCost.recordStatement(1_000_000, 1, false);
+        RequestCost.recordConnectionAcquire(1_000_000);
+
+        assertNull(RequestCost.current());
+        RequestCost cost = RequestCost.begin();
+        try {
+            assertEquals(0, cost.getStatements());
+        } finally {
+            RequestCost.end();
+        }
+    }
+
+    @Test
+    void testServerTiming_AppTimeIsRemainder() {
+        RequestCost cost = RequestCost.begin();
+        try {
+            RequestCost.recordStatement(4_000_000, 1, false);
+            RequestCost.recordSerialization(1_000_000);
+        } finally {
+            RequestCost.end();
+        }
+
+        assertTrue(cost.toServerTiming(10_000_000).endsWith("app;dur=5.00, total;dur=10.00"));
+    }
+}
@@ -0,0 +1,134 @@
+package com.mani.payment_transfer_system.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSeriesWindowTest {
+
+    private static final long START = Instant.parse("2024-01-15T10:00:00Z").toEpochMilli();
+
+    private final AtomicLong now = new AtomicLong(START);
+
+    @Test
+    void testSnapshot_CountsPerSecond() {
+        TimeSeriesWindow window = new TimeSeriesWindow(60, now::get);
+        window.recordTransfer();
+        window.recordTransfer();
+        window.recordError(TimeSeriesWindow.ErrorType.INSUFFICIENT_BALANCE);
+        now.addAndGet(2_500);
+        window.recordTransfer();
+        window.recordError(TimeSeriesWindow.ErrorType.RATE_LIMITED);
+        window.recordError(TimeSeriesWindow.ErrorType.RATE_LIMITED);
+
+        List<LiveMetricsReport.Second> seconds = window.snapshot(3).getSeconds();
+
+        assertEquals(3, seconds.size());
+        LiveMetricsReport.Second first = seconds.get(0);
+        assertEquals(Instant.ofEpochMilli(START), first.getTime());
+        assertEquals(2, first.getTransfers());
+        assertEquals(Map.of(TimeSeriesWindow.ErrorType.INSUFFICIENT_BALANCE, 1L), first.getErrorsByType());
+        assertEquals(1.0 / 3, first.getErrorRate(), 1e-9);
+        assertEquals(0, seconds.get(1).getTransfers());
+        assertEquals(0, seconds.get(1).getErrorRate());
+        assertEquals(1, seconds.get(2).getTransfers());
+        assertEquals(2, seconds.get(2).getErrors());
+    }
+
+    @Test
+    void testSnapshot_LatencyPercentilesWithinBucketError() {
+        TimeSeriesWindow window = new TimeSeriesWindow(60, now::get);
+        for (int millis = 1; millis <= 100; millis++) {
+            window.recordLatency(millis * 1_000_000L);
+        }
+
+        LiveMetricsReport.Second second = window.snapshot(1).getSeconds().get(0);
+
+        assertTrue(second.getP50LatencyMillis() >= 50 && second.getP50LatencyMillis() <= 50 * 1.25,
+                "p50 " + second.getP50LatencyMillis());
+        assertTrue(second.getP99LatencyMillis() >= 99 && second.getP99LatencyMillis() <= 99 * 1.25,
+                "p99 " + second.getP99LatencyMillis());
+        now.addAndGet(1_000);
+        assertNull(window.snapshot(1).getSeconds().get(0).getP50LatencyMillis());
+    }
+
+    @Test
+    void testSnapshot_SlotsReusedAfterWrap() {
+        TimeSeriesWindow window = new TimeSeriesWindow(3, now::get);
+        window.recordTransfer();
+        now.addAndGet(3_000);
+        window.recordTransfer();
+        window.recordTransfer();
+
+        List<LiveMetricsReport.Second> seconds = window.snapshot(10).getSeconds();
+
+        assertEquals(3, seconds.size());
+        assertEquals(List.of(0L, 0L, 2L), seconds.stream().map(LiveMetricsReport.Second::getTransfers).toList());
+    }
+
+    @Test
+    void testInFlight_TracksPeakPerSecond() {
+        TimeSeriesWindow window = new TimeSeriesWindow(60, now::get);
+        window.transferStarted();
+        window.transferStarted();
+        window.transferStarted();
+        window.transferFinished();
+        window.transferFinished();
+        now.addAndGet(1_000);
+        window.transferStarted();
+
+        LiveMetricsReport report = window.snapshot(2);
+
+        assertEquals(2, report.getInFlight());
+        assertEquals(3, report.getSeconds().get(0).getPeakInFlight());
+        assertEquals(2, report.getSeconds().get(1).getPeakInFlight());
+    }
+
+    @Test
+    void testRecord_ConcurrentWritersLoseNoUpdates() throws InterruptedException {
+        TimeSeriesWindow window = new TimeSeriesWindow(60, now::get);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 10_000; i++) {
+                    window.recordTransfer();
+                    window.recordLatency(1_000_000);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, window.snapshot(1).getSeconds().get(0).getTransfers());
+    }
+
+    @Test
+    void testBuckets_UpperBoundWithinQuarter() {
+        int previous = 0;
+        for (long micros = 0; micros < 2_000_000; micros++) {
+            int bucket = TimeSeriesWindow.bucketOf(micros);
+            long upper = TimeSeriesWindow.upperBoundMicros(bucket);
+            assertTrue(bucket >= previous);
+            assertTrue(upper >= micros && upper <= micros * 1.25 + 1, micros + " -> " + upper);
+            previous = bucket;
+        }
+    }
+}
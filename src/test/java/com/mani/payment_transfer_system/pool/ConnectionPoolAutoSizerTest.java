@@ -0,0 +1,134 @@
+package com.mani.payment_transfer_system.pool;
+
+import com.mani.payment_transfer_system.config.ConnectionPoolProperties;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionPoolAutoSizerTest {
+
+    private static final long FAST = Duration.ofMillis(1).toNanos();
+    private static final long SLOW = Duration.ofMillis(20).toNanos();
+
+    @Mock
+    private PoolMetricsTrackerFactory trackerFactory;
+
+    @Mock
+    private MetricsService metricsService;
+
+    private ConnectionPoolAutoSizer autoSizer;
+    private ConnectionPoolAutoSizer.PoolState state;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionPoolProperties properties = new ConnectionPoolProperties();
+        properties.getAutoSize().setMinSize(5);
+        properties.getAutoSize().setMaxSize(20);
+        properties.getAutoSize().setStep(2);
+        properties.getAutoSize().setTargetAcquireTime(Duration.ofMillis(5));
+        properties.getAutoSize().setDbTimeGuardFactor(2.0);
+        properties.getAutoSize().setShrinkAfterIdleIntervals(3);
+        autoSizer = new ConnectionPoolAutoSizer(new HikariDataSource(), trackerFactory, metricsService, properties);
+        state = new ConnectionPoolAutoSizer.PoolState();
+    }
+
+    @Test
+    void testNextSize_GrowsWhenThreadsQueue() {
+        assertEquals(12, autoSizer.nextSize(10, snapshot(FAST, 10.0, 0, 0, 3), state));
+    }
+
+    @Test
+    void testNextSize_GrowsOnSlowAcquireOrTimeout() {
+        assertEquals(12, autoSizer.nextSize(10, snapshot(SLOW, 10.0, 0, 0, 0), state));
+        assertEquals(12, autoSizer.nextSize(10, snapshot(FAST, 10.0, 1, 0, 0), state));
+    }
+
+    @Test
+    void testNextSize_NeverExceedsMaxSize() {
+        assertEquals(20, autoSizer.nextSize(19, snapshot(SLOW, 10.0, 0, 0, 5), state));
+        assertEquals(20, autoSizer.nextSize(20, snapshot(SLOW, 10.0, 0, 0, 5), state));
+    }
+
+    @Test
+    void testNextSize_GuardShrinksWhenDatabaseSlowsDown() {
+        autoSizer.nextSize(10, snapshot(FAST, 10.0, 0, 0, 0), state);
+
+        // Threads are queueing, but connections are held three times longer than usual
+        assertEquals(8, autoSizer.nextSize(10, snapshot(SLOW, 30.0, 0, 0, 5), state));
+        assertEquals(10.0, state.baselineUsageMillis, 0.001);
+    }
+
+    @Test
+    void testNextSize_GuardNeverGoesBelowMinSize() {
+        autoSizer.nextSize(6, snapshot(FAST, 10.0, 0, 0, 0), state);
+
+        assertEquals(5, autoSizer.nextSize(6, snapshot(SLOW, 50.0, 0, 0, 5), state));
+    }
+
+    @Test
+    void testNextSize_ShrinksByOneAfterIdleIntervals() {
+        assertEquals(10, autoSizer.nextSize(10, snapshot(FAST, 10.0, 0, 4, 0), state));
+        assertEquals(10, autoSizer.nextSize(10, snapshot(FAST, 10.0, 0, 4, 0), state));
+        assertEquals(9, autoSizer.nextSize(10, snapshot(FAST, 10.0, 0, 4, 0), state));
+    }
+
+    @Test
+    void testNextSize_BusyIntervalResetsIdleCount() {
+        autoSizer.nextSize(10, snapshot(FAST, 10.0, 0, 4, 0), state);
+        autoSizer.nextSize(10, snapshot(FAST, 10.0, 0, 0, 0), state);
+        autoSizer.nextSize(10, snapshot(FAST, 10.0, 0, 4, 0), state);
+
+        assertEquals(10, autoSizer.nextSize(10, snapshot(FAST, 10.0, 0, 4, 0), state));
+    }
+
+    @Test
+    void testNextSize_ClampsOutOfBoundsSize() {
+        assertEquals(20, autoSizer.nextSize(50, snapshot(FAST, 10.0, 0, 0, 0), state));
+        assertEquals(5, autoSizer.nextSize(1, snapshot(FAST, 10.0, 0, 0, 0), state));
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidBounds() {
+        ConnectionPoolProperties properties = new ConnectionPoolProperties();
+        properties.getAutoSize().setMinSize(10);
+        properties.getAutoSize().setMaxSize(5);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConnectionPoolAutoSizer(new HikariDataSource(), trackerFactory, metricsService, properties));
+    }
+
+    @Test
+    void testHikariPools_LooksThroughProxiesAndRouting() {
+        HikariDataSource first = new HikariDataSource();
+        HikariDataSource second = new HikariDataSource();
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return null;
+            }
+        };
+        routing.setTargetDataSources(Map.of("a", first, "b", second));
+        routing.afterPropertiesSet();
+
+        assertEquals(2, ConnectionPoolAutoSizer.hikariPools(new LazyConnectionDataSourceProxy(routing)).size());
+        assertEquals(1, ConnectionPoolAutoSizer.hikariPools(first).size());
+    }
+
+    private static PoolActivity.Snapshot snapshot(long meanAcquireNanos, double meanUsageMillis, long timeouts,
+                                                  int idle, int pending) {
+        return new PoolActivity.Snapshot(100, meanAcquireNanos, meanAcquireNanos, 100, meanUsageMillis,
+                timeouts, 5, idle, pending);
+    }
+}
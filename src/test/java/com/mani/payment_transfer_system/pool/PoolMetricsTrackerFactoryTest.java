@@ -0,0 +1,107 @@
+package com.mani.payment_transfer_system.pool;
+
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolMetricsTrackerFactoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PoolMetricsTrackerFactory factory;
+    private final FixedPoolStats poolStats = new FixedPoolStats();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        factory = new PoolMetricsTrackerFactory(new MetricsService(meterRegistry), meterRegistry);
+    }
+
+    @Test
+    void testCreate_RegistersPoolGauges() {
+        factory.create("primary", poolStats);
+
+        assertEquals(3.0, gauge("payment.db.pool.active"));
+        assertEquals(2.0, gauge("payment.db.pool.idle"));
+        assertEquals(4.0, gauge("payment.db.pool.pending"));
+        assertEquals(10.0, gauge("payment.db.pool.max"));
+        // Hikari's standard meters are still registered
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", "primary").gauge());
+    }
+
+    @Test
+    void testTracker_RecordsAcquireHistogramAndTimeouts() {
+        IMetricsTracker tracker = factory.create("primary", poolStats);
+
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(2));
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(6));
+        tracker.recordConnectionTimeout();
+
+        Timer acquireTimer = meterRegistry.find("payment.db.pool.acquire.time").tag("pool", "primary").timer();
+        assertNotNull(acquireTimer);
+        assertEquals(2, acquireTimer.count());
+        assertEquals(8.0, acquireTimer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1.0, meterRegistry.find("payment.errors.connection_timeout").tag("pool", "primary")
+                .counter().count());
+    }
+
+    @Test
+    void testActivity_DrainsIntervalAndResets() {
+        IMetricsTracker tracker = factory.create("primary", poolStats);
+        tracker.recordConnectionAcquiredNanos(1_000);
+        tracker.recordConnectionAcquiredNanos(3_000);
+        tracker.recordConnectionUsageMillis(4);
+        tracker.recordConnectionUsageMillis(8);
+
+        PoolActivity.Snapshot snapshot = factory.activity("primary").drain();
+
+        assertEquals(2, snapshot.acquires());
+        assertEquals(2_000, snapshot.meanAcquireNanos());
+        assertEquals(3_000, snapshot.maxAcquireNanos());
+        assertEquals(2, snapshot.usages());
+        assertEquals(6.0, snapshot.meanUsageMillis());
+        assertEquals(4, snapshot.pending());
+
+        PoolActivity.Snapshot next = factory.activity("primary").drain();
+        assertEquals(0, next.acquires());
+        assertEquals(0, next.maxAcquireNanos());
+        assertEquals(0, next.usages());
+    }
+
+    @Test
+    void testClose_ForgetsActivity() {
+        IMetricsTracker tracker = factory.create("primary", poolStats);
+
+        tracker.close();
+
+        assertNull(factory.activity("primary"));
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.find(name).tag("pool", "primary").gauge().value();
+    }
+
+    private static class FixedPoolStats extends PoolStats {
+
+        FixedPoolStats() {
+            super(0);
+            activeConnections = 3;
+            idleConnections = 2;
+            totalConnections = 5;
+            pendingThreads = 4;
+            maxConnections = 10;
+            minConnections = 5;
+        }
+
+        @Override
+        protected void update() {
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.mani.payment_transfer_system.reconciliation;
+
+import com.mani.payment_transfer_system.config.ReconciliationProperties;
+import com.mani.payment_transfer_system.config.ShardingProperties;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerReconcilerTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private DataSource dataSource;
+
+    private ReconciliationProperties properties;
+    private ShardRouter shardRouter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReconciliationProperties();
+        properties.setRangeSize(3);
+        shardRouter = new ShardRouter(new ShardingProperties(), mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void testRanges_SplitsAccountIdsIntoPagesCoveringTheWholeIdSpace() {
+        when(accountRepository.findAccountIdsAfter(eq(Long.MIN_VALUE), any(Pageable.class))).thenReturn(List.of(1L, 2L, 3L));
+        when(accountRepository.findAccountIdsAfter(eq(3L), any(Pageable.class))).thenReturn(List.of(7L, 8L, 9L));
+        when(accountRepository.findAccountIdsAfter(eq(9L), any(Pageable.class))).thenReturn(List.of(12L));
+
+        List<long[]> ranges = reconciler().ranges();
+
+        assertEquals(3, ranges.size());
+        assertArrayEquals(new long[]{Long.MIN_VALUE, 3L}, ranges.get(0));
+        assertArrayEquals(new long[]{4L, 9L}, ranges.get(1));
+        assertArrayEquals(new long[]{10L, Long.MAX_VALUE}, ranges.get(2));
+    }
+
+    @Test
+    void testRanges_NoAccountsYieldsOneRange() {
+        when(accountRepository.findAccountIdsAfter(eq(Long.MIN_VALUE), any(Pageable.class))).thenReturn(List.of());
+
+        List<long[]> ranges = reconciler().ranges();
+
+        assertEquals(1, ranges.size());
+        assertArrayEquals(new long[]{Long.MIN_VALUE, Long.MAX_VALUE}, ranges.get(0));
+    }
+
+    @Test
+    void testConstructor_BindsGaugesOnlyWhenEnabled() {
+        reconciler();
+        verify(metricsService, never()).bindReconciliation(any(), any(), any());
+
+        properties.setEnabled(true);
+        reconciler();
+        verify(metricsService).bindReconciliation(any(), any(), any());
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidSettings() {
+        properties.setParallelism(0);
+        assertThrows(IllegalArgumentException.class, this::reconciler);
+    }
+
+    @Test
+    void testRangeResult_Merge() {
+        LedgerReconciler.RangeResult left = new LedgerReconciler.RangeResult();
+        left.checked = 2;
+        LedgerReconciler.RangeResult right = new LedgerReconciler.RangeResult();
+        right.checked = 3;
+        right.skipped = 1;
+        right.mismatches.add(new ReconciliationReport.Mismatch(5L, "default",
+                java.math.BigDecimal.TEN, java.math.BigDecimal.ONE));
+
+        LedgerReconciler.RangeResult merged = left.merge(right);
+
+        assertEquals(5, merged.checked);
+        assertEquals(1, merged.skipped);
+        assertEquals(1, merged.mismatches.size());
+        assertEquals(0, merged.mismatches.get(0).getDifference().compareTo(new java.math.BigDecimal("9")));
+    }
+
+    private LedgerReconciler reconciler() {
+        return new LedgerReconciler(properties, shardRouter, accountRepository, metricsService, dataSource);
+    }
+}
@@ -0,0 +1,90 @@
+package com.mani.payment_transfer_system.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void testAdvance_ReturnsItemAtFirstTickAtOrAfterDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 2, 1000);
+        assertTrue(wheel.add(1025, "a"));
+
+        assertEquals(List.of(), wheel.advance(1029));
+        assertEquals(List.of("a"), wheel.advance(1030));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_OverdueItemReturnedByNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 2, 1000);
+        wheel.add(500, "late");
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("late"), wheel.advance(1000));
+    }
+
+    @Test
+    void testAdvance_CascadesFromHigherLevels() {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(1, 4, 3, 0);
+        for (int deadline = 1; deadline <= 40; deadline++) {
+            assertTrue(wheel.add(deadline, deadline));
+        }
+
+        List<Integer> fired = new ArrayList<>();
+        for (long now = 1; now <= 40; now++) {
+            List<Integer> due = wheel.advance(now);
+            assertEquals(List.of((int) now), due, "at " + now);
+            fired.addAll(due);
+        }
+        assertEquals(40, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_CoarseStepsReturnEveryItemOnTime() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(5, 16, 3, 0);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            long deadline = 1 + random.nextInt((int) wheel.horizonMillis());
+            deadlines.add(deadline);
+            assertTrue(wheel.add(deadline, deadline));
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = 0; now <= wheel.horizonMillis(); now += 37) {
+            for (long deadline : wheel.advance(now)) {
+                assertTrue(deadline <= now, "fired early: " + deadline + " at " + now);
+                assertTrue(deadline > now - 37 - 5, "fired late: " + deadline + " at " + now);
+                fired.add(deadline);
+            }
+        }
+        fired.addAll(wheel.advance(wheel.horizonMillis() + 5));
+
+        assertEquals(deadlines.size(), fired.size());
+        assertEquals(deadlines.stream().sorted().toList(), fired.stream().sorted().toList());
+    }
+
+    @Test
+    void testAdd_RejectsDeadlineBeyondHorizon() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 2, 0);
+
+        assertEquals(120, wheel.horizonMillis());
+        assertTrue(wheel.add(120, "edge"));
+        assertFalse(wheel.add(160, "beyond"));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(0, 8, 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(10, 1, 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(10, 8, 0, 0));
+    }
+}
@@ -0,0 +1,249 @@
+package com.mani.payment_transfer_system.scheduling;
+
+import com.mani.payment_transfer_system.config.ScheduledTransferProperties;
+import com.mani.payment_transfer_system.config.ShardingProperties;
+import com.mani.payment_transfer_system.dto.TransactionRequest;
+import com.mani.payment_transfer_system.entity.ScheduledTransfer;
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.exception.TransactionRetryExhaustedException;
+import com.mani.payment_transfer_system.repository.ScheduledTransferRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.service.TransactionService;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferSchedulerTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Mock
+    private ScheduledTransferRepository repository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private ScheduledTransferProperties properties;
+    private TransferScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ScheduledTransferProperties();
+        properties.setEnabled(true);
+        properties.setLoadBatchSize(2);
+        scheduler = createScheduler();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testExecute_MarksCompletedInTransferTransaction() {
+        ScheduledTransfer transfer = transferDueIn(Duration.ZERO);
+        clock.addAndGet(250);
+        when(transactionService.processTransaction(any(TransactionRequest.class), any())).thenAnswer(invocation -> {
+            invocation.<LongConsumer>getArgument(1).accept(7L);
+            return 7L;
+        });
+        when(repository.markCompleted(eq(transfer.getId()), eq(7L), any())).thenReturn(1);
+
+        scheduler.execute(transfer);
+
+        ArgumentCaptor<TransactionRequest> request = ArgumentCaptor.forClass(TransactionRequest.class);
+        verify(transactionService).processTransaction(request.capture(), any());
+        assertEquals(123L, request.getValue().getSourceAccountId());
+        assertEquals(456L, request.getValue().getDestinationAccountId());
+        assertEquals(new BigDecimal("25.00000"), request.getValue().getAmount());
+        verify(metricsService).recordScheduledTransferLag(Duration.ofMillis(250));
+        verify(metricsService).recordScheduledTransferExecution("completed");
+        verify(repository, never()).markFailed(any(), any(), any());
+    }
+
+    @Test
+    void testExecute_AlreadyCompletedIsRolledBack() {
+        ScheduledTransfer transfer = transferDueIn(Duration.ZERO);
+        when(transactionService.processTransaction(any(TransactionRequest.class), any())).thenAnswer(invocation -> {
+            invocation.<LongConsumer>getArgument(1).accept(7L);
+            return 7L;
+        });
+        when(repository.markCompleted(eq(transfer.getId()), eq(7L), any())).thenReturn(0);
+
+        scheduler.execute(transfer);
+
+        verify(metricsService).recordScheduledTransferExecution("duplicate");
+        verify(repository, never()).markFailed(any(), any(), any());
+    }
+
+    @Test
+    void testExecute_RejectedTransferMarkedFailed() {
+        ScheduledTransfer transfer = transferDueIn(Duration.ZERO);
+        when(transactionService.processTransaction(any(TransactionRequest.class), any()))
+                .thenThrow(new InsufficientBalanceException(123L, new BigDecimal("10.00000"), new BigDecimal("25.00000")));
+
+        scheduler.execute(transfer);
+
+        ArgumentCaptor<String> reason = ArgumentCaptor.forClass(String.class);
+        verify(repository).markFailed(eq(transfer.getId()), reason.capture(), eq(Instant.ofEpochMilli(NOW)));
+        assertTrue(reason.getValue().contains("insufficient balance"));
+        verify(metricsService).recordScheduledTransferExecution("failed");
+    }
+
+    @Test
+    void testExecute_RetryExhaustedStaysPending() {
+        ScheduledTransfer transfer = transferDueIn(Duration.ZERO);
+        when(transactionService.processTransaction(any(TransactionRequest.class), any()))
+                .thenThrow(new TransactionRetryExhaustedException(3, new RuntimeException("deadlock")));
+
+        scheduler.execute(transfer);
+
+        verify(repository, never()).markFailed(any(), any(), any());
+        verify(metricsService).recordScheduledTransferExecution("deferred");
+    }
+
+    @Test
+    void testExecute_TransientAndInfrastructureFailuresStayPending() {
+        ScheduledTransfer transfer = transferDueIn(Duration.ZERO);
+        when(transactionService.processTransaction(any(TransactionRequest.class), any()))
+                .thenThrow(new OptimisticLockingFailureException("Account 123 was concurrently modified"))
+                .thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager"))
+                .thenThrow(new QueryTimeoutException("canceling statement due to statement timeout"));
+
+        for (int i = 0; i < 3; i++) {
+            scheduler.execute(transfer);
+        }
+
+        verify(repository, never()).markFailed(any(), any(), any());
+        verify(metricsService, times(3)).recordScheduledTransferExecution("deferred");
+        verify(metricsService, never()).recordScheduledTransferExecution("failed");
+    }
+
+    @Test
+    void testExecute_AccountNotFoundMarksFailed() {
+        ScheduledTransfer transfer = transferDueIn(Duration.ZERO);
+        when(transactionService.processTransaction(any(TransactionRequest.class), any()))
+                .thenThrow(new AccountNotFoundException(456L));
+
+        scheduler.execute(transfer);
+
+        verify(repository).markFailed(eq(transfer.getId()), any(), eq(Instant.ofEpochMilli(NOW)));
+        verify(metricsService).recordScheduledTransferExecution("failed");
+    }
+
+    @Test
+    void testLoad_PagesThroughPendingTransfersAndExecutesThemWhenDue() {
+        ScheduledTransfer first = transferDueIn(Duration.ofSeconds(1));
+        ScheduledTransfer second = transferDueIn(Duration.ofSeconds(2));
+        ScheduledTransfer third = transferDueIn(Duration.ofSeconds(3));
+        when(repository.findPendingBefore(any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+
+        scheduler.load();
+
+        ArgumentCaptor<Instant> afterExecuteAt = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<UUID> afterId = ArgumentCaptor.forClass(UUID.class);
+        verify(repository, times(2)).findPendingBefore(eq(Instant.ofEpochMilli(NOW).plus(properties.getLoadAhead())),
+                afterExecuteAt.capture(), afterId.capture(), any(Pageable.class));
+        assertEquals(Instant.EPOCH, afterExecuteAt.getAllValues().get(0));
+        assertEquals(second.getExecuteAt(), afterExecuteAt.getAllValues().get(1));
+        assertEquals(second.getId(), afterId.getAllValues().get(1));
+
+        when(transactionService.processTransaction(any(TransactionRequest.class), any())).thenReturn(1L);
+        clock.addAndGet(2000);
+        scheduler.tick();
+
+        verify(transactionService, timeout(1000).times(2)).processTransaction(any(TransactionRequest.class), any());
+        verify(metricsService, timeout(1000).times(2)).recordScheduledTransferExecution(any());
+        verifyNoMoreInteractions(transactionService);
+    }
+
+    @Test
+    void testLoad_SkipsTransfersAlreadyQueued() {
+        ScheduledTransfer transfer = transferDueIn(Duration.ofSeconds(1));
+        when(repository.findPendingBefore(any(), any(), any(), any(Pageable.class))).thenReturn(List.of(transfer));
+        when(transactionService.processTransaction(any(TransactionRequest.class), any())).thenReturn(1L);
+
+        scheduler.load();
+        scheduler.load();
+        clock.addAndGet(1000);
+        scheduler.tick();
+
+        verify(transactionService, timeout(1000)).processTransaction(any(TransactionRequest.class), any());
+        verify(metricsService, timeout(1000)).recordScheduledTransferExecution(any());
+        verifyNoMoreInteractions(transactionService);
+    }
+
+    @Test
+    void testOffer_AddsOnlyTransfersDueBeforeNextLoad() {
+        when(repository.findPendingBefore(any(), any(), any(), any(Pageable.class))).thenReturn(List.of());
+        scheduler.load();
+        when(transactionService.processTransaction(any(TransactionRequest.class), any())).thenReturn(1L);
+
+        scheduler.offer(transferDueIn(Duration.ofSeconds(5)));
+        scheduler.offer(transferDueIn(properties.getLoadAhead().plusSeconds(1)));
+        clock.addAndGet(properties.getLoadAhead().plusSeconds(2).toMillis());
+        scheduler.tick();
+
+        verify(transactionService, timeout(1000)).processTransaction(any(TransactionRequest.class), any());
+        verify(metricsService, timeout(1000)).recordScheduledTransferExecution(any());
+        verifyNoMoreInteractions(transactionService);
+    }
+
+    @Test
+    void testConstructor_RejectsLoadAheadBeyondWheel() {
+        properties.setLevels(1);
+
+        assertThrows(IllegalArgumentException.class, this::createScheduler);
+    }
+
+    @Test
+    void testConstructor_RejectsLoadAheadNotExceedingLoadInterval() {
+        properties.setLoadInterval(properties.getLoadAhead());
+
+        assertThrows(IllegalArgumentException.class, this::createScheduler);
+    }
+
+    private TransferScheduler createScheduler() {
+        return new TransferScheduler(properties, repository, transactionService,
+                new ShardRouter(new ShardingProperties(), transactionManager), metricsService, clock::get);
+    }
+
+    private ScheduledTransfer transferDueIn(Duration delay) {
+        return new ScheduledTransfer(123L, 456L, new BigDecimal("25.00000"),
+                Instant.ofEpochMilli(clock.get()).plus(delay));
+    }
+}
@@ -5,17 +5,32 @@ import com.mani.payment_transfer_system.exception.AccountNotFoundException;
 import com.mani.payment_transfer_system.entity.Account;
 import com.mani.payment_transfer_system.dto.AccountRequest;
 import com.mani.payment_transfer_system.dto.AccountResponse;
+import com.mani.payment_transfer_system.ledger.PostingLedger;
+import com.mani.payment_transfer_system.lookup.AccountExistenceFilter;
+import com.mani.payment_transfer_system.lookup.SingleFlight;
 import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.config.ShardingProperties;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
 import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,6 +45,15 @@ class AccountServiceTest {
     @Mock
     private MetricsService metricsService;
 
+    @Mock
+    private AccountExistenceFilter accountFilter;
+
+    @Mock
+    private PostingLedger postingLedger;
+
+    @Spy
+    private ShardRouter shardRouter = new ShardRouter(new ShardingProperties(), mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private AccountService accountService;
 
@@ -49,6 +73,7 @@ class AccountServiceTest {
         lenient().doNothing().when(metricsService).recordAccountQuery();
         lenient().doNothing().when(metricsService).recordAccountNotFoundError();
         lenient().doNothing().when(metricsService).recordAccountAlreadyExistsError();
+        lenient().when(accountFilter.mightExist(any())).thenReturn(true);
     }
 
     @Test
@@ -59,6 +84,7 @@ class AccountServiceTest {
         assertDoesNotThrow(() -> accountService.createAccount(accountRequest));
         verify(accountRepository).findByAccountIdWithLock(123L);
         verify(accountRepository).save(any(Account.class));
+        verify(accountFilter).recordCreated(123L);
         verify(metricsService).recordAccountCreation();
     }
 
@@ -74,23 +100,45 @@ class AccountServiceTest {
 
     @Test
     void testGetAccount_Success() {
-        when(accountRepository.findByAccountId(123L)).thenReturn(Optional.of(account));
+        when(accountRepository.findResponseByAccountId(123L))
+                .thenReturn(Optional.of(new AccountResponse(123L, new BigDecimal("100.23344"))));
 
         AccountResponse response = accountService.getAccount(123L);
 
         assertNotNull(response);
         assertEquals(123L, response.getAccountId());
         assertEquals(new BigDecimal("100.23344"), response.getBalance());
-        verify(accountRepository).findByAccountId(123L);
+        verify(accountRepository).findResponseByAccountId(123L);
         verify(metricsService).recordAccountQuery();
     }
 
+    @Test
+    void testGetAccount_PostingsModeReadsLedgerBalance() {
+        when(postingLedger.isEnabled()).thenReturn(true);
+        when(postingLedger.balance(123L)).thenReturn(Optional.of(new BigDecimal("75.00000")));
+
+        AccountResponse response = accountService.getAccount(123L);
+
+        assertEquals(123L, response.getAccountId());
+        assertEquals(new BigDecimal("75.00000"), response.getBalance());
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void testGetAccount_PostingsModeNotFound() {
+        when(postingLedger.isEnabled()).thenReturn(true);
+        when(postingLedger.balance(123L)).thenReturn(Optional.empty());
+
+        assertThrows(AccountNotFoundException.class, () -> accountService.getAccount(123L));
+        verify(metricsService).recordAccountNotFoundError();
+    }
+
     @Test
     void testGetAccount_NotFound() {
-        when(accountRepository.findByAccountId(123L)).thenReturn(Optional.empty());
+        when(accountRepository.findResponseByAccountId(123L)).thenReturn(Optional.empty());
 
         assertThrows(AccountNotFoundException.class, () -> accountService.getAccount(123L));
-        verify(accountRepository).findByAccountId(123L);
+        verify(accountRepository).findResponseByAccountId(123L);
         verify(metricsService).recordAccountNotFoundError();
     }
 
@@ -105,11 +153,66 @@ class AccountServiceTest {
 
     @Test
     void testGetAccount_UnexpectedException() {
-        when(accountRepository.findByAccountId(123L)).thenThrow(new RuntimeException("Database error"));
+        when(accountRepository.findResponseByAccountId(123L)).thenThrow(new RuntimeException("Database error"));
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> accountService.getAccount(123L));
         assertEquals("Database error", exception.getMessage());
-        verify(accountRepository).findByAccountId(123L);
+        verify(accountRepository).findResponseByAccountId(123L);
+    }
+
+    @Test
+    void testGetAccount_RejectedByFilter() {
+        when(accountFilter.mightExist(999L)).thenReturn(false);
+
+        assertThrows(AccountNotFoundException.class, () -> accountService.getAccount(999L));
+        verifyNoInteractions(accountRepository);
+        verify(metricsService).recordAccountNotFoundError();
+    }
+
+    @Test
+    void testGetAccount_FilterFalsePositiveRecorded() {
+        when(accountRepository.findResponseByAccountId(999L)).thenReturn(Optional.empty());
+
+        assertThrows(AccountNotFoundException.class, () -> accountService.getAccount(999L));
+        verify(accountFilter).recordFalsePositive();
+    }
+
+    @Test
+    void testGetAccount_ConcurrentReadsShareOneQuery() throws Exception {
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(accountRepository.findResponseByAccountId(123L)).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            assertTrue(releaseQuery.await(5, TimeUnit.SECONDS));
+            return Optional.of(new AccountResponse(123L, new BigDecimal("100.23344")));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<AccountResponse>> reads = new ArrayList<>();
+            reads.add(executor.submit(() -> accountService.getAccount(123L)));
+            assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                reads.add(executor.submit(() -> accountService.getAccount(123L)));
+            }
+            SingleFlight<?, ?> accountReads = boundAccountReads();
+            while (accountReads.coalescedCount() < 3) {
+                Thread.onSpinWait();
+            }
+            releaseQuery.countDown();
+
+            for (Future<AccountResponse> read : reads) {
+                assertEquals(0, new BigDecimal("100.23344").compareTo(read.get(5, TimeUnit.SECONDS).getBalance()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(accountRepository, times(1)).findResponseByAccountId(123L);
+        verify(metricsService, times(4)).recordAccountQuery();
     }
-}
 
+    private SingleFlight<?, ?> boundAccountReads() {
+        ArgumentCaptor<SingleFlight<?, ?>> reads = ArgumentCaptor.forClass(SingleFlight.class);
+        verify(metricsService).bindAccountReadCoalescing(reads.capture(), any(), any());
+        return reads.getValue();
+    }
+}
@@ -0,0 +1,293 @@
+package com.mani.payment_transfer_system.service;
+
+import com.mani.payment_transfer_system.analytics.TransactionAnalyticsStore;
+import com.mani.payment_transfer_system.config.HoldProperties;
+import com.mani.payment_transfer_system.config.ShardingProperties;
+import com.mani.payment_transfer_system.config.TransferProperties;
+import com.mani.payment_transfer_system.dto.HoldRequest;
+import com.mani.payment_transfer_system.dto.HoldResponse;
+import com.mani.payment_transfer_system.entity.Account;
+import com.mani.payment_transfer_system.entity.AuthorizationHold;
+import com.mani.payment_transfer_system.entity.Transaction;
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.HoldNotActiveException;
+import com.mani.payment_transfer_system.exception.HoldNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.exception.InvalidAmountException;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.repository.AuthorizationHoldRepository;
+import com.mani.payment_transfer_system.repository.TransactionRepository;
+import com.mani.payment_transfer_system.service.retry.TransientFailureRetrier;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HoldServiceTest {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("100.00000");
+
+    @Mock
+    private AuthorizationHoldRepository holdRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionAnalyticsStore analyticsStore;
+
+    private HoldProperties properties;
+    private HoldService holdService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HoldProperties();
+        properties.setEnabled(true);
+        holdService = createService(new TransferProperties());
+        lenient().when(accountRepository.existsByAccountId(any())).thenReturn(true);
+    }
+
+    @Test
+    void testPlaceHold_ReservesAvailableBalance() {
+        when(accountRepository.holdIfSufficientBalance(123L, AMOUNT)).thenReturn(1);
+        when(holdRepository.save(any(AuthorizationHold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Instant before = Instant.now();
+
+        HoldResponse response = holdService.placeHold(new HoldRequest(123L, 456L, AMOUNT, null));
+
+        ArgumentCaptor<AuthorizationHold> saved = ArgumentCaptor.forClass(AuthorizationHold.class);
+        verify(holdRepository).save(saved.capture());
+        assertEquals(AuthorizationHold.Status.ACTIVE, saved.getValue().getStatus());
+        assertFalse(saved.getValue().getExpiresAt().isBefore(before.plus(properties.getDefaultTtl())));
+        assertEquals(saved.getValue().getId(), response.getId());
+        verify(metricsService).recordHold("placed");
+    }
+
+    @Test
+    void testPlaceHold_InsufficientAvailableBalance() {
+        Account source = new Account(123L, AMOUNT);
+        source.setHeldBalance(new BigDecimal("80.00000"));
+        when(accountRepository.holdIfSufficientBalance(123L, new BigDecimal("50.00000"))).thenReturn(0);
+        when(accountRepository.findByAccountId(123L)).thenReturn(Optional.of(source));
+
+        InsufficientBalanceException exception = assertThrows(InsufficientBalanceException.class,
+                () -> holdService.placeHold(new HoldRequest(123L, 456L, new BigDecimal("50.00000"), null)));
+
+        assertTrue(exception.getMessage().contains("20.00000"));
+        verify(metricsService).recordInsufficientBalanceError();
+        verify(holdRepository, never()).save(any());
+    }
+
+    @Test
+    void testPlaceHold_UnknownDestinationRejected() {
+        when(accountRepository.existsByAccountId(456L)).thenReturn(false);
+
+        assertThrows(AccountNotFoundException.class,
+                () -> holdService.placeHold(new HoldRequest(123L, 456L, AMOUNT, null)));
+
+        verify(accountRepository, never()).holdIfSufficientBalance(any(), any());
+        verify(metricsService).recordAccountNotFoundError();
+    }
+
+    @Test
+    void testPlaceHold_TtlBeyondMaximumRejected() {
+        HoldRequest request = new HoldRequest(123L, 456L, AMOUNT, properties.getMaxTtl().plusSeconds(1));
+
+        assertThrows(InvalidAmountException.class, () -> holdService.placeHold(request));
+
+        verify(metricsService).recordInvalidAmountError();
+        verifyNoInteractions(holdRepository);
+    }
+
+    @Test
+    void testPlaceHold_SameAccountRejected() {
+        InvalidAmountException exception = assertThrows(InvalidAmountException.class,
+                () -> holdService.placeHold(new HoldRequest(123L, 123L, AMOUNT, null)));
+
+        assertEquals("Source and destination accounts must be different", exception.getMessage());
+        verifyNoInteractions(holdRepository);
+    }
+
+    @Test
+    void testCapture_PartialAmountTransfersAndReleasesHold() {
+        AuthorizationHold hold = activeHold(123L, 456L);
+        BigDecimal captured = new BigDecimal("60.00000");
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            transaction.setId(9L);
+            return transaction;
+        });
+
+        HoldResponse response = holdService.capture(hold.getId(), captured);
+
+        InOrder inOrder = inOrder(accountRepository, holdRepository);
+        inOrder.verify(accountRepository).settleHold(123L, AMOUNT, captured);
+        inOrder.verify(accountRepository).credit(456L, captured);
+        inOrder.verify(holdRepository).finish(eq(hold.getId()), eq(AuthorizationHold.Status.CAPTURED),
+                eq(captured), eq(9L), any());
+        assertEquals(AuthorizationHold.Status.CAPTURED, response.getStatus());
+        assertEquals(captured, response.getCapturedAmount());
+        assertEquals(9L, response.getTransactionId());
+        verify(metricsService).recordHold("captured");
+        verify(metricsService).recordTransaction(captured);
+        verify(analyticsStore).record(9L, 123L, 456L, captured);
+    }
+
+    @Test
+    void testCapture_UpdatesAccountsInAscendingIdOrder() {
+        AuthorizationHold hold = activeHold(456L, 123L);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            transaction.setId(10L);
+            return transaction;
+        });
+
+        holdService.capture(hold.getId(), null);
+
+        InOrder inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).credit(123L, AMOUNT);
+        inOrder.verify(accountRepository).settleHold(456L, AMOUNT, AMOUNT);
+    }
+
+    @Test
+    void testCapture_AmountAboveHeldAmountRejected() {
+        AuthorizationHold hold = activeHold(123L, 456L);
+
+        assertThrows(InvalidAmountException.class,
+                () -> holdService.capture(hold.getId(), new BigDecimal("100.00001")));
+
+        verify(accountRepository, never()).settleHold(any(), any(), any());
+        verify(holdRepository, never()).finish(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testCapture_ExpiredHoldRejected() {
+        AuthorizationHold hold = activeHold(123L, 456L);
+        hold.setExpiresAt(Instant.now().minusSeconds(1));
+
+        HoldNotActiveException exception = assertThrows(HoldNotActiveException.class,
+                () -> holdService.capture(hold.getId(), null));
+
+        assertTrue(exception.getMessage().contains("EXPIRED"));
+        verify(accountRepository, never()).settleHold(any(), any(), any());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void testVoidHold_ReleasesHeldAmount() {
+        AuthorizationHold hold = activeHold(123L, 456L);
+
+        HoldResponse response = holdService.voidHold(hold.getId());
+
+        verify(accountRepository).settleHold(123L, AMOUNT, BigDecimal.ZERO);
+        verify(accountRepository, never()).credit(any(), any());
+        verify(holdRepository).finish(eq(hold.getId()), eq(AuthorizationHold.Status.VOIDED), isNull(), isNull(), any());
+        assertEquals(AuthorizationHold.Status.VOIDED, response.getStatus());
+        verify(metricsService).recordHold("voided");
+    }
+
+    @Test
+    void testVoidHold_AlreadyCapturedRejected() {
+        AuthorizationHold hold = activeHold(123L, 456L);
+        hold.setStatus(AuthorizationHold.Status.CAPTURED);
+
+        assertThrows(HoldNotActiveException.class, () -> holdService.voidHold(hold.getId()));
+
+        verify(accountRepository, never()).settleHold(any(), any(), any());
+    }
+
+    @Test
+    void testGetHold_NotFound() {
+        UUID id = UUID.randomUUID();
+        when(holdRepository.findResponseById(id)).thenReturn(Optional.empty());
+
+        assertThrows(HoldNotFoundException.class, () -> holdService.getHold(id));
+
+        verify(metricsService).recordError();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReleaseExpiredHolds_SweepsInBatchesUntilNoneLeft() {
+        properties.setSweepBatchSize(2);
+        when(jdbcTemplate.query(eq(HoldService.EXPIRE_BATCH), any(RowMapper.class), any(), any(), eq(2)))
+                .thenReturn(List.<Object[]>of(new Object[] {new BigDecimal("30.00000"), 123L, 2}))
+                .thenReturn(List.<Object[]>of(new Object[] {new BigDecimal("5.00000"), 456L, 1}));
+
+        assertEquals(3, holdService.releaseExpiredHolds());
+
+        ArgumentCaptor<List<Object[]>> releases = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(HoldService.RELEASE_HELD_BALANCE), releases.capture());
+        assertArrayEquals(new Object[] {new BigDecimal("30.00000"), 123L}, releases.getAllValues().get(0).get(0));
+        verify(metricsService).recordHoldsExpired(3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReleaseExpiredHolds_NothingExpired() {
+        when(jdbcTemplate.query(eq(HoldService.EXPIRE_BATCH), any(RowMapper.class), any(), any(), any()))
+                .thenReturn(List.of());
+
+        assertEquals(0, holdService.releaseExpiredHolds());
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(metricsService, never()).recordHoldsExpired(anyLong());
+    }
+
+    @Test
+    void testConstructor_RejectsPostingsExecutionMode() {
+        TransferProperties transferProperties = new TransferProperties();
+        transferProperties.setExecutionMode(TransferProperties.ExecutionMode.POSTINGS);
+
+        assertThrows(IllegalStateException.class, () -> createService(transferProperties));
+    }
+
+    private AuthorizationHold activeHold(Long sourceAccountId, Long destinationAccountId) {
+        AuthorizationHold hold = new AuthorizationHold(sourceAccountId, destinationAccountId, AMOUNT,
+                Instant.now().plus(Duration.ofMinutes(5)));
+        lenient().when(holdRepository.findById(hold.getId())).thenReturn(Optional.of(hold));
+        lenient().when(holdRepository.findByIdWithLock(hold.getId())).thenReturn(Optional.of(hold));
+        return hold;
+    }
+
+    private HoldService createService(TransferProperties transferProperties) {
+        return new HoldService(properties, holdRepository, accountRepository, transactionRepository, jdbcTemplate,
+                new TransientFailureRetrier(transferProperties, metricsService),
+                new ShardRouter(new ShardingProperties(), transactionManager), transferProperties, metricsService,
+                analyticsStore);
+    }
+}
@@ -0,0 +1,158 @@
+package com.mani.payment_transfer_system.service;
+
+import com.mani.payment_transfer_system.config.ShardingProperties;
+import com.mani.payment_transfer_system.dto.ScheduledTransferRequest;
+import com.mani.payment_transfer_system.dto.ScheduledTransferResponse;
+import com.mani.payment_transfer_system.entity.ScheduledTransfer;
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InvalidAmountException;
+import com.mani.payment_transfer_system.exception.ScheduledTransferNotFoundException;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.repository.ScheduledTransferRepository;
+import com.mani.payment_transfer_system.scheduling.TransferScheduler;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledTransferServiceTest {
+
+    private static final Instant EXECUTE_AT = Instant.parse("2030-01-15T10:30:00Z");
+
+    @Mock
+    private ScheduledTransferRepository scheduledTransferRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransferScheduler scheduler;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ScheduledTransferService scheduledTransferService;
+
+    @BeforeEach
+    void setUp() {
+        scheduledTransferService = createService(new ShardingProperties());
+        lenient().when(accountRepository.existsByAccountId(any())).thenReturn(true);
+    }
+
+    @Test
+    void testSchedule_PersistsAndOffersTransfer() {
+        when(scheduledTransferRepository.save(any(ScheduledTransfer.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ScheduledTransferResponse response = scheduledTransferService.schedule(
+                new ScheduledTransferRequest(123L, 456L, new BigDecimal("25.00000"), EXECUTE_AT));
+
+        ArgumentCaptor<ScheduledTransfer> saved = ArgumentCaptor.forClass(ScheduledTransfer.class);
+        verify(scheduledTransferRepository).save(saved.capture());
+        assertEquals(ScheduledTransfer.Status.PENDING, saved.getValue().getStatus());
+        assertEquals(EXECUTE_AT, saved.getValue().getExecuteAt());
+        verify(scheduler).offer(saved.getValue());
+        verify(metricsService).recordTransferScheduled();
+        assertEquals(saved.getValue().getId(), response.getId());
+        assertEquals(ScheduledTransfer.Status.PENDING, response.getStatus());
+        assertNull(response.getTransactionId());
+    }
+
+    @Test
+    void testSchedule_SameAccountRejected() {
+        InvalidAmountException exception = assertThrows(InvalidAmountException.class, () -> scheduledTransferService
+                .schedule(new ScheduledTransferRequest(123L, 123L, new BigDecimal("25.00000"), EXECUTE_AT)));
+
+        assertEquals("Source and destination accounts must be different", exception.getMessage());
+        verify(metricsService).recordInvalidAmountError();
+        verifyNoInteractions(scheduledTransferRepository, scheduler);
+    }
+
+    @Test
+    void testSchedule_UnknownAccountRejected() {
+        when(accountRepository.existsByAccountId(456L)).thenReturn(false);
+
+        assertThrows(AccountNotFoundException.class, () -> scheduledTransferService
+                .schedule(new ScheduledTransferRequest(123L, 456L, new BigDecimal("25.00000"), EXECUTE_AT)));
+
+        verify(metricsService).recordAccountNotFoundError();
+        verifyNoInteractions(scheduledTransferRepository, scheduler);
+    }
+
+    @Test
+    void testSchedule_CrossShardRejected() {
+        ShardingProperties sharding = twoShards();
+        ShardRouter shardRouter = new ShardRouter(sharding, transactionManager);
+        Long otherShardAccountId = 124L;
+        while (!shardRouter.isCrossShard(123L, otherShardAccountId)) {
+            otherShardAccountId++;
+        }
+        Long destination = otherShardAccountId;
+
+        InvalidAmountException exception = assertThrows(InvalidAmountException.class, () -> createService(sharding)
+                .schedule(new ScheduledTransferRequest(123L, destination, new BigDecimal("25.00000"), EXECUTE_AT)));
+
+        assertEquals("Source and destination accounts must be on the same shard", exception.getMessage());
+        verifyNoInteractions(scheduledTransferRepository, scheduler);
+    }
+
+    @Test
+    void testGetScheduledTransfer_Found() {
+        ScheduledTransfer transfer = new ScheduledTransfer(123L, 456L, new BigDecimal("25.00000"), EXECUTE_AT);
+        transfer.setStatus(ScheduledTransfer.Status.COMPLETED);
+        transfer.setTransactionId(9L);
+        when(scheduledTransferRepository.findResponseById(transfer.getId()))
+                .thenReturn(Optional.of(ScheduledTransferResponse.from(transfer)));
+
+        ScheduledTransferResponse response = scheduledTransferService.getScheduledTransfer(transfer.getId());
+
+        assertEquals(ScheduledTransfer.Status.COMPLETED, response.getStatus());
+        assertEquals(9L, response.getTransactionId());
+    }
+
+    @Test
+    void testGetScheduledTransfer_NotFound() {
+        UUID id = UUID.randomUUID();
+        when(scheduledTransferRepository.findResponseById(id)).thenReturn(Optional.empty());
+
+        ScheduledTransferNotFoundException exception = assertThrows(ScheduledTransferNotFoundException.class,
+                () -> scheduledTransferService.getScheduledTransfer(id));
+
+        assertTrue(exception.getMessage().contains(id.toString()));
+        verify(metricsService).recordError();
+    }
+
+    private ScheduledTransferService createService(ShardingProperties sharding) {
+        return new ScheduledTransferService(scheduledTransferRepository, accountRepository, scheduler,
+                new ShardRouter(sharding, transactionManager), metricsService);
+    }
+
+    private static ShardingProperties twoShards() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        for (String name : List.of("shard-a", "shard-b")) {
+            ShardingProperties.Shard shard = new ShardingProperties.Shard();
+            shard.setName(name);
+            properties.getShards().add(shard);
+        }
+        return properties;
+    }
+}
@@ -3,21 +3,39 @@ package com.mani.payment_transfer_system.service;
 import com.mani.payment_transfer_system.exception.AccountNotFoundException;
 import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
 import com.mani.payment_transfer_system.exception.InvalidAmountException;
+import com.mani.payment_transfer_system.exception.TransactionNotFoundException;
 import com.mani.payment_transfer_system.entity.Account;
 import com.mani.payment_transfer_system.entity.Transaction;
+import com.mani.payment_transfer_system.dto.SplitTransactionCreatedResponse;
+import com.mani.payment_transfer_system.dto.SplitTransactionRequest;
 import com.mani.payment_transfer_system.dto.TransactionRequest;
+import com.mani.payment_transfer_system.dto.TransactionResponse;
+import com.mani.payment_transfer_system.analytics.TransactionAnalyticsStore;
+import com.mani.payment_transfer_system.archive.TransactionArchive;
+import com.mani.payment_transfer_system.cache.CachedJson;
+import com.mani.payment_transfer_system.cache.TransactionResponseCache;
+import com.mani.payment_transfer_system.ledger.PostingLedger;
+import com.mani.payment_transfer_system.lookup.AccountExistenceFilter;
 import com.mani.payment_transfer_system.repository.AccountRepository;
 import com.mani.payment_transfer_system.repository.TransactionRepository;
+import com.mani.payment_transfer_system.config.ShardingProperties;
+import com.mani.payment_transfer_system.config.TransferProperties;
+import com.mani.payment_transfer_system.service.concurrency.PessimisticLockingStrategy;
+import com.mani.payment_transfer_system.service.execution.JpaTransferExecutor;
+import com.mani.payment_transfer_system.service.retry.TransientFailureRetrier;
+import com.mani.payment_transfer_system.sharding.CrossShardTransferCoordinator;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
 import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,7 +55,27 @@ class TransactionServiceTest {
     @Mock
     private MetricsService metricsService;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CrossShardTransferCoordinator crossShardTransferCoordinator;
+
+    @Mock
+    private AccountExistenceFilter accountFilter;
+
+    @Mock
+    private TransactionResponseCache transactionCache;
+
+    @Mock
+    private PostingLedger postingLedger;
+
+    @Mock
+    private TransactionArchive transactionArchive;
+
+    @Mock
+    private TransactionAnalyticsStore analyticsStore;
+
     private TransactionService transactionService;
 
     private TransactionRequest transactionRequest;
@@ -46,6 +84,7 @@ class TransactionServiceTest {
 
     @BeforeEach
     void setUp() {
+        transactionService = createService(new ShardingProperties());
         transactionRequest = new TransactionRequest(123L, 456L, new BigDecimal("50.12345"));
         sourceAccount = new Account(123L, new BigDecimal("100.00000"));
         destinationAccount = new Account(456L, new BigDecimal("200.00000"));
@@ -58,6 +97,7 @@ class TransactionServiceTest {
         lenient().doNothing().when(metricsService).recordTransactionQuery();
         lenient().doNothing().when(metricsService).recordAccountNotFoundError();
         lenient().doNothing().when(metricsService).recordInsufficientBalanceError();
+        lenient().when(accountFilter.mightExist(any())).thenReturn(true);
         lenient().doNothing().when(metricsService).recordInvalidAmountError();
         lenient().doNothing().when(metricsService).recordError();
     }
@@ -85,6 +125,7 @@ class TransactionServiceTest {
         verify(accountRepository).saveAll(anyList());
         verify(transactionRepository).save(any(Transaction.class));
         verify(metricsService).recordTransaction(any(BigDecimal.class));
+        verify(analyticsStore).record(1L, 123L, 456L, new BigDecimal("50.12345"));
 
         @SuppressWarnings("unchecked")
         ArgumentCaptor<List<Account>> accountListCaptor = ArgumentCaptor.forClass(List.class);
@@ -104,6 +145,7 @@ class TransactionServiceTest {
         verify(accountRepository).findByAccountIdWithLock(123L);
         verify(accountRepository, never()).saveAll(anyList());
         verify(transactionRepository, never()).save(any(Transaction.class));
+        verifyNoInteractions(analyticsStore);
         verify(metricsService).recordAccountNotFoundError();
     }
 
@@ -261,17 +303,317 @@ class TransactionServiceTest {
         inOrder.verify(accountRepository).findByAccountIdWithLock(456L);
     }
 
+    @Test
+    void testProcessSplitTransaction_Success() {
+        Account account789 = new Account(789L, new BigDecimal("0.00000"));
+        SplitTransactionRequest splitRequest = new SplitTransactionRequest(List.of(
+                new TransactionRequest(123L, 456L, new BigDecimal("30.00000")),
+                new TransactionRequest(123L, 789L, new BigDecimal("20.00000")),
+                new TransactionRequest(456L, 789L, new BigDecimal("5.00000"))));
+        when(accountRepository.findAllByAccountIdInWithLock(anyCollection()))
+                .thenReturn(List.of(sourceAccount, destinationAccount, account789));
+        when(transactionRepository.insertAll(anyList())).thenReturn(List.of(1L, 2L, 3L));
+
+        SplitTransactionCreatedResponse response = transactionService.processSplitTransaction(splitRequest);
+
+        assertNotNull(response.getPaymentId());
+        assertEquals(List.of(1L, 2L, 3L), response.getTransactionIds());
+        assertEquals(new BigDecimal("50.00000"), sourceAccount.getBalance());
+        assertEquals(new BigDecimal("225.00000"), destinationAccount.getBalance());
+        assertEquals(new BigDecimal("25.00000"), account789.getBalance());
+
+        // All accounts are locked once, with a single sorted query
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<java.util.Collection<Long>> idsCaptor = ArgumentCaptor.forClass(java.util.Collection.class);
+        verify(accountRepository).findAllByAccountIdInWithLock(idsCaptor.capture());
+        assertEquals(List.of(123L, 456L, 789L), List.copyOf(idsCaptor.getValue()));
+        verify(accountRepository, never()).findByAccountIdWithLock(any());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> legsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).insertAll(legsCaptor.capture());
+        assertEquals(3, legsCaptor.getValue().size());
+        assertTrue(legsCaptor.getValue().stream().allMatch(t -> response.getPaymentId().equals(t.getPaymentId())));
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(metricsService, times(3)).recordTransaction(any(BigDecimal.class));
+        verify(metricsService).recordSplitTransaction();        verify(analyticsStore).record(1L, 123L, 456L, new BigDecimal("30.00000"));
+        verify(analyticsStore).record(3L, 456L, 789L, new BigDecimal("5.00000"));
+    }
+
+    @Test
+    void testProcessSplitTransaction_PostingsMode() {
+        List<TransactionRequest> legs = List.of(
+                new TransactionRequest(123L, 456L, new BigDecimal("30.00000")),
+                new TransactionRequest(123L, 789L, new BigDecimal("20.00000")));
+        when(postingLedger.isEnabled()).thenReturn(true);
+        when(postingLedger.transferSplit(any(), eq(legs))).thenReturn(List.of(1L, 2L));
+
+        SplitTransactionCreatedResponse response = transactionService.processSplitTransaction(
+                new SplitTransactionRequest(legs));
+
+        assertEquals(List.of(1L, 2L), response.getTransactionIds());
+        verify(postingLedger).transferSplit(response.getPaymentId(), legs);
+        verifyNoInteractions(accountRepository);
+        verify(transactionRepository, never()).insertAll(anyList());
+        verify(metricsService).recordSplitTransaction();
+    }
+
+    @Test
+    void testProcessSplitTransaction_AccountNotFound() {
+        SplitTransactionRequest splitRequest = new SplitTransactionRequest(List.of(
+                new TransactionRequest(123L, 456L, new BigDecimal("30.00000")),
+                new TransactionRequest(123L, 789L, new BigDecimal("20.00000"))));
+        when(accountRepository.findAllByAccountIdInWithLock(anyCollection()))
+                .thenReturn(List.of(sourceAccount, destinationAccount));
+
+        AccountNotFoundException ex = assertThrows(AccountNotFoundException.class,
+                () -> transactionService.processSplitTransaction(splitRequest));
+
+        assertTrue(ex.getMessage().contains("789"));
+        verify(accountRepository, never()).saveAll(anyList());
+        verify(transactionRepository, never()).insertAll(anyList());
+        verify(metricsService).recordAccountNotFoundError();
+    }
+
+    @Test
+    void testProcessSplitTransaction_InsufficientNetBalance() {
+        SplitTransactionRequest splitRequest = new SplitTransactionRequest(List.of(
+                new TransactionRequest(123L, 456L, new BigDecimal("60.00000")),
+                new TransactionRequest(123L, 456L, new BigDecimal("60.00000"))));
+        when(accountRepository.findAllByAccountIdInWithLock(anyCollection()))
+                .thenReturn(List.of(sourceAccount, destinationAccount));
+
+        InsufficientBalanceException ex = assertThrows(InsufficientBalanceException.class,
+                () -> transactionService.processSplitTransaction(splitRequest));
+
+        assertTrue(ex.getMessage().contains("120.00000"));
+        assertEquals(new BigDecimal("100.00000"), sourceAccount.getBalance());
+        verify(accountRepository, never()).saveAll(anyList());
+        verify(transactionRepository, never()).insertAll(anyList());
+        verify(metricsService).recordInsufficientBalanceError();
+    }
+
+    @Test
+    void testProcessSplitTransaction_InvalidLeg() {
+        SplitTransactionRequest splitRequest = new SplitTransactionRequest(List.of(
+                new TransactionRequest(123L, 456L, new BigDecimal("10.00000")),
+                new TransactionRequest(456L, 456L, new BigDecimal("10.00000"))));
+
+        assertThrows(InvalidAmountException.class, () -> transactionService.processSplitTransaction(splitRequest));
+        verify(accountRepository, never()).findAllByAccountIdInWithLock(anyCollection());
+        verify(metricsService).recordInvalidAmountError();
+    }
+
+    @Test
+    void testProcessTransaction_CrossShard_DelegatesToCoordinator() {
+        ShardRouter shardRouter = new ShardRouter(twoShards(), transactionManager);
+        Long otherShardAccountId = accountOnOtherShard(shardRouter, 123L);
+        TransactionRequest request = new TransactionRequest(123L, otherShardAccountId, new BigDecimal("10.00000"));
+        when(crossShardTransferCoordinator.transfer(request)).thenReturn(42L);
+
+        Long transactionId = createService(twoShards()).processTransaction(request);
+
+        assertEquals(42L, transactionId);
+        verify(accountRepository, never()).findByAccountIdWithLock(any());
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(metricsService).recordTransaction(new BigDecimal("10.00000"));
+    }
+
+    @Test
+    void testProcessSplitTransaction_CrossShard_Rejected() {
+        ShardRouter shardRouter = new ShardRouter(twoShards(), transactionManager);
+        Long otherShardAccountId = accountOnOtherShard(shardRouter, 123L);
+        SplitTransactionRequest splitRequest = new SplitTransactionRequest(List.of(
+                new TransactionRequest(123L, otherShardAccountId, new BigDecimal("10.00000"))));
+
+        InvalidAmountException exception = assertThrows(InvalidAmountException.class,
+                () -> createService(twoShards()).processSplitTransaction(splitRequest));
+        assertEquals("All accounts of a split transaction must be on the same shard", exception.getMessage());
+        verify(accountRepository, never()).findAllByAccountIdInWithLock(anyCollection());
+    }
+
+    @Test
+    void testProcessTransaction_CallbackRunsWithTransactionId() {
+        when(accountRepository.findByAccountIdWithLock(123L)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepository.findByAccountIdWithLock(456L)).thenReturn(Optional.of(destinationAccount));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            transaction.setId(9L);
+            return transaction;
+        });
+        List<Long> applied = new ArrayList<>();
+
+        Long transactionId = transactionService.processTransaction(transactionRequest, applied::add);
+
+        assertEquals(9L, transactionId);
+        assertEquals(List.of(9L), applied);
+    }
+
+    @Test
+    void testProcessTransaction_CallbackFailureAbortsTransfer() {
+        when(accountRepository.findByAccountIdWithLock(123L)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepository.findByAccountIdWithLock(456L)).thenReturn(Optional.of(destinationAccount));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            transaction.setId(9L);
+            return transaction;
+        });
+
+        assertThrows(IllegalStateException.class, () -> transactionService.processTransaction(transactionRequest,
+                transactionId -> {
+                    throw new IllegalStateException("already executed");
+                }));
+        verify(metricsService, never()).recordTransaction(any(BigDecimal.class));
+        verify(transactionCache, never()).populate(any(), any());
+    }
+
+    @Test
+    void testProcessTransaction_CallbackWithCrossShard_Rejected() {
+        ShardRouter shardRouter = new ShardRouter(twoShards(), transactionManager);
+        Long otherShardAccountId = accountOnOtherShard(shardRouter, 123L);
+        TransactionRequest request = new TransactionRequest(123L, otherShardAccountId, new BigDecimal("10.00000"));
+
+        InvalidAmountException exception = assertThrows(InvalidAmountException.class,
+                () -> createService(twoShards()).processTransaction(request, transactionId -> { }));
+        assertEquals("Source and destination accounts must be on the same shard", exception.getMessage());
+        verifyNoInteractions(crossShardTransferCoordinator);
+    }
+
+    @Test
+    void testProcessTransaction_RejectedByFilter() {
+        when(accountFilter.mightExist(456L)).thenReturn(false);
+
+        AccountNotFoundException exception = assertThrows(AccountNotFoundException.class,
+                () -> transactionService.processTransaction(transactionRequest));
+        assertTrue(exception.getMessage().contains("456"));
+        verifyNoInteractions(transactionManager, accountRepository, transactionRepository);
+        verify(metricsService).recordAccountNotFoundError();
+        verify(accountFilter, never()).recordFalsePositive();
+    }
+
+    @Test
+    void testProcessTransaction_FilterFalsePositiveRecorded() {
+        when(accountRepository.findByAccountIdWithLock(123L)).thenReturn(Optional.empty());
+
+        assertThrows(AccountNotFoundException.class, () -> transactionService.processTransaction(transactionRequest));
+        verify(accountFilter).recordFalsePositive();
+    }
+
+    @Test
+    void testProcessSplitTransaction_RejectedByFilter() {
+        when(accountFilter.mightExist(789L)).thenReturn(false);
+        SplitTransactionRequest splitRequest = new SplitTransactionRequest(List.of(
+                new TransactionRequest(123L, 456L, new BigDecimal("10.00000")),
+                new TransactionRequest(456L, 789L, new BigDecimal("5.00000"))));
+
+        assertThrows(AccountNotFoundException.class, () -> transactionService.processSplitTransaction(splitRequest));
+        verifyNoInteractions(transactionManager, accountRepository);
+    }
+
+    @Test
+    void testProcessTransaction_PopulatesCache() {
+        when(accountRepository.findByAccountIdWithLock(123L)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepository.findByAccountIdWithLock(456L)).thenReturn(Optional.of(destinationAccount));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            transaction.setId(7L);
+            return transaction;
+        });
+
+        transactionService.processTransaction(transactionRequest);
+
+        verify(transactionCache).populate(eq(List.of(7L)), any());
+    }
+
+    @Test
+    void testGetTransactionJson_CacheHit() {
+        CachedJson cached = mock(CachedJson.class);
+        when(transactionCache.get(1L)).thenReturn(cached);
+
+        assertSame(cached, transactionService.getTransactionJson(1L));
+        verifyNoInteractions(transactionRepository);
+        verify(metricsService).recordTransactionQuery();
+    }
+
+    @Test
+    void testGetTransactionJson_CacheMissLoadsAndCaches() {
+        TransactionResponse transaction = new TransactionResponse(1L, 123L, 456L, new BigDecimal("50.00000"),
+                java.time.LocalDateTime.now());
+        when(transactionRepository.findResponseById(1L)).thenReturn(Optional.of(transaction));
+        CachedJson encoded = mock(CachedJson.class);
+        when(transactionCache.put(eq(1L), any(TransactionResponse.class))).thenReturn(encoded);
+
+        assertSame(encoded, transactionService.getTransactionJson(1L));
+        verify(transactionCache).put(eq(1L), argThat(response -> response.getSourceAccountId().equals(123L)));
+    }
+
+    @Test
+    void testGetTransactionById_FallsBackToArchive() {
+        TransactionResponse archived = new TransactionResponse(1L, 123L, 456L, new BigDecimal("50.00000"),
+                java.time.LocalDateTime.of(2020, 1, 2, 3, 4, 5));
+        when(transactionRepository.findResponseById(1L)).thenReturn(Optional.empty());
+        when(transactionArchive.find(1L)).thenReturn(archived);
+
+        assertSame(archived, transactionService.getTransactionById(1L));
+        verify(metricsService).recordTransactionQuery();
+    }
+
+    @Test
+    void testGetTransactionById_FoundInDatabaseSkipsArchive() {
+        TransactionResponse transaction = new TransactionResponse(1L, 123L, 456L, new BigDecimal("50.00000"),
+                java.time.LocalDateTime.now());
+        when(transactionRepository.findResponseById(1L)).thenReturn(Optional.of(transaction));
+
+        assertEquals(123L, transactionService.getTransactionById(1L).getSourceAccountId());
+        verifyNoInteractions(transactionArchive);
+    }
+
+    @Test
+    void testGetTransactionJson_NotFound() {
+        when(transactionRepository.findResponseById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(TransactionNotFoundException.class, () -> transactionService.getTransactionJson(1L));
+        verify(transactionCache, never()).put(any(), any());
+    }
+
+    private TransactionService createService(ShardingProperties shardingProperties) {
+        return new TransactionService(
+                new JpaTransferExecutor(new PessimisticLockingStrategy(accountRepository, metricsService),
+                        transactionRepository),
+                accountRepository, transactionRepository, metricsService, transactionManager,
+                new TransientFailureRetrier(new TransferProperties(), metricsService),
+                new ShardRouter(shardingProperties, transactionManager), crossShardTransferCoordinator,
+                accountFilter, transactionCache, postingLedger, transactionArchive,
+                analyticsStore);
+    }
+
+    private static ShardingProperties twoShards() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        for (String name : List.of("shard-a", "shard-b")) {
+            ShardingProperties.Shard shard = new ShardingProperties.Shard();
+            shard.setName(name);
+            properties.getShards().add(shard);
+        }
+        return properties;
+    }
+
+    private static Long accountOnOtherShard(ShardRouter shardRouter, Long accountId) {
+        Long candidate = accountId + 1;
+        while (!shardRouter.isCrossShard(accountId, candidate)) {
+            candidate++;
+        }
+        return candidate;
+    }
+
     @Test
     void testGetAllTransactions_Success() {
-        Transaction transaction1 = new Transaction(123L, 456L, new BigDecimal("50.00000"));
-        transaction1.setId(1L);
-        transaction1.setTimestamp(java.time.LocalDateTime.now());
-        
-        Transaction transaction2 = new Transaction(456L, 789L, new BigDecimal("100.00000"));
-        transaction2.setId(2L);
-        transaction2.setTimestamp(java.time.LocalDateTime.now());
+        TransactionResponse transaction1 = new TransactionResponse(1L, 123L, 456L, new BigDecimal("50.00000"),
+                java.time.LocalDateTime.now());
+        TransactionResponse transaction2 = new TransactionResponse(2L, 456L, 789L, new BigDecimal("100.00000"),
+                java.time.LocalDateTime.now());
 
-        when(transactionRepository.findAll()).thenReturn(List.of(transaction1, transaction2));
+        when(transactionRepository.findAllResponses()).thenReturn(List.of(transaction1, transaction2));
 
         List<com.mani.payment_transfer_system.dto.TransactionResponse> result = 
             transactionService.getAllTransactions();
@@ -283,20 +625,49 @@ class TransactionServiceTest {
         assertEquals(456L, result.get(0).getDestinationAccountId());
         assertEquals(new BigDecimal("50.00000"), result.get(0).getAmount());
         
-        verify(transactionRepository).findAll();
+        verify(transactionRepository).findAllResponses();
         verify(metricsService).recordTransactionQuery();
     }
 
+    @Test
+    void testGetAllTransactions_ArchivedFirst() {
+        TransactionResponse live = new TransactionResponse(2L, 123L, 456L, new BigDecimal("50.00000"),
+                java.time.LocalDateTime.of(2021, 1, 2, 3, 4, 5));
+        TransactionResponse archived = new TransactionResponse(1L, 456L, 123L, new BigDecimal("10.00000"),
+                java.time.LocalDateTime.of(2020, 1, 2, 3, 4, 5));
+        when(transactionRepository.findAllResponses()).thenReturn(List.of(live));
+        when(transactionArchive.findAll()).thenReturn(new ArrayList<>(List.of(archived)));
+
+        List<TransactionResponse> result = transactionService.getAllTransactions();
+
+        assertEquals(List.of(1L, 2L), result.stream().map(TransactionResponse::getId).toList());
+    }
+
+    @Test
+    void testGetAllTransactions_ArchivedDuringReadListedOnce() {
+        TransactionResponse archivedMeanwhile = new TransactionResponse(1L, 456L, 123L, new BigDecimal("10.00000"),
+                java.time.LocalDateTime.of(2020, 1, 2, 3, 4, 5));
+        TransactionResponse live = new TransactionResponse(2L, 123L, 456L, new BigDecimal("50.00000"),
+                java.time.LocalDateTime.of(2021, 1, 2, 3, 4, 5));
+        // The database read still saw transaction 1, which the archive had taken over by the time it was read
+        when(transactionRepository.findAllResponses()).thenReturn(List.of(archivedMeanwhile, live));
+        when(transactionArchive.findAll()).thenReturn(new ArrayList<>(List.of(archivedMeanwhile)));
+
+        List<TransactionResponse> result = transactionService.getAllTransactions();
+
+        assertEquals(List.of(1L, 2L), result.stream().map(TransactionResponse::getId).toList());
+    }
+
     @Test
     void testGetAllTransactions_EmptyList() {
-        when(transactionRepository.findAll()).thenReturn(List.of());
+        when(transactionRepository.findAllResponses()).thenReturn(List.of());
 
         List<com.mani.payment_transfer_system.dto.TransactionResponse> result = 
             transactionService.getAllTransactions();
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(transactionRepository).findAll();
+        verify(transactionRepository).findAllResponses();
         verify(metricsService).recordTransactionQuery();
     }
 }
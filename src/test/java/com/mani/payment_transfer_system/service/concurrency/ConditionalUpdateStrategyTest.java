@@ -0,0 +1,98 @@
+package com.mani.payment_transfer_system.service.concurrency;
+
+import com.mani.payment_transfer_system.entity.Account;
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalUpdateStrategyTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private MetricsService metricsService;
+
+    private ConditionalUpdateStrategy strategy;
+    private final BigDecimal amount = new BigDecimal("50.12345");
+
+    @BeforeEach
+    void setUp() {
+        strategy = new ConditionalUpdateStrategy(accountRepository, metricsService);
+    }
+
+    @Test
+    void testTransfer_Success() {
+        when(accountRepository.debitIfSufficientBalance(123L, amount)).thenReturn(1);
+        when(accountRepository.credit(456L, amount)).thenReturn(1);
+
+        strategy.transfer(123L, 456L, amount);
+
+        var inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).debitIfSufficientBalance(123L, amount);
+        inOrder.verify(accountRepository).credit(456L, amount);
+        verify(accountRepository, never()).findByAccountId(any());
+        verify(accountRepository, never()).findByAccountIdWithLock(any());
+    }
+
+    @Test
+    void testTransfer_UpdatesInAscendingIdOrder() {
+        when(accountRepository.credit(123L, amount)).thenReturn(1);
+        when(accountRepository.debitIfSufficientBalance(456L, amount)).thenReturn(1);
+
+        strategy.transfer(456L, 123L, amount);
+
+        var inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).credit(123L, amount);
+        inOrder.verify(accountRepository).debitIfSufficientBalance(456L, amount);
+    }
+
+    @Test
+    void testTransfer_InsufficientBalance() {
+        when(accountRepository.debitIfSufficientBalance(123L, amount)).thenReturn(0);
+        when(accountRepository.findByAccountId(123L))
+                .thenReturn(Optional.of(new Account(123L, new BigDecimal("10.00000"))));
+
+        InsufficientBalanceException exception = assertThrows(InsufficientBalanceException.class,
+                () -> strategy.transfer(123L, 456L, amount));
+
+        assertTrue(exception.getMessage().contains("10.00000"));
+        verify(accountRepository, never()).credit(any(), any());
+        verify(metricsService).recordInsufficientBalanceError();
+    }
+
+    @Test
+    void testTransfer_SourceAccountNotFound() {
+        when(accountRepository.debitIfSufficientBalance(123L, amount)).thenReturn(0);
+        when(accountRepository.findByAccountId(123L)).thenReturn(Optional.empty());
+
+        assertThrows(AccountNotFoundException.class, () -> strategy.transfer(123L, 456L, amount));
+
+        verify(accountRepository, never()).credit(any(), any());
+        verify(metricsService).recordAccountNotFoundError();
+    }
+
+    @Test
+    void testTransfer_DestinationAccountNotFound() {
+        when(accountRepository.debitIfSufficientBalance(123L, amount)).thenReturn(1);
+        when(accountRepository.credit(456L, amount)).thenReturn(0);
+
+        assertThrows(AccountNotFoundException.class, () -> strategy.transfer(123L, 456L, amount));
+
+        verify(metricsService).recordAccountNotFoundError();
+    }
+}
@@ -0,0 +1,149 @@
+package com.mani.payment_transfer_system.service.concurrency;
+
+import com.mani.payment_transfer_system.config.TransferProperties;
+import com.mani.payment_transfer_system.entity.Account;
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.exception.TransactionRetryExhaustedException;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticLockingStrategyTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private MetricsService metricsService;
+
+    private OptimisticLockingStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        TransferProperties.Optimistic settings = new TransferProperties.Optimistic();
+        settings.setMaxAttempts(3);
+        settings.setInitialBackoff(Duration.ofNanos(1));
+        settings.setMaxBackoff(Duration.ofNanos(10));
+        strategy = new OptimisticLockingStrategy(accountRepository, metricsService, settings);
+    }
+
+    @Test
+    void testTransfer_Success() {
+        when(accountRepository.findByAccountId(123L))
+                .thenReturn(Optional.of(new Account(123L, new BigDecimal("100.00000"), 4L)));
+        when(accountRepository.findByAccountId(456L))
+                .thenReturn(Optional.of(new Account(456L, new BigDecimal("200.00000"), 7L)));
+        when(accountRepository.updateBalanceIfVersionMatches(anyLong(), any(), anyLong())).thenReturn(1);
+
+        strategy.transfer(123L, 456L, new BigDecimal("50.12345"));
+
+        var inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).updateBalanceIfVersionMatches(123L, new BigDecimal("49.87655"), 4L);
+        inOrder.verify(accountRepository).updateBalanceIfVersionMatches(456L, new BigDecimal("250.12345"), 7L);
+        verify(accountRepository, never()).findByAccountIdWithLock(any());
+        verify(metricsService, never()).recordOptimisticLockRetry();
+    }
+
+    @Test
+    void testTransfer_UpdatesInAscendingIdOrder() {
+        when(accountRepository.findByAccountId(123L))
+                .thenReturn(Optional.of(new Account(123L, new BigDecimal("100.00000"), 0L)));
+        when(accountRepository.findByAccountId(456L))
+                .thenReturn(Optional.of(new Account(456L, new BigDecimal("200.00000"), 0L)));
+        when(accountRepository.updateBalanceIfVersionMatches(anyLong(), any(), anyLong())).thenReturn(1);
+
+        strategy.transfer(456L, 123L, new BigDecimal("25.00000"));
+
+        var inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).updateBalanceIfVersionMatches(123L, new BigDecimal("125.00000"), 0L);
+        inOrder.verify(accountRepository).updateBalanceIfVersionMatches(456L, new BigDecimal("175.00000"), 0L);
+    }
+
+    @Test
+    void testTransfer_RetriesOnVersionConflict() {
+        when(accountRepository.findByAccountId(123L)).thenReturn(
+                Optional.of(new Account(123L, new BigDecimal("100.00000"), 1L)),
+                Optional.of(new Account(123L, new BigDecimal("90.00000"), 2L)));
+        when(accountRepository.findByAccountId(456L))
+                .thenReturn(Optional.of(new Account(456L, new BigDecimal("0.00000"), 0L)));
+        when(accountRepository.updateBalanceIfVersionMatches(123L, new BigDecimal("50.00000"), 1L)).thenReturn(0);
+        when(accountRepository.updateBalanceIfVersionMatches(123L, new BigDecimal("40.00000"), 2L)).thenReturn(1);
+        when(accountRepository.updateBalanceIfVersionMatches(456L, new BigDecimal("50.00000"), 0L)).thenReturn(1);
+
+        strategy.transfer(123L, 456L, new BigDecimal("50.00000"));
+
+        verify(accountRepository, times(2)).findByAccountId(123L);
+        verify(metricsService).recordOptimisticLockRetry();
+        verify(metricsService, never()).recordOptimisticLockFailure();
+    }
+
+    @Test
+    void testTransfer_GivesUpAfterMaxAttempts() {
+        when(accountRepository.findByAccountId(123L))
+                .thenReturn(Optional.of(new Account(123L, new BigDecimal("100.00000"), 1L)));
+        when(accountRepository.updateBalanceIfVersionMatches(anyLong(), any(), anyLong())).thenReturn(0);
+
+        TransactionRetryExhaustedException ex = assertThrows(TransactionRetryExhaustedException.class,
+                () -> strategy.transfer(123L, 456L, new BigDecimal("50.00000")));
+
+        assertInstanceOf(OptimisticLockingFailureException.class, ex.getCause());
+
+        verify(accountRepository, times(3)).updateBalanceIfVersionMatches(anyLong(), any(), anyLong());
+        // Three attempts are two retries; the last conflict only counts as the failure
+        verify(metricsService, times(2)).recordOptimisticLockRetry();
+        verify(metricsService).recordOptimisticLockFailure();
+        verify(accountRepository, never()).findByAccountId(456L);
+    }
+
+    @Test
+    void testTransfer_InsufficientBalance() {
+        when(accountRepository.findByAccountId(123L))
+                .thenReturn(Optional.of(new Account(123L, new BigDecimal("10.00000"), 1L)));
+
+        assertThrows(InsufficientBalanceException.class,
+                () -> strategy.transfer(123L, 456L, new BigDecimal("50.00000")));
+
+        verify(accountRepository, never()).updateBalanceIfVersionMatches(anyLong(), any(), anyLong());
+        verify(metricsService).recordInsufficientBalanceError();
+    }
+
+    @Test
+    void testTransfer_HeldBalanceNotSpendable() {
+        Account source = new Account(123L, new BigDecimal("100.00000"), 1L);
+        source.setHeldBalance(new BigDecimal("60.00000"));
+        when(accountRepository.findByAccountId(123L)).thenReturn(Optional.of(source));
+
+        InsufficientBalanceException exception = assertThrows(InsufficientBalanceException.class,
+                () -> strategy.transfer(123L, 456L, new BigDecimal("50.00000")));
+
+        assertTrue(exception.getMessage().contains("40.00000"));
+        verify(accountRepository, never()).updateBalanceIfVersionMatches(anyLong(), any(), anyLong());
+    }
+
+    @Test
+    void testTransfer_AccountNotFound() {
+        when(accountRepository.findByAccountId(123L)).thenReturn(Optional.empty());
+
+        assertThrows(AccountNotFoundException.class,
+                () -> strategy.transfer(123L, 456L, new BigDecimal("50.00000")));
+
+        verify(accountRepository, never()).updateBalanceIfVersionMatches(anyLong(), any(), anyLong());
+        verify(metricsService).recordAccountNotFoundError();
+    }
+}
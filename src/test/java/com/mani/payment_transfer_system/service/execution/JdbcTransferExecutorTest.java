@@ -0,0 +1,108 @@
+package com.mani.payment_transfer_system.service.execution;
+
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcTransferExecutorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private JdbcTransferExecutor executor;
+    private final BigDecimal amount = new BigDecimal("50.12345");
+
+    @BeforeEach
+    void setUp() {
+        executor = new JdbcTransferExecutor(jdbcTemplate, metricsService);
+        when(jdbcTemplate.query(eq(JdbcTransferExecutor.LOCK_ACCOUNTS), any(ResultSetExtractor.class),
+                eq(123L), eq(456L)))
+                .thenAnswer(invocation -> invocation.<ResultSetExtractor<?>>getArgument(1).extractData(resultSet));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTransfer_Success() throws Exception {
+        lockedRows(new BigDecimal("100.00000"), 123L, 456L);
+        when(jdbcTemplate.queryForObject(eq(JdbcTransferExecutor.INSERT_TRANSACTION), eq(Long.class),
+                eq(123L), eq(456L), eq(amount), any(LocalDateTime.class))).thenReturn(77L);
+
+        assertEquals(77L, executor.transfer(123L, 456L, amount));
+
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(JdbcTransferExecutor.ADD_TO_BALANCE), updates.capture());
+        assertArrayEquals(new Object[]{amount.negate(), 123L}, updates.getValue().get(0));
+        assertArrayEquals(new Object[]{amount, 456L}, updates.getValue().get(1));
+        verifyNoInteractions(metricsService);
+    }
+
+    @Test
+    void testTransfer_SourceNotFound() throws Exception {
+        lockedRows(null, 456L);
+
+        AccountNotFoundException exception = assertThrows(AccountNotFoundException.class,
+                () -> executor.transfer(123L, 456L, amount));
+        assertTrue(exception.getMessage().contains("123"));
+        verify(metricsService).recordAccountNotFoundError();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void testTransfer_DestinationNotFound() throws Exception {
+        lockedRows(new BigDecimal("100.00000"), 123L);
+
+        AccountNotFoundException exception = assertThrows(AccountNotFoundException.class,
+                () -> executor.transfer(123L, 456L, amount));
+        assertTrue(exception.getMessage().contains("456"));
+        verify(metricsService).recordAccountNotFoundError();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void testTransfer_InsufficientBalance() throws Exception {
+        lockedRows(new BigDecimal("10.00000"), 123L, 456L);
+
+        InsufficientBalanceException exception = assertThrows(InsufficientBalanceException.class,
+                () -> executor.transfer(123L, 456L, amount));
+        assertTrue(exception.getMessage().contains("10.00000"));
+        verify(metricsService).recordInsufficientBalanceError();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private void lockedRows(BigDecimal sourceBalance, Long... accountIds) throws Exception {
+        Boolean[] moreRows = new Boolean[accountIds.length];
+        Arrays.fill(moreRows, true);
+        moreRows[accountIds.length - 1] = false;
+        when(resultSet.next()).thenReturn(true, moreRows);
+        when(resultSet.getLong("account_id")).thenReturn(accountIds[0],
+                Arrays.copyOfRange(accountIds, 1, accountIds.length));
+        lenient().when(resultSet.getBigDecimal("available_balance")).thenReturn(sourceBalance);
+    }
+}
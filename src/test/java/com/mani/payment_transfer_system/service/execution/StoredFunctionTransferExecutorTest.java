@@ -0,0 +1,88 @@
+package com.mani.payment_transfer_system.service.execution;
+
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StoredFunctionTransferExecutorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private StoredFunctionTransferExecutor executor;
+    private final BigDecimal amount = new BigDecimal("50.12345");
+
+    @BeforeEach
+    void setUp() throws Exception {
+        executor = new StoredFunctionTransferExecutor(jdbcTemplate, metricsService);
+        when(jdbcTemplate.queryForObject(eq(StoredFunctionTransferExecutor.CALL_TRANSFER_FUNCTION),
+                any(RowMapper.class), eq(123L), eq(456L), eq(amount)))
+                .thenAnswer(invocation -> invocation.<RowMapper<?>>getArgument(1).mapRow(resultSet, 0));
+    }
+
+    @Test
+    void testTransfer_Success() throws Exception {
+        functionReturns("OK", 77L, new BigDecimal("49.87655"));
+
+        assertEquals(77L, executor.transfer(123L, 456L, amount));
+        verifyNoInteractions(metricsService);
+    }
+
+    @Test
+    void testTransfer_SourceNotFound() throws Exception {
+        functionReturns("SOURCE_NOT_FOUND", null, null);
+
+        AccountNotFoundException exception = assertThrows(AccountNotFoundException.class,
+                () -> executor.transfer(123L, 456L, amount));
+        assertTrue(exception.getMessage().contains("123"));
+        verify(metricsService).recordAccountNotFoundError();
+    }
+
+    @Test
+    void testTransfer_DestinationNotFound() throws Exception {
+        functionReturns("DESTINATION_NOT_FOUND", null, new BigDecimal("100.00000"));
+
+        AccountNotFoundException exception = assertThrows(AccountNotFoundException.class,
+                () -> executor.transfer(123L, 456L, amount));
+        assertTrue(exception.getMessage().contains("456"));
+        verify(metricsService).recordAccountNotFoundError();
+    }
+
+    @Test
+    void testTransfer_InsufficientBalance() throws Exception {
+        functionReturns("INSUFFICIENT_BALANCE", null, new BigDecimal("10.00000"));
+
+        InsufficientBalanceException exception = assertThrows(InsufficientBalanceException.class,
+                () -> executor.transfer(123L, 456L, amount));
+        assertTrue(exception.getMessage().contains("10.00000"));
+        verify(metricsService).recordInsufficientBalanceError();
+    }
+
+    private void functionReturns(String resultCode, Long transactionId, BigDecimal sourceBalance) throws Exception {
+        when(resultSet.getString("result_code")).thenReturn(resultCode);
+        when(resultSet.getObject("transaction_id", Long.class)).thenReturn(transactionId);
+        when(resultSet.getBigDecimal("source_balance")).thenReturn(sourceBalance);
+    }
+}
@@ -0,0 +1,156 @@
+package com.mani.payment_transfer_system.service.retry;
+
+import com.mani.payment_transfer_system.config.TransferProperties;
+import com.mani.payment_transfer_system.exception.TransactionRetryExhaustedException;
+import com.mani.payment_transfer_system.service.MetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TransientFailureRetrierTest {
+
+    private MetricsService metricsService;
+    private TransferProperties properties;
+    private TransientFailureRetrier retrier;
+
+    @BeforeEach
+    void setUp() {
+        metricsService = mock(MetricsService.class);
+        properties = new TransferProperties();
+        properties.getRetry().setMaxAttempts(3);
+        properties.getRetry().setInitialBackoff(Duration.ofNanos(1));
+        properties.getRetry().setMaxBackoff(Duration.ofNanos(10));
+        retrier = new TransientFailureRetrier(properties, metricsService);
+    }
+
+    private static RuntimeException failure(String sqlState) {
+        return new CannotAcquireLockException("could not execute statement",
+                new SQLException("ERROR", sqlState));
+    }
+
+    @Test
+    void testExecute_SuccessWithoutRetry() {
+        assertEquals("ok", retrier.execute(() -> "ok"));
+        verifyNoInteractions(metricsService);
+    }
+
+    @Test
+    void testExecute_RetriesDeadlockThenSucceeds() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Long result = retrier.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw failure("40P01");
+            }
+            return 42L;
+        });
+
+        assertEquals(42L, result);
+        assertEquals(3, attempts.get());
+        verify(metricsService, times(2)).recordTransientFailureRetry();
+        verify(metricsService, never()).recordTransientFailureGiveUp();
+    }
+
+    @Test
+    void testExecute_GivesUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        TransactionRetryExhaustedException ex = assertThrows(TransactionRetryExhaustedException.class,
+                () -> retrier.execute(() -> {
+                    attempts.incrementAndGet();
+                    throw failure("40001");
+                }));
+
+        assertEquals(3, attempts.get());
+        assertEquals("40001", ((SQLException) ex.getCause().getCause()).getSQLState());
+        verify(metricsService, times(2)).recordTransientFailureRetry();
+        verify(metricsService).recordTransientFailureGiveUp();
+    }
+
+    @Test
+    void testExecute_GivesUpWhenDeadlineExceeded() {
+        properties.setLockTimeout(Duration.ZERO);
+        properties.getRetry().setDeadline(Duration.ZERO);
+        retrier = new TransientFailureRetrier(properties, metricsService);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(TransactionRetryExhaustedException.class, () -> retrier.execute(() -> {
+            attempts.incrementAndGet();
+            throw failure("55P03");
+        }));
+
+        assertEquals(1, attempts.get());
+        verify(metricsService).recordTransientFailureGiveUp();
+    }
+
+    @Test
+    void testDefaults_LockTimeoutLeavesRoomForRetry() {
+        TransferProperties defaults = new TransferProperties();
+
+        assertTrue(defaults.getLockTimeout().compareTo(defaults.getRetry().getDeadline()) < 0);
+    }
+
+    @Test
+    void testConstructor_RejectsLockTimeoutNotBelowDeadline() {
+        properties.setLockTimeout(properties.getRetry().getDeadline());
+
+        assertThrows(IllegalArgumentException.class, () -> new TransientFailureRetrier(properties, metricsService));
+    }
+
+    @Test
+    void testExecute_DoesNotRetryNonTransientFailure() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> retrier.execute(() -> {
+            attempts.incrementAndGet();
+            throw failure("23505");
+        }));
+
+        assertInstanceOf(CannotAcquireLockException.class, ex);
+        assertEquals(1, attempts.get());
+        verifyNoInteractions(metricsService);
+    }
+
+    @Test
+    void testExecute_DoesNotRetryInsideActiveTransaction() {
+        AtomicInteger attempts = new AtomicInteger();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(CannotAcquireLockException.class, () -> retrier.execute(() -> {
+                attempts.incrementAndGet();
+                throw failure("40P01");
+            }));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertEquals(1, attempts.get());
+        verifyNoInteractions(metricsService);
+    }
+
+    @Test
+    void testTransientSqlState() {
+        assertEquals("40P01", TransientFailureRetrier.transientSqlState(failure("40P01")));
+        assertEquals("55P03", TransientFailureRetrier.transientSqlState(
+                new RuntimeException(new RuntimeException(new SQLException("lock timeout", "55P03")))));
+        assertNull(TransientFailureRetrier.transientSqlState(failure("08006")));
+        assertNull(TransientFailureRetrier.transientSqlState(new RuntimeException("no cause")));
+    }
+
+    @Test
+    void testJitteredBackoffStaysWithinCap() {
+        for (int attempt = 1; attempt <= 30; attempt++) {
+            long delay = JitteredBackoff.delayNanos(Duration.ofMillis(10), Duration.ofMillis(200), attempt);
+            assertTrue(delay >= 0 && delay <= Duration.ofMillis(200).toNanos());
+        }
+        assertEquals(0, JitteredBackoff.delayNanos(Duration.ZERO, Duration.ofMillis(200), 1));
+    }
+}
@@ -0,0 +1,74 @@
+package com.mani.payment_transfer_system.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final int ACCOUNTS = 100_000;
+
+    @Test
+    void testShardFor_IsDeterministic() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing sameRing = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+
+        for (long accountId = 1; accountId <= 1000; accountId++) {
+            assertEquals(ring.shardFor(accountId), sameRing.shardFor(accountId));
+        }
+    }
+
+    @Test
+    void testShardFor_DistributesSequentialIdsEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (long accountId = 1; accountId <= ACCOUNTS; accountId++) {
+            counts.merge(ring.shardFor(accountId), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        counts.values().forEach(count ->
+                assertTrue(Math.abs(count - ACCOUNTS / 4) < ACCOUNTS / 4 * 0.2, "unbalanced: " + counts));
+    }
+
+    @Test
+    void testAddingShard_OnlyMovesAccountsToNewShard() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+        int moved = 0;
+
+        for (long accountId = 1; accountId <= ACCOUNTS; accountId++) {
+            String oldOwner = before.shardFor(accountId);
+            String newOwner = after.shardFor(accountId);
+            if (!oldOwner.equals(newOwner)) {
+                assertEquals("d", newOwner);
+                moved++;
+            }
+        }
+
+        // Roughly a quarter of the accounts move to the new shard
+        assertTrue(moved > ACCOUNTS * 0.15 && moved < ACCOUNTS * 0.35, "moved " + moved);
+    }
+
+    @Test
+    void testSingleShard_OwnsEverything() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("only"), 8);
+
+        assertEquals("only", ring.shardFor(Long.MIN_VALUE));
+        assertEquals("only", ring.shardFor(0L));
+        assertEquals("only", ring.shardFor(Long.MAX_VALUE));
+        assertEquals(List.of("only"), ring.shardNames());
+    }
+
+    @Test
+    void testConstructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of(), 128));
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of("a"), 0));
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of("a", "a"), 1));
+    }
+}
@@ -0,0 +1,285 @@
+package com.mani.payment_transfer_system.sharding;
+
+import com.mani.payment_transfer_system.config.ShardingProperties;
+import com.mani.payment_transfer_system.config.TransferProperties;
+import com.mani.payment_transfer_system.dto.TransactionRequest;
+import com.mani.payment_transfer_system.entity.Account;
+import com.mani.payment_transfer_system.entity.ShardTransferReceipt;
+import com.mani.payment_transfer_system.entity.Transaction;
+import com.mani.payment_transfer_system.entity.TransferReservation;
+import com.mani.payment_transfer_system.exception.AccountNotFoundException;
+import com.mani.payment_transfer_system.exception.InsufficientBalanceException;
+import com.mani.payment_transfer_system.exception.TransferAbortedException;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.repository.ShardTransferReceiptRepository;
+import com.mani.payment_transfer_system.repository.TransactionRepository;
+import com.mani.payment_transfer_system.repository.TransferReservationRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.service.retry.TransientFailureRetrier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the cross-shard protocol against in-memory stand-ins for two shard databases.
+ * The repository mocks read and write the store of the shard selected in {@link ShardContext},
+ * so the test also verifies that every step is routed to the right shard.
+ */
+@ExtendWith(MockitoExtension.class)
+class CrossShardTransferCoordinatorTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransferReservationRepository reservationRepository;
+
+    @Mock
+    private ShardTransferReceiptRepository receiptRepository;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<String, ShardStore> shards = new HashMap<>();
+    private final AtomicLong transactionIds = new AtomicLong();
+    private ShardRouter shardRouter;
+    private CrossShardTransferCoordinator coordinator;
+    private Long sourceId;
+    private Long destinationId;
+
+    @BeforeEach
+    void setUp() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        properties.setRecoveryAfter(Duration.ZERO);
+        for (String name : List.of("shard-a", "shard-b")) {
+            ShardingProperties.Shard shard = new ShardingProperties.Shard();
+            shard.setName(name);
+            properties.getShards().add(shard);
+            shards.put(name, new ShardStore());
+        }
+        shardRouter = new ShardRouter(properties, transactionManager);
+        coordinator = new CrossShardTransferCoordinator(shardRouter, accountRepository, transactionRepository,
+                reservationRepository, receiptRepository, metricsService,
+                new TransientFailureRetrier(new TransferProperties(), metricsService), properties);
+
+        sourceId = 1000L;
+        destinationId = sourceId + 1;
+        while (!shardRouter.isCrossShard(sourceId, destinationId)) {
+            destinationId++;
+        }
+        store(sourceId).accounts.put(sourceId, new Account(sourceId, new BigDecimal("100.00000")));
+        store(destinationId).accounts.put(destinationId, new Account(destinationId, new BigDecimal("20.00000")));
+
+        stubRepositories();
+    }
+
+    @Test
+    void testTransfer_Success() {
+        Long transactionId = coordinator.transfer(new TransactionRequest(sourceId, destinationId, new BigDecimal("30.00000")));
+
+        assertEquals(new BigDecimal("70.00000"), store(sourceId).accounts.get(sourceId).getBalance());
+        assertEquals(new BigDecimal("50.00000"), store(destinationId).accounts.get(destinationId).getBalance());
+
+        TransferReservation reservation = store(sourceId).reservations.values().iterator().next();
+        assertEquals(TransferReservation.Status.COMMITTED, reservation.getStatus());
+        assertEquals(transactionId, reservation.getTransactionId());
+
+        Transaction transaction = store(destinationId).transactions.get(0);
+        assertEquals(transactionId, transaction.getId());
+        assertEquals(reservation.getId(), transaction.getPaymentId());
+        assertTrue(store(destinationId).receipts.get(reservation.getId()).isApplied());
+        assertTrue(store(sourceId).transactions.isEmpty());
+        verify(metricsService).recordCrossShardTransfer();
+    }
+
+    @Test
+    void testTransfer_DestinationNotFound_NothingReserved() {
+        store(destinationId).accounts.clear();
+
+        assertThrows(AccountNotFoundException.class,
+                () -> coordinator.transfer(new TransactionRequest(sourceId, destinationId, new BigDecimal("30.00000"))));
+
+        assertEquals(new BigDecimal("100.00000"), store(sourceId).accounts.get(sourceId).getBalance());
+        assertTrue(store(sourceId).reservations.isEmpty());
+        verify(metricsService).recordAccountNotFoundError();
+    }
+
+    @Test
+    void testTransfer_InsufficientBalance_NothingReserved() {
+        assertThrows(InsufficientBalanceException.class,
+                () -> coordinator.transfer(new TransactionRequest(sourceId, destinationId, new BigDecimal("100.00001"))));
+
+        assertEquals(new BigDecimal("100.00000"), store(sourceId).accounts.get(sourceId).getBalance());
+        assertTrue(store(sourceId).reservations.isEmpty());
+        assertTrue(store(destinationId).receipts.isEmpty());
+        verify(metricsService).recordInsufficientBalanceError();
+    }
+
+    @Test
+    void testTransfer_DestinationRemovedBeforeApply_ReservationReleased() {
+        doReturn(true).when(accountRepository).existsByAccountId(destinationId);
+        store(destinationId).accounts.clear();
+
+        assertThrows(AccountNotFoundException.class,
+                () -> coordinator.transfer(new TransactionRequest(sourceId, destinationId, new BigDecimal("30.00000"))));
+
+        assertEquals(new BigDecimal("100.00000"), store(sourceId).accounts.get(sourceId).getBalance());
+        TransferReservation reservation = store(sourceId).reservations.values().iterator().next();
+        assertEquals(TransferReservation.Status.RELEASED, reservation.getStatus());
+        verify(metricsService, never()).recordCrossShardTransfer();
+    }
+
+    @Test
+    void testRecoverStaleReservations_NotApplied_AbortsAndRefunds() {
+        TransferReservation reservation = pendingReservation(new BigDecimal("30.00000"));
+
+        coordinator.recoverStaleReservations();
+
+        assertEquals(TransferReservation.Status.RELEASED, reservation.getStatus());
+        assertEquals(new BigDecimal("100.00000"), store(sourceId).accounts.get(sourceId).getBalance());
+        assertFalse(store(destinationId).receipts.get(reservation.getId()).isApplied());
+        verify(metricsService).recordReservationRecovery();
+    }
+
+    @Test
+    void testRecoverStaleReservations_Applied_MarksCommitted() {
+        TransferReservation reservation = pendingReservation(new BigDecimal("30.00000"));
+        store(destinationId).receipts.put(reservation.getId(), new ShardTransferReceipt(reservation.getId(), 7L));
+
+        coordinator.recoverStaleReservations();
+
+        assertEquals(TransferReservation.Status.COMMITTED, reservation.getStatus());
+        assertEquals(7L, reservation.getTransactionId());
+        assertEquals(new BigDecimal("70.00000"), store(sourceId).accounts.get(sourceId).getBalance());
+    }
+
+    @Test
+    void testTransfer_AbortedByRecoveryDuringApply_ReservationReleased() {
+        // Recovery records its abort receipt between the apply step's read and its insert
+        when(receiptRepository.saveAndFlush(any(ShardTransferReceipt.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertThrows(TransferAbortedException.class,
+                () -> coordinator.transfer(new TransactionRequest(sourceId, destinationId, new BigDecimal("30.00000"))));
+
+        assertEquals(new BigDecimal("100.00000"), store(sourceId).accounts.get(sourceId).getBalance());
+        TransferReservation reservation = store(sourceId).reservations.values().iterator().next();
+        assertEquals(TransferReservation.Status.RELEASED, reservation.getStatus());
+        verify(metricsService).recordCrossShardAbort();
+        verify(metricsService, never()).recordCrossShardTransfer();
+    }
+
+    @Test
+    void testRecoverStaleReservations_NotSharded_DoesNothing() {
+        CrossShardTransferCoordinator unsharded = new CrossShardTransferCoordinator(
+                new ShardRouter(new ShardingProperties(), transactionManager), accountRepository,
+                transactionRepository, reservationRepository, receiptRepository, metricsService,
+                new TransientFailureRetrier(new TransferProperties(), metricsService), new ShardingProperties());
+
+        unsharded.recoverStaleReservations();
+
+        verify(reservationRepository, never()).findByStatusAndCreatedAtBeforeOrderByCreatedAt(any(), any());
+    }
+
+    /**
+     * Simulates a coordinator that crashed after reserving the funds.
+     */
+    private TransferReservation pendingReservation(BigDecimal amount) {
+        Account source = store(sourceId).accounts.get(sourceId);
+        source.setBalance(source.getBalance().subtract(amount));
+        TransferReservation reservation = new TransferReservation(UUID.randomUUID(), sourceId, destinationId, amount);
+        reservation.setCreatedAt(LocalDateTime.now().minusMinutes(1));
+        store(sourceId).reservations.put(reservation.getId(), reservation);
+        return reservation;
+    }
+
+    private ShardStore store(Long accountId) {
+        return shards.get(shardRouter.shardFor(accountId));
+    }
+
+    private ShardStore current() {
+        String shard = ShardContext.current();
+        assertNotNull(shard, "repository used without a shard selected");
+        return shards.get(shard);
+    }
+
+    private void stubRepositories() {
+        lenient().when(accountRepository.existsByAccountId(any()))
+                .thenAnswer(invocation -> current().accounts.containsKey(invocation.<Long>getArgument(0)));
+        lenient().when(accountRepository.findByAccountIdWithLock(any()))
+                .thenAnswer(invocation -> Optional.ofNullable(current().accounts.get(invocation.<Long>getArgument(0))));
+        lenient().when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> {
+            Account account = invocation.getArgument(0);
+            current().accounts.put(account.getAccountId(), account);
+            return account;
+        });
+        lenient().when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            transaction.setId(transactionIds.incrementAndGet());
+            current().transactions.add(transaction);
+            return transaction;
+        });
+        lenient().when(reservationRepository.save(any(TransferReservation.class))).thenAnswer(invocation -> {
+            TransferReservation reservation = invocation.getArgument(0);
+            current().reservations.put(reservation.getId(), reservation);
+            return reservation;
+        });
+        lenient().when(reservationRepository.findByIdWithLock(any()))
+                .thenAnswer(invocation -> Optional.ofNullable(current().reservations.get(invocation.<UUID>getArgument(0))));
+        lenient().when(reservationRepository.findByStatusAndCreatedAtBeforeOrderByCreatedAt(any(), any()))
+                .thenAnswer(invocation -> current().reservations.values().stream()
+                        .filter(reservation -> reservation.getStatus() == invocation.getArgument(0))
+                        .filter(reservation -> reservation.getCreatedAt().isBefore(invocation.getArgument(1)))
+                        .toList());
+        lenient().when(receiptRepository.findById(any()))
+                .thenAnswer(invocation -> Optional.ofNullable(current().receipts.get(invocation.<UUID>getArgument(0))));
+        lenient().when(receiptRepository.save(any(ShardTransferReceipt.class))).thenAnswer(invocation -> {
+            ShardTransferReceipt receipt = invocation.getArgument(0);
+            current().receipts.put(receipt.getReservationId(), receipt);
+            return receipt;
+        });
+        lenient().when(receiptRepository.saveAndFlush(any(ShardTransferReceipt.class))).thenAnswer(invocation -> {
+            ShardTransferReceipt receipt = invocation.getArgument(0);
+            if (current().receipts.putIfAbsent(receipt.getReservationId(), receipt) != null) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            return receipt;
+        });
+    }
+
+    /**
+     * In-memory stand-in for the tables of one shard database.
+     */
+    private static class ShardStore {
+        final Map<Long, Account> accounts = new HashMap<>();
+        final Map<UUID, TransferReservation> reservations = new HashMap<>();
+        final Map<UUID, ShardTransferReceipt> receipts = new HashMap<>();
+        final List<Transaction> transactions = new ArrayList<>();
+    }
+}
@@ -0,0 +1,213 @@
+package com.mani.payment_transfer_system.sharding;
+
+import com.mani.payment_transfer_system.config.ShardingProperties;
+import com.mani.payment_transfer_system.entity.Account;
+import com.mani.payment_transfer_system.entity.ScheduledTransfer;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.repository.AuthorizationHoldRepository;
+import com.mani.payment_transfer_system.repository.ScheduledTransferRepository;
+import com.mani.payment_transfer_system.repository.TransferReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Rebalances accounts between in-memory stand-ins for shard databases.
+ */
+@ExtendWith(MockitoExtension.class)
+class ShardRebalancerTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransferReservationRepository reservationRepository;
+
+    @Mock
+    private AuthorizationHoldRepository holdRepository;
+
+    @Mock
+    private ScheduledTransferRepository scheduledTransferRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<String, TreeMap<Long, Account>> shards = new HashMap<>();
+    private final Map<String, Map<UUID, ScheduledTransfer>> scheduledTransfers = new HashMap<>();
+    private ShardRouter shardRouter;
+    private ShardRebalancer rebalancer;
+
+    @BeforeEach
+    void setUp() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        for (String name : List.of("a", "b")) {
+            ShardingProperties.Shard shard = new ShardingProperties.Shard();
+            shard.setName(name);
+            properties.getShards().add(shard);
+            shards.put(name, new TreeMap<>());
+            scheduledTransfers.put(name, new HashMap<>());
+        }
+        shardRouter = new ShardRouter(properties, transactionManager);
+        rebalancer = new ShardRebalancer(shardRouter, accountRepository, reservationRepository, holdRepository,
+                scheduledTransferRepository);
+
+        // Simulates adding shard "b": every account still lives on shard "a"
+        for (long accountId = 1; accountId <= 2500; accountId++) {
+            shards.get("a").put(accountId, new Account(accountId, BigDecimal.valueOf(accountId)));
+        }
+        stubRepositories();
+    }
+
+    @Test
+    void testRebalance_DryRunOnlyCounts() {
+        ShardRebalancer.RebalanceReport report = rebalancer.rebalance(true);
+
+        long misplaced = shards.get("a").keySet().stream().filter(id -> shardRouter.shardFor(id).equals("b")).count();
+        assertTrue(report.isDryRun());
+        assertEquals(2500, report.getScanned());
+        assertEquals(Map.of("a->b", misplaced), report.getMoves());
+        assertEquals(2500, shards.get("a").size());
+        verify(accountRepository, never()).delete(any());
+    }
+
+    @Test
+    void testRebalance_MovesMisplacedAccountsWithTheirBalance() {
+        ShardRebalancer.RebalanceReport report = rebalancer.rebalance(false);
+
+        assertEquals(2500, shards.get("a").size() + shards.get("b").size());
+        assertEquals(report.getMoves().get("a->b").intValue(), shards.get("b").size());
+        shards.forEach((shard, accounts) -> accounts.values().forEach(account -> {
+            assertEquals(shard, shardRouter.shardFor(account.getAccountId()));
+            assertEquals(BigDecimal.valueOf(account.getAccountId()), account.getBalance());
+        }));
+
+        // A second run finds nothing to move
+        assertTrue(rebalancer.rebalance(false).getMoves().isEmpty());
+    }
+
+    @Test
+    void testRebalance_MovesHeldBalance() {
+        long accountId = misplacedAccountId();
+        shards.get("a").get(accountId).setHeldBalance(new BigDecimal("0.50000"));
+
+        rebalancer.rebalance(false);
+
+        assertEquals(new BigDecimal("0.50000"), shards.get("b").get(accountId).getHeldBalance());
+    }
+
+    @Test
+    void testRebalance_MovesPendingScheduledTransfersWithTheirSourceAccount() {
+        long accountId = misplacedAccountId();
+        ScheduledTransfer pending = scheduledTransfer(accountId);
+        ScheduledTransfer completed = scheduledTransfer(accountId);
+        completed.setStatus(ScheduledTransfer.Status.COMPLETED);
+
+        rebalancer.rebalance(false);
+
+        // The scheduler executes and completes it on the shard that now owns the source account
+        assertEquals(Map.of(pending.getId(), pending), scheduledTransfers.get("b"));
+        assertEquals(Map.of(completed.getId(), completed), scheduledTransfers.get("a"));
+        assertEquals("b", shardRouter.shardFor(pending.getSourceAccountId()));
+    }
+
+    @Test
+    void testRebalance_InterruptedMoveDoesNotOverwriteScheduledTransferOnNewShard() {
+        long accountId = misplacedAccountId();
+        ScheduledTransfer stale = scheduledTransfer(accountId);
+        // A previous run copied it before crashing, and it has been executed on the new shard since
+        ScheduledTransfer executed = new ScheduledTransfer(accountId, stale.getDestinationAccountId(),
+                stale.getAmount(), stale.getExecuteAt());
+        executed.setId(stale.getId());
+        executed.setStatus(ScheduledTransfer.Status.COMPLETED);
+        scheduledTransfers.get("b").put(executed.getId(), executed);
+
+        rebalancer.rebalance(false);
+
+        assertSame(executed, scheduledTransfers.get("b").get(stale.getId()));
+        assertTrue(scheduledTransfers.get("a").isEmpty());
+    }
+
+    @Test
+    void testRebalance_RefusesWhileHoldsActive() {
+        when(holdRepository.existsByStatus(any())).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> rebalancer.rebalance(false));
+        verify(accountRepository, never()).findAccountIdsAfter(any(), any());
+    }
+
+    @Test
+    void testRebalance_RefusesWhileReservationsPending() {
+        when(reservationRepository.existsByStatus(any())).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> rebalancer.rebalance(false));
+        verify(accountRepository, never()).findAccountIdsAfter(any(), any());
+    }
+
+    private long misplacedAccountId() {
+        return shards.get("a").keySet().stream()
+                .filter(id -> shardRouter.shardFor(id).equals("b")).findFirst().orElseThrow();
+    }
+
+    private ScheduledTransfer scheduledTransfer(long sourceAccountId) {
+        ScheduledTransfer transfer = new ScheduledTransfer(sourceAccountId, sourceAccountId + 1,
+                BigDecimal.ONE, Instant.now().plusSeconds(3600));
+        scheduledTransfers.get("a").put(transfer.getId(), transfer);
+        return transfer;
+    }
+
+    private TreeMap<Long, Account> current() {
+        return shards.get(ShardContext.current());
+    }
+
+    private void stubRepositories() {
+        lenient().when(accountRepository.findAccountIdsAfter(any(), any())).thenAnswer(invocation -> {
+            Long after = invocation.getArgument(0);
+            Pageable page = invocation.getArgument(1);
+            return current().tailMap(after, false).keySet().stream().limit(page.getPageSize()).toList();
+        });
+        lenient().when(accountRepository.findByAccountIdWithLock(any()))
+                .thenAnswer(invocation -> Optional.ofNullable(current().get(invocation.<Long>getArgument(0))));
+        lenient().when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> {
+            Account account = invocation.getArgument(0);
+            current().put(account.getAccountId(), account);
+            return account;
+        });
+        lenient().doAnswer(invocation -> current().remove(invocation.<Account>getArgument(0).getAccountId()))
+                .when(accountRepository).delete(any(Account.class));
+        lenient().when(scheduledTransferRepository.findBySourceAccountIdAndStatus(any(), any()))
+                .thenAnswer(invocation -> scheduledTransfers.get(ShardContext.current()).values().stream()
+                        .filter(transfer -> transfer.getSourceAccountId().equals(invocation.getArgument(0))
+                                && transfer.getStatus() == invocation.getArgument(1))
+                        .toList());
+        lenient().when(scheduledTransferRepository.existsById(any())).thenAnswer(invocation ->
+                scheduledTransfers.get(ShardContext.current()).containsKey(invocation.<UUID>getArgument(0)));
+        lenient().when(scheduledTransferRepository.save(any(ScheduledTransfer.class))).thenAnswer(invocation -> {
+            ScheduledTransfer transfer = invocation.getArgument(0);
+            scheduledTransfers.get(ShardContext.current()).put(transfer.getId(), transfer);
+            return transfer;
+        });
+        lenient().doAnswer(invocation -> {
+            invocation.<List<ScheduledTransfer>>getArgument(0)
+                    .forEach(transfer -> scheduledTransfers.get(ShardContext.current()).remove(transfer.getId()));
+            return null;
+        }).when(scheduledTransferRepository).deleteAll(any());
+    }
+}
@@ -0,0 +1,108 @@
+package com.mani.payment_transfer_system.sharding;
+
+import com.mani.payment_transfer_system.config.ShardingProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardRouterTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testUnsharded_RoutesEverythingToDefaultShard() {
+        ShardRouter router = new ShardRouter(new ShardingProperties(), transactionManager);
+
+        assertFalse(router.isSharded());
+        assertEquals(ShardRouter.DEFAULT_SHARD, router.shardFor(123L));
+        assertFalse(router.isCrossShard(123L, 456L));
+        assertEquals(List.of(ShardRouter.DEFAULT_SHARD), router.shardNames());
+        assertNull(router.callForAccount(123L, ShardContext::current));
+    }
+
+    @Test
+    void testUnsharded_ReadAcrossShardsJoinsCallerTransaction() {
+        ShardRouter router = new ShardRouter(new ShardingProperties(), transactionManager);
+
+        assertEquals(List.of(1, 2), router.readAcrossShards(() -> List.of(1, 2)));
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void testSharded_SelectsOwningShard() {
+        ShardRouter router = new ShardRouter(shards("a", "b"), transactionManager);
+
+        assertTrue(router.isSharded());
+        for (long accountId = 1; accountId <= 100; accountId++) {
+            assertEquals(router.shardFor(accountId), router.callForAccount(accountId, ShardContext::current));
+        }
+        assertNull(ShardContext.current());
+    }
+
+    @Test
+    void testSharded_ReadAcrossShardsVisitsEveryShardInNewTransaction() {
+        ShardRouter router = new ShardRouter(shards("a", "b", "c"), transactionManager);
+
+        List<String> visited = router.readAcrossShards(() -> List.of(ShardContext.current()));
+
+        assertEquals(List.of("a", "b", "c"), visited);
+        verify(transactionManager, times(3)).getTransaction(argThat(definition ->
+                definition.isReadOnly()
+                        && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    void testInShardTransaction_RestoresPreviousShard() {
+        ShardRouter router = new ShardRouter(shards("a", "b"), transactionManager);
+
+        String outer = ShardContext.callInShard("a", () -> {
+            assertEquals("b", router.inShardTransaction("b", ShardContext::current));
+            return ShardContext.current();
+        });
+
+        assertEquals("a", outer);
+        verify(transactionManager).getTransaction(any());
+    }
+
+    @Test
+    void testInShardSnapshot_UsesReadOnlyRepeatableReadTransaction() {
+        ShardRouter router = new ShardRouter(shards("a", "b"), transactionManager);
+
+        assertEquals("b", router.inShardSnapshot("b", ShardContext::current));
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.isReadOnly()
+                        && definition.getIsolationLevel() == TransactionDefinition.ISOLATION_REPEATABLE_READ
+                        && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    void testRoutingDataSource_UsesSelectedShard() {
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource();
+
+        assertNull(dataSource.determineCurrentLookupKey());
+        assertEquals("b", ShardContext.callInShard("b", dataSource::determineCurrentLookupKey));
+    }
+
+    private static ShardingProperties shards(String... names) {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        for (String name : names) {
+            ShardingProperties.Shard shard = new ShardingProperties.Shard();
+            shard.setName(name);
+            properties.getShards().add(shard);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,71 @@
+package com.mani.payment_transfer_system.statement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GzipFileWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testWrite_ProducesReadableGzipFile() throws IOException {
+        byte[] content = "transaction_id,timestamp,counterparty_account_id,amount\n1,2024-01-15T10:30:00Z,456,-25.00000\n"
+                .getBytes(StandardCharsets.UTF_8);
+        Path file = directory.resolve("123.csv.gz");
+
+        try (GzipFileWriter writer = new GzipFileWriter(1024, 6)) {
+            long written = writer.write(file, content);
+
+            assertEquals(Files.size(file), written);
+        }
+        assertArrayEquals(content, gunzip(file));
+    }
+
+    @Test
+    void testWrite_ContentLargerThanBufferAndReuse() throws IOException {
+        byte[] large = new byte[200_000];
+        new Random(42).nextBytes(large);
+        byte[] small = "{}".getBytes(StandardCharsets.UTF_8);
+
+        try (GzipFileWriter writer = new GzipFileWriter(64, 1)) {
+            writer.write(directory.resolve("large.gz"), large);
+            writer.write(directory.resolve("small.gz"), small);
+            // Rewriting a file replaces it
+            writer.write(directory.resolve("large.gz"), small);
+        }
+
+        assertArrayEquals(small, gunzip(directory.resolve("small.gz")));
+        assertArrayEquals(small, gunzip(directory.resolve("large.gz")));
+    }
+
+    @Test
+    void testWrite_EmptyContent() throws IOException {
+        try (GzipFileWriter writer = new GzipFileWriter(32, 9)) {
+            writer.write(directory.resolve("empty.gz"), new byte[0]);
+        }
+
+        assertEquals(0, gunzip(directory.resolve("empty.gz")).length);
+    }
+
+    @Test
+    void testConstructor_RejectsBufferSmallerThanHeaderAndTrailer() {
+        assertThrows(IllegalArgumentException.class, () -> new GzipFileWriter(8, 6));
+    }
+
+    private static byte[] gunzip(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return in.readAllBytes();
+        }
+    }
+}
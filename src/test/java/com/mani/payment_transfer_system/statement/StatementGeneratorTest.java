@@ -0,0 +1,99 @@
+package com.mani.payment_transfer_system.statement;
+
+import com.mani.payment_transfer_system.config.ShardingProperties;
+import com.mani.payment_transfer_system.config.StatementProperties;
+import com.mani.payment_transfer_system.repository.AccountRepository;
+import com.mani.payment_transfer_system.service.MetricsService;
+import com.mani.payment_transfer_system.sharding.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatementGeneratorTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private DataSource dataSource;
+
+    @TempDir
+    Path directory;
+
+    private StatementProperties properties;
+    private StatementGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        properties = new StatementProperties();
+        properties.setPartitionSize(3);
+        properties.setParallelism(1);
+        generator = new StatementGenerator(properties,
+                new ShardRouter(new ShardingProperties(), mock(PlatformTransactionManager.class)),
+                accountRepository, metricsService, dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        generator.shutdown();
+    }
+
+    @Test
+    void testPartitions_SplitsAccountIdsIntoPagesCoveringTheWholeIdSpace() {
+        when(accountRepository.findAccountIdsAfter(eq(Long.MIN_VALUE), any(Pageable.class))).thenReturn(List.of(1L, 2L, 3L));
+        when(accountRepository.findAccountIdsAfter(eq(3L), any(Pageable.class))).thenReturn(List.of(7L));
+
+        List<long[]> partitions = generator.partitions();
+
+        assertEquals(2, partitions.size());
+        assertArrayEquals(new long[]{Long.MIN_VALUE, 3L}, partitions.get(0));
+        assertArrayEquals(new long[]{4L, Long.MAX_VALUE}, partitions.get(1));
+    }
+
+    @Test
+    void testPartitionPlan_RecordedOnFirstRunAndReusedWhenResuming() throws Exception {
+        when(accountRepository.findAccountIdsAfter(eq(Long.MIN_VALUE), any(Pageable.class))).thenReturn(List.of(1L, 2L, 3L));
+        when(accountRepository.findAccountIdsAfter(eq(3L), any(Pageable.class))).thenReturn(List.of());
+        Path month = directory.resolve("2024-01");
+
+        List<long[]> first = generator.partitionPlan(month);
+        // Accounts created after the first run must not move the partition boundaries
+        List<long[]> resumed = generator.partitionPlan(month);
+
+        assertTrue(Files.exists(month.resolve(StatementGenerator.PARTITIONS_FILE)));
+        assertEquals(first.size(), resumed.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertArrayEquals(first.get(i), resumed.get(i));
+        }
+        verify(accountRepository, times(2)).findAccountIdsAfter(any(), any(Pageable.class));
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidPartitionSize() {
+        properties.setPartitionSize(0);
+
+        assertThrows(IllegalArgumentException.class, () -> new StatementGenerator(properties,
+                new ShardRouter(new ShardingProperties(), mock(PlatformTransactionManager.class)),
+                accountRepository, metricsService, dataSource));
+    }
+}
@@ -0,0 +1,145 @@
+package com.mani.payment_transfer_system.support;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data source that reports every statement, round trip and row to {@link SqlCounter}.
+ * Connections, statements and result sets are wrapped in JDK proxies; everything else is delegated unchanged.
+ * Rows written are the update counts returned by {@code executeUpdate} and {@code executeBatch}; generated keys
+ * are not counted as rows read.
+ */
+public class CountingDataSource extends DelegatingDataSource {
+
+    /**
+     * Wraps a data source.
+     *
+     * @param target the data source to count
+     */
+    public CountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            switch (method.getName()) {
+                case "commit", "rollback" -> SqlCounter.roundTrip();
+                case "createStatement" -> result = wrapStatement(Statement.class, (Statement) result, null);
+                case "prepareStatement" ->
+                        result = wrapStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall" ->
+                        result = wrapStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+                default -> {
+                }
+            }
+            return result;
+        });
+    }
+
+    private static <S extends Statement> S wrapStatement(Class<S> type, Statement statement, String preparedSql) {
+        List<String> batch = new ArrayList<>();
+        return proxy(type, type.cast(statement), (target, method, args) -> {
+            String name = method.getName();
+            if (name.equals("addBatch")) {
+                batch.add(args != null && args.length == 1 ? (String) args[0] : preparedSql);
+                return invoke(target, method, args);
+            }
+            if (name.equals("clearBatch")) {
+                batch.clear();
+                return invoke(target, method, args);
+            }
+            if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                SqlCounter.roundTrip();
+                batch.forEach(sql -> SqlCounter.statementExecuted(sql, 1));
+                batch.clear();
+                Object result = invoke(target, method, args);
+                if (result instanceof int[] counts) {
+                    for (int count : counts) {
+                        SqlCounter.rowsWritten(count);
+                    }
+                } else if (result instanceof long[] counts) {
+                    for (long count : counts) {
+                        SqlCounter.rowsWritten(count);
+                    }
+                }
+                return result;
+            }
+            if (name.startsWith("execute")) {
+                SqlCounter.roundTrip();
+                SqlCounter.statementExecuted(args != null && args.length > 0 ? (String) args[0] : preparedSql, 1);
+                Object result = invoke(target, method, args);
+                if (result instanceof ResultSet resultSet) {
+                    return wrapResultSet(resultSet);
+                }
+                if (result instanceof Number rows && !name.equals("execute")) {
+                    SqlCounter.rowsWritten(rows.longValue());
+                }
+                return result;
+            }
+            Object result = invoke(target, method, args);
+            if (name.equals("getResultSet") && result instanceof ResultSet resultSet) {
+                return wrapResultSet(resultSet);
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                SqlCounter.rowRead();
+            }
+            return result;
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if (method.getName().equals("unwrap") || method.getName().equals("isWrapperFor")) {
+                return invoke(target, method, args);
+            }
+            return handler.handle(target, method, args);
+        };
+        return (T) Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
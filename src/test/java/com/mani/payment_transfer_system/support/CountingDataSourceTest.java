@@ -0,0 +1,91 @@
+package com.mani.payment_transfer_system.support;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CountingDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final CountingDataSource dataSource = new CountingDataSource(target);
+
+    @Test
+    void testCount_StatementsRoundTripsAndRows() throws Exception {
+        PreparedStatement select = mock(PreparedStatement.class);
+        PreparedStatement update = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT * FROM accounts")).thenReturn(select);
+        when(connection.prepareStatement("UPDATE accounts SET balance = ?")).thenReturn(update);
+        when(select.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(update.executeBatch()).thenReturn(new int[]{1, 1, 0});
+
+        SqlCounts counts = SqlCounter.count(() -> {
+            try (Connection counted = dataSource.getConnection()) {
+                ResultSet rows = counted.prepareStatement("SELECT * FROM accounts").executeQuery();
+                while (rows.next()) {
+                    // drain
+                }
+                PreparedStatement batch = counted.prepareStatement("UPDATE accounts SET balance = ?");
+                batch.addBatch();
+                batch.addBatch();
+                batch.addBatch();
+                batch.executeBatch();
+                counted.commit();
+            }
+        });
+
+        assertEquals(new SqlCounts(1, 0, 3, 0, 0, 3, 2, 2), counts);
+    }
+
+    @Test
+    void testCount_PlainStatementsClassifiedBySql() throws Exception {
+        Statement statement = mock(Statement.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeUpdate(anyString())).thenReturn(4);
+
+        SqlCounts counts = SqlCounter.count(() -> {
+            try (Connection counted = dataSource.getConnection()) {
+                Statement plain = counted.createStatement();
+                plain.executeUpdate("  delete from transactions");
+                plain.execute("SET LOCAL lock_timeout = '1s'");
+                counted.rollback();
+            }
+        });
+
+        assertEquals(new SqlCounts(0, 0, 0, 1, 1, 3, 0, 4), counts);
+    }
+
+    @Test
+    void testCount_IgnoresOtherThreadsAndUnmeasuredCalls() throws Exception {
+        Statement statement = mock(Statement.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        dataSource.getConnection().createStatement().execute("SELECT 1");
+
+        SqlCounts counts = SqlCounter.count(() -> {
+            Thread other = new Thread(() -> {
+                try {
+                    dataSource.getConnection().createStatement().execute("SELECT 1");
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            other.start();
+            other.join();
+        });
+
+        assertEquals(0, counts.statements());
+        assertEquals(0, counts.roundTrips());
+    }
+}
@@ -0,0 +1,165 @@
+package com.mani.payment_transfer_system.support;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+/**
+ * Counts the SQL a block of code issues on the calling thread, through a {@link CountingDataSource}.
+ *
+ * <p>Only the calling thread is measured, so schedulers and other background work running at the same time do not
+ * disturb the counts. Work the measured code hands to other threads is not counted.
+ */
+public final class SqlCounter {
+
+    private static final ThreadLocal<Capture> CURRENT = new ThreadLocal<>();
+
+    private SqlCounter() {
+    }
+
+    /**
+     * Runs the action and returns the SQL it issued.
+     *
+     * @param action the code to measure
+     * @return the counts
+     * @throws Exception whatever the action throws; the counts are then lost
+     */
+    public static SqlCounts count(ThrowingRunnable action) throws Exception {
+        return measure(() -> {
+            action.run();
+            return null;
+        }).counts();
+    }
+
+    /**
+     * Runs the action and returns its result together with the SQL it issued.
+     *
+     * @param action the code to measure
+     * @param <T> the result type
+     * @return the result and the counts
+     * @throws Exception whatever the action throws
+     */
+    public static <T> Measured<T> measure(Callable<T> action) throws Exception {
+        Capture previous = CURRENT.get();
+        Capture capture = new Capture();
+        CURRENT.set(capture);
+        try {
+            T result = action.call();
+            return new Measured<>(result, capture.toCounts());
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the SQL an action issued before it failed, for budgets of rejected calls.
+     *
+     * @param action the code to measure, expected to throw
+     * @param expected the exception type the action must throw
+     * @return the counts up to the failure
+     * @throws AssertionError if the action completes or throws another exception
+     */
+    public static SqlCounts countFailure(ThrowingRunnable action, Class<? extends Throwable> expected) {
+        Capture previous = CURRENT.get();
+        Capture capture = new Capture();
+        CURRENT.set(capture);
+        try {
+            action.run();
+        } catch (Throwable e) {
+            if (!expected.isInstance(e)) {
+                throw new AssertionError("Expected " + expected.getSimpleName() + " but got " + e, e);
+            }
+            return capture.toCounts();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+        throw new AssertionError("Expected " + expected.getSimpleName() + " to be thrown");
+    }
+
+    static void statementExecuted(String sql, int count) {
+        Capture capture = CURRENT.get();
+        if (capture == null) {
+            return;
+        }
+        switch (firstKeyword(sql)) {
+            case "select" -> capture.selects += count;
+            case "insert" -> capture.inserts += count;
+            case "update" -> capture.updates += count;
+            case "delete" -> capture.deletes += count;
+            default -> capture.others += count;
+        }
+    }
+
+    static void roundTrip() {
+        Capture capture = CURRENT.get();
+        if (capture != null) {
+            capture.roundTrips++;
+        }
+    }
+
+    static void rowRead() {
+        Capture capture = CURRENT.get();
+        if (capture != null) {
+            capture.rowsRead++;
+        }
+    }
+
+    static void rowsWritten(long rows) {
+        Capture capture = CURRENT.get();
+        if (capture != null && rows > 0) {
+            capture.rowsWritten += rows;
+        }
+    }
+
+    private static String firstKeyword(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A block of code that may throw.
+     */
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    /**
+     * The result of a measured call with the SQL it issued.
+     *
+     * @param result the value returned by the call
+     * @param counts the counts
+     * @param <T> the result type
+     */
+    public record Measured<T>(T result, SqlCounts counts) {
+    }
+
+    private static final class Capture {
+        int selects;
+        int inserts;
+        int updates;
+        int deletes;
+        int others;
+        int roundTrips;
+        long rowsRead;
+        long rowsWritten;
+
+        SqlCounts toCounts() {
+            return new SqlCounts(selects, inserts, updates, deletes, others, roundTrips, rowsRead, rowsWritten);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.mani.payment_transfer_system.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application data source in a {@link CountingDataSource}, so tests can assert SQL budgets with
+ * {@link SqlCounter}. Import it into a {@code @SpringBootTest}:
+ * <pre>{@code
+ * @SpringBootTest
+ * @Import(SqlCountingConfiguration.class)
+ * class MyServiceSqlBudgetTest { ... }
+ * }</pre>
+ */
+@TestConfiguration
+public class SqlCountingConfiguration {
+
+    /**
+     * Wraps every data source bean once.
+     *
+     * @return the post-processor
+     */
+    @Bean
+    public static BeanPostProcessor countingDataSourceWrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)) {
+                    return new CountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
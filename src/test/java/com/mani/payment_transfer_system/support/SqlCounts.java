@@ -0,0 +1,33 @@
+package com.mani.payment_transfer_system.support;
+
+/**
+ * SQL issued by one measured call, as seen by the JDBC driver.
+ *
+ * @param selects SELECT statements executed
+ * @param inserts INSERT statements executed; each row of a batch counts as one statement
+ * @param updates UPDATE statements executed; each row of a batch counts as one statement
+ * @param deletes DELETE statements executed; each row of a batch counts as one statement
+ * @param others any other statements, e.g. stored function calls or SET LOCAL
+ * @param roundTrips driver calls that wait for the database: executions, batch executions, commits and rollbacks
+ * @param rowsRead rows fetched from result sets
+ * @param rowsWritten rows reported as affected by updates
+ */
+public record SqlCounts(int selects, int inserts, int updates, int deletes, int others, int roundTrips,
+                        long rowsRead, long rowsWritten) {
+
+    /**
+     * Returns the total number of statements.
+     *
+     * @return the sum of all statement types
+     */
+    public int statements() {
+        return selects + inserts + updates + deletes + others;
+    }
+
+    @Override
+    public String toString() {
+        return "SqlCounts[statements=" + statements() + " (select=" + selects + ", insert=" + inserts
+                + ", update=" + updates + ", delete=" + deletes + ", other=" + others + "), roundTrips=" + roundTrips
+                + ", rowsRead=" + rowsRead + ", rowsWritten=" + rowsWritten + "]";
+    }
+}